@@ -0,0 +1,123 @@
+/*
+ * Copyright (C) 2004-2016 L2J Unity
+ * 
+ * This file is part of L2J Unity.
+ * 
+ * L2J Unity is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * L2J Unity is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.l2junity.benchmarks;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import org.l2junity.gameserver.model.WorldObject;
+import org.l2junity.gameserver.model.actor.Creature;
+import org.l2junity.gameserver.model.actor.instance.L2MonsterInstance;
+import org.l2junity.gameserver.model.actor.templates.L2NpcTemplate;
+import org.l2junity.gameserver.model.skills.targets.AffectScopeQuery;
+import org.l2junity.gameserver.model.skills.targets.AffectScopeQuery.Order;
+import org.l2junity.gameserver.model.skills.targets.AffectShape;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Mass AoE in a 50 vs 50 fight: every call is one cast of a 500 radius AoE around the next caster, line of sight checked on the synthetic geodata.<br>
+ * The fight is placed over a wall of the synthetic region, so some targets are behind it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AffectScopeBenchmark
+{
+	private static final int SIDE_SIZE = 50;
+	private static final int RADIUS = 500;
+	
+	@Param(
+	{
+		"0",
+		"10"
+	})
+	public int affectLimit;
+	
+	private final List<L2MonsterInstance> _casters = new ArrayList<>();
+	private final Predicate<Creature> _filter = creature -> !creature.isDead();
+	private int _nextCaster;
+	private int _affected;
+	private final Consumer<WorldObject> _counter = object -> _affected++;
+	
+	@Setup
+	public void setUp() throws IOException
+	{
+		Fixtures.loadConfig();
+		Fixtures.loadSyntheticGeodata();
+		final L2NpcTemplate template = Fixtures.createMonsterTemplate(85);
+		final Random random = new Random(SIDE_SIZE);
+		for (int i = 0; i < SIDE_SIZE; i++)
+		{
+			// Two lines facing each other across the wall at x 1536 - 1567, it covers y 1792 - 2303.
+			_casters.add(Fixtures.spawnMonster(template, 1100 + random.nextInt(300), 1500 + random.nextInt(700), Fixtures.GROUND_Z));
+			_casters.add(Fixtures.spawnMonster(template, 1700 + random.nextInt(300), 1500 + random.nextInt(700), Fixtures.GROUND_Z));
+		}
+	}
+	
+	@TearDown
+	public void tearDown()
+	{
+		_casters.forEach(L2MonsterInstance::decayMe);
+		_casters.clear();
+	}
+	
+	@Benchmark
+	public int circle()
+	{
+		final L2MonsterInstance caster = nextCaster();
+		_affected = 0;
+		AffectScopeQuery.forEachAffected(AffectShape.circle(caster, RADIUS), caster, _filter, caster, affectLimit, Order.NEAREST, _counter);
+		return _affected;
+	}
+	
+	@Benchmark
+	public int lowestHp()
+	{
+		final L2MonsterInstance caster = nextCaster();
+		_affected = 0;
+		AffectScopeQuery.forEachAffected(AffectShape.circle(caster, RADIUS), caster, _filter, caster, affectLimit, Order.LOWEST_HP, _counter);
+		return _affected;
+	}
+	
+	private L2MonsterInstance nextCaster()
+	{
+		final L2MonsterInstance caster = _casters.get(_nextCaster);
+		_nextCaster = (_nextCaster + 1) % _casters.size();
+		return caster;
+	}
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (C) 2004-2016 L2J Unity
+ * 
+ * This file is part of L2J Unity.
+ * 
+ * L2J Unity is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * L2J Unity is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.l2junity.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.l2junity.gameserver.model.actor.instance.L2MonsterInstance;
+import org.l2junity.gameserver.model.stats.Stats;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Stat finalization and full recalculation of a monster without effects.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CharStatBenchmark
+{
+	@Param(
+	{
+		"PHYSICAL_ATTACK",
+		"MAX_HP",
+		"MAGIC_ATTACK_SPEED",
+		"CRITICAL_RATE",
+		"RUN_SPEED"
+	})
+	public String stat;
+	
+	private L2MonsterInstance _monster;
+	private Stats _stat;
+	
+	@Setup
+	public void setUp()
+	{
+		Fixtures.loadConfig();
+		_monster = Fixtures.spawnMonster(Fixtures.createMonsterTemplate(85), 0, 0, Fixtures.GROUND_Z);
+		_stat = Stats.valueOf(stat);
+	}
+	
+	@TearDown
+	public void tearDown()
+	{
+		_monster.decayMe();
+	}
+	
+	@Benchmark
+	public double getValue()
+	{
+		return _monster.getStat().getValue(_stat);
+	}
+	
+	@Benchmark
+	public void recalculateStats()
+	{
+		_monster.getStat().recalculateStats(false);
+	}
+}
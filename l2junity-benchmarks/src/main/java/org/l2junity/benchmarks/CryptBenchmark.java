@@ -0,0 +1,182 @@
+/*
+ * Copyright (C) 2004-2016 L2J Unity
+ * 
+ * This file is part of L2J Unity.
+ * 
+ * L2J Unity is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * L2J Unity is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.l2junity.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.l2junity.gameserver.network.client.Crypt;
+import org.l2junity.network.crypt.BlowfishEngine;
+import org.l2junity.util.crypt.NewCrypt;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
+/**
+ * Game client XOR cipher and the Blowfish cipher of the login server, over one packet of the given size in a heap or a direct buffer.<br>
+ * The bytewise and blockwise benchmarks keep the loops the ciphers used before they processed whole buffers, as a reference.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CryptBenchmark
+{
+	@Param(
+	{
+		"32",
+		"256",
+		"4096"
+	})
+	public int size;
+	
+	@Param(
+	{
+		"false",
+		"true"
+	})
+	public boolean direct;
+	
+	private Crypt _crypt;
+	private ByteBuf _packet;
+	private final byte[] _key = new byte[16];
+	private BlowfishEngine _blowfish;
+	private NewCrypt _newCrypt;
+	private byte[] _raw;
+	
+	@Setup
+	public void setUp()
+	{
+		final Random random = new Random(size);
+		random.nextBytes(_key);
+		
+		_crypt = new Crypt(null);
+		_crypt.setKey(_key);
+		_packet = direct ? Unpooled.directBuffer(size) : Unpooled.buffer(size);
+		_packet.writerIndex(size);
+		// The first packet is sent in clear text, it enables the cipher.
+		_crypt.encrypt(_packet);
+		
+		_blowfish = new BlowfishEngine();
+		_blowfish.init(_key);
+		_newCrypt = new NewCrypt(_key);
+		_raw = new byte[size];
+		random.nextBytes(_raw);
+	}
+	
+	@TearDown
+	public void tearDown()
+	{
+		_packet.release();
+	}
+	
+	@Benchmark
+	public ByteBuf encrypt()
+	{
+		_packet.readerIndex(0);
+		_crypt.encrypt(_packet);
+		return _packet;
+	}
+	
+	@Benchmark
+	public ByteBuf decrypt()
+	{
+		_packet.readerIndex(0);
+		_crypt.decrypt(_packet);
+		return _packet;
+	}
+	
+	@Benchmark
+	public ByteBuf bytewiseEncrypt()
+	{
+		_packet.readerIndex(0);
+		int a = 0;
+		while (_packet.isReadable())
+		{
+			final int b = _packet.readByte() & 0xFF;
+			a = b ^ _key[(_packet.readerIndex() - 1) & 15] ^ a;
+			_packet.setByte(_packet.readerIndex() - 1, a);
+		}
+		return _packet;
+	}
+	
+	@Benchmark
+	public ByteBuf bytewiseDecrypt()
+	{
+		_packet.readerIndex(0);
+		int a = 0;
+		while (_packet.isReadable())
+		{
+			final int b = _packet.readByte() & 0xFF;
+			_packet.setByte(_packet.readerIndex() - 1, b ^ _key[(_packet.readerIndex() - 1) & 15] ^ a);
+			a = b;
+		}
+		return _packet;
+	}
+	
+	@Benchmark
+	public ByteBuf blowfishEncrypt()
+	{
+		_blowfish.encrypt(_packet, 0, size);
+		return _packet;
+	}
+	
+	@Benchmark
+	public ByteBuf blowfishDecrypt()
+	{
+		_blowfish.decrypt(_packet, 0, size);
+		return _packet;
+	}
+	
+	@Benchmark
+	public ByteBuf blockwiseBlowfishEncrypt()
+	{
+		_packet.readerIndex(0);
+		final byte[] block = new byte[8];
+		while (_packet.isReadable(8))
+		{
+			_packet.readBytes(block);
+			_blowfish.encryptBlock(block, 0);
+			_packet.setBytes(_packet.readerIndex() - block.length, block);
+		}
+		return _packet;
+	}
+	
+	@Benchmark
+	public byte[] newCrypt()
+	{
+		NewCrypt.appendChecksum(_raw, 0, size);
+		_newCrypt.crypt(_raw, 0, size);
+		return _raw;
+	}
+}
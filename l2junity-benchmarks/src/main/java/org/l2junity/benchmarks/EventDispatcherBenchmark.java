@@ -0,0 +1,102 @@
+/*
+ * Copyright (C) 2004-2016 L2J Unity
+ * 
+ * This file is part of L2J Unity.
+ * 
+ * L2J Unity is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * L2J Unity is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.l2junity.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.l2junity.gameserver.model.actor.instance.L2MonsterInstance;
+import org.l2junity.gameserver.model.actor.templates.L2NpcTemplate;
+import org.l2junity.gameserver.model.events.EventDispatcher;
+import org.l2junity.gameserver.model.events.EventType;
+import org.l2junity.gameserver.model.events.impl.character.OnCreatureAttack;
+import org.l2junity.gameserver.model.events.listeners.ConsumerEventListener;
+import org.l2junity.gameserver.model.events.returns.TerminateReturn;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Synchronous notification of an attack event with 0, 1 and N listeners on the attacker.<br>
+ * {@code guarded} is how the combat code notifies, the event is only created when something listens. Run with {@code -prof gc} to compare the allocation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventDispatcherBenchmark
+{
+	@Param(
+	{
+		"0",
+		"1",
+		"8"
+	})
+	public int listeners;
+	
+	private L2MonsterInstance _attacker;
+	private L2MonsterInstance _target;
+	private int _received;
+	
+	@Setup
+	public void setUp()
+	{
+		Fixtures.loadConfig();
+		final L2NpcTemplate template = Fixtures.createMonsterTemplate(85);
+		_attacker = Fixtures.spawnMonster(template, 0, 0, Fixtures.GROUND_Z);
+		_target = Fixtures.spawnMonster(template, 40, 0, Fixtures.GROUND_Z);
+		for (int i = 0; i < listeners; i++)
+		{
+			_attacker.addListener(new ConsumerEventListener(_attacker, EventType.ON_CREATURE_ATTACK, (OnCreatureAttack event) -> _received++, this));
+		}
+	}
+	
+	@TearDown
+	public void tearDown()
+	{
+		_attacker.decayMe();
+		_target.decayMe();
+	}
+	
+	@Benchmark
+	public TerminateReturn unguarded()
+	{
+		return EventDispatcher.getInstance().notifyEvent(new OnCreatureAttack(_attacker, _target), _attacker, TerminateReturn.class);
+	}
+	
+	@Benchmark
+	public TerminateReturn guarded()
+	{
+		if (EventDispatcher.getInstance().hasListener(EventType.ON_CREATURE_ATTACK, _attacker))
+		{
+			return EventDispatcher.getInstance().notifyEvent(new OnCreatureAttack(_attacker, _target), _attacker, TerminateReturn.class);
+		}
+		return null;
+	}
+}
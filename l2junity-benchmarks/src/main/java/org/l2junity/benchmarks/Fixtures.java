@@ -0,0 +1,303 @@
+/*
+ * Copyright (C) 2004-2016 L2J Unity
+ * 
+ * This file is part of L2J Unity.
+ * 
+ * L2J Unity is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * L2J Unity is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.l2junity.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.l2junity.Config;
+import org.l2junity.Server;
+import org.l2junity.gameserver.GameTimeController;
+import org.l2junity.gameserver.GeoData;
+import org.l2junity.gameserver.data.xml.impl.DoorData;
+import org.l2junity.gameserver.idfactory.IdFactory;
+import org.l2junity.gameserver.model.StatsSet;
+import org.l2junity.gameserver.model.actor.instance.L2MonsterInstance;
+import org.l2junity.gameserver.model.actor.templates.L2NpcTemplate;
+import org.l2junity.gameserver.model.skills.Skill;
+import org.l2junity.geodriver.Cell;
+import org.l2junity.geodriver.IBlock;
+import org.l2junity.geodriver.IRegion;
+
+/**
+ * Database free fixtures shared by the benchmarks.<br>
+ * The configuration and the zones are read from the game server datapack, so the benchmarks must run from the {@code dist/game} directory (the {@code jmh} Gradle task does it).<br>
+ * Object ids are handed out here, {@link IdFactory} restores the used ids from the database.
+ */
+public final class Fixtures
+{
+	/** Ground height of the synthetic geodata region. */
+	public static final int GROUND_Z = -96;
+	/** Height of the walls in the synthetic geodata region, too high to see or walk over. */
+	public static final int WALL_Z = 224;
+	/** Walls are 2 cells thick and repeat every 64 cells on the x axis. */
+	public static final int WALL_SPACING = 64;
+	/** Walls are 32 cells long and repeat every 256 cells on the y axis, they are centered at 128 cells. */
+	public static final int WALL_BAND = 256;
+	
+	private static final int SYNTHETIC_REGION_X = 20;
+	private static final int SYNTHETIC_REGION_Y = 18;
+	
+	private static final AtomicInteger NEXT_OBJECT_ID = new AtomicInteger(IdFactory.FIRST_OID);
+	
+	private static boolean _configLoaded;
+	private static boolean _geodataLoaded;
+	private static boolean _gameTimeStarted;
+	
+	private Fixtures()
+	{
+	}
+	
+	/**
+	 * Loads the game server configuration once.
+	 */
+	public static synchronized void loadConfig()
+	{
+		if (_configLoaded)
+		{
+			return;
+		}
+		
+		if (!Files.isDirectory(Paths.get("config")))
+		{
+			throw new IllegalStateException("The benchmarks must run from the game server dist/game directory!");
+		}
+		
+		Server.serverMode = Server.MODE_GAMESERVER;
+		Config.load();
+		_configLoaded = true;
+	}
+	
+	/**
+	 * Starts the game clock, the hit formulas read the day/night state from it. The clock thread is a daemon and has nothing to move.
+	 */
+	public static synchronized void startGameTime()
+	{
+		if (!_gameTimeStarted)
+		{
+			GameTimeController.init();
+			_gameTimeStarted = true;
+		}
+	}
+	
+	/**
+	 * @return an object id that is not used by any other fixture
+	 */
+	public static int nextObjectId()
+	{
+		return NEXT_OBJECT_ID.getAndIncrement();
+	}
+	
+	/**
+	 * @param level the level of the monster
+	 * @return a plain fighter monster template without skills
+	 */
+	public static L2NpcTemplate createMonsterTemplate(int level)
+	{
+		final StatsSet set = new StatsSet();
+		set.set("id", 20000 + level);
+		set.set("level", level);
+		set.set("type", "L2Monster");
+		set.set("name", "Benchmark Monster");
+		set.set("baseSTR", 40);
+		set.set("baseCON", 43);
+		set.set("baseDEX", 30);
+		set.set("baseINT", 21);
+		set.set("baseWIT", 20);
+		set.set("baseMEN", 20);
+		set.set("baseHpMax", 5000);
+		set.set("baseMpMax", 1000);
+		set.set("basePAtk", 1200);
+		set.set("baseMAtk", 900);
+		set.set("basePDef", 600);
+		set.set("baseMDef", 450);
+		set.set("baseRndDam", 10);
+		set.set("collision_radius", 12);
+		set.set("collision_height", 24);
+		final L2NpcTemplate template = new L2NpcTemplate(set);
+		template.setSkills(null);
+		return template;
+	}
+	
+	/**
+	 * Creates and spawns a monster, {@link #loadConfig()} must have been called.
+	 * @param template the template
+	 * @param x the x coordinate
+	 * @param y the y coordinate
+	 * @param z the z coordinate
+	 * @return the spawned monster
+	 */
+	public static L2MonsterInstance spawnMonster(L2NpcTemplate template, int x, int y, int z)
+	{
+		final L2MonsterInstance monster = new L2MonsterInstance(nextObjectId(), template);
+		monster.setCurrentHpMp(monster.getMaxHp(), monster.getMaxMp());
+		monster.spawnMe(x, y, z);
+		return monster;
+	}
+	
+	/**
+	 * @param id the skill id
+	 * @param magic {@code true} for a magic skill, {@code false} for a physical one
+	 * @return an active attack skill without effects
+	 */
+	public static Skill createAttackSkill(int id, boolean magic)
+	{
+		final StatsSet set = new StatsSet();
+		set.set(".id", id);
+		set.set(".level", 1);
+		set.set(".name", "Benchmark Skill");
+		set.set("operateType", "A1");
+		set.set("isMagic", magic ? 1 : 0);
+		set.set("magicLvl", 85);
+		set.set("isDebuff", false);
+		set.set("castRange", 900);
+		set.set("effectRange", 1400);
+		return new Skill(set);
+	}
+	
+	/**
+	 * Loads one synthetic geodata region once, {@link #loadConfig()} must have been called.<br>
+	 * The region covers the world coordinates from 0 to 32767 on both axes. It is flat ground at {@link #GROUND_Z} crossed by short walls, see {@link #isWall(int, int)}.<br>
+	 * Doors are loaded from an empty datapack, the door instances of the real one take their object ids from {@link IdFactory}.
+	 * @throws IOException if the region file could not be written
+	 */
+	public static synchronized void loadSyntheticGeodata() throws IOException
+	{
+		if (_geodataLoaded)
+		{
+			return;
+		}
+		
+		final Path directory = Files.createTempDirectory("l2j-geodata");
+		directory.toFile().deleteOnExit();
+		final Path regionFile = directory.resolve(SYNTHETIC_REGION_X + "_" + SYNTHETIC_REGION_Y + ".l2j");
+		Files.write(regionFile, createSyntheticRegion());
+		regionFile.toFile().deleteOnExit();
+		
+		Config.GEODATA_PATH = directory;
+		Config.GEODATA_REGIONS = new HashMap<>();
+		Config.GEODATA_REGIONS.put(SYNTHETIC_REGION_X + "_" + SYNTHETIC_REGION_Y, true);
+		Config.TRY_LOAD_UNSPECIFIED_REGIONS = false;
+		Config.PATHFINDING = 1;
+		GeoData.getInstance();
+		
+		final File datapack = Config.DATAPACK_ROOT;
+		Config.DATAPACK_ROOT = directory.toFile();
+		DoorData.getInstance();
+		Config.DATAPACK_ROOT = datapack;
+		_geodataLoaded = true;
+	}
+	
+	/**
+	 * @param cellX the cell x inside the synthetic region
+	 * @param cellY the cell y inside the synthetic region
+	 * @return {@code true} if the cell is part of a wall
+	 */
+	public static boolean isWall(int cellX, int cellY)
+	{
+		if ((cellX < 0) || (cellY < 0) || (cellX >= IRegion.REGION_CELLS_X) || (cellY >= IRegion.REGION_CELLS_Y))
+		{
+			return false;
+		}
+		
+		final int column = cellX % WALL_SPACING;
+		final int band = cellY % WALL_BAND;
+		return ((column == 32) || (column == 33)) && (band >= 112) && (band < 144);
+	}
+	
+	private static byte[] createSyntheticRegion()
+	{
+		final ByteBuffer buffer = ByteBuffer.allocate(IRegion.REGION_BLOCKS * (1 + (IBlock.BLOCK_CELLS * 2))).order(ByteOrder.LITTLE_ENDIAN);
+		for (int blockX = 0; blockX < IRegion.REGION_BLOCKS_X; blockX++)
+		{
+			for (int blockY = 0; blockY < IRegion.REGION_BLOCKS_Y; blockY++)
+			{
+				final int cellX = blockX * IBlock.BLOCK_CELLS_X;
+				final int cellY = blockY * IBlock.BLOCK_CELLS_Y;
+				if (!isNearWall(cellX, cellY))
+				{
+					buffer.put((byte) IBlock.TYPE_FLAT);
+					buffer.putShort((short) GROUND_Z);
+					continue;
+				}
+				
+				buffer.put((byte) IBlock.TYPE_COMPLEX);
+				for (int x = cellX; x < (cellX + IBlock.BLOCK_CELLS_X); x++)
+				{
+					for (int y = cellY; y < (cellY + IBlock.BLOCK_CELLS_Y); y++)
+					{
+						buffer.putShort(isWall(x, y) ? encodeCell(WALL_Z, 0) : encodeCell(GROUND_Z, getNswe(x, y)));
+					}
+				}
+			}
+		}
+		return Arrays.copyOf(buffer.array(), buffer.position());
+	}
+	
+	private static boolean isNearWall(int cellX, int cellY)
+	{
+		// The cells around a wall lose the direction towards it, so the neighbor blocks must be complex too.
+		for (int x = cellX - 1; x <= (cellX + IBlock.BLOCK_CELLS_X); x++)
+		{
+			for (int y = cellY - 1; y <= (cellY + IBlock.BLOCK_CELLS_Y); y++)
+			{
+				if (isWall(x, y))
+				{
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+	
+	private static int getNswe(int cellX, int cellY)
+	{
+		int nswe = 0;
+		if (!isWall(cellX + 1, cellY))
+		{
+			nswe |= Cell.NSWE_EAST;
+		}
+		if (!isWall(cellX - 1, cellY))
+		{
+			nswe |= Cell.NSWE_WEST;
+		}
+		if (!isWall(cellX, cellY + 1))
+		{
+			nswe |= Cell.NSWE_SOUTH;
+		}
+		if (!isWall(cellX, cellY - 1))
+		{
+			nswe |= Cell.NSWE_NORTH;
+		}
+		return nswe;
+	}
+	
+	private static short encodeCell(int height, int nswe)
+	{
+		return (short) (((height << 1) & 0xFFF0) | nswe);
+	}
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (C) 2004-2016 L2J Unity
+ * 
+ * This file is part of L2J Unity.
+ * 
+ * L2J Unity is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * L2J Unity is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.l2junity.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.l2junity.gameserver.model.actor.instance.L2MonsterInstance;
+import org.l2junity.gameserver.model.actor.templates.L2NpcTemplate;
+import org.l2junity.gameserver.model.skills.Skill;
+import org.l2junity.gameserver.model.stats.Formulas;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Damage and hit formulas between two monsters standing next to each other.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FormulasBenchmark
+{
+	private L2MonsterInstance _attacker;
+	private L2MonsterInstance _target;
+	private Skill _magicSkill;
+	
+	@Setup
+	public void setUp()
+	{
+		Fixtures.loadConfig();
+		Fixtures.startGameTime();
+		final L2NpcTemplate template = Fixtures.createMonsterTemplate(85);
+		_attacker = Fixtures.spawnMonster(template, 0, 0, Fixtures.GROUND_Z);
+		_target = Fixtures.spawnMonster(template, 40, 0, Fixtures.GROUND_Z);
+		_magicSkill = Fixtures.createAttackSkill(1177, true);
+	}
+	
+	@TearDown
+	public void tearDown()
+	{
+		_attacker.decayMe();
+		_target.decayMe();
+	}
+	
+	@Benchmark
+	public double autoAttackDamage()
+	{
+		return Formulas.calcAutoAttackDamage(_attacker, _target, 0, Formulas.SHIELD_DEFENSE_FAILED, false, false);
+	}
+	
+	@Benchmark
+	public double autoAttackCriticalDamage()
+	{
+		return Formulas.calcAutoAttackDamage(_attacker, _target, 0, Formulas.SHIELD_DEFENSE_FAILED, true, true);
+	}
+	
+	@Benchmark
+	public double magicDamage()
+	{
+		return Formulas.calcMagicDam(_attacker, _target, _magicSkill, _attacker.getMAtk(), 150, _target.getMDef(), false, false, false);
+	}
+	
+	@Benchmark
+	public int autoAttackRolls()
+	{
+		// The rolls of one auto attack hit: miss, shield and critical.
+		final boolean miss = Formulas.calcHitMiss(_attacker, _target);
+		final byte shield = Formulas.calcShldUse(_attacker, _target, false);
+		final boolean critical = Formulas.calcCrit(_attacker.getStat().getCriticalHit(), _attacker, _target, null);
+		return (miss ? 1 : 0) + (shield << 1) + (critical ? 8 : 0);
+	}
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (C) 2004-2016 L2J Unity
+ * 
+ * This file is part of L2J Unity.
+ * 
+ * L2J Unity is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * L2J Unity is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.l2junity.benchmarks;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.l2junity.gameserver.GeoData;
+import org.l2junity.gameserver.model.Location;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Line of sight and movement checks over the synthetic geodata region, in the open and through the wall at the cells 32 - 33.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GeoDataBenchmark
+{
+	// 48 cells between the start and the end, the open line runs inside the corridor between two walls.
+	private static final int START_X = toWorld(8);
+	private static final int START_Y = toWorld(128);
+	private static final int OPEN_X = toWorld(8);
+	private static final int OPEN_Y = toWorld(176);
+	private static final int BLOCKED_X = toWorld(56);
+	private static final int BLOCKED_Y = toWorld(128);
+	
+	private GeoData _geoData;
+	
+	@Setup
+	public void setUp() throws IOException
+	{
+		Fixtures.loadConfig();
+		Fixtures.loadSyntheticGeodata();
+		_geoData = GeoData.getInstance();
+		if (!_geoData.canSeeTarget(START_X, START_Y, Fixtures.GROUND_Z, OPEN_X, OPEN_Y, Fixtures.GROUND_Z) || _geoData.canSeeTarget(START_X, START_Y, Fixtures.GROUND_Z, BLOCKED_X, BLOCKED_Y, Fixtures.GROUND_Z))
+		{
+			throw new IllegalStateException("Unexpected synthetic geodata!");
+		}
+	}
+	
+	@Benchmark
+	public boolean canSeeTargetOpen()
+	{
+		return _geoData.canSeeTarget(START_X, START_Y, Fixtures.GROUND_Z, OPEN_X, OPEN_Y, Fixtures.GROUND_Z);
+	}
+	
+	@Benchmark
+	public boolean canSeeTargetBlocked()
+	{
+		return _geoData.canSeeTarget(START_X, START_Y, Fixtures.GROUND_Z, BLOCKED_X, BLOCKED_Y, Fixtures.GROUND_Z);
+	}
+	
+	@Benchmark
+	public Location moveCheckOpen()
+	{
+		return _geoData.moveCheck(START_X, START_Y, Fixtures.GROUND_Z, OPEN_X, OPEN_Y, Fixtures.GROUND_Z, null);
+	}
+	
+	@Benchmark
+	public Location moveCheckBlocked()
+	{
+		return _geoData.moveCheck(START_X, START_Y, Fixtures.GROUND_Z, BLOCKED_X, BLOCKED_Y, Fixtures.GROUND_Z, null);
+	}
+	
+	@Benchmark
+	public int getHeight()
+	{
+		return _geoData.getHeight(BLOCKED_X, BLOCKED_Y, Fixtures.GROUND_Z);
+	}
+	
+	private static int toWorld(int cell)
+	{
+		return (cell * 16) + 8;
+	}
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright (C) 2004-2016 L2J Unity
+ * 
+ * This file is part of L2J Unity.
+ * 
+ * L2J Unity is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * L2J Unity is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.l2junity.benchmarks;
+
+import java.nio.ByteOrder;
+import java.util.concurrent.TimeUnit;
+
+import org.l2junity.gameserver.network.client.ConnectionState;
+import org.l2junity.gameserver.network.client.IncomingPackets;
+import org.l2junity.gameserver.network.client.L2GameClient;
+import org.l2junity.network.IConnectionState;
+import org.l2junity.network.IIncomingPacket;
+import org.l2junity.network.codecs.PacketDecoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.embedded.EmbeddedChannel;
+
+/**
+ * Decoding of the most frequent in game client packets, the packets are recycled like the client packet queue does.<br>
+ * Run with {@code -prof gc} to see the allocation per packet.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PacketDecoderBenchmark
+{
+	@Param(
+	{
+		"ValidatePosition",
+		"MoveBackwardToLocation",
+		"Action",
+		"RequestMagicSkillUse"
+	})
+	public String packet;
+	
+	private EmbeddedChannel _channel;
+	private byte[] _data;
+	
+	@Setup
+	public void setUp()
+	{
+		_channel = new EmbeddedChannel(new PacketDecoder<>(ByteOrder.LITTLE_ENDIAN, IncomingPackets.PACKET_ARRAY, (L2GameClient) null));
+		_channel.attr(IConnectionState.ATTRIBUTE_KEY).set(ConnectionState.IN_GAME);
+		
+		final ByteBuf buffer = PooledByteBufAllocator.DEFAULT.heapBuffer(64).order(ByteOrder.LITTLE_ENDIAN);
+		switch (packet)
+		{
+			case "ValidatePosition":
+			{
+				buffer.writeByte(0x59);
+				writeInts(buffer, 5);
+				break;
+			}
+			case "MoveBackwardToLocation":
+			{
+				buffer.writeByte(0x0F);
+				writeInts(buffer, 7);
+				break;
+			}
+			case "Action":
+			{
+				buffer.writeByte(0x1F);
+				writeInts(buffer, 4);
+				buffer.writeByte(0);
+				break;
+			}
+			case "RequestMagicSkillUse":
+			{
+				buffer.writeByte(0x39);
+				writeInts(buffer, 2);
+				buffer.writeByte(0);
+				break;
+			}
+			default:
+			{
+				throw new IllegalArgumentException("Unknown packet " + packet);
+			}
+		}
+		_data = new byte[buffer.readableBytes()];
+		buffer.readBytes(_data);
+		buffer.release();
+	}
+	
+	@TearDown
+	public void tearDown()
+	{
+		_channel.finish();
+	}
+	
+	@Benchmark
+	@SuppressWarnings("unchecked")
+	public IIncomingPacket<L2GameClient> decode()
+	{
+		final ByteBuf buffer = PooledByteBufAllocator.DEFAULT.heapBuffer(_data.length);
+		buffer.writeBytes(_data);
+		_channel.writeInbound(buffer);
+		final IIncomingPacket<L2GameClient> incoming = (IIncomingPacket<L2GameClient>) _channel.readInbound();
+		incoming.recycle();
+		return incoming;
+	}
+	
+	private static void writeInts(ByteBuf buffer, int count)
+	{
+		for (int i = 0; i < count; i++)
+		{
+			buffer.writeInt(i + 1);
+		}
+	}
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (C) 2004-2016 L2J Unity
+ * 
+ * This file is part of L2J Unity.
+ * 
+ * L2J Unity is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * L2J Unity is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.l2junity.benchmarks;
+
+import java.nio.ByteOrder;
+import java.util.concurrent.TimeUnit;
+
+import org.l2junity.gameserver.model.actor.instance.L2MonsterInstance;
+import org.l2junity.gameserver.network.client.send.MoveToLocation;
+import org.l2junity.gameserver.network.client.send.NpcInfo;
+import org.l2junity.network.IOutgoingPacket;
+import org.l2junity.network.codecs.PacketEncoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.embedded.EmbeddedChannel;
+
+/**
+ * Creation and encoding of the NPC packets sent when a monster comes into view and moves.<br>
+ * CharInfo and UserInfo are not covered, a player can not be created without the database (contact and block lists, variables).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PacketEncoderBenchmark
+{
+	private EmbeddedChannel _channel;
+	private L2MonsterInstance _monster;
+	
+	@Setup
+	public void setUp()
+	{
+		Fixtures.loadConfig();
+		_channel = new EmbeddedChannel(new PacketEncoder(ByteOrder.LITTLE_ENDIAN, 0x8000 - 2));
+		_monster = Fixtures.spawnMonster(Fixtures.createMonsterTemplate(85), 0, 0, Fixtures.GROUND_Z);
+		_monster.setTitle("Benchmark Title");
+		if (encode(new NpcInfo(_monster)) == 0)
+		{
+			throw new IllegalStateException("NpcInfo was not encoded!");
+		}
+	}
+	
+	@TearDown
+	public void tearDown()
+	{
+		_monster.decayMe();
+		_channel.finish();
+	}
+	
+	@Benchmark
+	public int npcInfo()
+	{
+		return encode(new NpcInfo(_monster));
+	}
+	
+	@Benchmark
+	public int moveToLocation()
+	{
+		return encode(new MoveToLocation(_monster));
+	}
+	
+	private int encode(IOutgoingPacket packet)
+	{
+		_channel.writeOutbound(packet);
+		final ByteBuf buffer = (ByteBuf) _channel.readOutbound();
+		try
+		{
+			return buffer.readableBytes();
+		}
+		finally
+		{
+			buffer.release();
+		}
+	}
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright (C) 2004-2016 L2J Unity
+ * 
+ * This file is part of L2J Unity.
+ * 
+ * L2J Unity is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * L2J Unity is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.l2junity.benchmarks;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.l2junity.commons.util.PagedIntObjectMap;
+import org.l2junity.gameserver.idfactory.IdFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Object id lookups, walks and footprint of the paged object id index against a ConcurrentHashMap.<br>
+ * A stride of 1 gives dense ids from {@link IdFactory#FIRST_OID}, like the world objects. A larger stride spreads the ids like the players among the item ids.<br>
+ * The build benchmarks only allocate the maps themselves, run them with {@code -prof gc} and gc.alloc.rate.norm is the footprint of one map.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PagedIntObjectMapBenchmark
+{
+	private static final int LOOKUPS = 1024;
+	
+	@Param(
+	{
+		"5000",
+		"50000"
+	})
+	public int objects;
+	
+	@Param(
+	{
+		"1",
+		"4000"
+	})
+	public int stride;
+	
+	private final PagedIntObjectMap<Object> _paged = new PagedIntObjectMap<>(IdFactory.FIRST_OID);
+	private final Map<Integer, Object> _concurrent = new ConcurrentHashMap<>();
+	private final int[] _keys = new int[LOOKUPS];
+	private int[] _ids;
+	private Object[] _values;
+	
+	@Setup
+	public void setUp()
+	{
+		final Random random = new Random(objects);
+		_ids = new int[objects];
+		_values = new Object[objects];
+		for (int i = 0; i < objects; i++)
+		{
+			_ids[i] = IdFactory.FIRST_OID + (i * stride) + random.nextInt(stride);
+			_values[i] = new Object();
+			_paged.put(_ids[i], _values[i]);
+			_concurrent.put(_ids[i], _values[i]);
+		}
+		
+		for (int i = 0; i < LOOKUPS; i++)
+		{
+			_keys[i] = _ids[random.nextInt(objects)];
+		}
+	}
+	
+	@Benchmark
+	@OperationsPerInvocation(LOOKUPS)
+	public int pagedGet()
+	{
+		int found = 0;
+		for (int key : _keys)
+		{
+			if (_paged.get(key) != null)
+			{
+				found++;
+			}
+		}
+		return found;
+	}
+	
+	@Benchmark
+	@OperationsPerInvocation(LOOKUPS)
+	public int concurrentGet()
+	{
+		int found = 0;
+		for (int key : _keys)
+		{
+			if (_concurrent.get(key) != null)
+			{
+				found++;
+			}
+		}
+		return found;
+	}
+	
+	@Benchmark
+	public int pagedWalk()
+	{
+		int found = 0;
+		for (Object value : _paged.values())
+		{
+			if (value != null)
+			{
+				found++;
+			}
+		}
+		return found;
+	}
+	
+	@Benchmark
+	public int concurrentWalk()
+	{
+		int found = 0;
+		for (Object value : _concurrent.values())
+		{
+			if (value != null)
+			{
+				found++;
+			}
+		}
+		return found;
+	}
+	
+	@Benchmark
+	public PagedIntObjectMap<Object> pagedBuild()
+	{
+		final PagedIntObjectMap<Object> map = new PagedIntObjectMap<>(IdFactory.FIRST_OID);
+		for (int i = 0; i < objects; i++)
+		{
+			map.put(_ids[i], _values[i]);
+		}
+		return map;
+	}
+	
+	@Benchmark
+	public Map<Integer, Object> concurrentBuild()
+	{
+		// Sized up front, so no table is thrown away while it grows and the allocation is what the map keeps.
+		final Map<Integer, Object> map = new ConcurrentHashMap<>(objects);
+		for (int i = 0; i < objects; i++)
+		{
+			map.put(_ids[i], _values[i]);
+		}
+		return map;
+	}
+}
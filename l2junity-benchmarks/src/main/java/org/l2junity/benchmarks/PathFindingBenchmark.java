@@ -0,0 +1,84 @@
+/*
+ * Copyright (C) 2004-2016 L2J Unity
+ * 
+ * This file is part of L2J Unity.
+ * 
+ * L2J Unity is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * L2J Unity is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.l2junity.benchmarks;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.l2junity.gameserver.pathfinding.AbstractNodeLoc;
+import org.l2junity.gameserver.pathfinding.cellnodes.CellPathFinding;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cell path finding on the synthetic geodata region, from the cell 8, 128 to the east.<br>
+ * The targets are in front of the first wall, behind it and behind the second one.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PathFindingBenchmark
+{
+	@Param(
+	{
+		"24",
+		"56",
+		"120"
+	})
+	public int targetCellX;
+	
+	private CellPathFinding _pathFinding;
+	private int _x;
+	private int _y;
+	private int _tx;
+	
+	@Setup
+	public void setUp() throws IOException
+	{
+		Fixtures.loadConfig();
+		Fixtures.loadSyntheticGeodata();
+		_pathFinding = CellPathFinding.getInstance();
+		_x = (8 * 16) + 8;
+		_y = (128 * 16) + 8;
+		_tx = (targetCellX * 16) + 8;
+		if (_pathFinding.findPath(_x, _y, Fixtures.GROUND_Z, _tx, _y, Fixtures.GROUND_Z, null, true) == null)
+		{
+			throw new IllegalStateException("No path to the cell " + targetCellX + ", 128!");
+		}
+	}
+	
+	@Benchmark
+	public List<AbstractNodeLoc> findPath()
+	{
+		return _pathFinding.findPath(_x, _y, Fixtures.GROUND_Z, _tx, _y, Fixtures.GROUND_Z, null, true);
+	}
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (C) 2004-2016 L2J Unity
+ * 
+ * This file is part of L2J Unity.
+ * 
+ * L2J Unity is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * L2J Unity is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.l2junity.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.l2junity.gameserver.model.World;
+import org.l2junity.gameserver.model.actor.Creature;
+import org.l2junity.gameserver.model.actor.instance.L2MonsterInstance;
+import org.l2junity.gameserver.model.actor.templates.L2NpcTemplate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Visible object lookups around a monster, with the other monsters spread over a 6000 x 6000 square.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WorldBenchmark
+{
+	private static final int AREA_SIZE = 6000;
+	
+	@Param(
+	{
+		"100",
+		"1000"
+	})
+	public int objects;
+	
+	@Param(
+	{
+		"600",
+		"1500"
+	})
+	public int range;
+	
+	private final List<L2MonsterInstance> _monsters = new ArrayList<>();
+	private int _found;
+	private final Consumer<Creature> _counter = creature -> _found++;
+	private L2MonsterInstance _center;
+	
+	@Setup
+	public void setUp()
+	{
+		Fixtures.loadConfig();
+		final L2NpcTemplate template = Fixtures.createMonsterTemplate(85);
+		final Random random = new Random(objects);
+		_center = Fixtures.spawnMonster(template, 0, 0, Fixtures.GROUND_Z);
+		_monsters.add(_center);
+		for (int i = 1; i < objects; i++)
+		{
+			_monsters.add(Fixtures.spawnMonster(template, random.nextInt(AREA_SIZE) - (AREA_SIZE / 2), random.nextInt(AREA_SIZE) - (AREA_SIZE / 2), Fixtures.GROUND_Z));
+		}
+	}
+	
+	@TearDown
+	public void tearDown()
+	{
+		_monsters.forEach(L2MonsterInstance::decayMe);
+		_monsters.clear();
+	}
+	
+	@Benchmark
+	public int forEachVisibleObjectInRange()
+	{
+		_found = 0;
+		World.getInstance().forEachVisibleObjectInRange(_center, Creature.class, range, _counter);
+		return _found;
+	}
+	
+	@Benchmark
+	public List<Creature> getVisibleObjects()
+	{
+		return World.getInstance().getVisibleObjects(_center, Creature.class, range);
+	}
+}
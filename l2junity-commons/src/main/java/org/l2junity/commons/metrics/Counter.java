@@ -0,0 +1,44 @@
+/*
+ * Copyright (C) 2004-2015 L2J Unity
+ * 
+ * This file is part of L2J Unity.
+ * 
+ * L2J Unity is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * L2J Unity is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.l2junity.commons.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A counter that only goes up, cheap to increment from many threads at once.
+ */
+public final class Counter
+{
+	private final LongAdder _value = new LongAdder();
+	
+	public void increment()
+	{
+		_value.increment();
+	}
+	
+	public void add(long amount)
+	{
+		_value.add(amount);
+	}
+	
+	public long get()
+	{
+		return _value.sum();
+	}
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (C) 2004-2015 L2J Unity
+ * 
+ * This file is part of L2J Unity.
+ * 
+ * L2J Unity is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * L2J Unity is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.l2junity.commons.metrics;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Serves a {@link MetricsRegistry} in the Prometheus text format on {@code /metrics}, for a collector running next to the server.<br>
+ * Requests are answered one at a time on the thread of the embedded JDK server, scraping is rare enough for that.
+ */
+public final class MetricsHttpServer
+{
+	private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+	
+	private final HttpServer _server;
+	
+	/**
+	 * Starts serving the metrics.
+	 * @param registry the metrics
+	 * @param host the address to listen on, keep it local unless the port is firewalled
+	 * @param port the port to listen on
+	 * @throws IOException if the address cannot be bound
+	 */
+	public MetricsHttpServer(MetricsRegistry registry, String host, int port) throws IOException
+	{
+		_server = HttpServer.create(new InetSocketAddress(host, port), 0);
+		_server.createContext("/metrics", exchange ->
+		{
+			try
+			{
+				final byte[] body = registry.toText().getBytes(StandardCharsets.UTF_8);
+				exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+				exchange.sendResponseHeaders(200, body.length);
+				try (OutputStream out = exchange.getResponseBody())
+				{
+					out.write(body);
+				}
+			}
+			finally
+			{
+				exchange.close();
+			}
+		});
+		_server.start();
+	}
+	
+	public void stop()
+	{
+		_server.stop(0);
+	}
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (C) 2004-2015 L2J Unity
+ * 
+ * This file is part of L2J Unity.
+ * 
+ * L2J Unity is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * L2J Unity is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.l2junity.commons.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.JMException;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.ObjectName;
+import javax.management.ReflectionException;
+
+/**
+ * Publishes the values of a {@link MetricsRegistry} as read only attributes of a single JMX bean, named like the keys of {@link MetricsRegistry#getValues()}.<br>
+ * The attributes follow the metrics registered meanwhile, JMX clients see new ones once they reload the bean info.
+ */
+public final class MetricsMBean implements DynamicMBean
+{
+	private final MetricsRegistry _registry;
+	
+	private MetricsMBean(MetricsRegistry registry)
+	{
+		_registry = registry;
+	}
+	
+	/**
+	 * Registers the metrics with the platform MBean server.
+	 * @param registry the metrics
+	 * @param name the object name, such as {@code org.l2junity:type=Metrics}
+	 * @throws JMException if the name is invalid or already taken
+	 */
+	public static void register(MetricsRegistry registry, String name) throws JMException
+	{
+		ManagementFactory.getPlatformMBeanServer().registerMBean(new MetricsMBean(registry), new ObjectName(name));
+	}
+	
+	@Override
+	public Object getAttribute(String attribute) throws AttributeNotFoundException
+	{
+		final Double value = _registry.getValues().get(attribute);
+		if (value == null)
+		{
+			throw new AttributeNotFoundException(attribute);
+		}
+		return value;
+	}
+	
+	@Override
+	public AttributeList getAttributes(String[] attributes)
+	{
+		final Map<String, Double> values = _registry.getValues();
+		final AttributeList list = new AttributeList();
+		for (String attribute : attributes)
+		{
+			final Double value = values.get(attribute);
+			if (value != null)
+			{
+				list.add(new Attribute(attribute, value));
+			}
+		}
+		return list;
+	}
+	
+	@Override
+	public void setAttribute(Attribute attribute) throws AttributeNotFoundException
+	{
+		throw new AttributeNotFoundException("Metrics are read only: " + attribute.getName());
+	}
+	
+	@Override
+	public AttributeList setAttributes(AttributeList attributes)
+	{
+		return new AttributeList();
+	}
+	
+	@Override
+	public Object invoke(String actionName, Object[] params, String[] signature) throws ReflectionException
+	{
+		throw new ReflectionException(new NoSuchMethodException(actionName));
+	}
+	
+	@Override
+	public MBeanInfo getMBeanInfo()
+	{
+		final Map<String, Double> values = _registry.getValues();
+		final MBeanAttributeInfo[] attributes = new MBeanAttributeInfo[values.size()];
+		int i = 0;
+		for (Entry<String, Double> entry : values.entrySet())
+		{
+			attributes[i++] = new MBeanAttributeInfo(entry.getKey(), Double.class.getName(), entry.getKey(), true, false, false);
+		}
+		return new MBeanInfo(getClass().getName(), "Server metrics", attributes, null, null, null);
+	}
+}
@@ -0,0 +1,383 @@
+/*
+ * Copyright (C) 2004-2015 L2J Unity
+ * 
+ * This file is part of L2J Unity.
+ * 
+ * L2J Unity is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * L2J Unity is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.l2junity.commons.metrics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.DoubleSupplier;
+import java.util.function.Function;
+
+import org.l2junity.commons.util.LatencyHistogram;
+
+/**
+ * Registry of the runtime metrics of a server: counters, gauges and latency histograms, each identified by a name and optional labels.<br>
+ * Components keep the returned {@link Counter} or {@link LatencyHistogram} and update it directly, so the registry is never touched on hot paths. Gauges are read only when the metrics are exported.<br>
+ * Names follow the Prometheus conventions, timers record nanoseconds and are exported in seconds.
+ */
+public final class MetricsRegistry
+{
+	private static final double[] QUANTILES =
+	{
+		0.5,
+		0.9,
+		0.99
+	};
+	
+	private final Map<String, Family> _families = new ConcurrentHashMap<>();
+	
+	/**
+	 * @param name the metric name
+	 * @param help the description of the metric
+	 * @param labels label names and values, alternately
+	 * @return the counter with the given name and labels, created on first use
+	 */
+	public Counter counter(String name, String help, String... labels)
+	{
+		return getFamily(name, help, Type.COUNTER).get(labels, key -> new Counter());
+	}
+	
+	/**
+	 * Registers a counter kept by someone else, for example the completed tasks of a thread pool. Registering the same name and labels again replaces the previous value.
+	 * @param name the metric name
+	 * @param help the description of the metric
+	 * @param value supplies the current value
+	 * @param labels label names and values, alternately
+	 */
+	public void counter(String name, String help, DoubleSupplier value, String... labels)
+	{
+		getFamily(name, help, Type.COUNTER).put(labels, value);
+	}
+	
+	/**
+	 * Registers a value that can go up and down. Registering the same name and labels again replaces the previous value.
+	 * @param name the metric name
+	 * @param help the description of the metric
+	 * @param value supplies the current value
+	 * @param labels label names and values, alternately
+	 */
+	public void gauge(String name, String help, DoubleSupplier value, String... labels)
+	{
+		getFamily(name, help, Type.GAUGE).put(labels, value);
+	}
+	
+	/**
+	 * @param name the metric name, ending with {@code _seconds}
+	 * @param help the description of the metric
+	 * @param labels label names and values, alternately
+	 * @return the histogram to record nanoseconds to, created on first use
+	 */
+	public LatencyHistogram timer(String name, String help, String... labels)
+	{
+		return getFamily(name, help, Type.TIMER).get(labels, key -> new LatencyHistogram());
+	}
+	
+	/**
+	 * @param name the metric name
+	 * @param help the description of the metric
+	 * @param labels label names and values, alternately
+	 * @return the histogram to record plain values to, such as sizes, created on first use
+	 */
+	public LatencyHistogram histogram(String name, String help, String... labels)
+	{
+		return getFamily(name, help, Type.HISTOGRAM).get(labels, key -> new LatencyHistogram());
+	}
+	
+	private Family getFamily(String name, String help, Type type)
+	{
+		final Family family = _families.computeIfAbsent(name, key -> new Family(name, help, type));
+		if (family._type != type)
+		{
+			throw new IllegalArgumentException("Metric " + name + " is already registered as " + family._type);
+		}
+		return family;
+	}
+	
+	/**
+	 * Writes every metric in the Prometheus text exposition format.
+	 * @param sb the builder to append to
+	 */
+	public void writeText(StringBuilder sb)
+	{
+		for (Family family : getFamilies())
+		{
+			sb.append("# HELP ").append(family._name).append(' ').append(family._help).append('\n');
+			sb.append("# TYPE ").append(family._name).append(' ').append(family._type.getExportName()).append('\n');
+			for (Entry<String, Object> entry : family.getMetrics())
+			{
+				final String labels = entry.getKey();
+				final Object metric = entry.getValue();
+				if (metric instanceof LatencyHistogram)
+				{
+					final LatencyHistogram histogram = (LatencyHistogram) metric;
+					final double scale = family._type.getScale();
+					for (double quantile : QUANTILES)
+					{
+						writeSample(sb, family._name, labels, "quantile=\"" + quantile + "\"", histogram.getPercentile(quantile * 100) * scale);
+					}
+					writeSample(sb, family._name, labels, "quantile=\"1.0\"", histogram.getMax() * scale);
+					writeSample(sb, family._name + "_sum", labels, null, histogram.getSum() * scale);
+					writeSample(sb, family._name + "_count", labels, null, histogram.getCount());
+				}
+				else
+				{
+					writeSample(sb, family._name, labels, null, getValue(metric));
+				}
+			}
+		}
+	}
+	
+	/**
+	 * @return every metric in the Prometheus text exposition format
+	 */
+	public String toText()
+	{
+		final StringBuilder sb = new StringBuilder();
+		writeText(sb);
+		return sb.toString();
+	}
+	
+	/**
+	 * Flattens the metrics to single values, keyed by the metric name followed by its label values and for histograms the statistic, separated by dots.
+	 * @return the current values, sorted by key
+	 */
+	public Map<String, Double> getValues()
+	{
+		final Map<String, Double> values = new LinkedHashMap<>();
+		for (Family family : getFamilies())
+		{
+			for (Entry<String, Object> entry : family.getMetrics())
+			{
+				final String key = family._name + getLabelValues(entry.getKey());
+				final Object metric = entry.getValue();
+				if (metric instanceof LatencyHistogram)
+				{
+					final LatencyHistogram histogram = (LatencyHistogram) metric;
+					final double scale = family._type.getScale();
+					values.put(key + ".count", (double) histogram.getCount());
+					values.put(key + ".mean", histogram.getMean() * scale);
+					values.put(key + ".p50", histogram.getPercentile(50) * scale);
+					values.put(key + ".p99", histogram.getPercentile(99) * scale);
+					values.put(key + ".max", histogram.getMax() * scale);
+				}
+				else
+				{
+					values.put(key, getValue(metric));
+				}
+			}
+		}
+		return values;
+	}
+	
+	private List<Family> getFamilies()
+	{
+		final List<Family> families = new ArrayList<>(_families.values());
+		families.sort((f1, f2) -> f1._name.compareTo(f2._name));
+		return families;
+	}
+	
+	private static double getValue(Object metric)
+	{
+		if (metric instanceof Counter)
+		{
+			return ((Counter) metric).get();
+		}
+		
+		try
+		{
+			return ((DoubleSupplier) metric).getAsDouble();
+		}
+		catch (RuntimeException e)
+		{
+			// A gauge of something not available (yet), does not fail the whole export.
+			return Double.NaN;
+		}
+	}
+	
+	private static void writeSample(StringBuilder sb, String name, String labels, String extraLabel, double value)
+	{
+		sb.append(name);
+		if (!labels.isEmpty() || (extraLabel != null))
+		{
+			sb.append('{').append(labels);
+			if (extraLabel != null)
+			{
+				sb.append(labels.isEmpty() ? "" : ",").append(extraLabel);
+			}
+			sb.append('}');
+		}
+		sb.append(' ');
+		if ((value == Math.rint(value)) && (Math.abs(value) < 1e15))
+		{
+			sb.append((long) value);
+		}
+		else if (Double.isNaN(value))
+		{
+			sb.append("NaN");
+		}
+		else
+		{
+			sb.append(value);
+		}
+		sb.append('\n');
+	}
+	
+	/**
+	 * @param labels label names and values, alternately
+	 * @return the labels as written in the text format, {@code name="value"} separated by commas
+	 */
+	private static String formatLabels(String[] labels)
+	{
+		if ((labels.length % 2) != 0)
+		{
+			throw new IllegalArgumentException("Labels must be given as name and value pairs");
+		}
+		
+		final StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < labels.length; i += 2)
+		{
+			if (i > 0)
+			{
+				sb.append(',');
+			}
+			sb.append(labels[i]).append("=\"");
+			final String value = labels[i + 1];
+			for (int j = 0; j < value.length(); j++)
+			{
+				final char c = value.charAt(j);
+				switch (c)
+				{
+					case '\\':
+						sb.append("\\\\");
+						break;
+					case '"':
+						sb.append("\\\"");
+						break;
+					case '\n':
+						sb.append("\\n");
+						break;
+					default:
+						sb.append(c);
+						break;
+				}
+			}
+			sb.append('"');
+		}
+		return sb.toString();
+	}
+	
+	/**
+	 * @param labels the labels as written in the text format
+	 * @return the label values, each preceded by a dot
+	 */
+	private static String getLabelValues(String labels)
+	{
+		final StringBuilder sb = new StringBuilder();
+		int start = labels.indexOf("=\"");
+		while (start >= 0)
+		{
+			start += 2;
+			int end = start;
+			while ((end < labels.length()) && ((labels.charAt(end) != '"') || (labels.charAt(end - 1) == '\\')))
+			{
+				end++;
+			}
+			sb.append('.').append(labels, start, end);
+			start = labels.indexOf("=\"", end);
+		}
+		return sb.toString();
+	}
+	
+	private enum Type
+	{
+		COUNTER("counter", 1),
+		GAUGE("gauge", 1),
+		TIMER("summary", 1e-9),
+		HISTOGRAM("summary", 1);
+		
+		private final String _exportName;
+		private final double _scale;
+		
+		Type(String exportName, double scale)
+		{
+			_exportName = exportName;
+			_scale = scale;
+		}
+		
+		String getExportName()
+		{
+			return _exportName;
+		}
+		
+		/**
+		 * @return the factor recorded values are multiplied with when exported
+		 */
+		double getScale()
+		{
+			return _scale;
+		}
+	}
+	
+	private static final class Family
+	{
+		final String _name;
+		final String _help;
+		final Type _type;
+		final Map<String, Object> _metrics = new ConcurrentHashMap<>();
+		
+		Family(String name, String help, Type type)
+		{
+			_name = name;
+			_help = help;
+			_type = type;
+		}
+		
+		@SuppressWarnings("unchecked")
+		<T> T get(String[] labels, Function<String, T> factory)
+		{
+			return (T) _metrics.computeIfAbsent(formatLabels(labels), factory);
+		}
+		
+		void put(String[] labels, Object metric)
+		{
+			_metrics.put(formatLabels(labels), metric);
+		}
+		
+		List<Entry<String, Object>> getMetrics()
+		{
+			final List<Entry<String, Object>> metrics = new ArrayList<>(_metrics.entrySet());
+			metrics.sort(Entry.comparingByKey());
+			return Collections.unmodifiableList(metrics);
+		}
+	}
+	
+	public static MetricsRegistry getInstance()
+	{
+		return SingletonHolder._instance;
+	}
+	
+	private static class SingletonHolder
+	{
+		protected static final MetricsRegistry _instance = new MetricsRegistry();
+	}
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright (C) 2004-2015 L2J Unity
+ * 
+ * This file is part of L2J Unity.
+ * 
+ * L2J Unity is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * L2J Unity is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.l2junity.commons.metrics;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.l2junity.commons.util.LatencyHistogram;
+
+/**
+ * Times the statements run through wrapped database connections, per query type.<br>
+ * The query type is the statement kind and the first table it uses, such as {@code select characters}, so statements written differently for the same purpose share their timing.
+ */
+public final class QueryMetrics
+{
+	private static final String METRIC_NAME = "l2j_db_query_seconds";
+	private static final String METRIC_HELP = "Time spent executing database statements.";
+	// Statements built with inlined values would make this grow without end, past it the type is worked out each time.
+	private static final int MAX_CACHED_STATEMENTS = 10000;
+	
+	private final MetricsRegistry _registry;
+	private final Map<String, LatencyHistogram> _timers = new ConcurrentHashMap<>();
+	
+	public QueryMetrics(MetricsRegistry registry)
+	{
+		_registry = registry;
+	}
+	
+	/**
+	 * @param con the connection
+	 * @return a connection timing every statement it creates, closing it closes the given connection
+	 */
+	public Connection wrap(Connection con)
+	{
+		return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]
+		{
+			Connection.class
+		}, new ConnectionHandler(con));
+	}
+	
+	private LatencyHistogram getTimer(String sql)
+	{
+		// Batches run on a plain statement have no query text, which the map does not take as a key.
+		if (sql == null)
+		{
+			return _registry.timer(METRIC_NAME, METRIC_HELP, "query", getQueryType(null));
+		}
+		
+		final LatencyHistogram timer = _timers.get(sql);
+		if (timer != null)
+		{
+			return timer;
+		}
+		
+		final LatencyHistogram created = _registry.timer(METRIC_NAME, METRIC_HELP, "query", getQueryType(sql));
+		if (_timers.size() < MAX_CACHED_STATEMENTS)
+		{
+			_timers.put(sql, created);
+		}
+		return created;
+	}
+	
+	/**
+	 * @param sql the statement
+	 * @return the statement kind followed by the first table it uses, lower case
+	 */
+	public static String getQueryType(String sql)
+	{
+		if (sql == null)
+		{
+			return "batch";
+		}
+		
+		final String[] words = sql.trim().toLowerCase(Locale.ENGLISH).split("[\\s(),`]+", 16);
+		final String kind = words[0];
+		String previous = null;
+		for (int i = 1; i < words.length; i++)
+		{
+			switch (kind)
+			{
+				case "select":
+				case "delete":
+					// A sub query in the from clause is skipped, its own from clause names the table.
+					if ("from".equals(previous) && !"select".equals(words[i]))
+					{
+						return kind + " " + words[i];
+					}
+					break;
+				case "insert":
+				case "replace":
+					if ("into".equals(previous))
+					{
+						return kind + " " + words[i];
+					}
+					break;
+				case "update":
+					if (!"low_priority".equals(words[i]) && !"ignore".equals(words[i]))
+					{
+						return kind + " " + words[i];
+					}
+					break;
+			}
+			previous = words[i];
+		}
+		return kind;
+	}
+	
+	private final class ConnectionHandler implements InvocationHandler
+	{
+		private final Connection _con;
+		
+		ConnectionHandler(Connection con)
+		{
+			_con = con;
+		}
+		
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable
+		{
+			final Object result = QueryMetrics.invoke(_con, method, args);
+			if (!(result instanceof Statement))
+			{
+				return result;
+			}
+			
+			// createStatement() has no statement yet, its executions are timed by the statement they are given.
+			final String sql = ((args != null) && (args.length > 0) && (args[0] instanceof String)) ? (String) args[0] : null;
+			return Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]
+			{
+				method.getReturnType()
+			}, new StatementHandler((Statement) result, sql));
+		}
+	}
+	
+	private final class StatementHandler implements InvocationHandler
+	{
+		private final Statement _statement;
+		private final String _sql;
+		
+		StatementHandler(Statement statement, String sql)
+		{
+			_statement = statement;
+			_sql = sql;
+		}
+		
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable
+		{
+			if (!method.getName().startsWith("execute"))
+			{
+				return QueryMetrics.invoke(_statement, method, args);
+			}
+			
+			final String sql = ((args != null) && (args.length > 0) && (args[0] instanceof String)) ? (String) args[0] : _sql;
+			final long start = System.nanoTime();
+			try
+			{
+				return QueryMetrics.invoke(_statement, method, args);
+			}
+			finally
+			{
+				getTimer(sql).recordSince(start);
+			}
+		}
+	}
+	
+	private static Object invoke(Object target, Method method, Object[] args) throws Throwable
+	{
+		try
+		{
+			return method.invoke(target, args);
+		}
+		catch (InvocationTargetException e)
+		{
+			throw e.getCause();
+		}
+	}
+}
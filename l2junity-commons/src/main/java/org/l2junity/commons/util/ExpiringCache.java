@@ -0,0 +1,144 @@
+/*
+ * Copyright (C) 2004-2015 L2J Unity
+ * 
+ * This file is part of L2J Unity.
+ * 
+ * L2J Unity is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * L2J Unity is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.l2junity.commons.util;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * A concurrent cache whose entries expire a fixed time after they were stored.<br>
+ * Expired entries are dropped on access, or all at once with {@link #purge()}.
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public class ExpiringCache<K, V>
+{
+	private final Map<K, CacheEntry<V>> _entries = new ConcurrentHashMap<>();
+	private final long _ttlNanos;
+	private final LongAdder _hits = new LongAdder();
+	private final LongAdder _misses = new LongAdder();
+	
+	/**
+	 * @param ttl the time an entry stays valid after it was stored
+	 * @param unit the time unit of the ttl parameter
+	 */
+	public ExpiringCache(long ttl, TimeUnit unit)
+	{
+		_ttlNanos = unit.toNanos(ttl);
+	}
+	
+	/**
+	 * @param key the key
+	 * @return the cached value, or {@code null} if there is none or it expired
+	 */
+	public V get(K key)
+	{
+		final CacheEntry<V> entry = _entries.get(key);
+		if (entry != null)
+		{
+			if (!entry.isExpired(System.nanoTime()))
+			{
+				_hits.increment();
+				return entry._value;
+			}
+			_entries.remove(key, entry);
+		}
+		_misses.increment();
+		return null;
+	}
+	
+	/**
+	 * Gets the cached value, loading and storing it on a miss.
+	 * @param key the key
+	 * @param loader the function loading the value, a {@code null} result is not cached
+	 * @return the cached or loaded value
+	 */
+	public V get(K key, Function<? super K, ? extends V> loader)
+	{
+		V value = get(key);
+		if (value == null)
+		{
+			value = loader.apply(key);
+			if (value != null)
+			{
+				put(key, value);
+			}
+		}
+		return value;
+	}
+	
+	public void put(K key, V value)
+	{
+		_entries.put(key, new CacheEntry<>(value, System.nanoTime() + _ttlNanos));
+	}
+	
+	public void invalidate(K key)
+	{
+		_entries.remove(key);
+	}
+	
+	public void clear()
+	{
+		_entries.clear();
+	}
+	
+	/**
+	 * Removes all expired entries.
+	 */
+	public void purge()
+	{
+		final long now = System.nanoTime();
+		_entries.values().removeIf(entry -> entry.isExpired(now));
+	}
+	
+	public int size()
+	{
+		return _entries.size();
+	}
+	
+	public long getHits()
+	{
+		return _hits.sum();
+	}
+	
+	public long getMisses()
+	{
+		return _misses.sum();
+	}
+	
+	private static final class CacheEntry<V>
+	{
+		protected final V _value;
+		private final long _expiresAt;
+		
+		protected CacheEntry(V value, long expiresAt)
+		{
+			_value = value;
+			_expiresAt = expiresAt;
+		}
+		
+		protected boolean isExpired(long now)
+		{
+			return (now - _expiresAt) > 0;
+		}
+	}
+}
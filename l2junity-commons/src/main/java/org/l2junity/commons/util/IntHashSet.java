@@ -0,0 +1,263 @@
+/*
+ * Copyright (C) 2004-2015 L2J Unity
+ * 
+ * This file is part of L2J Unity.
+ * 
+ * L2J Unity is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * L2J Unity is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.l2junity.commons.util;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * A set of primitive ints backed by an open addressing hash table with linear probing.<br>
+ * Lookups do not box and do not allocate. This class is not thread-safe, callers sharing an instance across threads must either synchronize or treat it as immutable once published.
+ */
+public class IntHashSet
+{
+	private static final int FREE = 0;
+	private static final int DEFAULT_CAPACITY = 8;
+	
+	private int[] _table;
+	private int _size;
+	private boolean _containsFree;
+	
+	public IntHashSet()
+	{
+		this(DEFAULT_CAPACITY);
+	}
+	
+	/**
+	 * @param expectedSize the number of values the set should hold without growing
+	 */
+	public IntHashSet(int expectedSize)
+	{
+		_table = new int[tableSizeFor(expectedSize)];
+	}
+	
+	/**
+	 * @param other the set to copy
+	 */
+	public IntHashSet(IntHashSet other)
+	{
+		_table = other._table.clone();
+		_size = other._size;
+		_containsFree = other._containsFree;
+	}
+	
+	/**
+	 * @param value the value to look up
+	 * @return {@code true} if the set contains the value
+	 */
+	public boolean contains(int value)
+	{
+		if (value == FREE)
+		{
+			return _containsFree;
+		}
+		
+		final int[] table = _table;
+		final int mask = table.length - 1;
+		for (int i = mix(value) & mask;; i = (i + 1) & mask)
+		{
+			final int current = table[i];
+			if (current == value)
+			{
+				return true;
+			}
+			if (current == FREE)
+			{
+				return false;
+			}
+		}
+	}
+	
+	/**
+	 * @param value the value to add
+	 * @return {@code true} if the set did not already contain the value
+	 */
+	public boolean add(int value)
+	{
+		if (value == FREE)
+		{
+			if (_containsFree)
+			{
+				return false;
+			}
+			_containsFree = true;
+			_size++;
+			return true;
+		}
+		
+		final int mask = _table.length - 1;
+		int i = mix(value) & mask;
+		for (int current = _table[i]; current != FREE; current = _table[i])
+		{
+			if (current == value)
+			{
+				return false;
+			}
+			i = (i + 1) & mask;
+		}
+		_table[i] = value;
+		if (++_size > (_table.length >> 1))
+		{
+			rehash(_table.length << 1);
+		}
+		return true;
+	}
+	
+	/**
+	 * @param value the value to remove
+	 * @return {@code true} if the set contained the value
+	 */
+	public boolean remove(int value)
+	{
+		if (value == FREE)
+		{
+			if (!_containsFree)
+			{
+				return false;
+			}
+			_containsFree = false;
+			_size--;
+			return true;
+		}
+		
+		final int mask = _table.length - 1;
+		int i = mix(value) & mask;
+		for (int current = _table[i]; current != value; current = _table[i])
+		{
+			if (current == FREE)
+			{
+				return false;
+			}
+			i = (i + 1) & mask;
+		}
+		
+		// Shift the following entries of the probe chain back so no lookup stops early at the freed slot.
+		int free = i;
+		for (int j = (i + 1) & mask; _table[j] != FREE; j = (j + 1) & mask)
+		{
+			final int home = mix(_table[j]) & mask;
+			if (((j - home) & mask) >= ((j - free) & mask))
+			{
+				_table[free] = _table[j];
+				free = j;
+			}
+		}
+		_table[free] = FREE;
+		_size--;
+		return true;
+	}
+	
+	public int size()
+	{
+		return _size;
+	}
+	
+	public boolean isEmpty()
+	{
+		return _size == 0;
+	}
+	
+	public void clear()
+	{
+		Arrays.fill(_table, FREE);
+		_containsFree = false;
+		_size = 0;
+	}
+	
+	/**
+	 * @param action the action performed for each value, in no particular order
+	 */
+	public void forEach(IntConsumer action)
+	{
+		if (_containsFree)
+		{
+			action.accept(FREE);
+		}
+		for (int value : _table)
+		{
+			if (value != FREE)
+			{
+				action.accept(value);
+			}
+		}
+	}
+	
+	/**
+	 * @return the values of this set, in no particular order
+	 */
+	public int[] toArray()
+	{
+		final int[] values = new int[_size];
+		int index = 0;
+		if (_containsFree)
+		{
+			values[index++] = FREE;
+		}
+		for (int value : _table)
+		{
+			if (value != FREE)
+			{
+				values[index++] = value;
+			}
+		}
+		return values;
+	}
+	
+	private void rehash(int capacity)
+	{
+		final int[] old = _table;
+		final int mask = capacity - 1;
+		_table = new int[capacity];
+		for (int value : old)
+		{
+			if (value != FREE)
+			{
+				int i = mix(value) & mask;
+				while (_table[i] != FREE)
+				{
+					i = (i + 1) & mask;
+				}
+				_table[i] = value;
+			}
+		}
+	}
+	
+	private static int tableSizeFor(int expectedSize)
+	{
+		final int capacity = Integer.highestOneBit(Math.max(expectedSize, DEFAULT_CAPACITY / 2) << 1);
+		return capacity < (expectedSize << 1) ? capacity << 1 : capacity;
+	}
+	
+	/**
+	 * Spreads sequential ids, such as object ids, over the table.
+	 * @param value the value
+	 * @return the mixed hash
+	 */
+	private static int mix(int value)
+	{
+		final int h = value * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+	
+	@Override
+	public String toString()
+	{
+		return Arrays.toString(toArray());
+	}
+}
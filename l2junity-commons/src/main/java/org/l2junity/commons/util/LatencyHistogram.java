@@ -0,0 +1,184 @@
+/*
+ * Copyright (C) 2004-2015 L2J Unity
+ * 
+ * This file is part of L2J Unity.
+ * 
+ * L2J Unity is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * L2J Unity is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.l2junity.commons.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free latency histogram with logarithmic buckets.<br>
+ * Each power of two is split in 32 linear sub buckets, so recorded values keep about 3% precision up to several hours.<br>
+ * Recording is a couple of atomic increments, cheap enough for hot paths.
+ */
+public class LatencyHistogram
+{
+	private static final int SUB_BUCKET_BITS = 5;
+	private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+	private static final int MAX_MAGNITUDE = 45;
+	private static final int BUCKET_COUNT = (2 * SUB_BUCKET_COUNT) + ((MAX_MAGNITUDE - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT);
+	
+	private final AtomicLongArray _buckets = new AtomicLongArray(BUCKET_COUNT);
+	private final LongAdder _count = new LongAdder();
+	private final LongAdder _sum = new LongAdder();
+	private final AtomicLong _max = new AtomicLong();
+	
+	/**
+	 * Records a value.
+	 * @param value the value, usually in nanoseconds
+	 */
+	public void record(long value)
+	{
+		if (value < 0)
+		{
+			value = 0;
+		}
+		
+		_buckets.incrementAndGet(getBucketIndex(value));
+		_count.increment();
+		_sum.add(value);
+		
+		long max = _max.get();
+		while ((value > max) && !_max.compareAndSet(max, value))
+		{
+			max = _max.get();
+		}
+	}
+	
+	/**
+	 * Records the time elapsed since the given {@link System#nanoTime()} stamp.
+	 * @param startNanos the start stamp
+	 */
+	public void recordSince(long startNanos)
+	{
+		record(System.nanoTime() - startNanos);
+	}
+	
+	public long getCount()
+	{
+		return _count.sum();
+	}
+	
+	public long getSum()
+	{
+		return _sum.sum();
+	}
+	
+	public long getMax()
+	{
+		return _max.get();
+	}
+	
+	public double getMean()
+	{
+		final long count = _count.sum();
+		return count == 0 ? 0 : (double) _sum.sum() / count;
+	}
+	
+	/**
+	 * @param percentile the percentile, between 0 and 100
+	 * @return the upper bound of the bucket holding the given percentile, or 0 if nothing was recorded
+	 */
+	public long getPercentile(double percentile)
+	{
+		final long[] counts = new long[BUCKET_COUNT];
+		long total = 0;
+		for (int i = 0; i < BUCKET_COUNT; i++)
+		{
+			counts[i] = _buckets.get(i);
+			total += counts[i];
+		}
+		
+		if (total == 0)
+		{
+			return 0;
+		}
+		
+		final long target = Math.max(1, (long) Math.ceil((Math.min(100, Math.max(0, percentile)) / 100) * total));
+		long seen = 0;
+		for (int i = 0; i < BUCKET_COUNT; i++)
+		{
+			seen += counts[i];
+			if (seen >= target)
+			{
+				return Math.min(getBucketUpperBound(i), _max.get());
+			}
+		}
+		return _max.get();
+	}
+	
+	/**
+	 * Clears all recorded values.
+	 */
+	public void reset()
+	{
+		for (int i = 0; i < BUCKET_COUNT; i++)
+		{
+			_buckets.set(i, 0);
+		}
+		_count.reset();
+		_sum.reset();
+		_max.set(0);
+	}
+	
+	/**
+	 * @param unit the time unit recorded values are converted to, values are assumed to be nanoseconds
+	 * @return a short summary of the histogram
+	 */
+	public String toString(TimeUnit unit)
+	{
+		return "count=" + getCount() + " mean=" + unit.convert((long) getMean(), TimeUnit.NANOSECONDS) + " p50=" + unit.convert(getPercentile(50), TimeUnit.NANOSECONDS) + " p99=" + unit.convert(getPercentile(99), TimeUnit.NANOSECONDS) + " max=" + unit.convert(getMax(), TimeUnit.NANOSECONDS);
+	}
+	
+	@Override
+	public String toString()
+	{
+		return "count=" + getCount() + " mean=" + (long) getMean() + " p50=" + getPercentile(50) + " p99=" + getPercentile(99) + " max=" + getMax();
+	}
+	
+	private static int getBucketIndex(long value)
+	{
+		if (value < (2 * SUB_BUCKET_COUNT))
+		{
+			return (int) value;
+		}
+		
+		final int magnitude = 63 - Long.numberOfLeadingZeros(value);
+		if (magnitude >= MAX_MAGNITUDE)
+		{
+			return BUCKET_COUNT - 1;
+		}
+		
+		final int shift = magnitude - SUB_BUCKET_BITS;
+		return (2 * SUB_BUCKET_COUNT) + ((shift - 1) * SUB_BUCKET_COUNT) + (int) ((value >>> shift) - SUB_BUCKET_COUNT);
+	}
+	
+	private static long getBucketUpperBound(int index)
+	{
+		if (index < (2 * SUB_BUCKET_COUNT))
+		{
+			return index;
+		}
+		
+		final int shift = ((index - (2 * SUB_BUCKET_COUNT)) / SUB_BUCKET_COUNT) + 1;
+		final int subBucket = (index - (2 * SUB_BUCKET_COUNT)) % SUB_BUCKET_COUNT;
+		return ((long) (SUB_BUCKET_COUNT + subBucket + 1) << shift) - 1;
+	}
+}
@@ -0,0 +1,380 @@
+/*
+ * Copyright (C) 2004-2015 L2J Unity
+ * 
+ * This file is part of L2J Unity.
+ * 
+ * L2J Unity is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * L2J Unity is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.l2junity.commons.util;
+
+import java.util.AbstractCollection;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * A concurrent map from int keys to objects for keys handed out densely from a base value, such as object ids.<br>
+ * Keys from the base value up are stored directly at their offset in pages of {@value #PAGE_SIZE} slots, so lookups neither box nor hash and take no lock. Keys below the base value go to a regular concurrent map.<br>
+ * Pages are allocated on first use and kept afterwards, on the assumption that freed keys are handed out again.
+ * @param <V> the type of the values
+ */
+public class PagedIntObjectMap<V>
+{
+	private static final int PAGE_SHIFT = 12;
+	private static final int PAGE_SIZE = 1 << PAGE_SHIFT;
+	private static final int PAGE_MASK = PAGE_SIZE - 1;
+	private static final int INITIAL_PAGES = 16;
+	
+	private final int _base;
+	private final int _maxPages;
+	private volatile AtomicReferenceArray<AtomicReferenceArray<V>> _pages = new AtomicReferenceArray<>(INITIAL_PAGES);
+	private final AtomicInteger _pagedSize = new AtomicInteger();
+	private final Map<Integer, V> _outOfRange = new ConcurrentHashMap<>();
+	private final Values _values = new Values();
+	
+	/**
+	 * @param base the lowest key stored in pages
+	 */
+	public PagedIntObjectMap(int base)
+	{
+		_base = base;
+		_maxPages = (int) ((((long) Integer.MAX_VALUE - base) >>> PAGE_SHIFT) + 1);
+	}
+	
+	/**
+	 * @param key the key
+	 * @return the value mapped to the key, or {@code null} if none
+	 */
+	public V get(int key)
+	{
+		final long index = (long) key - _base;
+		if (index < 0)
+		{
+			return _outOfRange.get(key);
+		}
+		
+		final AtomicReferenceArray<AtomicReferenceArray<V>> pages = _pages;
+		final int pageIndex = (int) (index >>> PAGE_SHIFT);
+		if (pageIndex >= pages.length())
+		{
+			return null;
+		}
+		
+		final AtomicReferenceArray<V> page = pages.get(pageIndex);
+		return page != null ? page.get((int) index & PAGE_MASK) : null;
+	}
+	
+	/**
+	 * @param key the key
+	 * @return {@code true} if a value is mapped to the key
+	 */
+	public boolean containsKey(int key)
+	{
+		return get(key) != null;
+	}
+	
+	/**
+	 * @param key the key
+	 * @param value the value, not {@code null}
+	 * @return the value previously mapped to the key, or {@code null} if none
+	 */
+	public V put(int key, V value)
+	{
+		final long index = (long) key - _base;
+		if (index < 0)
+		{
+			return _outOfRange.put(key, value);
+		}
+		
+		final V previous = getOrCreatePage(index).getAndSet((int) index & PAGE_MASK, value);
+		if (previous == null)
+		{
+			_pagedSize.incrementAndGet();
+		}
+		return previous;
+	}
+	
+	/**
+	 * @param key the key
+	 * @param value the value, not {@code null}
+	 * @return the value already mapped to the key, or {@code null} if the given value was stored
+	 */
+	public V putIfAbsent(int key, V value)
+	{
+		final long index = (long) key - _base;
+		if (index < 0)
+		{
+			return _outOfRange.putIfAbsent(key, value);
+		}
+		
+		final AtomicReferenceArray<V> page = getOrCreatePage(index);
+		final int slot = (int) index & PAGE_MASK;
+		while (true)
+		{
+			if (page.compareAndSet(slot, null, value))
+			{
+				_pagedSize.incrementAndGet();
+				return null;
+			}
+			
+			final V current = page.get(slot);
+			if (current != null)
+			{
+				return current;
+			}
+		}
+	}
+	
+	/**
+	 * @param key the key
+	 * @return the value that was mapped to the key, or {@code null} if none
+	 */
+	public V remove(int key)
+	{
+		final long index = (long) key - _base;
+		if (index < 0)
+		{
+			return _outOfRange.remove(key);
+		}
+		
+		final AtomicReferenceArray<V> page = getPage(index);
+		if (page == null)
+		{
+			return null;
+		}
+		
+		final V previous = page.getAndSet((int) index & PAGE_MASK, null);
+		if (previous != null)
+		{
+			_pagedSize.decrementAndGet();
+		}
+		return previous;
+	}
+	
+	/**
+	 * @param key the key
+	 * @param value the value expected to be mapped to the key
+	 * @return {@code true} if the key was mapped to the value and is now removed
+	 */
+	public boolean remove(int key, V value)
+	{
+		final long index = (long) key - _base;
+		if (index < 0)
+		{
+			return _outOfRange.remove(key, value);
+		}
+		
+		final AtomicReferenceArray<V> page = getPage(index);
+		if ((page != null) && page.compareAndSet((int) index & PAGE_MASK, value, null))
+		{
+			_pagedSize.decrementAndGet();
+			return true;
+		}
+		return false;
+	}
+	
+	/**
+	 * @return the number of mapped keys
+	 */
+	public int size()
+	{
+		return _pagedSize.get() + _outOfRange.size();
+	}
+	
+	/**
+	 * @return {@code true} if no key is mapped
+	 */
+	public boolean isEmpty()
+	{
+		return size() == 0;
+	}
+	
+	/**
+	 * @return a weakly consistent, read-only view of the values, like the one of {@link ConcurrentHashMap#values()}
+	 */
+	public Collection<V> values()
+	{
+		return _values;
+	}
+	
+	/**
+	 * Performs the action on each value without allocating an iterator.
+	 * @param action the action
+	 */
+	public void forEach(Consumer<? super V> action)
+	{
+		final AtomicReferenceArray<AtomicReferenceArray<V>> pages = _pages;
+		for (int i = 0; i < pages.length(); i++)
+		{
+			final AtomicReferenceArray<V> page = pages.get(i);
+			if (page != null)
+			{
+				for (int slot = 0; slot < PAGE_SIZE; slot++)
+				{
+					final V value = page.get(slot);
+					if (value != null)
+					{
+						action.accept(value);
+					}
+				}
+			}
+		}
+		_outOfRange.values().forEach(action);
+	}
+	
+	private AtomicReferenceArray<V> getPage(long index)
+	{
+		final AtomicReferenceArray<AtomicReferenceArray<V>> pages = _pages;
+		final int pageIndex = (int) (index >>> PAGE_SHIFT);
+		return pageIndex < pages.length() ? pages.get(pageIndex) : null;
+	}
+	
+	private AtomicReferenceArray<V> getOrCreatePage(long index)
+	{
+		final AtomicReferenceArray<V> page = getPage(index);
+		return page != null ? page : createPage((int) (index >>> PAGE_SHIFT));
+	}
+	
+	/**
+	 * Pages are only created and the directory only grown under this lock, so a grown directory never misses a page created meanwhile in the old one.
+	 * @param pageIndex the index of the page
+	 * @return the page
+	 */
+	private synchronized AtomicReferenceArray<V> createPage(int pageIndex)
+	{
+		AtomicReferenceArray<AtomicReferenceArray<V>> pages = _pages;
+		if (pageIndex >= pages.length())
+		{
+			final AtomicReferenceArray<AtomicReferenceArray<V>> grown = new AtomicReferenceArray<>((int) Math.min(_maxPages, Math.max(pageIndex + 1L, pages.length() * 2L)));
+			for (int i = 0; i < pages.length(); i++)
+			{
+				grown.set(i, pages.get(i));
+			}
+			_pages = pages = grown;
+		}
+		
+		AtomicReferenceArray<V> page = pages.get(pageIndex);
+		if (page == null)
+		{
+			page = new AtomicReferenceArray<>(PAGE_SIZE);
+			pages.set(pageIndex, page);
+		}
+		return page;
+	}
+	
+	private final class Values extends AbstractCollection<V>
+	{
+		@Override
+		public Iterator<V> iterator()
+		{
+			return new ValueIterator();
+		}
+		
+		@Override
+		public Spliterator<V> spliterator()
+		{
+			// The size changes concurrently, it must not be reported as exact.
+			return Spliterators.spliteratorUnknownSize(iterator(), Spliterator.NONNULL | Spliterator.CONCURRENT);
+		}
+		
+		@Override
+		public int size()
+		{
+			return PagedIntObjectMap.this.size();
+		}
+		
+		@Override
+		public boolean isEmpty()
+		{
+			return PagedIntObjectMap.this.isEmpty();
+		}
+		
+		@Override
+		public void forEach(Consumer<? super V> action)
+		{
+			PagedIntObjectMap.this.forEach(action);
+		}
+	}
+	
+	private final class ValueIterator implements Iterator<V>
+	{
+		private final AtomicReferenceArray<AtomicReferenceArray<V>> _iteratedPages = _pages;
+		private final Iterator<V> _outOfRangeIterator = _outOfRange.values().iterator();
+		private AtomicReferenceArray<V> _page;
+		private int _pageIndex = -1;
+		private int _slot = PAGE_SIZE;
+		private V _next;
+		
+		ValueIterator()
+		{
+			advance();
+		}
+		
+		private void advance()
+		{
+			_next = null;
+			while (_pageIndex < _iteratedPages.length())
+			{
+				if (_page != null)
+				{
+					while (_slot < PAGE_SIZE)
+					{
+						final V value = _page.get(_slot++);
+						if (value != null)
+						{
+							_next = value;
+							return;
+						}
+					}
+				}
+				
+				if (++_pageIndex < _iteratedPages.length())
+				{
+					_page = _iteratedPages.get(_pageIndex);
+					_slot = 0;
+				}
+			}
+			
+			if (_outOfRangeIterator.hasNext())
+			{
+				_next = _outOfRangeIterator.next();
+			}
+		}
+		
+		@Override
+		public boolean hasNext()
+		{
+			return _next != null;
+		}
+		
+		@Override
+		public V next()
+		{
+			final V next = _next;
+			if (next == null)
+			{
+				throw new NoSuchElementException();
+			}
+			advance();
+			return next;
+		}
+	}
+}
@@ -384,6 +384,16 @@ public final class Rnd
 		return rnd.nextBoolean();
 	}
 	
+	/**
+	 * Seeds the random number generator of the calling thread, so the numbers it gets afterwards can be reproduced.<br>
+	 * The generators of other threads are not affected.
+	 * @param seed the seed
+	 */
+	public static final void setSeed(final long seed)
+	{
+		rnd.directRandom().setSeed(seed);
+	}
+	
 	/**
 	 * Fill the given array with random byte numbers from Byte.MIN_VALUE(inclusive) to Byte.MAX_VALUE(inclusive)
 	 * @param array The array to be filled with random byte numbers
@@ -0,0 +1,250 @@
+/*
+ * Copyright (C) 2004-2015 L2J Unity
+ * 
+ * This file is part of L2J Unity.
+ * 
+ * L2J Unity is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * L2J Unity is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.l2junity.commons.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.l2junity.commons.metrics.MetricsRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Thread watching for tasks that run too long, such as a timer scanning the database or a command walking the whole world.<br>
+ * Watched code marks its start and end with {@link #begin(Object, long)} and {@link Slot#end()}, which only write a few fields of the current thread. Once a task runs past its threshold, its thread stack is sampled at every interval. When it ends, the task, its pool and the samples are logged as collapsed stacks, the most frequent first.
+ */
+public final class TaskWatchdog extends Thread
+{
+	private static final Logger LOGGER = LoggerFactory.getLogger(TaskWatchdog.class);
+	
+	private static final int MAX_LOGGED_STACKS = 10;
+	private static final int MAX_FRAMES = 64;
+	// A task that never ends is still logged at this interval.
+	private static final long REPORT_INTERVAL = TimeUnit.SECONDS.toNanos(30);
+	
+	private final long _sampleInterval;
+	private final Set<Slot> _slots = ConcurrentHashMap.newKeySet();
+	private final ThreadLocal<Slot> _slot = ThreadLocal.withInitial(this::newSlot);
+	
+	/**
+	 * @param sampleInterval the interval between two stack samples of a slow task, in milliseconds
+	 */
+	public TaskWatchdog(long sampleInterval)
+	{
+		super("TaskWatchdog");
+		setDaemon(true);
+		_sampleInterval = sampleInterval;
+	}
+	
+	private Slot newSlot()
+	{
+		final Slot slot = new Slot(Thread.currentThread());
+		_slots.add(slot);
+		return slot;
+	}
+	
+	/**
+	 * Marks the start of a task on the current thread. A task started while another one is running on the same thread counts as part of it.
+	 * @param task the task, a {@link String} is used as its name and anything else by its class name
+	 * @param threshold the time in milliseconds the task may run before it is sampled
+	 * @return the slot of the current thread, {@link Slot#end()} must be called on it once the task is done
+	 */
+	public Slot begin(Object task, long threshold)
+	{
+		final Slot slot = _slot.get();
+		if (slot._depth++ == 0)
+		{
+			slot._task = task;
+			slot._threshold = TimeUnit.MILLISECONDS.toNanos(threshold);
+			// Written last, the watchdog reads it first.
+			slot._start = System.nanoTime();
+		}
+		return slot;
+	}
+	
+	@Override
+	public void run()
+	{
+		while (!isInterrupted())
+		{
+			try
+			{
+				Thread.sleep(_sampleInterval);
+			}
+			catch (InterruptedException e)
+			{
+				return;
+			}
+			
+			final long now = System.nanoTime();
+			for (Slot slot : _slots)
+			{
+				try
+				{
+					slot.check(now);
+				}
+				catch (Exception e)
+				{
+					LOGGER.warn("Failed to check thread {}.", slot._thread.getName(), e);
+				}
+				
+				if (!slot._thread.isAlive())
+				{
+					_slots.remove(slot);
+				}
+			}
+		}
+	}
+	
+	private static String getTaskName(Object task)
+	{
+		if (task instanceof String)
+		{
+			return (String) task;
+		}
+		
+		final String name = task.getClass().getName();
+		final int lambda = name.indexOf("$$Lambda$");
+		return lambda > 0 ? name.substring(0, lambda + 8) : name;
+	}
+	
+	/**
+	 * @param stack the stack, innermost frame first
+	 * @return the frames from the outermost to the innermost, separated by semicolons
+	 */
+	private static String collapse(StackTraceElement[] stack)
+	{
+		final StringBuilder sb = new StringBuilder();
+		for (int i = Math.min(stack.length, MAX_FRAMES) - 1; i >= 0; i--)
+		{
+			sb.append(stack[i].getClassName()).append('.').append(stack[i].getMethodName());
+			if (i > 0)
+			{
+				sb.append(';');
+			}
+		}
+		return sb.toString();
+	}
+	
+	/**
+	 * The task state of one thread. The watched thread writes the task fields, everything else belongs to the watchdog.
+	 */
+	public static final class Slot
+	{
+		private final Thread _thread;
+		private final String _pool;
+		
+		// Only _start is volatile, it is written after the other task fields and read before them.
+		private int _depth;
+		private Object _task;
+		private long _threshold;
+		private volatile long _start;
+		
+		private Object _sampledTask;
+		private long _sampledStart;
+		private long _lastSample;
+		private long _lastReport;
+		private int _sampleCount;
+		private final Map<String, Integer> _stacks = new HashMap<>();
+		
+		Slot(Thread thread)
+		{
+			_thread = thread;
+			_pool = thread.getThreadGroup() != null ? thread.getThreadGroup().getName() : thread.getName();
+		}
+		
+		/**
+		 * Marks the end of the task begun on this thread.
+		 */
+		public void end()
+		{
+			if (--_depth == 0)
+			{
+				_task = null;
+				_start = 0;
+			}
+		}
+		
+		void check(long now)
+		{
+			final long start = _start;
+			if ((_sampledStart != 0) && (start != _sampledStart))
+			{
+				report(false);
+				_sampledStart = 0;
+				_sampledTask = null;
+				_sampleCount = 0;
+				_stacks.clear();
+			}
+			
+			final Object task = _task;
+			if ((start == 0) || (task == null) || ((now - start) < _threshold))
+			{
+				return;
+			}
+			
+			final StackTraceElement[] stack = _thread.getStackTrace();
+			if (_start != start)
+			{
+				// Ended while the stack was taken, the sample may show anything.
+				return;
+			}
+			
+			if (_sampledStart == 0)
+			{
+				_sampledStart = start;
+				_sampledTask = task;
+				_lastReport = now;
+			}
+			_lastSample = now;
+			_sampleCount++;
+			_stacks.merge(collapse(stack), 1, Integer::sum);
+			
+			if ((now - _lastReport) >= REPORT_INTERVAL)
+			{
+				report(true);
+				_lastReport = now;
+			}
+		}
+		
+		private void report(boolean running)
+		{
+			final List<Entry<String, Integer>> stacks = new ArrayList<>(_stacks.entrySet());
+			stacks.sort((e1, e2) -> Integer.compare(e2.getValue(), e1.getValue()));
+			final StringBuilder sb = new StringBuilder();
+			for (Entry<String, Integer> entry : stacks.subList(0, Math.min(MAX_LOGGED_STACKS, stacks.size())))
+			{
+				sb.append(System.lineSeparator()).append(entry.getValue()).append(' ').append(entry.getKey());
+			}
+			
+			final String taskName = getTaskName(_sampledTask);
+			LOGGER.warn("Long task {} in pool {} on thread {} {} for {} ms, {} stack samples:{}", taskName, _pool, _thread.getName(), running ? "still running" : "ran", TimeUnit.NANOSECONDS.toMillis(_lastSample - _sampledStart), _sampleCount, sb);
+			if (!running)
+			{
+				MetricsRegistry.getInstance().counter("l2j_long_tasks_total", "Tasks that ran past their watchdog threshold.", "pool", _pool).increment();
+			}
+		}
+	}
+}
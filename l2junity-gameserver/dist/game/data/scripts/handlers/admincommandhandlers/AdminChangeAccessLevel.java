@@ -24,6 +24,7 @@ import java.sql.SQLException;
 
 import org.l2junity.Config;
 import org.l2junity.DatabaseFactory;
+import org.l2junity.gameserver.cache.CharSelectInfoCache;
 import org.l2junity.gameserver.data.xml.impl.AdminData;
 import org.l2junity.gameserver.handler.IAdminCommandHandler;
 import org.l2junity.gameserver.model.AccessLevel;
@@ -89,6 +90,7 @@ public final class AdminChangeAccessLevel implements IAdminCommandHandler
 					}
 					else
 					{
+						CharSelectInfoCache.getInstance().invalidateCharacter(name);
 						activeChar.sendMessage("Character's access level is now set to " + lvl);
 					}
 				}
@@ -46,6 +46,7 @@ import org.l2junity.gameserver.model.actor.instance.PlayerInstance;
 import org.l2junity.gameserver.model.base.ClassId;
 import org.l2junity.gameserver.model.html.PageBuilder;
 import org.l2junity.gameserver.model.html.PageResult;
+import org.l2junity.gameserver.model.olympiad.Olympiad;
 import org.l2junity.gameserver.model.stats.Stats;
 import org.l2junity.gameserver.network.client.L2GameClient;
 import org.l2junity.gameserver.network.client.send.AcquireSkillList;
@@ -450,6 +451,7 @@ public class AdminEditChar implements IAdminCommandHandler
 				{
 					CharNameTable.getInstance().addName(player);
 				}
+				Olympiad.updateNobleName(player.getObjectId(), val);
 				player.storeMe();
 				
 				activeChar.sendMessage("Changed name to " + val);
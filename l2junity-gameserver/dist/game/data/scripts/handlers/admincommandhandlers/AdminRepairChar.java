@@ -23,6 +23,7 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 
 import org.l2junity.DatabaseFactory;
+import org.l2junity.gameserver.cache.CharSelectInfoCache;
 import org.l2junity.gameserver.handler.IAdminCommandHandler;
 import org.l2junity.gameserver.model.actor.instance.PlayerInstance;
 import org.slf4j.Logger;
@@ -100,6 +101,8 @@ public class AdminRepairChar implements IAdminCommandHandler
 			statement.setInt(1, objId);
 			statement.execute();
 			statement.close();
+			
+			CharSelectInfoCache.getInstance().invalidateCharacter(objId);
 		}
 		catch (Exception e)
 		{
@@ -28,6 +28,7 @@ import org.l2junity.Config;
 import org.l2junity.DatabaseFactory;
 import org.l2junity.gameserver.GeoData;
 import org.l2junity.gameserver.ai.CtrlIntention;
+import org.l2junity.gameserver.cache.CharSelectInfoCache;
 import org.l2junity.gameserver.data.xml.impl.NpcData;
 import org.l2junity.gameserver.datatables.SpawnTable;
 import org.l2junity.gameserver.enums.AdminTeleportType;
@@ -500,6 +501,7 @@ public class AdminTeleport implements IAdminCommandHandler
 			}
 			else
 			{
+				CharSelectInfoCache.getInstance().invalidateCharacter(name);
 				activeChar.sendMessage("Player's [" + name + "] position is now set to (" + x + "," + y + "," + z + ").");
 			}
 		}
@@ -24,11 +24,11 @@ import org.l2junity.gameserver.handler.IChatHandler;
 import org.l2junity.gameserver.instancemanager.MapRegionManager;
 import org.l2junity.gameserver.model.BlockList;
 import org.l2junity.gameserver.model.PcCondOverride;
-import org.l2junity.gameserver.model.World;
 import org.l2junity.gameserver.model.actor.instance.PlayerInstance;
 import org.l2junity.gameserver.network.client.send.CreatureSay;
 import org.l2junity.gameserver.network.client.send.SystemMessage;
 import org.l2junity.gameserver.network.client.send.string.SystemMessageId;
+import org.l2junity.gameserver.util.Broadcast;
 
 /**
  * Trade chat handler.
@@ -59,14 +59,8 @@ public final class ChatTrade implements IChatHandler
 		final CreatureSay cs = new CreatureSay(activeChar.getObjectId(), type, activeChar.getName(), text);
 		if (Config.DEFAULT_TRADE_CHAT.equalsIgnoreCase("on") || (Config.DEFAULT_TRADE_CHAT.equalsIgnoreCase("gm") && activeChar.canOverrideCond(PcCondOverride.CHAT_CONDITIONS)))
 		{
-			int region = MapRegionManager.getInstance().getMapRegionLocId(activeChar);
-			for (PlayerInstance player : World.getInstance().getPlayers())
-			{
-				if ((region == MapRegionManager.getInstance().getMapRegionLocId(player)) && !BlockList.isBlocked(player, activeChar) && (player.getInstanceWorld() == activeChar.getInstanceWorld()))
-				{
-					player.sendPacket(cs);
-				}
-			}
+			final int region = MapRegionManager.getInstance().getMapRegionLocId(activeChar);
+			Broadcast.toPlayersInRegion(region, activeChar.getInstanceId(), cs, player -> !BlockList.isBlocked(player, activeChar));
 		}
 		else if (Config.DEFAULT_TRADE_CHAT.equalsIgnoreCase("global"))
 		{
@@ -76,13 +70,7 @@ public final class ChatTrade implements IChatHandler
 				return;
 			}
 			
-			for (PlayerInstance player : World.getInstance().getPlayers())
-			{
-				if (!BlockList.isBlocked(player, activeChar))
-				{
-					player.sendPacket(cs);
-				}
-			}
+			Broadcast.toAllOnlinePlayers(cs, player -> !BlockList.isBlocked(player, activeChar));
 		}
 	}
 	
@@ -18,20 +18,19 @@
  */
 package handlers.targethandlers.affectscope;
 
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 
-import org.l2junity.gameserver.GeoData;
 import org.l2junity.gameserver.handler.AffectObjectHandler;
 import org.l2junity.gameserver.handler.IAffectObjectHandler;
 import org.l2junity.gameserver.handler.IAffectScopeHandler;
-import org.l2junity.gameserver.model.World;
 import org.l2junity.gameserver.model.WorldObject;
 import org.l2junity.gameserver.model.actor.Creature;
 import org.l2junity.gameserver.model.skills.Skill;
 import org.l2junity.gameserver.model.skills.targets.AffectScope;
-import org.l2junity.gameserver.util.Util;
+import org.l2junity.gameserver.model.skills.targets.AffectScopeQuery;
+import org.l2junity.gameserver.model.skills.targets.AffectScopeQuery.Order;
+import org.l2junity.gameserver.model.skills.targets.AffectShape;
 
 /**
  * Fan point blank affect scope implementation. Gathers objects in a certain angle of circular area around yourself without taking target into account.
@@ -43,50 +42,27 @@ public class FanPB implements IAffectScopeHandler
 	public void forEachAffected(Creature activeChar, WorldObject target, Skill skill, Consumer<? super WorldObject> action)
 	{
 		final IAffectObjectHandler affectObject = AffectObjectHandler.getInstance().getHandler(skill.getAffectObject());
-		final double headingAngle = Util.convertHeadingToDegree(activeChar.getHeading());
 		final int fanStartAngle = skill.getFanRange()[1];
 		final int fanRadius = skill.getFanRange()[2];
 		final int fanAngle = skill.getFanRange()[3];
-		final double fanHalfAngle = fanAngle / 2; // Half left and half right.
 		final int affectLimit = skill.getAffectLimit();
 		
 		// Target checks.
-		final AtomicInteger affected = new AtomicInteger(0);
 		final Predicate<Creature> filter = c ->
 		{
-			if ((affectLimit > 0) && (affected.get() >= affectLimit))
-			{
-				return false;
-			}
 			if (c.isDead())
 			{
 				return false;
 			}
-			if (Math.abs(Util.calculateAngleFrom(activeChar, c) - (headingAngle + fanStartAngle)) > fanHalfAngle)
-			{
-				return false;
-			}
 			if ((affectObject != null) && !affectObject.checkAffectedObject(activeChar, c))
 			{
 				return false;
 			}
-			if (!GeoData.getInstance().canSeeTarget(activeChar, c))
-			{
-				return false;
-			}
-			
-			affected.incrementAndGet();
 			return true;
 		};
 		
 		// Check and add targets.
-		World.getInstance().forEachVisibleObjectInRange(activeChar, Creature.class, fanRadius, c ->
-		{
-			if (filter.test(c))
-			{
-				action.accept(c);
-			}
-		});
+		AffectScopeQuery.forEachAffected(AffectShape.fan(activeChar, fanStartAngle, fanRadius, fanAngle), null, filter, activeChar, affectLimit, Order.NEAREST, action);
 	}
 	
 	@Override
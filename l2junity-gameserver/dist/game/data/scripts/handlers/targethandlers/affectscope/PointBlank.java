@@ -18,20 +18,20 @@
  */
 package handlers.targethandlers.affectscope;
 
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 
-import org.l2junity.gameserver.GeoData;
 import org.l2junity.gameserver.handler.AffectObjectHandler;
 import org.l2junity.gameserver.handler.IAffectObjectHandler;
 import org.l2junity.gameserver.handler.IAffectScopeHandler;
 import org.l2junity.gameserver.model.Location;
-import org.l2junity.gameserver.model.World;
 import org.l2junity.gameserver.model.WorldObject;
 import org.l2junity.gameserver.model.actor.Creature;
 import org.l2junity.gameserver.model.skills.Skill;
 import org.l2junity.gameserver.model.skills.targets.AffectScope;
+import org.l2junity.gameserver.model.skills.targets.AffectScopeQuery;
+import org.l2junity.gameserver.model.skills.targets.AffectScopeQuery.Order;
+import org.l2junity.gameserver.model.skills.targets.AffectShape;
 import org.l2junity.gameserver.model.skills.targets.TargetType;
 
 /**
@@ -48,13 +48,8 @@ public class PointBlank implements IAffectScopeHandler
 		final int affectLimit = skill.getAffectLimit();
 		
 		// Target checks.
-		final AtomicInteger affected = new AtomicInteger(0);
 		final Predicate<Creature> filter = c ->
 		{
-			if ((affectLimit > 0) && (affected.get() >= affectLimit))
-			{
-				return false;
-			}
 			if (c.isDead())
 			{
 				return false;
@@ -63,12 +58,6 @@ public class PointBlank implements IAffectScopeHandler
 			{
 				return false;
 			}
-			if (!GeoData.getInstance().canSeeTarget(target, c))
-			{
-				return false;
-			}
-			
-			affected.incrementAndGet();
 			return true;
 		};
 		
@@ -80,29 +69,13 @@ public class PointBlank implements IAffectScopeHandler
 				Location worldPosition = activeChar.getActingPlayer().getCurrentSkillWorldPosition();
 				if (worldPosition != null)
 				{
-					World.getInstance().forEachVisibleObjectInRange(activeChar, Creature.class, (int) (affectRange + activeChar.calculateDistance(worldPosition, false, false)), c ->
-					{
-						if (!c.isInsideRadius(worldPosition, affectRange, true, true))
-						{
-							return;
-						}
-						if (filter.test(c))
-						{
-							action.accept(c);
-						}
-					});
+					AffectScopeQuery.forEachAffected(AffectShape.circle(activeChar, worldPosition, affectRange), null, filter, target, affectLimit, Order.NEAREST, action);
 				}
 			}
 		}
 		else
 		{
-			World.getInstance().forEachVisibleObjectInRange(target, Creature.class, affectRange, c ->
-			{
-				if (filter.test(c))
-				{
-					action.accept(c);
-				}
-			});
+			AffectScopeQuery.forEachAffected(AffectShape.circle(target, affectRange), null, filter, target, affectLimit, Order.NEAREST, action);
 		}
 	}
 	
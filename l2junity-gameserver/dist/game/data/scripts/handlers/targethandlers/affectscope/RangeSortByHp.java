@@ -18,20 +18,19 @@
  */
 package handlers.targethandlers.affectscope;
 
-import java.util.Comparator;
-import java.util.List;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 
 import org.l2junity.gameserver.handler.AffectObjectHandler;
 import org.l2junity.gameserver.handler.IAffectObjectHandler;
 import org.l2junity.gameserver.handler.IAffectScopeHandler;
-import org.l2junity.gameserver.model.World;
 import org.l2junity.gameserver.model.WorldObject;
 import org.l2junity.gameserver.model.actor.Creature;
 import org.l2junity.gameserver.model.skills.Skill;
 import org.l2junity.gameserver.model.skills.targets.AffectScope;
+import org.l2junity.gameserver.model.skills.targets.AffectScopeQuery;
+import org.l2junity.gameserver.model.skills.targets.AffectScopeQuery.Order;
+import org.l2junity.gameserver.model.skills.targets.AffectShape;
 
 /**
  * Range sorted by lowest to highest hp percent affect scope implementation.
@@ -47,14 +46,8 @@ public class RangeSortByHp implements IAffectScopeHandler
 		final int affectLimit = skill.getAffectLimit();
 		
 		// Target checks.
-		final AtomicInteger affected = new AtomicInteger(0);
 		final Predicate<Creature> filter = c ->
 		{
-			if ((affectLimit > 0) && (affected.get() >= affectLimit))
-			{
-				return false;
-			}
-			
 			if (c.isDead())
 			{
 				return false;
@@ -71,25 +64,11 @@ public class RangeSortByHp implements IAffectScopeHandler
 				return false;
 			}
 			
-			affected.incrementAndGet();
 			return true;
 		};
 		
-		List<Creature> result = World.getInstance().getVisibleObjects(target, Creature.class, affectRange, filter);
-		
-		// Add object of origin since its skipped in the getVisibleObjects method.
-		if (target.isCreature() && filter.test((Creature) target))
-		{
-			result.add((Creature) target);
-		}
-		
-		// Sort from lowest hp to highest hp.
-		//@formatter:off
-		result.stream()
-		.sorted(Comparator.comparingInt(Creature::getCurrentHpPercent))
-		.limit(affectLimit > 0 ? affectLimit : Long.MAX_VALUE)
-		.forEach(action);
-		//@formatter:on
+		// Check and add targets, from lowest hp to highest hp.
+		AffectScopeQuery.forEachAffected(AffectShape.circle(target, affectRange), target, filter, null, affectLimit, Order.LOWEST_HP, action);
 	}
 	
 	@Override
@@ -18,19 +18,19 @@
  */
 package handlers.targethandlers.affectscope;
 
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 
-import org.l2junity.gameserver.GeoData;
 import org.l2junity.gameserver.handler.AffectObjectHandler;
 import org.l2junity.gameserver.handler.IAffectObjectHandler;
 import org.l2junity.gameserver.handler.IAffectScopeHandler;
-import org.l2junity.gameserver.model.World;
 import org.l2junity.gameserver.model.WorldObject;
 import org.l2junity.gameserver.model.actor.Creature;
 import org.l2junity.gameserver.model.skills.Skill;
 import org.l2junity.gameserver.model.skills.targets.AffectScope;
+import org.l2junity.gameserver.model.skills.targets.AffectScopeQuery;
+import org.l2junity.gameserver.model.skills.targets.AffectScopeQuery.Order;
+import org.l2junity.gameserver.model.skills.targets.AffectShape;
 
 /**
  * Ring Range affect scope implementation. Gathers objects in ring/donut shaped area with start and end range.
@@ -47,47 +47,21 @@ public class RingRange implements IAffectScopeHandler
 		final int startRange = skill.getFanRange()[2];
 		
 		// Target checks.
-		final AtomicInteger affected = new AtomicInteger(0);
 		final Predicate<Creature> filter = c ->
 		{
-			if ((affectLimit > 0) && (affected.get() >= affectLimit))
-			{
-				return false;
-			}
-			
 			if (c.isDead())
 			{
 				return false;
 			}
-			
-			// Targets before the start range are unaffected.
-			if (c.isInsideRadius(target, startRange, false, true))
-			{
-				return false;
-			}
-			
 			if ((affectObject != null) && !affectObject.checkAffectedObject(activeChar, c))
 			{
 				return false;
 			}
-			
-			if (!GeoData.getInstance().canSeeTarget(target, c))
-			{
-				return false;
-			}
-			
-			affected.incrementAndGet();
 			return true;
 		};
 		
-		// Check and add targets.
-		World.getInstance().forEachVisibleObjectInRange(target, Creature.class, affectRange, c ->
-		{
-			if (filter.test(c))
-			{
-				action.accept(c);
-			}
-		});
+		// Check and add targets, the ones before the start range are unaffected.
+		AffectScopeQuery.forEachAffected(AffectShape.ring(target, startRange, affectRange), null, filter, target, affectLimit, Order.NEAREST, action);
 	}
 	
 	@Override
@@ -18,20 +18,19 @@
  */
 package handlers.targethandlers.affectscope;
 
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 
-import org.l2junity.gameserver.GeoData;
 import org.l2junity.gameserver.handler.AffectObjectHandler;
 import org.l2junity.gameserver.handler.IAffectObjectHandler;
 import org.l2junity.gameserver.handler.IAffectScopeHandler;
-import org.l2junity.gameserver.model.World;
 import org.l2junity.gameserver.model.WorldObject;
 import org.l2junity.gameserver.model.actor.Creature;
 import org.l2junity.gameserver.model.skills.Skill;
 import org.l2junity.gameserver.model.skills.targets.AffectScope;
-import org.l2junity.gameserver.util.Util;
+import org.l2junity.gameserver.model.skills.targets.AffectScopeQuery;
+import org.l2junity.gameserver.model.skills.targets.AffectScopeQuery.Order;
+import org.l2junity.gameserver.model.skills.targets.AffectShape;
 
 /**
  * Square affect scope implementation (actually more like a rectangle).
@@ -46,65 +45,24 @@ public class Square implements IAffectScopeHandler
 		final int squareStartAngle = skill.getFanRange()[1];
 		final int squareLength = skill.getFanRange()[2];
 		final int squareWidth = skill.getFanRange()[3];
-		final int radius = (int) Math.sqrt((squareLength * squareLength) + (squareWidth * squareWidth));
 		final int affectLimit = skill.getAffectLimit();
 		
-		final int rectX = activeChar.getX();
-		final int rectY = activeChar.getY() - (squareWidth / 2);
-		final double heading = Math.toRadians(squareStartAngle + Util.convertHeadingToDegree(activeChar.getHeading()));
-		final double cos = Math.cos(-heading);
-		final double sin = Math.sin(-heading);
-		
 		// Target checks.
-		final AtomicInteger affected = new AtomicInteger(0);
 		final Predicate<Creature> filter = c ->
 		{
-			if ((affectLimit > 0) && (affected.get() >= affectLimit))
-			{
-				return false;
-			}
 			if (c.isDead())
 			{
 				return false;
 			}
-			
-			// Check if inside square.
-			int xp = c.getX() - activeChar.getX();
-			int yp = c.getY() - activeChar.getY();
-			int xr = (int) ((activeChar.getX() + (xp * cos)) - (yp * sin));
-			int yr = (int) (activeChar.getY() + (xp * sin) + (yp * cos));
-			if ((xr > rectX) && (xr < (rectX + squareLength)) && (yr > rectY) && (yr < (rectY + squareWidth)))
+			if ((affectObject != null) && !affectObject.checkAffectedObject(activeChar, c))
 			{
-				if ((affectObject != null) && !affectObject.checkAffectedObject(activeChar, c))
-				{
-					return false;
-				}
-				if (!GeoData.getInstance().canSeeTarget(activeChar, c))
-				{
-					return false;
-				}
-				
-				affected.incrementAndGet();
-				return true;
+				return false;
 			}
-			
-			return false;
+			return true;
 		};
 		
-		// Add object of origin since its skipped in the forEachVisibleObjectInRange method.
-		if (target.isCreature() && filter.test((Creature) target))
-		{
-			action.accept(target);
-		}
-		
 		// Check and add targets.
-		World.getInstance().forEachVisibleObjectInRange(activeChar, Creature.class, radius, c ->
-		{
-			if (filter.test(c))
-			{
-				action.accept(c);
-			}
-		});
+		AffectScopeQuery.forEachAffected(AffectShape.square(activeChar, squareStartAngle, squareLength, squareWidth), target, filter, activeChar, affectLimit, Order.NEAREST, action);
 	}
 	
 	@Override
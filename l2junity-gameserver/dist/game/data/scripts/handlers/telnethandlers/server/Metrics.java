@@ -0,0 +1,58 @@
+/*
+ * Copyright (C) 2004-2016 L2J Unity
+ * 
+ * This file is part of L2J Unity.
+ * 
+ * L2J Unity is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * L2J Unity is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package handlers.telnethandlers.server;
+
+import io.netty.channel.ChannelHandlerContext;
+
+import org.l2junity.commons.metrics.MetricsRegistry;
+import org.l2junity.gameserver.network.telnet.ITelnetCommand;
+import org.l2junity.gameserver.network.telnet.TelnetServer;
+
+/**
+ * Prints every server metric in the Prometheus text format.
+ */
+public class Metrics implements ITelnetCommand
+{
+	private Metrics()
+	{
+	}
+	
+	@Override
+	public String getCommand()
+	{
+		return "metrics";
+	}
+	
+	@Override
+	public String getUsage()
+	{
+		return "Metrics";
+	}
+	
+	@Override
+	public String handle(ChannelHandlerContext ctx, String[] args)
+	{
+		return MetricsRegistry.getInstance().toText();
+	}
+	
+	public static void main(String[] args)
+	{
+		TelnetServer.getInstance().addHandler(new Metrics());
+	}
+}
@@ -21,8 +21,12 @@ package handlers.telnethandlers.server;
 import io.netty.channel.ChannelHandlerContext;
 
 import org.l2junity.gameserver.ThreadPoolManager;
+import org.l2junity.gameserver.instancemanager.PlayerRestoreManager;
+import org.l2junity.gameserver.network.client.ClientPacketQueue;
+import org.l2junity.gameserver.network.client.L2GameClient;
 import org.l2junity.gameserver.network.telnet.ITelnetCommand;
 import org.l2junity.gameserver.network.telnet.TelnetServer;
+import org.l2junity.gameserver.util.Broadcast;
 
 /**
  * @author UnAfraid
@@ -54,6 +58,26 @@ public class Performance implements ITelnetCommand
 		{
 			sb.append(line + System.lineSeparator());
 		}
+		for (String line : PlayerRestoreManager.getInstance().getStats())
+		{
+			sb.append(line + System.lineSeparator());
+		}
+		for (String line : Broadcast.getRegionBroadcastStats())
+		{
+			sb.append(line + System.lineSeparator());
+		}
+		for (String line : ClientPacketQueue.getStats())
+		{
+			sb.append(line + System.lineSeparator());
+		}
+		for (String line : L2GameClient.getFlushStats())
+		{
+			sb.append(line + System.lineSeparator());
+		}
+		for (String line : L2GameClient.getSlowClientStats())
+		{
+			sb.append(line + System.lineSeparator());
+		}
 		return sb.toString();
 	}
 	
@@ -0,0 +1,5 @@
+@echo off
+title L2J - Drop Simulator
+REM Usage: startDropSimulator.bat -npc <id>[,<id>...] [-kills <count>] [-level <killer level>] [-seed <seed>] [-threads <count>] [-champion]
+java -Xms512m -Xmx1536m -cp ./../libs/*;l2jserver.jar org.l2junity.tools.dropsimulator.DropSimulator %*
+pause
\ No newline at end of file
@@ -0,0 +1,3 @@
+#!/bin/sh
+# Usage: ./startDropSimulator.sh -npc <id>[,<id>...] [-kills <count>] [-level <killer level>] [-seed <seed>] [-threads <count>] [-champion]
+java -Xms512m -Xmx1536m -cp ./../libs/*:l2jserver.jar org.l2junity.tools.dropsimulator.DropSimulator "$@"
@@ -0,0 +1,5 @@
+@echo off
+title L2J - Olympiad Simulator
+REM Usage: startOlympiadSimulator.bat [-nobles <count>] [-matches <count>] [-games <count>] [-seed <seed>] [-threads <count>] [-rankings <count>]
+java -Xms512m -Xmx1536m -cp ./../libs/*;l2jserver.jar org.l2junity.tools.olympiadsimulator.OlympiadSimulator %*
+pause
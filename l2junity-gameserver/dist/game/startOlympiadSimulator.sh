@@ -0,0 +1,3 @@
+#!/bin/sh
+# Usage: ./startOlympiadSimulator.sh [-nobles <count>] [-matches <count>] [-games <count>] [-seed <seed>] [-threads <count>] [-rankings <count>]
+java -Xms512m -Xmx1536m -cp ./../libs/*:l2jserver.jar org.l2junity.tools.olympiadsimulator.OlympiadSimulator "$@"
@@ -0,0 +1,6 @@
+CREATE TABLE IF NOT EXISTS `character_effects` (
+  `charId` INT NOT NULL DEFAULT 0,
+  `class_index` INT(1) NOT NULL DEFAULT 0,
+  `effects` TEXT NOT NULL,
+  PRIMARY KEY (`charId`,`class_index`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8;
@@ -10,6 +10,7 @@ OPTIMIZE TABLE castle_functions;
 OPTIMIZE TABLE castle_manor_procure;
 OPTIMIZE TABLE castle_manor_production;
 OPTIMIZE TABLE character_contacts;
+OPTIMIZE TABLE character_effects;
 OPTIMIZE TABLE character_friends;
 OPTIMIZE TABLE character_hennas;
 OPTIMIZE TABLE character_instance_time;
@@ -26,7 +27,6 @@ OPTIMIZE TABLE character_recipeshoplist;
 OPTIMIZE TABLE character_reco_bonus;
 OPTIMIZE TABLE character_shortcuts;
 OPTIMIZE TABLE character_skills;
-OPTIMIZE TABLE character_skills_save;
 OPTIMIZE TABLE character_subclasses;
 OPTIMIZE TABLE character_summons;
 OPTIMIZE TABLE character_summon_skills_save;
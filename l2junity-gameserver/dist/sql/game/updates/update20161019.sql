@@ -0,0 +1,17 @@
+-- Effects and skill reuse are stored as one serialized list per character and class index.
+-- Format: skillId,skillLevel,remainingTime,reuseDelay,systime,restoreType separated by ;
+CREATE TABLE IF NOT EXISTS `character_effects` (
+  `charId` INT NOT NULL DEFAULT 0,
+  `class_index` INT(1) NOT NULL DEFAULT 0,
+  `effects` TEXT NOT NULL,
+  PRIMARY KEY (`charId`,`class_index`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8;
+
+SET SESSION group_concat_max_len = 65535;
+
+REPLACE INTO `character_effects` (`charId`,`class_index`,`effects`)
+SELECT `charId`,`class_index`,GROUP_CONCAT(CONCAT_WS(',',`skill_id`,`skill_level`,`remaining_time`,`reuse_delay`,`systime`,`restore_type`) ORDER BY `buff_index` ASC SEPARATOR ';')
+FROM `character_skills_save`
+GROUP BY `charId`,`class_index`;
+
+DROP TABLE IF EXISTS `character_skills_save`;
@@ -22,6 +22,7 @@ castle_manor_production,
 castle_siege_guards,
 character_contacts,
 character_daily_rewards,
+character_effects,
 character_friends,
 character_hennas,
 character_instance_time,
@@ -404,9 +404,22 @@ public final class Config
 	public static int GENERAL_THREAD_CORE_SIZE;
 	public static int AI_MAX_THREAD;
 	public static int EVENT_MAX_THREAD;
+	public static int PLAYER_RESTORE_THREADS;
+	public static int PLAYER_RESTORE_STATS_INTERVAL;
+	public static boolean CLIENT_PACKET_QUEUE;
+	public static Set<String> CLIENT_PACKET_QUEUE_INLINE;
+	public static int CLIENT_PACKET_QUEUE_SIZE;
+	public static int SLOW_PACKET_THRESHOLD;
 	public static boolean DEADLOCK_DETECTOR;
 	public static int DEADLOCK_CHECK_INTERVAL;
 	public static boolean RESTART_ON_DEADLOCK;
+	public static int TASK_WATCHDOG_THRESHOLD;
+	public static int GAME_TICK_WATCHDOG_THRESHOLD;
+	public static int TASK_WATCHDOG_SAMPLE_INTERVAL;
+	public static boolean METRICS_JMX;
+	public static int METRICS_HTTP_PORT;
+	public static String METRICS_HTTP_HOST;
+	public static boolean METRICS_DATABASE;
 	public static boolean ALLOW_DISCARDITEM;
 	public static int AUTODESTROY_ITEM_AFTER;
 	public static int HERB_AUTO_DESTROY_TIME;
@@ -429,6 +442,8 @@ public final class Config
 	public static boolean FORCE_INVENTORY_UPDATE;
 	public static boolean LAZY_CACHE;
 	public static boolean CACHE_CHAR_NAMES;
+	public static int CHAR_SELECT_INFO_CACHE_TIME;
+	public static int BLOCK_LIST_OFFLINE_CACHE_SIZE;
 	public static int MIN_NPC_ANIMATION;
 	public static int MAX_NPC_ANIMATION;
 	public static int MIN_MONSTER_ANIMATION;
@@ -813,6 +828,15 @@ public final class Config
 	public static int MMO_MAX_READ_PER_PASS;
 	public static int MMO_HELPER_BUFFER_COUNT;
 	public static boolean MMO_TCP_NODELAY;
+	public static boolean MMO_USE_EPOLL;
+	public static int MMO_SOCKET_SEND_BUFFER_SIZE;
+	public static int MMO_SOCKET_RECEIVE_BUFFER_SIZE;
+	public static int MMO_SOCKET_BACKLOG;
+	public static int MMO_WRITE_BUFFER_LOW_WATER_MARK;
+	public static int MMO_WRITE_BUFFER_HIGH_WATER_MARK;
+	public static int SLOW_CLIENT_DROP_RADIUS;
+	public static int SLOW_CLIENT_TIMEOUT;
+	public static int SLOW_CLIENT_QUEUE_SIZE;
 	
 	// --------------------------------------------------
 	// Vitality Settings
@@ -1493,7 +1517,16 @@ public final class Config
 			MMO_MAX_SEND_PER_PASS = mmoSettings.getInt("MaxSendPerPass", 12);
 			MMO_MAX_READ_PER_PASS = mmoSettings.getInt("MaxReadPerPass", 12);
 			MMO_HELPER_BUFFER_COUNT = mmoSettings.getInt("HelperBufferCount", 20);
-			MMO_TCP_NODELAY = mmoSettings.getBoolean("TcpNoDelay", false);
+			MMO_TCP_NODELAY = mmoSettings.getBoolean("TcpNoDelay", true);
+			MMO_USE_EPOLL = mmoSettings.getBoolean("UseEpoll", true);
+			MMO_SOCKET_SEND_BUFFER_SIZE = mmoSettings.getInt("SocketSendBufferSize", 0);
+			MMO_SOCKET_RECEIVE_BUFFER_SIZE = mmoSettings.getInt("SocketReceiveBufferSize", 0);
+			MMO_SOCKET_BACKLOG = mmoSettings.getInt("SocketBacklog", 0);
+			MMO_WRITE_BUFFER_LOW_WATER_MARK = mmoSettings.getInt("WriteBufferLowWaterMark", 32768);
+			MMO_WRITE_BUFFER_HIGH_WATER_MARK = mmoSettings.getInt("WriteBufferHighWaterMark", 65536);
+			SLOW_CLIENT_DROP_RADIUS = mmoSettings.getInt("SlowClientDropRadius", 2000);
+			SLOW_CLIENT_TIMEOUT = mmoSettings.getInt("SlowClientTimeout", 30);
+			SLOW_CLIENT_QUEUE_SIZE = mmoSettings.getInt("SlowClientQueueSize", 4000);
 			
 			// Load IdFactory L2Properties file (if exists)
 			final PropertiesParser IdFactory = new PropertiesParser(ID_CONFIG_FILE);
@@ -1552,9 +1585,29 @@ public final class Config
 			GENERAL_THREAD_CORE_SIZE = General.getInt("GeneralThreadCoreSize", 4);
 			AI_MAX_THREAD = General.getInt("AiMaxThread", 6);
 			EVENT_MAX_THREAD = General.getInt("EventsMaxThread", 5);
+			PLAYER_RESTORE_THREADS = General.getInt("PlayerRestoreThreads", 4);
+			PLAYER_RESTORE_STATS_INTERVAL = General.getInt("PlayerRestoreStatsInterval", 0);
+			CLIENT_PACKET_QUEUE = General.getBoolean("ClientPacketQueue", true);
+			CLIENT_PACKET_QUEUE_INLINE = new HashSet<>();
+			for (String packet : General.getString("ClientPacketQueueInline", "ValidatePosition,MoveBackwardToLocation,CannotMoveAnymore,StartRotating,FinishRotating,RequestTargetCanceld").split(","))
+			{
+				if (!packet.trim().isEmpty())
+				{
+					CLIENT_PACKET_QUEUE_INLINE.add(packet.trim());
+				}
+			}
+			CLIENT_PACKET_QUEUE_SIZE = General.getInt("ClientPacketQueueSize", 200);
+			SLOW_PACKET_THRESHOLD = General.getInt("SlowPacketThreshold", 100);
 			DEADLOCK_DETECTOR = General.getBoolean("DeadLockDetector", true);
 			DEADLOCK_CHECK_INTERVAL = General.getInt("DeadLockCheckInterval", 20);
 			RESTART_ON_DEADLOCK = General.getBoolean("RestartOnDeadlock", false);
+			TASK_WATCHDOG_THRESHOLD = General.getInt("TaskWatchdogThreshold", 1000);
+			GAME_TICK_WATCHDOG_THRESHOLD = General.getInt("GameTickWatchdogThreshold", 300);
+			TASK_WATCHDOG_SAMPLE_INTERVAL = General.getInt("TaskWatchdogSampleInterval", 50);
+			METRICS_JMX = General.getBoolean("MetricsJmx", true);
+			METRICS_HTTP_PORT = General.getInt("MetricsHttpPort", 0);
+			METRICS_HTTP_HOST = General.getString("MetricsHttpHost", "127.0.0.1");
+			METRICS_DATABASE = General.getBoolean("MetricsDatabase", true);
 			ALLOW_DISCARDITEM = General.getBoolean("AllowDiscardItem", true);
 			AUTODESTROY_ITEM_AFTER = General.getInt("AutoDestroyDroppedItemAfter", 600);
 			HERB_AUTO_DESTROY_TIME = General.getInt("AutoDestroyHerbTime", 60) * 1000;
@@ -1581,6 +1634,8 @@ public final class Config
 			FORCE_INVENTORY_UPDATE = General.getBoolean("ForceInventoryUpdate", false);
 			LAZY_CACHE = General.getBoolean("LazyCache", true);
 			CACHE_CHAR_NAMES = General.getBoolean("CacheCharNames", true);
+			CHAR_SELECT_INFO_CACHE_TIME = General.getInt("CharSelectInfoCacheTime", 10);
+			BLOCK_LIST_OFFLINE_CACHE_SIZE = General.getInt("BlockListOfflineCacheSize", 5000);
 			MIN_NPC_ANIMATION = General.getInt("MinNPCAnimation", 10);
 			MAX_NPC_ANIMATION = General.getInt("MaxNPCAnimation", 20);
 			MIN_MONSTER_ANIMATION = General.getInt("MinMonsterAnimation", 5);
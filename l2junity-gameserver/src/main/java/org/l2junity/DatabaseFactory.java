@@ -24,6 +24,8 @@ import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
+import org.l2junity.commons.metrics.MetricsRegistry;
+import org.l2junity.commons.metrics.QueryMetrics;
 import org.l2junity.gameserver.ThreadPoolManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -40,6 +42,7 @@ public class DatabaseFactory
 	private static DatabaseFactory _instance;
 	private static volatile ScheduledExecutorService _executor;
 	private ComboPooledDataSource _source;
+	private final QueryMetrics _queryMetrics = new QueryMetrics(MetricsRegistry.getInstance());
 	
 	/**
 	 * Instantiates a new l2 database factory.
@@ -100,6 +103,18 @@ public class DatabaseFactory
 			/* Test the connection */
 			_source.getConnection().close();
 			
+			MetricsRegistry.getInstance().gauge("l2j_db_connections_busy", "Database connections in use.", () ->
+			{
+				try
+				{
+					return _source.getNumBusyConnectionsDefaultUser();
+				}
+				catch (SQLException e)
+				{
+					return Double.NaN;
+				}
+			});
+			
 			if (Config.DEBUG)
 			{
 				LOGGER.debug("Database Connection Working");
@@ -169,7 +184,7 @@ public class DatabaseFactory
 		{
 			try
 			{
-				con = _source.getConnection();
+				con = Config.METRICS_DATABASE ? _queryMetrics.wrap(_source.getConnection()) : _source.getConnection();
 				if (Server.serverMode == Server.MODE_GAMESERVER)
 				{
 					ThreadPoolManager.getInstance().scheduleGeneral(new ConnectionCloser(con, new RuntimeException()), Config.CONNECTION_CLOSE_TIME);
@@ -19,14 +19,21 @@
 package org.l2junity.gameserver;
 
 import java.awt.Toolkit;
+import java.io.IOException;
 import java.lang.management.ManagementFactory;
 import java.time.Duration;
 
+import javax.management.JMException;
+
 import org.l2junity.Config;
 import org.l2junity.DatabaseFactory;
 import org.l2junity.Server;
 import org.l2junity.UPnPService;
+import org.l2junity.commons.metrics.MetricsHttpServer;
+import org.l2junity.commons.metrics.MetricsMBean;
+import org.l2junity.commons.metrics.MetricsRegistry;
 import org.l2junity.commons.util.DeadLockDetector;
+import org.l2junity.gameserver.cache.CharSelectInfoCache;
 import org.l2junity.gameserver.cache.HtmCache;
 import org.l2junity.gameserver.data.sql.impl.AnnouncementsTable;
 import org.l2junity.gameserver.data.sql.impl.CharNameTable;
@@ -247,6 +254,7 @@ public class GameServer
 		HitConditionBonusData.getInstance();
 		PlayerTemplateData.getInstance();
 		CharNameTable.getInstance();
+		CharSelectInfoCache.getInstance();
 		AdminData.getInstance();
 		PetDataTable.getInstance();
 		CubicData.getInstance();
@@ -396,6 +404,30 @@ public class GameServer
 		{
 			_deadDetectThread = null;
 		}
+		
+		if (Config.METRICS_JMX)
+		{
+			try
+			{
+				MetricsMBean.register(MetricsRegistry.getInstance(), "org.l2junity:type=Metrics");
+			}
+			catch (JMException e)
+			{
+				LOGGER.warn("Could not register the metrics JMX bean.", e);
+			}
+		}
+		if (Config.METRICS_HTTP_PORT > 0)
+		{
+			try
+			{
+				new MetricsHttpServer(MetricsRegistry.getInstance(), Config.METRICS_HTTP_HOST, Config.METRICS_HTTP_PORT);
+				LOGGER.info("Metrics served on http://{}:{}/metrics", Config.METRICS_HTTP_HOST, Config.METRICS_HTTP_PORT);
+			}
+			catch (IOException e)
+			{
+				LOGGER.warn("Could not serve the metrics on {}:{}.", Config.METRICS_HTTP_HOST, Config.METRICS_HTTP_PORT, e);
+			}
+		}
 		System.gc();
 		// maxMemory is the upper limit the jvm can use, totalMemory the size of
 		// the current allocation pool, freeMemory the unused memory in the allocation pool
@@ -22,9 +22,14 @@ import java.util.Calendar;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
+import org.l2junity.Config;
+import org.l2junity.commons.metrics.MetricsRegistry;
+import org.l2junity.commons.util.LatencyHistogram;
+import org.l2junity.commons.util.TaskWatchdog;
 import org.l2junity.gameserver.model.actor.Creature;
 import org.l2junity.gameserver.model.events.EventDispatcher;
 import org.l2junity.gameserver.model.events.impl.OnDayNightChange;
+import org.l2junity.gameserver.network.client.FlushBatch;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -45,6 +50,9 @@ public final class GameTimeController extends Thread
 	public static final int TICKS_PER_IG_DAY = SECONDS_PER_IG_DAY * TICKS_PER_SECOND;
 	public static final int TICKS_SUN_STATE_CHANGE = TICKS_PER_IG_DAY / 4;
 	
+	private static final String TICK_TASK_NAME = "GameTimeController tick";
+	private static final LatencyHistogram TICK_TIME = MetricsRegistry.getInstance().timer("l2j_game_tick_seconds", "Time spent moving objects in a game tick.");
+	
 	private static GameTimeController _instance;
 	
 	private final Set<Creature> _movingObjects = ConcurrentHashMap.newKeySet();
@@ -63,6 +71,8 @@ public final class GameTimeController extends Thread
 		c.set(Calendar.MILLISECOND, 0);
 		_referenceTime = c.getTimeInMillis();
 		
+		MetricsRegistry.getInstance().gauge("l2j_moving_objects", "Objects moved every game tick.", _movingObjects::size);
+		
 		super.start();
 	}
 	
@@ -127,7 +137,23 @@ public final class GameTimeController extends Thread
 	 */
 	private void moveObjects()
 	{
-		_movingObjects.removeIf(Creature::updatePosition);
+		final TaskWatchdog watchdog = ThreadPoolManager.getInstance().getTaskWatchdog();
+		final TaskWatchdog.Slot slot = (watchdog != null) && (Config.GAME_TICK_WATCHDOG_THRESHOLD > 0) ? watchdog.begin(TICK_TASK_NAME, Config.GAME_TICK_WATCHDOG_THRESHOLD) : null;
+		
+		// Packets sent while moving are flushed once per client at the end of the tick.
+		FlushBatch.begin();
+		try
+		{
+			_movingObjects.removeIf(Creature::updatePosition);
+		}
+		finally
+		{
+			FlushBatch.end();
+			if (slot != null)
+			{
+				slot.end();
+			}
+		}
 	}
 	
 	public final void stopTimer()
@@ -150,6 +176,7 @@ public final class GameTimeController extends Thread
 		{
 			nextTickTime = ((System.currentTimeMillis() / MILLIS_IN_TICK) * MILLIS_IN_TICK) + 100;
 			
+			final long tickStart = System.nanoTime();
 			try
 			{
 				moveObjects();
@@ -158,6 +185,7 @@ public final class GameTimeController extends Thread
 			{
 				LOGGER.warn("", e);
 			}
+			TICK_TIME.recordSince(tickStart);
 			
 			sleepTime = nextTickTime - System.currentTimeMillis();
 			if (sleepTime > 0)
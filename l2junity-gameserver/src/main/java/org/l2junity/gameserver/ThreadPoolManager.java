@@ -29,6 +29,8 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.l2junity.Config;
+import org.l2junity.commons.metrics.MetricsRegistry;
+import org.l2junity.commons.util.TaskWatchdog;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -82,6 +84,8 @@ public class ThreadPoolManager
 		@Override
 		public final void run()
 		{
+			final TaskWatchdog watchdog = getInstance()._taskWatchdog;
+			final TaskWatchdog.Slot slot = (watchdog != null) && (Config.TASK_WATCHDOG_THRESHOLD > 0) ? watchdog.begin(_r, Config.TASK_WATCHDOG_THRESHOLD) : null;
 			try
 			{
 				_r.run();
@@ -95,6 +99,13 @@ public class ThreadPoolManager
 					h.uncaughtException(t, e);
 				}
 			}
+			finally
+			{
+				if (slot != null)
+				{
+					slot.end();
+				}
+			}
 		}
 	}
 	
@@ -107,6 +118,8 @@ public class ThreadPoolManager
 	private final ThreadPoolExecutor _generalThreadPool;
 	private final ThreadPoolExecutor _eventThreadPool;
 	
+	private final TaskWatchdog _taskWatchdog;
+	
 	private boolean _shutdown;
 	
 	public static ThreadPoolManager getInstance()
@@ -125,9 +138,37 @@ public class ThreadPoolManager
 		_aiScheduledThreadPool = new ScheduledThreadPoolExecutor(Config.AI_MAX_THREAD, new PriorityThreadFactory("AISTPool", Thread.NORM_PRIORITY));
 		_eventThreadPool = new ThreadPoolExecutor(Config.EVENT_MAX_THREAD, Config.EVENT_MAX_THREAD + 2, 5L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), new PriorityThreadFactory("Event Pool", Thread.NORM_PRIORITY));
 		
+		if ((Config.TASK_WATCHDOG_THRESHOLD > 0) || (Config.GAME_TICK_WATCHDOG_THRESHOLD > 0))
+		{
+			_taskWatchdog = new TaskWatchdog(Config.TASK_WATCHDOG_SAMPLE_INTERVAL);
+			_taskWatchdog.start();
+		}
+		else
+		{
+			_taskWatchdog = null;
+		}
+		
+		registerMetrics("effects", _effectsScheduledThreadPool);
+		registerMetrics("general_scheduled", _generalScheduledThreadPool);
+		registerMetrics("event_scheduled", _eventScheduledThreadPool);
+		registerMetrics("io_packets", _ioPacketsThreadPool);
+		registerMetrics("general_packets", _generalPacketsThreadPool);
+		registerMetrics("general", _generalThreadPool);
+		registerMetrics("ai", _aiScheduledThreadPool);
+		registerMetrics("event", _eventThreadPool);
+		
 		scheduleGeneralAtFixedRate(new PurgeTask(), 10, 5, TimeUnit.MINUTES);
 	}
 	
+	private static void registerMetrics(String pool, ThreadPoolExecutor executor)
+	{
+		final MetricsRegistry registry = MetricsRegistry.getInstance();
+		registry.gauge("l2j_thread_pool_queue_size", "Tasks waiting in a thread pool.", () -> executor.getQueue().size(), "pool", pool);
+		registry.gauge("l2j_thread_pool_active_threads", "Threads of a thread pool running a task.", executor::getActiveCount, "pool", pool);
+		registry.gauge("l2j_thread_pool_threads", "Threads of a thread pool.", executor::getPoolSize, "pool", pool);
+		registry.counter("l2j_thread_pool_completed_tasks_total", "Tasks a thread pool completed.", executor::getCompletedTaskCount, "pool", pool);
+	}
+	
 	/**
 	 * Schedules an effect task to be executed after the given delay.
 	 * @param task the task to execute
@@ -577,6 +618,10 @@ public class ThreadPoolManager
 			_ioPacketsThreadPool.shutdown();
 			_generalThreadPool.shutdown();
 			_eventThreadPool.shutdown();
+			if (_taskWatchdog != null)
+			{
+				_taskWatchdog.interrupt();
+			}
 			LOGGER.info("All ThreadPools are now stopped");
 			
 		}
@@ -591,6 +636,14 @@ public class ThreadPoolManager
 		return _shutdown;
 	}
 	
+	/**
+	 * @return the watchdog sampling long tasks, {@code null} if disabled
+	 */
+	public TaskWatchdog getTaskWatchdog()
+	{
+		return _taskWatchdog;
+	}
+	
 	public void purge()
 	{
 		_effectsScheduledThreadPool.purge();
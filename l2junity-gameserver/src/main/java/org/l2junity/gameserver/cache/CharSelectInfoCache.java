@@ -0,0 +1,366 @@
+/*
+ * Copyright (C) 2004-2016 L2J Unity
+ * 
+ * This file is part of L2J Unity.
+ * 
+ * L2J Unity is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * L2J Unity is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.l2junity.gameserver.cache;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.l2junity.Config;
+import org.l2junity.DatabaseFactory;
+import org.l2junity.commons.metrics.MetricsRegistry;
+import org.l2junity.commons.util.ExpiringCache;
+import org.l2junity.gameserver.ThreadPoolManager;
+import org.l2junity.gameserver.data.sql.impl.ClanTable;
+import org.l2junity.gameserver.model.CharSelectInfoPackage;
+import org.l2junity.gameserver.model.L2Clan;
+import org.l2junity.gameserver.model.StatsSet;
+import org.l2junity.gameserver.model.itemcontainer.Inventory;
+import org.l2junity.gameserver.model.variables.ItemVariables;
+import org.l2junity.gameserver.network.client.L2GameClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Caches the character selection data of each account.<br>
+ * A miss loads all characters of the account with their visible inventory and variables in three set based queries on a single connection, instead of several queries per character.<br>
+ * The account entry is invalidated when one of its characters is created, deleted, restored or logs out, or is updated while offline.
+ */
+public class CharSelectInfoCache
+{
+	private static final Logger LOGGER = LoggerFactory.getLogger(CharSelectInfoCache.class);
+	
+	private static final String SELECT_CHARACTERS = "SELECT c.*, s.exp AS sub_exp, s.sp AS sub_sp, s.level AS sub_level, s.vitality_points AS sub_vitality_points FROM characters c LEFT JOIN character_subclasses s ON s.charId = c.charId AND s.class_id = c.classid AND c.base_class != c.classid WHERE c.account_name = ? ORDER BY c.createDate";
+	private static final String SELECT_PAPERDOLL = "SELECT i.owner_id, i.object_id, i.item_id, i.loc_data, i.enchant_level, v.val AS visual_id, a.augAttributes FROM characters c JOIN items i ON i.owner_id = c.charId AND i.loc = 'PAPERDOLL' LEFT JOIN item_variables v ON v.id = i.object_id AND v.var = '" + ItemVariables.VISUAL_ID + "' LEFT JOIN item_attributes a ON a.itemId = i.object_id WHERE c.account_name = ?";
+	private static final String SELECT_ACCOUNT_BY_ID = "SELECT account_name FROM characters WHERE charId = ?";
+	private static final String SELECT_ACCOUNT_BY_NAME = "SELECT account_name FROM characters WHERE char_name = ?";
+	private static final String SELECT_VARIABLES = "SELECT cv.charId, cv.var, cv.val FROM characters c JOIN character_variables cv ON cv.charId = c.charId WHERE c.account_name = ?";
+	
+	private static final CharSelectInfoPackage[] EMPTY_CHARACTERS = new CharSelectInfoPackage[0];
+	
+	private final ExpiringCache<String, CharSelectInfoPackage[]> _cache = new ExpiringCache<>(Config.CHAR_SELECT_INFO_CACHE_TIME, TimeUnit.MINUTES);
+	
+	protected CharSelectInfoCache()
+	{
+		if (Config.CHAR_SELECT_INFO_CACHE_TIME > 0)
+		{
+			ThreadPoolManager.getInstance().scheduleGeneralAtFixedRate(_cache::purge, 60000, 60000);
+		}
+		
+		final MetricsRegistry metrics = MetricsRegistry.getInstance();
+		metrics.counter("l2j_char_select_cache_hits_total", "Character selection screens served from the cache.", this::getHits);
+		metrics.counter("l2j_char_select_cache_misses_total", "Character selection screens loaded from the database.", this::getMisses);
+		metrics.gauge("l2j_char_select_cache_accounts", "Accounts with cached character selection data.", this::size);
+	}
+	
+	/**
+	 * @param accountName the account name
+	 * @return the characters of the account, ordered by creation date
+	 */
+	public CharSelectInfoPackage[] getCharSelectInfo(String accountName)
+	{
+		if (Config.CHAR_SELECT_INFO_CACHE_TIME <= 0)
+		{
+			return load(accountName);
+		}
+		
+		CharSelectInfoPackage[] characters = _cache.get(accountName);
+		if (characters != null)
+		{
+			// A pending deletion expired while cached, reload so the character gets deleted.
+			final long currentTime = System.currentTimeMillis();
+			for (CharSelectInfoPackage character : characters)
+			{
+				if ((character.getDeleteTimer() > 0) && (currentTime > character.getDeleteTimer()))
+				{
+					characters = null;
+					break;
+				}
+			}
+		}
+		
+		if (characters == null)
+		{
+			characters = load(accountName);
+			_cache.put(accountName, characters);
+		}
+		return characters;
+	}
+	
+	/**
+	 * Drops the cached characters of the account, the next lobby entry reloads them.
+	 * @param accountName the account name
+	 */
+	public void invalidate(String accountName)
+	{
+		if (accountName != null)
+		{
+			_cache.invalidate(accountName);
+		}
+	}
+	
+	/**
+	 * Drops the cached characters of the account owning the character, to be called after the character is updated in the database while offline.
+	 * @param objectId the character object id
+	 */
+	public void invalidateCharacter(int objectId)
+	{
+		invalidateCharacter(SELECT_ACCOUNT_BY_ID, objectId);
+	}
+	
+	/**
+	 * Drops the cached characters of the account owning the character, to be called after the character is updated in the database while offline.
+	 * @param charName the character name
+	 */
+	public void invalidateCharacter(String charName)
+	{
+		invalidateCharacter(SELECT_ACCOUNT_BY_NAME, charName);
+	}
+	
+	private void invalidateCharacter(String query, Object character)
+	{
+		if (Config.CHAR_SELECT_INFO_CACHE_TIME <= 0)
+		{
+			return;
+		}
+		
+		try (Connection con = DatabaseFactory.getInstance().getConnection();
+			PreparedStatement ps = con.prepareStatement(query))
+		{
+			ps.setObject(1, character);
+			try (ResultSet rs = ps.executeQuery())
+			{
+				while (rs.next())
+				{
+					_cache.invalidate(rs.getString("account_name"));
+				}
+			}
+		}
+		catch (Exception e)
+		{
+			LOGGER.warn("Could not find the account of an offline character, clearing the whole cache.", e);
+			_cache.clear();
+		}
+	}
+	
+	public long getHits()
+	{
+		return _cache.getHits();
+	}
+	
+	public long getMisses()
+	{
+		return _cache.getMisses();
+	}
+	
+	public int size()
+	{
+		return _cache.size();
+	}
+	
+	private static CharSelectInfoPackage[] load(String accountName)
+	{
+		final Map<Integer, int[][]> paperdolls = new HashMap<>();
+		final Map<Integer, Integer> augmentations = new HashMap<>();
+		final Map<Integer, StatsSet> variables = new HashMap<>();
+		final List<CharSelectInfoPackage> characters = new ArrayList<>();
+		try (Connection con = DatabaseFactory.getInstance().getConnection())
+		{
+			try (PreparedStatement ps = con.prepareStatement(SELECT_PAPERDOLL))
+			{
+				ps.setString(1, accountName);
+				try (ResultSet rs = ps.executeQuery())
+				{
+					while (rs.next())
+					{
+						final int ownerId = rs.getInt("owner_id");
+						final int slot = rs.getInt("loc_data");
+						final int[][] paperdoll = paperdolls.computeIfAbsent(ownerId, k -> new int[33][4]);
+						paperdoll[slot][0] = rs.getInt("object_id");
+						paperdoll[slot][1] = rs.getInt("item_id");
+						paperdoll[slot][2] = rs.getInt("enchant_level");
+						paperdoll[slot][3] = parseInt(rs.getString("visual_id"));
+						if (slot == Inventory.PAPERDOLL_RHAND)
+						{
+							final int augment = rs.getInt("augAttributes");
+							augmentations.put(ownerId, augment == -1 ? 0 : augment);
+						}
+					}
+				}
+			}
+			
+			try (PreparedStatement ps = con.prepareStatement(SELECT_VARIABLES))
+			{
+				ps.setString(1, accountName);
+				try (ResultSet rs = ps.executeQuery())
+				{
+					while (rs.next())
+					{
+						variables.computeIfAbsent(rs.getInt("charId"), k -> new StatsSet()).set(rs.getString("var"), rs.getString("val"));
+					}
+				}
+			}
+			
+			try (PreparedStatement ps = con.prepareStatement(SELECT_CHARACTERS))
+			{
+				ps.setString(1, accountName);
+				try (ResultSet rs = ps.executeQuery())
+				{
+					while (rs.next())
+					{
+						final int objectId = rs.getInt("charId");
+						final CharSelectInfoPackage character = restoreChar(rs, paperdolls.getOrDefault(objectId, new int[33][4]), variables.getOrDefault(objectId, new StatsSet()));
+						if (character != null)
+						{
+							character.setAugmentationId(augmentations.getOrDefault(objectId, 0));
+							characters.add(character);
+						}
+					}
+				}
+			}
+			return characters.toArray(new CharSelectInfoPackage[characters.size()]);
+		}
+		catch (Exception e)
+		{
+			LOGGER.warn("Could not restore char info: " + e.getMessage(), e);
+		}
+		return EMPTY_CHARACTERS;
+	}
+	
+	private static int parseInt(String value)
+	{
+		if (value == null)
+		{
+			return 0;
+		}
+		
+		try
+		{
+			return Integer.parseInt(value);
+		}
+		catch (NumberFormatException e)
+		{
+			return 0;
+		}
+	}
+	
+	private static CharSelectInfoPackage restoreChar(ResultSet chardata, int[][] paperdoll, StatsSet vars) throws Exception
+	{
+		int objectId = chardata.getInt("charId");
+		String name = chardata.getString("char_name");
+		
+		// See if the char must be deleted
+		long deletetime = chardata.getLong("deletetime");
+		if (deletetime > 0)
+		{
+			if (System.currentTimeMillis() > deletetime)
+			{
+				L2Clan clan = ClanTable.getInstance().getClan(chardata.getInt("clanid"));
+				if (clan != null)
+				{
+					clan.removeClanMember(objectId, 0);
+				}
+				
+				L2GameClient.deleteCharByObjId(objectId);
+				return null;
+			}
+		}
+		
+		final CharSelectInfoPackage charInfopackage = new CharSelectInfoPackage(objectId, name, paperdoll, vars);
+		charInfopackage.setAccessLevel(chardata.getInt("accesslevel"));
+		charInfopackage.setLevel(chardata.getInt("level"));
+		charInfopackage.setMaxHp(chardata.getInt("maxhp"));
+		charInfopackage.setCurrentHp(chardata.getDouble("curhp"));
+		charInfopackage.setMaxMp(chardata.getInt("maxmp"));
+		charInfopackage.setCurrentMp(chardata.getDouble("curmp"));
+		charInfopackage.setReputation(chardata.getInt("reputation"));
+		charInfopackage.setPkKills(chardata.getInt("pkkills"));
+		charInfopackage.setPvPKills(chardata.getInt("pvpkills"));
+		charInfopackage.setFace(chardata.getInt("face"));
+		charInfopackage.setHairStyle(chardata.getInt("hairstyle"));
+		charInfopackage.setHairColor(chardata.getInt("haircolor"));
+		charInfopackage.setSex(chardata.getInt("sex"));
+		
+		charInfopackage.setExp(chardata.getLong("exp"));
+		charInfopackage.setSp(chardata.getLong("sp"));
+		charInfopackage.setVitalityPoints(chardata.getInt("vitality_points"));
+		charInfopackage.setClanId(chardata.getInt("clanid"));
+		
+		charInfopackage.setRace(chardata.getInt("race"));
+		
+		final int baseClassId = chardata.getInt("base_class");
+		final int activeClassId = chardata.getInt("classid");
+		
+		charInfopackage.setX(chardata.getInt("x"));
+		charInfopackage.setY(chardata.getInt("y"));
+		charInfopackage.setZ(chardata.getInt("z"));
+		
+		if (Config.L2JMOD_MULTILANG_ENABLE)
+		{
+			String lang = chardata.getString("language");
+			if (!Config.L2JMOD_MULTILANG_ALLOWED.contains(lang))
+			{
+				lang = Config.L2JMOD_MULTILANG_DEFAULT;
+			}
+			charInfopackage.setHtmlPrefix("data/lang/" + lang + "/");
+		}
+		
+		// if is in subclass, load subclass exp, sp, lvl info
+		chardata.getInt("sub_level");
+		if (!chardata.wasNull())
+		{
+			charInfopackage.setExp(chardata.getLong("sub_exp"));
+			charInfopackage.setSp(chardata.getInt("sub_sp"));
+			charInfopackage.setLevel(chardata.getInt("sub_level"));
+			charInfopackage.setVitalityPoints(chardata.getInt("sub_vitality_points"));
+		}
+		
+		charInfopackage.setClassId(activeClassId);
+		
+		// Check if the base class is set to zero and also doesn't match with the current active class, otherwise send the base class ID. This prevents chars created before base class was introduced from being displayed incorrectly.
+		if ((baseClassId == 0) && (activeClassId > 0))
+		{
+			charInfopackage.setBaseClassId(activeClassId);
+		}
+		else
+		{
+			charInfopackage.setBaseClassId(baseClassId);
+		}
+		
+		charInfopackage.setDeleteTimer(deletetime);
+		charInfopackage.setLastAccess(chardata.getLong("lastAccess"));
+		charInfopackage.setNoble(chardata.getInt("nobless") == 1);
+		return charInfopackage;
+	}
+	
+	public static CharSelectInfoCache getInstance()
+	{
+		return SingletonHolder._instance;
+	}
+	
+	private static class SingletonHolder
+	{
+		protected static final CharSelectInfoCache _instance = new CharSelectInfoCache();
+	}
+}
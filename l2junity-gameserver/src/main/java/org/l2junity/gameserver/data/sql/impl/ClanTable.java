@@ -22,11 +22,12 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.Statement;
-import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.l2junity.Config;
 import org.l2junity.DatabaseFactory;
@@ -70,6 +71,8 @@ public class ClanTable
 	private static final Logger LOGGER = LoggerFactory.getLogger(ClanTable.class);
 	
 	private final Map<Integer, L2Clan> _clans = new ConcurrentHashMap<>();
+	/** Clans of each alliance by alliance id, kept up to date by {@link L2Clan#setAllyId(int)}. */
+	private final Map<Integer, CopyOnWriteArrayList<L2Clan>> _alliances = new ConcurrentHashMap<>();
 	
 	protected ClanTable()
 	{
@@ -104,6 +107,10 @@ public class ClanTable
 		}
 		LOGGER.info("Restored " + clanCount + " clans from the database.");
 		allianceCheck();
+		for (L2Clan loadedClan : _clans.values())
+		{
+			updateClanAlliance(loadedClan, 0);
+		}
 		restorewars();
 	}
 	
@@ -259,6 +266,7 @@ public class ClanTable
 		}
 		
 		_clans.remove(clanId);
+		updateClanAlliance(clan, clan.getAllyId());
 		IdFactory.getInstance().releaseId(clanId);
 		
 		try (Connection con = DatabaseFactory.getInstance().getConnection())
@@ -456,20 +464,41 @@ public class ClanTable
 		}
 	}
 	
+	/**
+	 * @param allianceId the alliance id
+	 * @return the clans of the alliance, an empty list if {@code allianceId} is 0 or the alliance does not exist
+	 */
 	public List<L2Clan> getClanAllies(int allianceId)
 	{
-		final List<L2Clan> clanAllies = new ArrayList<>();
-		if (allianceId != 0)
+		final List<L2Clan> clanAllies = _alliances.get(allianceId);
+		return clanAllies != null ? Collections.unmodifiableList(clanAllies) : Collections.emptyList();
+	}
+	
+	/**
+	 * Moves a clan from its previous alliance to its current one.
+	 * @param clan the clan whose alliance changed
+	 * @param oldAllyId the alliance id the clan had before, 0 if none
+	 */
+	public void updateClanAlliance(L2Clan clan, int oldAllyId)
+	{
+		if (oldAllyId != 0)
 		{
-			for (L2Clan clan : _clans.values())
+			_alliances.computeIfPresent(oldAllyId, (allyId, clans) ->
 			{
-				if ((clan != null) && (clan.getAllyId() == allianceId))
-				{
-					clanAllies.add(clan);
-				}
-			}
+				clans.remove(clan);
+				return clans.isEmpty() ? null : clans;
+			});
+		}
+		
+		if ((clan.getAllyId() != 0) && (_clans.get(clan.getId()) == clan))
+		{
+			_alliances.compute(clan.getAllyId(), (allyId, clans) ->
+			{
+				final CopyOnWriteArrayList<L2Clan> allyClans = clans != null ? clans : new CopyOnWriteArrayList<>();
+				allyClans.addIfAbsent(clan);
+				return allyClans;
+			});
 		}
-		return clanAllies;
 	}
 	
 	public void shutdown()
@@ -55,7 +55,7 @@ public abstract class IdFactory
 		"SELECT charId     FROM character_shortcuts   WHERE charId >= ? AND charId < ?",
 		"SELECT charId     FROM character_macroses    WHERE charId >= ? AND charId < ?",
 		"SELECT charId     FROM character_skills      WHERE charId >= ? AND charId < ?",
-		"SELECT charId     FROM character_skills_save WHERE charId >= ? AND charId < ?",
+		"SELECT charId     FROM character_effects     WHERE charId >= ? AND charId < ?",
 		"SELECT charId     FROM character_subclasses  WHERE charId >= ? AND charId < ?",
 		"SELECT charId     FROM character_ui_actions  WHERE charId >= ? AND charId < ?",
 		"SELECT charId     FROM character_ui_categories  WHERE charId >= ? AND charId < ?",
@@ -83,8 +83,7 @@ public abstract class IdFactory
 	
 	private static final String[] TIMESTAMPS_CLEAN =
 	{
-		"DELETE FROM character_instance_time WHERE time <= ?",
-		"DELETE FROM character_skills_save WHERE restore_type = 1 AND systime <= ?"
+		"DELETE FROM character_instance_time WHERE time <= ?"
 	};
 	
 	protected boolean _initialized;
@@ -185,7 +184,7 @@ public abstract class IdFactory
 			cleanCount += stmt.executeUpdate("DELETE FROM character_recipeshoplist WHERE character_recipeshoplist.charId NOT IN (SELECT charId FROM characters);");
 			cleanCount += stmt.executeUpdate("DELETE FROM character_shortcuts WHERE character_shortcuts.charId NOT IN (SELECT charId FROM characters);");
 			cleanCount += stmt.executeUpdate("DELETE FROM character_skills WHERE character_skills.charId NOT IN (SELECT charId FROM characters);");
-			cleanCount += stmt.executeUpdate("DELETE FROM character_skills_save WHERE character_skills_save.charId NOT IN (SELECT charId FROM characters);");
+			cleanCount += stmt.executeUpdate("DELETE FROM character_effects WHERE character_effects.charId NOT IN (SELECT charId FROM characters);");
 			cleanCount += stmt.executeUpdate("DELETE FROM character_subclasses WHERE character_subclasses.charId NOT IN (SELECT charId FROM characters);");
 			cleanCount += stmt.executeUpdate("DELETE FROM character_instance_time WHERE character_instance_time.charId NOT IN (SELECT charId FROM characters);");
 			cleanCount += stmt.executeUpdate("DELETE FROM character_ui_actions WHERE character_ui_actions.charId NOT IN (SELECT charId FROM characters);");
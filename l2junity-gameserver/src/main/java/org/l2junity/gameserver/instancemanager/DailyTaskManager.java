@@ -20,8 +20,12 @@ package org.l2junity.gameserver.instancemanager;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.l2junity.Config;
 import org.l2junity.DatabaseFactory;
@@ -38,6 +42,7 @@ import org.l2junity.gameserver.model.eventengine.AbstractEvent;
 import org.l2junity.gameserver.model.eventengine.AbstractEventManager;
 import org.l2junity.gameserver.model.eventengine.ScheduleTarget;
 import org.l2junity.gameserver.model.holders.SkillHolder;
+import org.l2junity.gameserver.model.holders.StoredEffectHolder;
 import org.l2junity.gameserver.model.olympiad.Olympiad;
 import org.l2junity.gameserver.model.variables.PlayerVariables;
 import org.l2junity.gameserver.network.client.send.ExVoteSystemInfo;
@@ -169,15 +174,48 @@ public class DailyTaskManager extends AbstractEventManager<AbstractEvent<?>>
 	
 	private void resetDailySkills()
 	{
-		try (Connection con = DatabaseFactory.getInstance().getConnection())
+		final List<SkillHolder> dailySkills = getVariables().getList("reset_skills", SkillHolder.class, Collections.emptyList());
+		if (dailySkills.isEmpty())
+		{
+			LOGGER.info("Daily skill reuse cleaned.");
+			return;
+		}
+		
+		final Set<Integer> skillIds = dailySkills.stream().map(SkillHolder::getSkillId).collect(Collectors.toSet());
+		try (Connection con = DatabaseFactory.getInstance().getConnection();
+			PreparedStatement select = con.prepareStatement("SELECT charId, class_index, effects FROM character_effects");
+			PreparedStatement update = con.prepareStatement("UPDATE character_effects SET effects=? WHERE charId=? AND class_index=?");
+			ResultSet rset = select.executeQuery())
 		{
-			final List<SkillHolder> dailySkills = getVariables().getList("reset_skills", SkillHolder.class, Collections.emptyList());
-			for (SkillHolder skill : dailySkills)
+			// Effects are stored as one serialized list per character and class, rewrite only the lists holding a daily skill.
+			final List<int[]> rewritten = new ArrayList<>();
+			while (rset.next())
+			{
+				final List<StoredEffectHolder> entries = StoredEffectHolder.decode(rset.getString("effects"));
+				if (entries.removeIf(entry -> skillIds.contains(entry.getSkillId())))
+				{
+					final int charId = rset.getInt("charId");
+					final int classIndex = rset.getInt("class_index");
+					update.setString(1, StoredEffectHolder.encode(entries));
+					update.setInt(2, charId);
+					update.setInt(3, classIndex);
+					update.addBatch();
+					rewritten.add(new int[]
+					{
+						charId,
+						classIndex
+					});
+				}
+			}
+			update.executeBatch();
+			
+			// Online players compare their next store with what they stored last, which is not what the row holds anymore.
+			for (int[] row : rewritten)
 			{
-				try (PreparedStatement ps = con.prepareStatement("DELETE FROM character_skills_save WHERE skill_id=?;"))
+				final PlayerInstance player = World.getInstance().getPlayer(row[0]);
+				if (player != null)
 				{
-					ps.setInt(1, skill.getSkillId());
-					ps.execute();
+					player.clearStoredEffects(row[1]);
 				}
 			}
 		}
@@ -19,15 +19,19 @@
 package org.l2junity.gameserver.instancemanager;
 
 import java.io.File;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.l2junity.gameserver.data.xml.IGameXmlReader;
 import org.l2junity.gameserver.data.xml.impl.ClanHallData;
 import org.l2junity.gameserver.model.Location;
 import org.l2junity.gameserver.model.MapRegion;
 import org.l2junity.gameserver.model.TeleportWhereType;
+import org.l2junity.gameserver.model.World;
 import org.l2junity.gameserver.model.WorldObject;
 import org.l2junity.gameserver.model.actor.Creature;
 import org.l2junity.gameserver.model.actor.Npc;
@@ -51,9 +55,16 @@ public final class MapRegionManager implements IGameXmlReader
 {
 	private static final Logger LOGGER = LoggerFactory.getLogger(MapRegionManager.class);
 	
+	private static final int MAP_TILES = 64;
+	
 	private final Map<String, MapRegion> _regions = new HashMap<>();
+	private MapRegion[][] _regionsByTile = new MapRegion[MAP_TILES][MAP_TILES];
 	private final String defaultRespawn = "talking_island_town";
 	
+	/** Online players by map region location id and instance id, see {@link #getRegionKey(int, int)}. */
+	private final Map<Long, Set<PlayerInstance>> _playersByRegion = new ConcurrentHashMap<>();
+	private final Map<Integer, Long> _playerRegionKeys = new ConcurrentHashMap<>();
+	
 	protected MapRegionManager()
 	{
 		load();
@@ -63,8 +74,12 @@ public final class MapRegionManager implements IGameXmlReader
 	public void load()
 	{
 		_regions.clear();
+		_regionsByTile = new MapRegion[MAP_TILES][MAP_TILES];
 		parseDatapackDirectory("data/mapregion", false);
 		LOGGER.info("Loaded {} map regions.", _regions.size());
+		
+		// Location ids may have changed on reload.
+		World.getInstance().getPlayers().forEach(this::updatePlayerRegion);
 	}
 	
 	@Override
@@ -125,7 +140,13 @@ public final class MapRegionManager implements IGameXmlReader
 							}
 							else if ("map".equalsIgnoreCase(c.getNodeName()))
 							{
-								region.addMap(parseInteger(attrs, "X"), parseInteger(attrs, "Y"));
+								final int tileX = parseInteger(attrs, "X");
+								final int tileY = parseInteger(attrs, "Y");
+								region.addMap(tileX, tileY);
+								if ((tileX >= 0) && (tileX < MAP_TILES) && (tileY >= 0) && (tileY < MAP_TILES) && (_regionsByTile[tileX][tileY] == null))
+								{
+									_regionsByTile[tileX][tileY] = region;
+								}
 							}
 							else if ("banned".equalsIgnoreCase(c.getNodeName()))
 							{
@@ -146,14 +167,13 @@ public final class MapRegionManager implements IGameXmlReader
 	 */
 	public final MapRegion getMapRegion(int locX, int locY)
 	{
-		for (MapRegion region : _regions.values())
+		final int tileX = getMapRegionX(locX);
+		final int tileY = getMapRegionY(locY);
+		if ((tileX < 0) || (tileX >= MAP_TILES) || (tileY < 0) || (tileY >= MAP_TILES))
 		{
-			if (region.isZoneInRegion(getMapRegionX(locX), getMapRegionY(locY)))
-			{
-				return region;
-			}
+			return null;
 		}
-		return null;
+		return _regionsByTile[tileX][tileY];
 	}
 	
 	/**
@@ -456,6 +476,81 @@ public final class MapRegionManager implements IGameXmlReader
 		return region != null ? region.getBbs() : _regions.get(defaultRespawn).getBbs();
 	}
 	
+	/**
+	 * Moves the player to the online players of its current map region and instance, if he changed any of them.
+	 * @param player the player
+	 */
+	public void updatePlayerRegion(PlayerInstance player)
+	{
+		_playerRegionKeys.compute(player.getObjectId(), (objectId, oldKey) ->
+		{
+			// Logged out meanwhile.
+			if (World.getInstance().getPlayer(objectId) != player)
+			{
+				if (oldKey != null)
+				{
+					removeFromRegion(oldKey, player);
+				}
+				return null;
+			}
+			
+			final long newKey = getRegionKey(getMapRegionLocId(player), player.getInstanceId());
+			if ((oldKey == null) || (oldKey != newKey))
+			{
+				if (oldKey != null)
+				{
+					removeFromRegion(oldKey, player);
+				}
+				_playersByRegion.compute(newKey, (key, players) ->
+				{
+					final Set<PlayerInstance> result = players != null ? players : ConcurrentHashMap.newKeySet();
+					result.add(player);
+					return result;
+				});
+			}
+			return newKey;
+		});
+	}
+	
+	/**
+	 * Removes the player from the online players by map region.
+	 * @param player the player
+	 */
+	public void removePlayerRegion(PlayerInstance player)
+	{
+		final Long oldKey = _playerRegionKeys.remove(player.getObjectId());
+		if (oldKey != null)
+		{
+			removeFromRegion(oldKey, player);
+		}
+	}
+	
+	/**
+	 * @param locId the map region location id
+	 * @param instanceId the instance id, 0 for the normal world
+	 * @return the online players in the map region and instance
+	 */
+	public Collection<PlayerInstance> getPlayersInRegion(int locId, int instanceId)
+	{
+		final Set<PlayerInstance> players = _playersByRegion.get(getRegionKey(locId, instanceId));
+		return players != null ? players : Collections.emptySet();
+	}
+	
+	private void removeFromRegion(long key, PlayerInstance player)
+	{
+		// Drop empty sets, instance ids are not reused.
+		_playersByRegion.computeIfPresent(key, (k, players) ->
+		{
+			players.remove(player);
+			return players.isEmpty() ? null : players;
+		});
+	}
+	
+	private static long getRegionKey(int locId, int instanceId)
+	{
+		return ((long) instanceId << 32) | (locId & 0xFFFFFFFFL);
+	}
+	
 	/**
 	 * Gets the single instance of {@code MapRegionManager}.
 	 * @return single instance of {@code MapRegionManager}
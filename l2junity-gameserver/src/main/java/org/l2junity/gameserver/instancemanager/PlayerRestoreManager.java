@@ -0,0 +1,207 @@
+/*
+ * Copyright (C) 2004-2016 L2J Unity
+ * 
+ * This file is part of L2J Unity.
+ * 
+ * L2J Unity is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * L2J Unity is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.l2junity.gameserver.instancemanager;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.l2junity.Config;
+import org.l2junity.commons.util.LatencyHistogram;
+import org.l2junity.gameserver.ThreadPoolManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs the independent parts of a player restore concurrently and keeps a timing breakdown of every restore phase.<br>
+ * Phases that modify the player stats (skills, henna) stay on the restoring thread, while the plain data loads (macros, shortcuts, bookmarks, recipes, friends...) are submitted to a small dedicated pool so their queries overlap.
+ */
+public class PlayerRestoreManager
+{
+	private static final Logger LOGGER = LoggerFactory.getLogger(PlayerRestoreManager.class);
+	
+	public enum Phase
+	{
+		CHARACTER,
+		INVENTORY,
+		SKILLS,
+		HENNA,
+		MACROS,
+		SHORTCUTS,
+		TELEPORT_BOOKMARKS,
+		RECIPE_BOOK,
+		RECIPE_SHOP,
+		PREMIUM_ITEMS,
+		PET_ITEMS,
+		ITEM_REUSE,
+		FRIENDS,
+		UI_SETTINGS,
+		RECOMMENDATIONS,
+		TOTAL
+	}
+	
+	private final Map<Phase, LatencyHistogram> _timings = new EnumMap<>(Phase.class);
+	private final ThreadPoolExecutor _executor;
+	private long _lastReportedCount;
+	
+	protected PlayerRestoreManager()
+	{
+		for (Phase phase : Phase.values())
+		{
+			_timings.put(phase, new LatencyHistogram());
+		}
+		
+		if (Config.PLAYER_RESTORE_THREADS > 0)
+		{
+			final AtomicInteger threadNumber = new AtomicInteger(1);
+			_executor = new ThreadPoolExecutor(Config.PLAYER_RESTORE_THREADS, Config.PLAYER_RESTORE_THREADS, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r ->
+			{
+				final Thread t = new Thread(r, "PlayerRestore-" + threadNumber.getAndIncrement());
+				t.setDaemon(true);
+				return t;
+			});
+			_executor.allowCoreThreadTimeOut(true);
+		}
+		else
+		{
+			_executor = null;
+		}
+		
+		if (Config.PLAYER_RESTORE_STATS_INTERVAL > 0)
+		{
+			final long interval = TimeUnit.MINUTES.toMillis(Config.PLAYER_RESTORE_STATS_INTERVAL);
+			ThreadPoolManager.getInstance().scheduleGeneralAtFixedRate(this::logStats, interval, interval);
+		}
+	}
+	
+	/**
+	 * Runs the phase on the calling thread.
+	 * @param phase the phase
+	 * @param task the restore task
+	 */
+	public void run(Phase phase, Runnable task)
+	{
+		final long start = System.nanoTime();
+		try
+		{
+			task.run();
+		}
+		finally
+		{
+			_timings.get(phase).recordSince(start);
+		}
+	}
+	
+	/**
+	 * Submits the phase to the restore pool, or runs it on the calling thread when there is no pool.
+	 * @param phase the phase
+	 * @param task the restore task, it must not depend on the other submitted phases
+	 * @return the pending phase
+	 */
+	public CompletableFuture<Void> submit(Phase phase, Runnable task)
+	{
+		if (_executor != null)
+		{
+			try
+			{
+				return CompletableFuture.runAsync(() -> run(phase, task), _executor);
+			}
+			catch (RejectedExecutionException e)
+			{
+				// Pool is shutting down, restore inline.
+			}
+		}
+		
+		run(phase, task);
+		return CompletableFuture.completedFuture(null);
+	}
+	
+	/**
+	 * Waits for the given phases to finish, the player must not be used before that.
+	 * @param phases the submitted phases
+	 */
+	public void await(List<CompletableFuture<Void>> phases)
+	{
+		try
+		{
+			CompletableFuture.allOf(phases.toArray(new CompletableFuture<?>[phases.size()])).join();
+		}
+		catch (Exception e)
+		{
+			LOGGER.warn("Failed restoring player data!", e);
+		}
+	}
+	
+	/**
+	 * Records a phase measured by the caller.
+	 * @param phase the phase
+	 * @param startNanos the {@link System#nanoTime()} when the phase started
+	 */
+	public void record(Phase phase, long startNanos)
+	{
+		_timings.get(phase).recordSince(startNanos);
+	}
+	
+	public String[] getStats()
+	{
+		final List<String> stats = new ArrayList<>();
+		stats.add("Player Restore (ms):");
+		for (Phase phase : Phase.values())
+		{
+			stats.add(" |- " + String.format("%-19s", phase) + _timings.get(phase).toString(TimeUnit.MILLISECONDS));
+		}
+		if (_executor != null)
+		{
+			stats.add(" |- ActiveThreads: " + _executor.getActiveCount() + " QueuedTasks: " + _executor.getQueue().size());
+		}
+		return stats.toArray(new String[stats.size()]);
+	}
+	
+	private void logStats()
+	{
+		final long count = _timings.get(Phase.TOTAL).getCount();
+		if (count == _lastReportedCount)
+		{
+			return;
+		}
+		_lastReportedCount = count;
+		
+		for (String line : getStats())
+		{
+			LOGGER.info(line);
+		}
+	}
+	
+	public static PlayerRestoreManager getInstance()
+	{
+		return SingletonHolder._instance;
+	}
+	
+	private static class SingletonHolder
+	{
+		protected static final PlayerRestoreManager _instance = new PlayerRestoreManager();
+	}
+}
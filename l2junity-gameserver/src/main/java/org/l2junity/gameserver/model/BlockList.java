@@ -21,12 +21,15 @@ package org.l2junity.gameserver.model;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 
+import org.l2junity.Config;
 import org.l2junity.DatabaseFactory;
+import org.l2junity.commons.util.IntHashSet;
 import org.l2junity.gameserver.data.sql.impl.CharNameTable;
 import org.l2junity.gameserver.model.actor.instance.PlayerInstance;
 import org.l2junity.gameserver.network.client.send.BlockListPacket;
@@ -42,30 +45,46 @@ import org.slf4j.LoggerFactory;
 public class BlockList
 {
 	private static Logger _log = LoggerFactory.getLogger(BlockList.class);
-	private static Map<Integer, List<Integer>> _offlineList = new ConcurrentHashMap<>();
+	/** Block lists of offline players, least recently used first. */
+	private static final Map<Integer, IntHashSet> _offlineList = Collections.synchronizedMap(new LinkedHashMap<Integer, IntHashSet>(16, 0.75f, true)
+	{
+		private static final long serialVersionUID = 1L;
+		
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Integer, IntHashSet> eldest)
+		{
+			return size() > Config.BLOCK_LIST_OFFLINE_CACHE_SIZE;
+		}
+	});
+	private static final Map<Integer, CompletableFuture<IntHashSet>> _pendingLoads = new ConcurrentHashMap<>();
 	
 	private final PlayerInstance _owner;
-	private List<Integer> _blockList;
+	/** Replaced on every change, so lookups from other threads never see a set being modified. */
+	private volatile IntHashSet _blockList;
 	
 	public BlockList(PlayerInstance owner)
 	{
 		_owner = owner;
-		_blockList = _offlineList.get(owner.getObjectId());
+		_blockList = _offlineList.remove(owner.getObjectId());
 		if (_blockList == null)
 		{
 			_blockList = loadList(_owner.getObjectId());
 		}
 	}
 	
-	private void addToBlockList(int target)
+	private synchronized void addToBlockList(int target)
 	{
-		_blockList.add(target);
+		final IntHashSet blockList = new IntHashSet(_blockList);
+		blockList.add(target);
+		_blockList = blockList;
 		updateInDB(target, true);
 	}
 	
-	private void removeFromBlockList(int target)
+	private synchronized void removeFromBlockList(int target)
 	{
-		_blockList.remove(Integer.valueOf(target));
+		final IntHashSet blockList = new IntHashSet(_blockList);
+		blockList.remove(target);
+		_blockList = blockList;
 		updateInDB(target, false);
 	}
 	
@@ -74,9 +93,9 @@ public class BlockList
 		_offlineList.put(_owner.getObjectId(), _blockList);
 	}
 	
-	private static List<Integer> loadList(int ObjId)
+	private static IntHashSet loadList(int ObjId)
 	{
-		List<Integer> list = new ArrayList<>();
+		IntHashSet list = new IntHashSet();
 		try (Connection con = DatabaseFactory.getInstance().getConnection();
 			PreparedStatement statement = con.prepareStatement("SELECT friendId FROM character_friends WHERE charId=? AND relation=1"))
 		{
@@ -164,7 +183,7 @@ public class BlockList
 		_owner.setMessageRefusal(state);
 	}
 	
-	private List<Integer> getBlockList()
+	private IntHashSet getBlockList()
 	{
 		return _blockList;
 	}
@@ -250,10 +269,11 @@ public class BlockList
 	
 	public static void sendListToOwner(PlayerInstance listOwner)
 	{
-		listOwner.sendPacket(new BlockListPacket(listOwner.getBlockList().getBlockList()));
+		listOwner.sendPacket(new BlockListPacket(listOwner.getBlockList().getBlockList().toArray()));
 	}
 	
 	/**
+	 * Checks the block list of a player who may be offline, loading it from the database on the calling thread when it is not cached.
 	 * @param ownerId object id of owner block list
 	 * @param targetId object id of potential blocked player
 	 * @return true if blocked
@@ -265,10 +285,41 @@ public class BlockList
 		{
 			return BlockList.isBlocked(player, targetId);
 		}
-		if (!_offlineList.containsKey(ownerId))
+		return getOfflineList(ownerId).join().contains(targetId);
+	}
+	
+	/**
+	 * @param ownerId object id of the offline owner
+	 * @return the cached block list, or the load of it already in progress for another caller
+	 */
+	private static CompletableFuture<IntHashSet> getOfflineList(int ownerId)
+	{
+		final IntHashSet cached = _offlineList.get(ownerId);
+		if (cached != null)
+		{
+			return CompletableFuture.completedFuture(cached);
+		}
+		
+		final CompletableFuture<IntHashSet> future = new CompletableFuture<>();
+		final CompletableFuture<IntHashSet> pending = _pendingLoads.putIfAbsent(ownerId, future);
+		if (pending != null)
+		{
+			return pending;
+		}
+		
+		completeLoad(ownerId, future);
+		return future;
+	}
+	
+	private static void completeLoad(int ownerId, CompletableFuture<IntHashSet> future)
+	{
+		final IntHashSet list = loadList(ownerId);
+		// An owner who logged in meanwhile keeps their own list, caching this one would only leave a stale copy behind.
+		if (World.getInstance().getPlayer(ownerId) == null)
 		{
-			_offlineList.put(ownerId, loadList(ownerId));
+			_offlineList.put(ownerId, list);
 		}
-		return _offlineList.get(ownerId).contains(targetId);
+		_pendingLoads.remove(ownerId, future);
+		future.complete(list);
 	}
 }
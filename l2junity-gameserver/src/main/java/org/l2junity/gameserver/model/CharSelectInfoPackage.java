@@ -19,7 +19,6 @@
 package org.l2junity.gameserver.model;
 
 import org.l2junity.gameserver.model.itemcontainer.Inventory;
-import org.l2junity.gameserver.model.itemcontainer.PcInventory;
 import org.l2junity.gameserver.model.variables.PlayerVariables;
 
 /**
@@ -60,19 +59,21 @@ public class CharSelectInfoPackage
 	private int _vitalityPoints = 0;
 	private int _accessLevel = 0;
 	private boolean _isNoble;
-	private final PlayerVariables _vars;
+	private final StatsSet _vars;
 	
 	/**
 	 * Constructor for CharSelectInfoPackage.
 	 * @param objectId character object Id.
 	 * @param name the character's name.
+	 * @param paperdoll the visible inventory, object Id, item Id, enchant level and visual Id per paperdoll slot.
+	 * @param vars the character's variables.
 	 */
-	public CharSelectInfoPackage(int objectId, String name)
+	public CharSelectInfoPackage(int objectId, String name, int[][] paperdoll, StatsSet vars)
 	{
 		setObjectId(objectId);
 		_name = name;
-		_paperdoll = PcInventory.restoreVisibleInventory(objectId);
-		_vars = new PlayerVariables(_objectId);
+		_paperdoll = paperdoll;
+		_vars = vars;
 	}
 	
 	/**
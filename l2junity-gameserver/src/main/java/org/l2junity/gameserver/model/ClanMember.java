@@ -126,10 +126,12 @@ public class ClanMember
 			_sponsor = _player.getSponsor();
 			_sex = _player.getAppearance().getSex();
 			_raceOrdinal = _player.getRace().ordinal();
+			_clan.updateOnlineMember(_player, false);
 		}
 		
 		if (player != null)
 		{
+			_clan.updateOnlineMember(player, true);
 			_clan.addSkillEffects(player);
 			if ((_clan.getLevel() > 3) && player.isClanLeader())
 			{
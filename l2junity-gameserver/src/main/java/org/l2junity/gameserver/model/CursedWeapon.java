@@ -27,6 +27,7 @@ import org.l2junity.Config;
 import org.l2junity.DatabaseFactory;
 import org.l2junity.commons.util.Rnd;
 import org.l2junity.gameserver.ThreadPoolManager;
+import org.l2junity.gameserver.cache.CharSelectInfoCache;
 import org.l2junity.gameserver.data.xml.impl.SkillData;
 import org.l2junity.gameserver.instancemanager.CursedWeaponsManager;
 import org.l2junity.gameserver.model.Party.MessageType;
@@ -158,6 +159,8 @@ public class CursedWeapon implements INamable
 					{
 						_log.warn("Error while updating karma & pkkills for userId " + _playerId);
 					}
+
+					CharSelectInfoCache.getInstance().invalidateCharacter(_playerId);
 				}
 				catch (Exception e)
 				{
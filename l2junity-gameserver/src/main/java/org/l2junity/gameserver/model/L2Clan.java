@@ -28,6 +28,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
@@ -61,6 +62,7 @@ import org.l2junity.gameserver.model.skills.Skill;
 import org.l2junity.gameserver.model.variables.ClanVariables;
 import org.l2junity.gameserver.model.zone.ZoneId;
 import org.l2junity.gameserver.network.client.send.CreatureSay;
+import org.l2junity.gameserver.network.client.send.EncodedPacket;
 import org.l2junity.gameserver.network.client.send.ExSubPledgeSkillAdd;
 import org.l2junity.gameserver.network.client.send.IClientOutgoingPacket;
 import org.l2junity.gameserver.network.client.send.PledgeReceiveSubPledgeCreated;
@@ -117,6 +119,8 @@ public class L2Clan implements IIdentifiable, INamable
 	private int _clanId;
 	private ClanMember _leader;
 	private final Map<Integer, ClanMember> _members = new ConcurrentHashMap<>();
+	/** Members currently logged in, kept up to date on login, logout, join and leave so broadcasts skip offline members. */
+	private final CopyOnWriteArrayList<PlayerInstance> _onlineMembers = new CopyOnWriteArrayList<>();
 	
 	private String _allyName;
 	private int _allyId;
@@ -485,6 +489,10 @@ public class L2Clan implements IIdentifiable, INamable
 		{
 			CastleManager.getInstance().removeCirclet(exMember, getCastleId());
 		}
+		if (exMember.getPlayerInstance() != null)
+		{
+			_onlineMembers.remove(exMember.getPlayerInstance());
+		}
 		if (exMember.isOnline())
 		{
 			PlayerInstance player = exMember.getPlayerInstance();
@@ -634,10 +642,9 @@ public class L2Clan implements IIdentifiable, INamable
 	public List<PlayerInstance> getOnlineMembers(int exclude)
 	{
 		//@formatter:off
-		return _members.values().stream()
-			.filter(member -> member.getObjectId() != exclude)
-			.filter(ClanMember::isOnline)
-			.map(ClanMember::getPlayerInstance)
+		return _onlineMembers.stream()
+			.filter(player -> player.getObjectId() != exclude)
+			.filter(L2Clan::isOnline)
 			.collect(Collectors.toList());
 		//@formatter:on
 	}
@@ -648,12 +655,39 @@ public class L2Clan implements IIdentifiable, INamable
 	public int getOnlineMembersCount()
 	{
 		//@formatter:off
-		return (int) _members.values().stream()
-			.filter(ClanMember::isOnline)
+		return (int) _onlineMembers.stream()
+			.filter(L2Clan::isOnline)
 			.count();
 		//@formatter:on
 	}
 	
+	/**
+	 * Called by {@link ClanMember#setPlayerInstance(PlayerInstance)} when a member logs in or out.
+	 * @param player the member's player instance
+	 * @param online {@code true} if the member logged in
+	 */
+	void updateOnlineMember(PlayerInstance player, boolean online)
+	{
+		if (online)
+		{
+			_onlineMembers.addIfAbsent(player);
+		}
+		else
+		{
+			_onlineMembers.remove(player);
+		}
+	}
+	
+	/**
+	 * Same check as {@link ClanMember#isOnline()}, members in offline trade mode are logged in but do not get packets.
+	 * @param player the member's player instance
+	 * @return {@code true} if the member can receive packets
+	 */
+	private static boolean isOnline(PlayerInstance player)
+	{
+		return player.isOnline() && (player.getClient() != null) && !player.getClient().isDetached();
+	}
+	
 	/**
 	 * @return the alliance Id.
 	 */
@@ -776,7 +810,15 @@ public class L2Clan implements IIdentifiable, INamable
 	 */
 	public void setAllyId(int allyId)
 	{
+		final int oldAllyId = _allyId;
 		_allyId = allyId;
+		
+		// The clan table is null while it loads the clans, it indexes all alliances once they are loaded.
+		final ClanTable clanTable = ClanTable.getInstance();
+		if ((oldAllyId != allyId) && (clanTable != null))
+		{
+			clanTable.updateClanAlliance(this, oldAllyId);
+		}
 	}
 	
 	/**
@@ -1563,45 +1605,64 @@ public class L2Clan implements IIdentifiable, INamable
 	
 	public void broadcastToOnlineAllyMembers(IClientOutgoingPacket packet)
 	{
-		for (L2Clan clan : ClanTable.getInstance().getClanAllies(getAllyId()))
+		final List<L2Clan> allies = ClanTable.getInstance().getClanAllies(getAllyId());
+		if (allies.isEmpty())
 		{
-			clan.broadcastToOnlineMembers(packet);
+			return;
+		}
+		
+		final IClientOutgoingPacket encodedPacket = new EncodedPacket(packet);
+		for (L2Clan clan : allies)
+		{
+			clan.broadcastToOnlineMembers(encodedPacket);
 		}
 	}
 	
 	public void broadcastToOnlineMembers(IClientOutgoingPacket packet)
 	{
-		for (ClanMember member : _members.values())
+		final IClientOutgoingPacket sentPacket = encodeForOnlineMembers(packet);
+		for (PlayerInstance member : _onlineMembers)
 		{
-			if ((member != null) && member.isOnline())
+			if (isOnline(member))
 			{
-				member.getPlayerInstance().sendPacket(packet);
+				member.sendPacket(sentPacket);
 			}
 		}
 	}
 	
 	public void broadcastCSToOnlineMembers(CreatureSay packet, PlayerInstance broadcaster)
 	{
-		for (ClanMember member : _members.values())
+		final IClientOutgoingPacket sentPacket = encodeForOnlineMembers(packet);
+		for (PlayerInstance member : _onlineMembers)
 		{
-			if ((member != null) && member.isOnline() && !BlockList.isBlocked(member.getPlayerInstance(), broadcaster))
+			if (isOnline(member) && !BlockList.isBlocked(member, broadcaster))
 			{
-				member.getPlayerInstance().sendPacket(packet);
+				member.sendPacket(sentPacket);
 			}
 		}
 	}
 	
 	public void broadcastToOtherOnlineMembers(IClientOutgoingPacket packet, PlayerInstance player)
 	{
-		for (ClanMember member : _members.values())
+		final IClientOutgoingPacket sentPacket = encodeForOnlineMembers(packet);
+		for (PlayerInstance member : _onlineMembers)
 		{
-			if ((member != null) && member.isOnline() && (member.getPlayerInstance() != player))
+			if ((member != player) && isOnline(member))
 			{
-				member.getPlayerInstance().sendPacket(packet);
+				member.sendPacket(sentPacket);
 			}
 		}
 	}
 	
+	/**
+	 * @param packet the packet to broadcast
+	 * @return the packet written once for all online members, or the packet itself when encoding it would not save anything
+	 */
+	private IClientOutgoingPacket encodeForOnlineMembers(IClientOutgoingPacket packet)
+	{
+		return (_onlineMembers.size() > 1) && !(packet instanceof EncodedPacket) ? new EncodedPacket(packet) : packet;
+	}
+	
 	@Override
 	public String toString()
 	{
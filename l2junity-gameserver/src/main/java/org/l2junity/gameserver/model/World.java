@@ -26,10 +26,14 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 
+import org.l2junity.commons.metrics.MetricsRegistry;
+import org.l2junity.commons.util.PagedIntObjectMap;
 import org.l2junity.gameserver.ai.CharacterAI;
 import org.l2junity.gameserver.ai.CtrlEvent;
 import org.l2junity.gameserver.ai.CtrlIntention;
 import org.l2junity.gameserver.data.sql.impl.CharNameTable;
+import org.l2junity.gameserver.idfactory.IdFactory;
+import org.l2junity.gameserver.instancemanager.MapRegionManager;
 import org.l2junity.gameserver.model.actor.Creature;
 import org.l2junity.gameserver.model.actor.Npc;
 import org.l2junity.gameserver.model.actor.instance.L2PetInstance;
@@ -83,10 +87,10 @@ public final class World
 	
 	public static final int REGION_MIN_DIMENSION = Math.min(TILE_SIZE / (TILE_SIZE >> SHIFT_BY_Z), TILE_SIZE / (TILE_SIZE >> SHIFT_BY));
 	
-	/** Map containing all the players in game. */
+	/** Map containing all the players in game. Player ids are sparse among the item ids, so they are hashed rather than paged. */
 	private final Map<Integer, PlayerInstance> _allPlayers = new ConcurrentHashMap<>();
-	/** Map containing all visible objects. */
-	private final Map<Integer, WorldObject> _allObjects = new ConcurrentHashMap<>();
+	/** Map containing all visible objects, indexed directly by object id since the id factory hands them out densely. */
+	private final PagedIntObjectMap<WorldObject> _allObjects = new PagedIntObjectMap<>(IdFactory.FIRST_OID);
 	/** Map used for debug. */
 	// private final Map<Integer, String> _allObjectsDebug = new ConcurrentHashMap<>();
 	/** Map with the pets instances and their owner ID. */
@@ -109,6 +113,11 @@ public final class World
 		}
 		
 		_log.info("(" + REGIONS_X + " by " + REGIONS_Y + " by " + REGIONS_Z + ") World Region Grid set up.");
+		
+		final MetricsRegistry metrics = MetricsRegistry.getInstance();
+		metrics.gauge("l2j_players_online", "Players in the world, offline traders included.", _allPlayers::size);
+		metrics.gauge("l2j_players_offline", "Players in the world without a connected client.", () -> _allPlayers.values().stream().filter(player -> (player.getClient() == null) || player.getClient().isDetached()).count());
+		metrics.gauge("l2j_world_objects", "Objects stored in the world.", _allObjects::size);
 	}
 	
 	/**
@@ -122,7 +131,7 @@ public final class World
 	 */
 	public void storeObject(WorldObject object)
 	{
-		if (_allObjects.containsKey(object.getObjectId()))
+		if (_allObjects.putIfAbsent(object.getObjectId(), object) != null)
 		{
 			// _log.warn(getClass().getSimpleName() + ": Current object: " + object + " already exist in OID map!");
 			// _log.warn(CommonUtil.getTraceString(Thread.currentThread().getStackTrace()));
@@ -132,7 +141,6 @@ public final class World
 			return;
 		}
 		
-		_allObjects.put(object.getObjectId(), object);
 		// _allObjectsDebug.put(object.getObjectId(), CommonUtil.getTraceString(Thread.currentThread().getStackTrace()));
 	}
 	
@@ -273,6 +281,11 @@ public final class World
 				}
 				addPlayerToWorld(player);
 			}
+			else
+			{
+				// Teleported, may have changed map region or instance.
+				MapRegionManager.getInstance().updatePlayerRegion(player);
+			}
 		}
 		
 		if (!newRegion.isActive())
@@ -341,6 +354,7 @@ public final class World
 	public void addPlayerToWorld(PlayerInstance player)
 	{
 		_allPlayers.put(player.getObjectId(), player);
+		MapRegionManager.getInstance().updatePlayerRegion(player);
 	}
 	
 	/**
@@ -350,6 +364,7 @@ public final class World
 	public void removeFromAllPlayers(PlayerInstance player)
 	{
 		_allPlayers.remove(player.getObjectId());
+		MapRegionManager.getInstance().removePlayerRegion(player);
 	}
 	
 	/**
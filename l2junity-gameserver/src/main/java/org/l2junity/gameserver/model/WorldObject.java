@@ -30,6 +30,7 @@ import org.l2junity.gameserver.handler.IActionHandler;
 import org.l2junity.gameserver.handler.IActionShiftHandler;
 import org.l2junity.gameserver.idfactory.IdFactory;
 import org.l2junity.gameserver.instancemanager.InstanceManager;
+import org.l2junity.gameserver.instancemanager.MapRegionManager;
 import org.l2junity.gameserver.model.actor.Creature;
 import org.l2junity.gameserver.model.actor.instance.PlayerInstance;
 import org.l2junity.gameserver.model.actor.poly.ObjectPoly;
@@ -728,6 +729,12 @@ public abstract class WorldObject extends ListenersContainer implements IIdentif
 					newRegion.addVisibleObject(this);
 					World.getInstance().switchRegion(this, newRegion);
 					setWorldRegion(newRegion);
+					
+					// Map regions are aligned to world regions, a moving player can only change map region here.
+					if (isPlayer())
+					{
+						MapRegionManager.getInstance().updatePlayerRegion(getActingPlayer());
+					}
 				}
 			}
 		}
@@ -797,6 +804,11 @@ public abstract class WorldObject extends ListenersContainer implements IIdentif
 		{
 			newInstance.onInstanceChange(this, true);
 		}
+		
+		if (isPlayer() && isSpawned())
+		{
+			MapRegionManager.getInstance().updatePlayerRegion(getActingPlayer());
+		}
 	}
 	
 	/**
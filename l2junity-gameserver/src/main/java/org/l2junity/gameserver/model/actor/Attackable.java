@@ -47,6 +47,7 @@ import org.l2junity.gameserver.datatables.EventDroplist.DateDrop;
 import org.l2junity.gameserver.datatables.ItemTable;
 import org.l2junity.gameserver.enums.ChatType;
 import org.l2junity.gameserver.enums.InstanceType;
+import org.l2junity.gameserver.idfactory.IdFactory;
 import org.l2junity.gameserver.instancemanager.CursedWeaponsManager;
 import org.l2junity.gameserver.instancemanager.WalkingManager;
 import org.l2junity.gameserver.model.AggroInfo;
@@ -122,7 +123,16 @@ public class Attackable extends Npc
 	 */
 	public Attackable(L2NpcTemplate template)
 	{
-		super(template);
+		this(IdFactory.getInstance().getNextId(), template);
+	}
+	
+	/**
+	 * @param objectId the object id of the NPC
+	 * @param template the template to apply to the NPC.
+	 */
+	public Attackable(int objectId, L2NpcTemplate template)
+	{
+		super(objectId, template);
 		setInstanceType(InstanceType.Attackable);
 		setIsInvul(false);
 		_mustGiveExpSp = true;
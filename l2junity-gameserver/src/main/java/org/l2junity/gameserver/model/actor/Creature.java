@@ -30,11 +30,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentSkipListMap;
-import java.util.concurrent.LinkedBlockingDeque;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Predicate;
@@ -42,7 +40,6 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.l2junity.Config;
-import org.l2junity.commons.util.EmptyQueue;
 import org.l2junity.commons.util.Rnd;
 import org.l2junity.gameserver.GameTimeController;
 import org.l2junity.gameserver.GeoData;
@@ -92,6 +89,7 @@ import org.l2junity.gameserver.model.effects.EffectFlag;
 import org.l2junity.gameserver.model.events.Containers;
 import org.l2junity.gameserver.model.events.EventDispatcher;
 import org.l2junity.gameserver.model.events.EventType;
+import org.l2junity.gameserver.model.events.ListenersContainer;
 import org.l2junity.gameserver.model.events.impl.character.OnCreatureAttack;
 import org.l2junity.gameserver.model.events.impl.character.OnCreatureAttackAvoid;
 import org.l2junity.gameserver.model.events.impl.character.OnCreatureAttacked;
@@ -946,22 +944,28 @@ public abstract class Creature extends WorldObject implements ISkillsHolder, IDe
 				return;
 			}
 			
-			// Notify to scripts
-			final TerminateReturn attackReturn = EventDispatcher.getInstance().notifyEvent(new OnCreatureAttack(this, target), this, TerminateReturn.class);
-			if ((attackReturn != null) && attackReturn.terminate())
+			// Notify to scripts, the events are only created when something listens to them.
+			if (EventDispatcher.getInstance().hasListener(EventType.ON_CREATURE_ATTACK, this))
 			{
-				getAI().setIntention(CtrlIntention.AI_INTENTION_ACTIVE);
-				sendPacket(ActionFailed.STATIC_PACKET);
-				return;
+				final TerminateReturn attackReturn = EventDispatcher.getInstance().notifyEvent(new OnCreatureAttack(this, target), this, TerminateReturn.class);
+				if ((attackReturn != null) && attackReturn.terminate())
+				{
+					getAI().setIntention(CtrlIntention.AI_INTENTION_ACTIVE);
+					sendPacket(ActionFailed.STATIC_PACKET);
+					return;
+				}
 			}
 			
 			// Notify to scripts
-			final TerminateReturn attackedReturn = EventDispatcher.getInstance().notifyEvent(new OnCreatureAttacked(this, target), target, TerminateReturn.class);
-			if ((attackedReturn != null) && attackedReturn.terminate())
+			if (EventDispatcher.getInstance().hasListener(EventType.ON_CREATURE_ATTACKED, target))
 			{
-				getAI().setIntention(CtrlIntention.AI_INTENTION_ACTIVE);
-				sendPacket(ActionFailed.STATIC_PACKET);
-				return;
+				final TerminateReturn attackedReturn = EventDispatcher.getInstance().notifyEvent(new OnCreatureAttacked(this, target), target, TerminateReturn.class);
+				if ((attackedReturn != null) && attackedReturn.terminate())
+				{
+					getAI().setIntention(CtrlIntention.AI_INTENTION_ACTIVE);
+					sendPacket(ActionFailed.STATIC_PACKET);
+					return;
+				}
 			}
 			
 			if (!isAlikeDead())
@@ -4788,8 +4792,11 @@ public abstract class Creature extends WorldObject implements ISkillsHolder, IDe
 	
 	public void reduceCurrentHp(double value, Creature attacker, Skill skill, boolean isDOT, boolean directlyToHp, boolean critical, boolean reflect)
 	{
-		EventDispatcher.getInstance().notifyEventAsync(new OnCreatureDamageDealt(attacker, this, value, skill, critical, isDOT, reflect), attacker);
-		final DamageReturn term = EventDispatcher.getInstance().notifyEvent(new OnCreatureDamageReceived(attacker, this, value, skill, critical, isDOT, reflect), this, DamageReturn.class);
+		if (EventDispatcher.getInstance().hasListener(EventType.ON_CREATURE_DAMAGE_DEALT, attacker))
+		{
+			EventDispatcher.getInstance().notifyEventAsync(new OnCreatureDamageDealt(attacker, this, value, skill, critical, isDOT, reflect), attacker);
+		}
+		final DamageReturn term = EventDispatcher.getInstance().hasListener(EventType.ON_CREATURE_DAMAGE_RECEIVED, this) ? EventDispatcher.getInstance().notifyEvent(new OnCreatureDamageReceived(attacker, this, value, skill, critical, isDOT, reflect), this, DamageReturn.class) : null;
 		if (term != null)
 		{
 			if (term.terminate())
@@ -5164,7 +5171,10 @@ public abstract class Creature extends WorldObject implements ISkillsHolder, IDe
 	 */
 	public void notifyAttackAvoid(final Creature target, final boolean isDot)
 	{
-		EventDispatcher.getInstance().notifyEventAsync(new OnCreatureAttackAvoid(this, target, isDot), target);
+		if (EventDispatcher.getInstance().hasListener(EventType.ON_CREATURE_ATTACK_AVOID, target))
+		{
+			EventDispatcher.getInstance().notifyEventAsync(new OnCreatureAttackAvoid(this, target, isDot), target);
+		}
 	}
 	
 	/**
@@ -5403,35 +5413,44 @@ public abstract class Creature extends WorldObject implements ISkillsHolder, IDe
 	}
 	
 	@Override
-	public Queue<AbstractEventListener> getListeners(EventType type)
+	public boolean hasListener(EventType type)
 	{
-		final Queue<AbstractEventListener> objectListenres = super.getListeners(type);
-		final Queue<AbstractEventListener> templateListeners = getTemplate().getListeners(type);
-		final Queue<AbstractEventListener> globalListeners = isNpc() && !isMonster() ? Containers.Npcs().getListeners(type) : isMonster() ? Containers.Monsters().getListeners(type) : isPlayer() ? Containers.Players().getListeners(type) : EmptyQueue.emptyQueue();
-		
-		// Attempt to do not create collection
-		if (objectListenres.isEmpty() && templateListeners.isEmpty() && globalListeners.isEmpty())
+		// Checked one by one to avoid merging the listeners into a new collection.
+		if (hasLocalListener(type) || getTemplate().hasListener(type))
 		{
-			return EmptyQueue.emptyQueue();
+			return true;
 		}
-		else if (!objectListenres.isEmpty() && templateListeners.isEmpty() && globalListeners.isEmpty())
+		
+		final ListenersContainer globalContainer = isNpc() && !isMonster() ? Containers.Npcs() : isMonster() ? Containers.Monsters() : isPlayer() ? Containers.Players() : null;
+		return (globalContainer != null) && globalContainer.hasListener(type);
+	}
+	
+	@Override
+	public AbstractEventListener[] getListenerArray(EventType type)
+	{
+		final AbstractEventListener[] objectListenres = super.getListenerArray(type);
+		final AbstractEventListener[] templateListeners = getTemplate().getListenerArray(type);
+		final AbstractEventListener[] globalListeners = isNpc() && !isMonster() ? Containers.Npcs().getListenerArray(type) : isMonster() ? Containers.Monsters().getListenerArray(type) : isPlayer() ? Containers.Players().getListenerArray(type) : EMPTY_LISTENERS;
+		
+		// Attempt to do not create an array
+		if ((templateListeners.length == 0) && (globalListeners.length == 0))
 		{
 			return objectListenres;
 		}
-		else if (!templateListeners.isEmpty() && objectListenres.isEmpty() && globalListeners.isEmpty())
+		else if ((objectListenres.length == 0) && (globalListeners.length == 0))
 		{
 			return templateListeners;
 		}
-		else if (!globalListeners.isEmpty() && objectListenres.isEmpty() && templateListeners.isEmpty())
+		else if ((objectListenres.length == 0) && (templateListeners.length == 0))
 		{
 			return globalListeners;
 		}
 		
-		final Queue<AbstractEventListener> both = new LinkedBlockingDeque<>(objectListenres.size() + templateListeners.size() + globalListeners.size());
-		both.addAll(objectListenres);
-		both.addAll(templateListeners);
-		both.addAll(globalListeners);
-		return both;
+		final AbstractEventListener[] all = new AbstractEventListener[objectListenres.length + templateListeners.length + globalListeners.length];
+		System.arraycopy(objectListenres, 0, all, 0, objectListenres.length);
+		System.arraycopy(templateListeners, 0, all, objectListenres.length, templateListeners.length);
+		System.arraycopy(globalListeners, 0, all, objectListenres.length + templateListeners.length, globalListeners.length);
+		return all;
 	}
 	
 	public Race getRace()
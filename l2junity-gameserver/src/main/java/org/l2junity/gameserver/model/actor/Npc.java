@@ -38,6 +38,7 @@ import org.l2junity.gameserver.enums.ShotType;
 import org.l2junity.gameserver.enums.Team;
 import org.l2junity.gameserver.handler.BypassHandler;
 import org.l2junity.gameserver.handler.IBypassHandler;
+import org.l2junity.gameserver.idfactory.IdFactory;
 import org.l2junity.gameserver.instancemanager.CastleManager;
 import org.l2junity.gameserver.instancemanager.DBSpawnManager;
 import org.l2junity.gameserver.instancemanager.DBSpawnManager.DBStatusType;
@@ -159,10 +160,20 @@ public class Npc extends Creature
 	 * @param template The L2NpcTemplate to apply to the NPC
 	 */
 	public Npc(L2NpcTemplate template)
+	{
+		this(IdFactory.getInstance().getNextId(), template);
+	}
+	
+	/**
+	 * Creates a NPC with a given object id, without taking one from the {@link IdFactory}.
+	 * @param objectId the object id of the NPC
+	 * @param template The L2NpcTemplate to apply to the NPC
+	 */
+	public Npc(int objectId, L2NpcTemplate template)
 	{
 		// Call the L2Character constructor to set the _template of the L2Character, copy skills from template to object
 		// and link _calculators to NPC_STD_CALCULATOR
-		super(template);
+		super(objectId, template);
 		setInstanceType(InstanceType.L2Npc);
 		initCharStatusUpdateValues();
 		setTargetable(getTemplate().isTargetable());
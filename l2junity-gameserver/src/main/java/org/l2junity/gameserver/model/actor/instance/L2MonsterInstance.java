@@ -22,6 +22,7 @@ import java.util.concurrent.ScheduledFuture;
 
 import org.l2junity.Config;
 import org.l2junity.gameserver.enums.InstanceType;
+import org.l2junity.gameserver.idfactory.IdFactory;
 import org.l2junity.gameserver.model.actor.Attackable;
 import org.l2junity.gameserver.model.actor.Creature;
 import org.l2junity.gameserver.model.actor.templates.L2NpcTemplate;
@@ -58,7 +59,16 @@ public class L2MonsterInstance extends Attackable
 	 */
 	public L2MonsterInstance(L2NpcTemplate template)
 	{
-		super(template);
+		this(IdFactory.getInstance().getNextId(), template);
+	}
+	
+	/**
+	 * @param objectId the object id of the NPC
+	 * @param template to apply to the NPC
+	 */
+	public L2MonsterInstance(int objectId, L2NpcTemplate template)
+	{
+		super(objectId, template);
 		setInstanceType(InstanceType.L2MonsterInstance);
 		setAutoAttackable(true);
 	}
@@ -22,6 +22,7 @@ import org.l2junity.Config;
 import org.l2junity.commons.util.Rnd;
 import org.l2junity.gameserver.ThreadPoolManager;
 import org.l2junity.gameserver.enums.InstanceType;
+import org.l2junity.gameserver.idfactory.IdFactory;
 import org.l2junity.gameserver.model.L2Spawn;
 import org.l2junity.gameserver.model.actor.templates.L2NpcTemplate;
 import org.l2junity.gameserver.network.client.send.PlaySound;
@@ -48,7 +49,16 @@ public class L2RaidBossInstance extends L2MonsterInstance
 	 */
 	public L2RaidBossInstance(L2NpcTemplate template)
 	{
-		super(template);
+		this(IdFactory.getInstance().getNextId(), template);
+	}
+	
+	/**
+	 * @param objectId the object id of the NPC
+	 * @param template to apply to the NPC
+	 */
+	public L2RaidBossInstance(int objectId, L2NpcTemplate template)
+	{
+		super(objectId, template);
 		setInstanceType(InstanceType.L2RaidBossInstance);
 		setIsRaid(true);
 		setLethalable(false);
@@ -29,6 +29,7 @@ import java.util.Calendar;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
@@ -36,6 +37,7 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.Future;
@@ -58,6 +60,7 @@ import org.l2junity.gameserver.ai.CharacterAI;
 import org.l2junity.gameserver.ai.CtrlIntention;
 import org.l2junity.gameserver.ai.PlayerAI;
 import org.l2junity.gameserver.ai.SummonAI;
+import org.l2junity.gameserver.cache.CharSelectInfoCache;
 import org.l2junity.gameserver.cache.WarehouseCacheManager;
 import org.l2junity.gameserver.communitybbs.BB.Forum;
 import org.l2junity.gameserver.communitybbs.Manager.ForumsBBSManager;
@@ -113,6 +116,8 @@ import org.l2junity.gameserver.instancemanager.HandysBlockCheckerManager;
 import org.l2junity.gameserver.instancemanager.ItemsOnGroundManager;
 import org.l2junity.gameserver.instancemanager.MatchingRoomManager;
 import org.l2junity.gameserver.instancemanager.MentorManager;
+import org.l2junity.gameserver.instancemanager.PlayerRestoreManager;
+import org.l2junity.gameserver.instancemanager.PlayerRestoreManager.Phase;
 import org.l2junity.gameserver.instancemanager.PunishmentManager;
 import org.l2junity.gameserver.instancemanager.QuestManager;
 import org.l2junity.gameserver.instancemanager.SiegeManager;
@@ -215,6 +220,7 @@ import org.l2junity.gameserver.model.holders.MovieHolder;
 import org.l2junity.gameserver.model.holders.PlayerEventHolder;
 import org.l2junity.gameserver.model.holders.SellBuffHolder;
 import org.l2junity.gameserver.model.holders.SkillUseHolder;
+import org.l2junity.gameserver.model.holders.StoredEffectHolder;
 import org.l2junity.gameserver.model.instancezone.Instance;
 import org.l2junity.gameserver.model.interfaces.ILocational;
 import org.l2junity.gameserver.model.itemcontainer.Inventory;
@@ -354,9 +360,9 @@ public final class PlayerInstance extends Playable
 	private static final String DELETE_CHAR_SKILLS = "DELETE FROM character_skills WHERE charId=? AND class_index=?";
 	
 	// Character Skill Save SQL String Definitions:
-	private static final String ADD_SKILL_SAVE = "INSERT INTO character_skills_save (charId,skill_id,skill_level,remaining_time,reuse_delay,systime,restore_type,class_index,buff_index) VALUES (?,?,?,?,?,?,?,?,?)";
-	private static final String RESTORE_SKILL_SAVE = "SELECT skill_id,skill_level,remaining_time, reuse_delay, systime, restore_type FROM character_skills_save WHERE charId=? AND class_index=? ORDER BY buff_index ASC";
-	private static final String DELETE_SKILL_SAVE = "DELETE FROM character_skills_save WHERE charId=? AND class_index=?";
+	private static final String ADD_SKILL_SAVE = "REPLACE INTO character_effects (charId,class_index,effects) VALUES (?,?,?)";
+	private static final String RESTORE_SKILL_SAVE = "SELECT effects FROM character_effects WHERE charId=? AND class_index=?";
+	private static final String DELETE_SKILL_SAVE = "DELETE FROM character_effects WHERE charId=? AND class_index=?";
 	
 	// Character Item Reuse Time String Definition:
 	private static final String ADD_ITEM_REUSE_SAVE = "INSERT INTO character_item_reuse_save (charId,itemId,itemObjId,reuseDelay,systime) VALUES (?,?,?,?,?)";
@@ -522,6 +528,9 @@ public final class PlayerInstance extends Playable
 	/** Premium Items */
 	private final Map<Integer, PremiumItem> _premiumItems = new ConcurrentSkipListMap<>();
 	
+	/** The serialized effect list last written to (or read from) the database, per class index */
+	private final Map<Integer, String> _storedEffects = new ConcurrentHashMap<>();
+	
 	/** True if the L2PcInstance is sitting */
 	private boolean _waitTypeSitting = false;
 	
@@ -6467,6 +6476,8 @@ public final class PlayerInstance extends Playable
 	 */
 	private static PlayerInstance restore(int objectId)
 	{
+		final PlayerRestoreManager restoreManager = PlayerRestoreManager.getInstance();
+		final long restoreStart = System.nanoTime();
 		PlayerInstance player = null;
 		double currentCp = 0;
 		double currentHp = 0;
@@ -6654,14 +6665,17 @@ public final class PlayerInstance extends Playable
 			{
 				return null;
 			}
+			restoreManager.record(Phase.CHARACTER, restoreStart);
 			
 			// Retrieve from the database all items of this L2PcInstance and add them to _inventory
+			final long inventoryStart = System.nanoTime();
 			player.getInventory().restore();
 			player.getFreight().restore();
 			if (!Config.WAREHOUSE_CACHE)
 			{
 				player.getWarehouse();
 			}
+			restoreManager.record(Phase.INVENTORY, inventoryStart);
 			
 			// Retrieve from the database all secondary data of this L2PcInstance
 			// Note that Clan, Noblesse and Hero skills are given separately and not here.
@@ -6671,8 +6685,6 @@ public final class PlayerInstance extends Playable
 			// Reward auto-get skills and all available skills if auto-learn skills is true.
 			player.rewardSkills();
 			
-			player.restoreItemReuse();
-			
 			// Initialize status update cache
 			player.initStatusUpdateCache();
 			
@@ -6714,24 +6726,18 @@ public final class PlayerInstance extends Playable
 			// Update the expertise status of the L2PcInstance
 			player.refreshExpertisePenalty();
 			
-			player.restoreFriendList();
-			
-			if (Config.STORE_UI_SETTINGS)
-			{
-				player.restoreUISettings();
-			}
-			
 			if (player.isGM())
 			{
 				final long masks = player.getVariables().getLong(COND_OVERRIDE_KEY, PcCondOverride.getAllExceptionsMask());
 				player.setOverrideCond(masks);
 			}
 			
-			player.loadRecommendations();
+			restoreManager.run(Phase.RECOMMENDATIONS, player::loadRecommendations);
 			player.startRecoGiveTask();
 			player.startOnlineTimeUpdateTask();
 			
 			player.setOnlineStatus(true, false);
+			restoreManager.record(Phase.TOTAL, restoreStart);
 		}
 		catch (Exception e)
 		{
@@ -6842,39 +6848,58 @@ public final class PlayerInstance extends Playable
 	 * <li>Recipe Shop List (If configuration enabled)</li>
 	 * <li>Premium Item List</li>
 	 * <li>Pet Inventory Items</li>
+	 * <li>Item Reuse</li>
+	 * <li>Friend List</li>
+	 * <li>UI Settings (If configuration enabled)</li>
 	 * </ul>
+	 * The data which doesn't modify the player stats is loaded concurrently, the method returns once everything is restored.
 	 */
 	private void restoreCharData()
 	{
-		// Retrieve from the database all skills of this L2PcInstance and add them to _skills.
-		restoreSkills();
+		final PlayerRestoreManager restoreManager = PlayerRestoreManager.getInstance();
+		final List<CompletableFuture<Void>> phases = new ArrayList<>();
 		
 		// Retrieve from the database all macroses of this L2PcInstance and add them to _macros.
-		_macros.restoreMe();
-		
-		// Retrieve from the database all shortCuts of this L2PcInstance and add them to _shortCuts.
-		_shortCuts.restoreMe();
-		
-		// Retrieve from the database all henna of this L2PcInstance and add them to _henna.
-		restoreHenna();
+		phases.add(restoreManager.submit(Phase.MACROS, _macros::restoreMe));
 		
 		// Retrieve from the database all teleport bookmark of this L2PcInstance and add them to _tpbookmark.
-		restoreTeleportBookmark();
+		phases.add(restoreManager.submit(Phase.TELEPORT_BOOKMARKS, this::restoreTeleportBookmark));
 		
 		// Retrieve from the database the recipe book of this L2PcInstance.
-		restoreRecipeBook(true);
+		phases.add(restoreManager.submit(Phase.RECIPE_BOOK, () -> restoreRecipeBook(true)));
 		
 		// Restore Recipe Shop list.
 		if (Config.STORE_RECIPE_SHOPLIST)
 		{
-			restoreRecipeShopList();
+			phases.add(restoreManager.submit(Phase.RECIPE_SHOP, this::restoreRecipeShopList));
 		}
 		
 		// Load Premium Item List.
-		loadPremiumItemList();
+		phases.add(restoreManager.submit(Phase.PREMIUM_ITEMS, this::loadPremiumItemList));
 		
 		// Restore items in pet inventory.
-		restorePetInventoryItems();
+		phases.add(restoreManager.submit(Phase.PET_ITEMS, this::restorePetInventoryItems));
+		
+		phases.add(restoreManager.submit(Phase.ITEM_REUSE, this::restoreItemReuse));
+		
+		phases.add(restoreManager.submit(Phase.FRIENDS, this::restoreFriendList));
+		
+		if (Config.STORE_UI_SETTINGS)
+		{
+			phases.add(restoreManager.submit(Phase.UI_SETTINGS, this::restoreUISettings));
+		}
+		
+		// Retrieve from the database all skills of this L2PcInstance and add them to _skills.
+		restoreManager.run(Phase.SKILLS, this::restoreSkills);
+		
+		// Retrieve from the database all henna of this L2PcInstance and add them to _henna.
+		restoreManager.run(Phase.HENNA, this::restoreHenna);
+		
+		// Retrieve from the database all shortCuts of this L2PcInstance and add them to _shortCuts.
+		// Restored after the skills, because removing an invalid skill deletes its shortcuts.
+		restoreManager.run(Phase.SHORTCUTS, _shortCuts::restoreMe);
+		
+		restoreManager.await(phases);
 	}
 	
 	/**
@@ -6994,11 +7019,21 @@ public final class PlayerInstance extends Playable
 	 * Update L2PcInstance stats in the characters table of the database.
 	 * @param storeActiveEffects
 	 */
-	public synchronized void store(boolean storeActiveEffects)
+	public void store(boolean storeActiveEffects)
+	{
+		store(storeActiveEffects, false);
+	}
+	
+	/**
+	 * Update L2PcInstance stats in the characters table of the database.
+	 * @param storeActiveEffects
+	 * @param isAutoSave if {@code true} the effect list is not rewritten when only the remaining effect times changed since the last store
+	 */
+	public synchronized void store(boolean storeActiveEffects, boolean isAutoSave)
 	{
 		storeCharBase();
 		storeCharSub();
-		storeEffect(storeActiveEffects);
+		storeEffect(storeActiveEffects, isAutoSave);
 		storeItemReuseDelay();
 		if (Config.STORE_RECIPE_SHOPLIST)
 		{
@@ -7132,119 +7167,149 @@ public final class PlayerInstance extends Playable
 	
 	@Override
 	public void storeEffect(boolean storeEffects)
+	{
+		storeEffect(storeEffects, false);
+	}
+	
+	/**
+	 * Forgets the effect list last stored for the given class, so the next store writes the current list whatever it is.<br>
+	 * Used when the stored row is changed behind the player's back.
+	 * @param classIndex the class index of the stored row
+	 */
+	public void clearStoredEffects(int classIndex)
+	{
+		_storedEffects.remove(classIndex);
+	}
+	
+	/**
+	 * Stores the effect list and the skills under reuse as a single serialized row.<br>
+	 * Nothing is written if the list didn't change since the last store, or if it's an auto save and only the remaining effect times changed.
+	 * @param storeEffects if {@code true} active effects are stored along with skill reuse
+	 * @param isAutoSave if {@code true} changes of the remaining effect times alone are not written
+	 */
+	private void storeEffect(boolean storeEffects, boolean isAutoSave)
 	{
 		if (!Config.STORE_SKILL_COOLTIME)
 		{
 			return;
 		}
 		
-		try (Connection con = DatabaseFactory.getInstance().getConnection();
-			PreparedStatement delete = con.prepareStatement(DELETE_SKILL_SAVE);
-			PreparedStatement statement = con.prepareStatement(ADD_SKILL_SAVE))
+		final List<StoredEffectHolder> entries = new ArrayList<>();
+		final Set<Integer> storedSkills = new HashSet<>();
+		
+		// Store all effect data along with calulated remaining
+		// reuse delays for matching skills. 'restore_type'= 0.
+		if (storeEffects)
 		{
-			// Delete all current stored effects for char to avoid dupe
-			delete.setInt(1, getObjectId());
-			delete.setInt(2, getClassIndex());
-			delete.execute();
-			
-			int buff_index = 0;
-			final List<Integer> storedSkills = new ArrayList<>();
-			
-			// Store all effect data along with calulated remaining
-			// reuse delays for matching skills. 'restore_type'= 0.
-			if (storeEffects)
+			for (BuffInfo info : getEffectList().getEffects())
 			{
-				for (BuffInfo info : getEffectList().getEffects())
+				if (info == null)
 				{
-					if (info == null)
-					{
-						continue;
-					}
-					
-					final Skill skill = info.getSkill();
-					
-					// Do not store those effects.
-					if (skill.isDeleteAbnormalOnLeave())
-					{
-						continue;
-					}
-					
-					// Do not save heals.
-					if (skill.getAbnormalType() == AbnormalType.LIFE_FORCE_OTHERS)
-					{
-						continue;
-					}
-					
-					// Toggles are skipped, unless they are necessary to be always on.
-					if ((skill.isToggle() && !skill.isNecessaryToggle()))
-					{
-						continue;
-					}
-					
-					if (skill.isMentoring())
-					{
-						continue;
-					}
-					
-					// Dances and songs are not kept in retail.
-					if (skill.isDance() && !Config.ALT_STORE_DANCES)
-					{
-						continue;
-					}
-					
-					if (storedSkills.contains(skill.getReuseHashCode()))
-					{
-						continue;
-					}
-					
-					storedSkills.add(skill.getReuseHashCode());
-					
-					statement.setInt(1, getObjectId());
-					statement.setInt(2, skill.getId());
-					statement.setInt(3, skill.getLevel());
-					statement.setInt(4, info.getTime());
-					
-					final TimeStamp t = getSkillReuseTimeStamp(skill.getReuseHashCode());
-					statement.setLong(5, (t != null) && t.hasNotPassed() ? t.getReuse() : 0);
-					statement.setDouble(6, (t != null) && t.hasNotPassed() ? t.getStamp() : 0);
-					
-					statement.setInt(7, 0); // Store type 0, active buffs/debuffs.
-					statement.setInt(8, getClassIndex());
-					statement.setInt(9, ++buff_index);
-					statement.execute();
+					continue;
 				}
+				
+				final Skill skill = info.getSkill();
+				
+				// Do not store those effects.
+				if (skill.isDeleteAbnormalOnLeave())
+				{
+					continue;
+				}
+				
+				// Do not save heals.
+				if (skill.getAbnormalType() == AbnormalType.LIFE_FORCE_OTHERS)
+				{
+					continue;
+				}
+				
+				// Toggles are skipped, unless they are necessary to be always on.
+				if ((skill.isToggle() && !skill.isNecessaryToggle()))
+				{
+					continue;
+				}
+				
+				if (skill.isMentoring())
+				{
+					continue;
+				}
+				
+				// Dances and songs are not kept in retail.
+				if (skill.isDance() && !Config.ALT_STORE_DANCES)
+				{
+					continue;
+				}
+				
+				if (!storedSkills.add(skill.getReuseHashCode()))
+				{
+					continue;
+				}
+				
+				final TimeStamp t = getSkillReuseTimeStamp(skill.getReuseHashCode());
+				final boolean underReuse = (t != null) && t.hasNotPassed();
+				entries.add(new StoredEffectHolder(skill.getId(), skill.getLevel(), info.getTime(), underReuse ? t.getReuse() : 0, underReuse ? t.getStamp() : 0, 0)); // Store type 0, active buffs/debuffs.
+			}
+		}
+		
+		// Skills under reuse.
+		final Map<Integer, TimeStamp> reuseTimeStamps = getSkillReuseTimeStamps();
+		if (reuseTimeStamps != null)
+		{
+			for (Entry<Integer, TimeStamp> ts : reuseTimeStamps.entrySet())
+			{
+				final int hash = ts.getKey();
+				if (storedSkills.contains(hash))
+				{
+					continue;
+				}
+				
+				final TimeStamp t = ts.getValue();
+				if ((t != null) && t.hasNotPassed())
+				{
+					storedSkills.add(hash);
+					entries.add(new StoredEffectHolder(t.getSkillId(), t.getSkillLvl(), -1, t.getReuse(), t.getStamp(), 1)); // Restore type 1, skill reuse.
+				}
+			}
+		}
+		
+		final int classIndex = getClassIndex();
+		final String data = StoredEffectHolder.encode(entries);
+		final String storedData = _storedEffects.get(classIndex);
+		if (storedData != null)
+		{
+			if (storedData.equals(data))
+			{
+				return;
 			}
 			
-			// Skills under reuse.
-			final Map<Integer, TimeStamp> reuseTimeStamps = getSkillReuseTimeStamps();
-			if (reuseTimeStamps != null)
+			// Only the remaining time of the same effects elapsed, the next full store will write it.
+			if (isAutoSave && StoredEffectHolder.getComposition(storedData).equals(StoredEffectHolder.getComposition(data)))
 			{
-				for (Entry<Integer, TimeStamp> ts : reuseTimeStamps.entrySet())
+				return;
+			}
+		}
+		
+		try (Connection con = DatabaseFactory.getInstance().getConnection())
+		{
+			if (data.isEmpty())
+			{
+				try (PreparedStatement delete = con.prepareStatement(DELETE_SKILL_SAVE))
 				{
-					final int hash = ts.getKey();
-					if (storedSkills.contains(hash))
-					{
-						continue;
-					}
-					
-					final TimeStamp t = ts.getValue();
-					if ((t != null) && t.hasNotPassed())
-					{
-						storedSkills.add(hash);
-						
-						statement.setInt(1, getObjectId());
-						statement.setInt(2, t.getSkillId());
-						statement.setInt(3, t.getSkillLvl());
-						statement.setInt(4, -1);
-						statement.setLong(5, t.getReuse());
-						statement.setDouble(6, t.getStamp());
-						statement.setInt(7, 1); // Restore type 1, skill reuse.
-						statement.setInt(8, getClassIndex());
-						statement.setInt(9, ++buff_index);
-						statement.execute();
-					}
+					delete.setInt(1, getObjectId());
+					delete.setInt(2, classIndex);
+					delete.execute();
+				}
+			}
+			else
+			{
+				try (PreparedStatement statement = con.prepareStatement(ADD_SKILL_SAVE))
+				{
+					statement.setInt(1, getObjectId());
+					statement.setInt(2, classIndex);
+					statement.setString(3, data);
+					statement.execute();
 				}
 			}
+			_storedEffects.put(classIndex, data);
 		}
 		catch (Exception e)
 		{
@@ -7527,54 +7592,64 @@ public final class PlayerInstance extends Playable
 	@Override
 	public void restoreEffects()
 	{
-		try (Connection con = DatabaseFactory.getInstance().getConnection();
-			PreparedStatement statement = con.prepareStatement(RESTORE_SKILL_SAVE))
+		final int classIndex = getClassIndex();
+		try (Connection con = DatabaseFactory.getInstance().getConnection())
 		{
-			statement.setInt(1, getObjectId());
-			statement.setInt(2, getClassIndex());
-			try (ResultSet rset = statement.executeQuery())
+			String data = null;
+			try (PreparedStatement statement = con.prepareStatement(RESTORE_SKILL_SAVE))
 			{
-				while (rset.next())
+				statement.setInt(1, getObjectId());
+				statement.setInt(2, classIndex);
+				try (ResultSet rset = statement.executeQuery())
 				{
-					int remainingTime = rset.getInt("remaining_time");
-					long reuseDelay = rset.getLong("reuse_delay");
-					long systime = rset.getLong("systime");
-					int restoreType = rset.getInt("restore_type");
-					
-					final Skill skill = SkillData.getInstance().getSkill(rset.getInt("skill_id"), rset.getInt("skill_level"));
+					if (rset.next())
+					{
+						data = rset.getString("effects");
+					}
+				}
+			}
+			
+			if (data != null)
+			{
+				for (StoredEffectHolder entry : StoredEffectHolder.decode(data))
+				{
+					final Skill skill = SkillData.getInstance().getSkill(entry.getSkillId(), entry.getSkillLvl());
 					if (skill == null)
 					{
 						continue;
 					}
 					
-					final long time = systime - System.currentTimeMillis();
+					final long time = entry.getSystime() - System.currentTimeMillis();
 					if (time > 10)
 					{
 						disableSkill(skill, time);
-						addTimeStamp(skill, reuseDelay, systime);
+						addTimeStamp(skill, entry.getReuseDelay(), entry.getSystime());
 					}
 					
 					// Restore Type 1 The remaning skills lost effect upon logout but were still under a high reuse delay.
-					if (restoreType > 0)
+					if (entry.getRestoreType() > 0)
 					{
 						continue;
 					}
 					
 					// Restore Type 0 These skill were still in effect on the character upon logout.
 					// Some of which were self casted and might still have had a long reuse delay which also is restored.
-					skill.applyEffects(this, this, false, remainingTime);
+					skill.applyEffects(this, this, false, entry.getRemainingTime());
+				}
+				
+				// Remove previously restored skills
+				try (PreparedStatement delete = con.prepareStatement(DELETE_SKILL_SAVE))
+				{
+					delete.setInt(1, getObjectId());
+					delete.setInt(2, classIndex);
+					delete.executeUpdate();
 				}
 			}
-			// Remove previously restored skills
-			try (PreparedStatement delete = con.prepareStatement(DELETE_SKILL_SAVE))
-			{
-				delete.setInt(1, getObjectId());
-				delete.setInt(2, getClassIndex());
-				delete.executeUpdate();
-			}
+			_storedEffects.put(classIndex, "");
 		}
 		catch (Exception e)
 		{
+			_storedEffects.remove(classIndex);
 			_log.warn("Could not restore " + this + " active effect data: " + e.getMessage(), e);
 		}
 	}
@@ -9390,6 +9465,7 @@ public final class PlayerInstance extends Playable
 				deleteSkillReuse.setInt(1, getObjectId());
 				deleteSkillReuse.setInt(2, classIndex);
 				deleteSkillReuse.execute();
+				_storedEffects.remove(classIndex);
 				
 				// Remove all skill info stored for this sub-class.
 				deleteSkills.setInt(1, getObjectId());
@@ -10456,6 +10532,7 @@ public final class PlayerInstance extends Playable
 	{
 		cleanup();
 		storeMe();
+		CharSelectInfoCache.getInstance().invalidate(getAccountNamePlayer());
 		
 		// Stop all passives and augment options
 		getEffectList().stopAllPassives(false);
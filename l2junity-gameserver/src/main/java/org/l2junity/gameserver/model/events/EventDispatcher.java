@@ -19,7 +19,9 @@
 package org.l2junity.gameserver.model.events;
 
 import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.l2junity.gameserver.ThreadPoolManager;
 import org.l2junity.gameserver.model.events.impl.IBaseEvent;
@@ -34,11 +36,26 @@ import org.slf4j.LoggerFactory;
 public final class EventDispatcher
 {
 	private static final Logger _log = LoggerFactory.getLogger(EventDispatcher.class);
+	/** Maximum number of queued events one event pool task notifies before letting other tasks run. */
+	private static final int ASYNC_BATCH_SIZE = 64;
+	
+	private final ThreadLocal<AsyncEventQueue> _asyncEvents = ThreadLocal.withInitial(AsyncEventQueue::new);
 	
 	protected EventDispatcher()
 	{
 	}
 	
+	/**
+	 * Lets callers of frequent events skip creating the event object when nothing listens to it.
+	 * @param type the event type
+	 * @param container the container the event would be notified to, may be {@code null}
+	 * @return {@code true} if the event would reach at least one listener
+	 */
+	public boolean hasListener(EventType type, ListenersContainer container)
+	{
+		return Containers.Global().hasListener(type) || ((container != null) && container.hasListener(type));
+	}
+	
 	/**
 	 * @param <T>
 	 * @param event
@@ -118,7 +135,7 @@ public final class EventDispatcher
 		
 		if (hasListeners)
 		{
-			ThreadPoolManager.getInstance().executeEvent(() -> notifyEventToMultipleContainers(event, containers, null));
+			_asyncEvents.get().add(event, containers);
 		}
 	}
 	
@@ -175,7 +192,7 @@ public final class EventDispatcher
 				{
 					if ((callback == null) || !callback.abort())
 					{
-						callback = notifyToListeners(container.getListeners(event.getType()), event, callbackClass, callback);
+						callback = notifyToListeners(container.getListenerArray(event.getType()), event, callbackClass, callback);
 					}
 				}
 			}
@@ -183,7 +200,7 @@ public final class EventDispatcher
 			// Global listener container.
 			if ((callback == null) || !callback.abort())
 			{
-				callback = notifyToListeners(Containers.Global().getListeners(event.getType()), event, callbackClass, callback);
+				callback = notifyToListeners(Containers.Global().getListenerArray(event.getType()), event, callbackClass, callback);
 			}
 			
 			return callback;
@@ -213,13 +230,13 @@ public final class EventDispatcher
 		// Local listener container first.
 		if (container != null)
 		{
-			callback = notifyToListeners(container.getListeners(event.getType()), event, callbackClass, callback);
+			callback = notifyToListeners(container.getListenerArray(event.getType()), event, callbackClass, callback);
 		}
 		
 		// Global listener container.
 		if ((callback == null) || !callback.abort())
 		{
-			callback = notifyToListeners(Containers.Global().getListeners(event.getType()), event, callbackClass, callback);
+			callback = notifyToListeners(Containers.Global().getListenerArray(event.getType()), event, callbackClass, callback);
 		}
 		
 		return callback;
@@ -233,7 +250,7 @@ public final class EventDispatcher
 	 * @param callback
 	 * @return
 	 */
-	private <T extends AbstractEventReturn> T notifyToListeners(Queue<AbstractEventListener> listeners, IBaseEvent event, Class<T> returnBackClass, T callback)
+	private <T extends AbstractEventReturn> T notifyToListeners(AbstractEventListener[] listeners, IBaseEvent event, Class<T> returnBackClass, T callback)
 	{
 		for (AbstractEventListener listener : listeners)
 		{
@@ -262,6 +279,69 @@ public final class EventDispatcher
 		return callback;
 	}
 	
+	private static final class AsyncEvent
+	{
+		final IBaseEvent _event;
+		final ListenersContainer[] _containers;
+		
+		AsyncEvent(IBaseEvent event, ListenersContainer[] containers)
+		{
+			_event = event;
+			_containers = containers;
+		}
+	}
+	
+	/**
+	 * The asynchronous events of one thread.<br>
+	 * They are notified in the order they were queued by a single event pool task, which is only submitted when the queue was idle, instead of one task per event.
+	 */
+	private final class AsyncEventQueue implements Runnable
+	{
+		private final Queue<AsyncEvent> _events = new ConcurrentLinkedQueue<>();
+		private final AtomicBoolean _scheduled = new AtomicBoolean();
+		
+		void add(IBaseEvent event, ListenersContainer[] containers)
+		{
+			_events.add(new AsyncEvent(event, containers));
+			schedule();
+		}
+		
+		private void schedule()
+		{
+			if (_scheduled.compareAndSet(false, true))
+			{
+				ThreadPoolManager.getInstance().executeEvent(this);
+			}
+		}
+		
+		@Override
+		public void run()
+		{
+			try
+			{
+				for (int i = 0; i < ASYNC_BATCH_SIZE; i++)
+				{
+					final AsyncEvent asyncEvent = _events.poll();
+					if (asyncEvent == null)
+					{
+						break;
+					}
+					notifyEventToMultipleContainers(asyncEvent._event, asyncEvent._containers, null);
+				}
+			}
+			finally
+			{
+				_scheduled.set(false);
+			}
+			
+			// Events queued while running, or left over by the batch limit.
+			if (!_events.isEmpty())
+			{
+				schedule();
+			}
+		}
+	}
+	
 	public static EventDispatcher getInstance()
 	{
 		return SingletonHolder._instance;
@@ -18,13 +18,12 @@
  */
 package org.l2junity.gameserver.model.events;
 
-import java.util.Map;
-import java.util.Queue;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.PriorityBlockingQueue;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.function.Predicate;
 
-import org.l2junity.commons.util.EmptyQueue;
 import org.l2junity.gameserver.model.events.listeners.AbstractEventListener;
 
 /**
@@ -32,7 +31,14 @@ import org.l2junity.gameserver.model.events.listeners.AbstractEventListener;
  */
 public class ListenersContainer
 {
-	private volatile Map<EventType, Queue<AbstractEventListener>> _listeners = null;
+	protected static final AbstractEventListener[] EMPTY_LISTENERS = new AbstractEventListener[0];
+	private static final int EVENT_TYPES = EventType.values().length;
+	
+	/**
+	 * The listeners of each event type by {@link EventType#ordinal()}, sorted by priority.<br>
+	 * The arrays are never modified, every change replaces the array of its type so notifications iterate without locking. A {@code null} element means no listener is registered for the type.
+	 */
+	private volatile AtomicReferenceArray<AbstractEventListener[]> _listeners = null;
 	
 	/**
 	 * Registers listener for a callback when specified event is executed.
@@ -45,7 +51,34 @@ public class ListenersContainer
 		{
 			throw new NullPointerException("Listener cannot be null!");
 		}
-		getListeners().computeIfAbsent(listener.getType(), k -> new PriorityBlockingQueue<>()).add(listener);
+		
+		final AtomicReferenceArray<AbstractEventListener[]> listeners = getListeners();
+		final int type = listener.getType().ordinal();
+		synchronized (listeners)
+		{
+			final AbstractEventListener[] current = listeners.get(type);
+			if (current == null)
+			{
+				listeners.set(type, new AbstractEventListener[]
+				{
+					listener
+				});
+				return listener;
+			}
+			
+			// Insert after the listeners of the same or higher priority, listeners of the same priority are notified in registration order.
+			int index = current.length;
+			while ((index > 0) && (current[index - 1].getPriority() < listener.getPriority()))
+			{
+				index--;
+			}
+			
+			final AbstractEventListener[] updated = new AbstractEventListener[current.length + 1];
+			System.arraycopy(current, 0, updated, 0, index);
+			updated[index] = listener;
+			System.arraycopy(current, index, updated, index + 1, current.length - index);
+			listeners.set(type, updated);
+		}
 		return listener;
 	}
 	
@@ -60,51 +93,116 @@ public class ListenersContainer
 		{
 			throw new NullPointerException("Listener cannot be null!");
 		}
-		else if (_listeners == null)
+		
+		final AtomicReferenceArray<AbstractEventListener[]> listeners = _listeners;
+		if (listeners == null)
 		{
 			throw new NullPointerException("Listeners container is not initialized!");
 		}
-		else if (!_listeners.containsKey(listener.getType()))
+		
+		final int type = listener.getType().ordinal();
+		synchronized (listeners)
 		{
-			throw new IllegalAccessError("Listeners container doesn't had " + listener.getType() + " event type added!");
+			final AbstractEventListener[] current = listeners.get(type);
+			if (current == null)
+			{
+				return listener;
+			}
+			
+			int index = 0;
+			while ((index < current.length) && (current[index] != listener))
+			{
+				index++;
+			}
+			
+			if (index == current.length)
+			{
+				return listener;
+			}
+			
+			if (current.length == 1)
+			{
+				listeners.set(type, null);
+				return listener;
+			}
+			
+			final AbstractEventListener[] updated = new AbstractEventListener[current.length - 1];
+			System.arraycopy(current, 0, updated, 0, index);
+			System.arraycopy(current, index + 1, updated, index, current.length - index - 1);
+			listeners.set(type, updated);
 		}
-		
-		_listeners.get(listener.getType()).remove(listener);
 		return listener;
 	}
 	
 	/**
 	 * @param type
-	 * @return {@code List} of {@link AbstractEventListener} by the specified type
+	 * @return {@code List} of {@link AbstractEventListener} by the specified type, in notification order
 	 */
-	public Queue<AbstractEventListener> getListeners(EventType type)
+	public List<AbstractEventListener> getListeners(EventType type)
 	{
-		return (_listeners != null) && _listeners.containsKey(type) ? _listeners.get(type) : EmptyQueue.emptyQueue();
+		final AbstractEventListener[] listeners = getListenerArray(type);
+		return listeners.length > 0 ? Collections.unmodifiableList(Arrays.asList(listeners)) : Collections.emptyList();
+	}
+	
+	/**
+	 * Used by the {@link EventDispatcher} to notify the listeners without creating a collection.
+	 * @param type
+	 * @return the listeners of the specified type in notification order, the returned array must not be modified
+	 */
+	public AbstractEventListener[] getListenerArray(EventType type)
+	{
+		final AtomicReferenceArray<AbstractEventListener[]> listeners = _listeners;
+		if (listeners == null)
+		{
+			return EMPTY_LISTENERS;
+		}
+		
+		final AbstractEventListener[] typeListeners = listeners.get(type.ordinal());
+		return typeListeners != null ? typeListeners : EMPTY_LISTENERS;
 	}
 	
 	public void removeListenerIf(EventType type, Predicate<? super AbstractEventListener> filter)
 	{
-		getListeners(type).stream().filter(filter).forEach(AbstractEventListener::unregisterMe);
+		for (AbstractEventListener listener : getListenerArray(type))
+		{
+			if (filter.test(listener))
+			{
+				listener.unregisterMe();
+			}
+		}
 	}
 	
 	public void removeListenerIf(Predicate<? super AbstractEventListener> filter)
 	{
 		if (_listeners != null)
 		{
-			getListeners().values().forEach(queue -> queue.stream().filter(filter).forEach(AbstractEventListener::unregisterMe));
+			for (EventType type : EventType.values())
+			{
+				removeListenerIf(type, filter);
+			}
 		}
 	}
 	
 	public boolean hasListener(EventType type)
 	{
-		return !getListeners(type).isEmpty();
+		return hasLocalListener(type);
+	}
+	
+	/**
+	 * @param type
+	 * @return {@code true} if listeners of the specified type are registered directly to this container, ignoring any inherited listeners.
+	 */
+	public final boolean hasLocalListener(EventType type)
+	{
+		final AtomicReferenceArray<AbstractEventListener[]> listeners = _listeners;
+		return (listeners != null) && (listeners.get(type.ordinal()) != null);
 	}
 	
 	/**
-	 * Creates the listeners container map if doesn't exists.
-	 * @return the listeners container map.
+	 * Creates the listeners container array if doesn't exists.
+	 * @return the listeners container array.
 	 */
-	private Map<EventType, Queue<AbstractEventListener>> getListeners()
+	private AtomicReferenceArray<AbstractEventListener[]> getListeners()
 	{
 		if (_listeners == null)
 		{
@@ -112,7 +210,7 @@ public class ListenersContainer
 			{
 				if (_listeners == null)
 				{
-					_listeners = new ConcurrentHashMap<>();
+					_listeners = new AtomicReferenceArray<>(EVENT_TYPES);
 				}
 			}
 		}
@@ -0,0 +1,178 @@
+/*
+ * Copyright (C) 2004-2016 L2J Unity
+ * 
+ * This file is part of L2J Unity.
+ * 
+ * L2J Unity is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * L2J Unity is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.l2junity.gameserver.model.holders;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Stored effect holder, a single entry of the serialized effect list kept in {@code character_effects}.<br>
+ * The whole list is stored as one column, entries separated by {@code ;} and fields by {@code ,} in the order:<br>
+ * {@code skillId,skillLevel,remainingTime,reuseDelay,systime,restoreType}
+ */
+public class StoredEffectHolder
+{
+	private static final char ENTRY_SEPARATOR = ';';
+	private static final char FIELD_SEPARATOR = ',';
+	
+	private final int _skillId;
+	private final int _skillLvl;
+	private final int _remainingTime;
+	private final long _reuseDelay;
+	private final long _systime;
+	private final int _restoreType;
+	
+	/**
+	 * @param skillId the skill Id
+	 * @param skillLvl the skill level
+	 * @param remainingTime the remaining effect time in seconds, {@code -1} for skill reuse entries
+	 * @param reuseDelay the skill reuse delay
+	 * @param systime the time stamp when the reuse ends
+	 * @param restoreType {@code 0} for active effects, {@code 1} for skills under reuse
+	 */
+	public StoredEffectHolder(int skillId, int skillLvl, int remainingTime, long reuseDelay, long systime, int restoreType)
+	{
+		_skillId = skillId;
+		_skillLvl = skillLvl;
+		_remainingTime = remainingTime;
+		_reuseDelay = reuseDelay;
+		_systime = systime;
+		_restoreType = restoreType;
+	}
+	
+	public int getSkillId()
+	{
+		return _skillId;
+	}
+	
+	public int getSkillLvl()
+	{
+		return _skillLvl;
+	}
+	
+	public int getRemainingTime()
+	{
+		return _remainingTime;
+	}
+	
+	public long getReuseDelay()
+	{
+		return _reuseDelay;
+	}
+	
+	public long getSystime()
+	{
+		return _systime;
+	}
+	
+	public int getRestoreType()
+	{
+		return _restoreType;
+	}
+	
+	/**
+	 * Serializes the given entries into the compact column format.
+	 * @param entries the entries, in restore order
+	 * @return the serialized effect list
+	 */
+	public static String encode(Collection<StoredEffectHolder> entries)
+	{
+		final StringBuilder sb = new StringBuilder(entries.size() * 32);
+		for (StoredEffectHolder entry : entries)
+		{
+			if (sb.length() > 0)
+			{
+				sb.append(ENTRY_SEPARATOR);
+			}
+			sb.append(entry._skillId).append(FIELD_SEPARATOR);
+			sb.append(entry._skillLvl).append(FIELD_SEPARATOR);
+			sb.append(entry._remainingTime).append(FIELD_SEPARATOR);
+			sb.append(entry._reuseDelay).append(FIELD_SEPARATOR);
+			sb.append(entry._systime).append(FIELD_SEPARATOR);
+			sb.append(entry._restoreType);
+		}
+		return sb.toString();
+	}
+	
+	/**
+	 * Parses a serialized effect list, malformed entries are skipped.
+	 * @param data the serialized effect list
+	 * @return the entries, in restore order
+	 */
+	public static List<StoredEffectHolder> decode(String data)
+	{
+		if ((data == null) || data.isEmpty())
+		{
+			return Collections.emptyList();
+		}
+		
+		final List<StoredEffectHolder> entries = new ArrayList<>();
+		int start = 0;
+		while (start < data.length())
+		{
+			int end = data.indexOf(ENTRY_SEPARATOR, start);
+			if (end < 0)
+			{
+				end = data.length();
+			}
+			
+			final String[] fields = data.substring(start, end).split(String.valueOf(FIELD_SEPARATOR));
+			if (fields.length == 6)
+			{
+				try
+				{
+					entries.add(new StoredEffectHolder(Integer.parseInt(fields[0]), Integer.parseInt(fields[1]), Integer.parseInt(fields[2]), Long.parseLong(fields[3]), Long.parseLong(fields[4]), Integer.parseInt(fields[5])));
+				}
+				catch (NumberFormatException e)
+				{
+					// Skip malformed entry.
+				}
+			}
+			start = end + 1;
+		}
+		return entries;
+	}
+	
+	/**
+	 * Gets the composition of a serialized effect list, that is the list without the remaining effect times.<br>
+	 * Two lists with the same composition only differ by the time elapsed between them.
+	 * @param data the serialized effect list
+	 * @return the composition of the effect list
+	 */
+	public static String getComposition(String data)
+	{
+		final StringBuilder sb = new StringBuilder(data.length());
+		for (StoredEffectHolder entry : decode(data))
+		{
+			sb.append(entry._skillId).append(FIELD_SEPARATOR);
+			sb.append(entry._skillLvl).append(FIELD_SEPARATOR);
+			sb.append(entry._systime).append(FIELD_SEPARATOR);
+			sb.append(entry._restoreType).append(ENTRY_SEPARATOR);
+		}
+		return sb.toString();
+	}
+	
+	@Override
+	public String toString()
+	{
+		return "[SkillId: " + _skillId + " Level: " + _skillLvl + " RemainingTime: " + _remainingTime + " RestoreType: " + _restoreType + "]";
+	}
+}
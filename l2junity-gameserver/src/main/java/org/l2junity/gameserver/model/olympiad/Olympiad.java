@@ -27,8 +27,6 @@ import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Collections;
-import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -63,7 +61,7 @@ public class Olympiad extends ListenersContainer
 	protected static final Logger _logResults = LoggerFactory.getLogger("olympiad");
 	
 	private static final Map<Integer, StatsSet> _nobles = new ConcurrentHashMap<>();
-	private static final Map<Integer, Integer> _noblesRank = new HashMap<>();
+	private static volatile Map<Integer, Integer> _noblesRank = Collections.emptyMap();
 	
 	public static final String OLYMPIAD_HTML_PATH = "data/html/olympiad/";
 	private static final String OLYMPIAD_LOAD_DATA = "SELECT current_cycle, period, olympiad_end, validation_end, " + "next_weekly_change FROM olympiad_data WHERE id = 0";
@@ -71,7 +69,6 @@ public class Olympiad extends ListenersContainer
 	private static final String OLYMPIAD_LOAD_NOBLES = "SELECT olympiad_nobles.charId, olympiad_nobles.class_id, " + "characters.char_name, olympiad_nobles.olympiad_points, olympiad_nobles.competitions_done, " + "olympiad_nobles.competitions_won, olympiad_nobles.competitions_lost, olympiad_nobles.competitions_drawn, " + "olympiad_nobles.competitions_done_week, olympiad_nobles.competitions_done_week_classed, olympiad_nobles.competitions_done_week_non_classed, olympiad_nobles.competitions_done_week_team " + "FROM olympiad_nobles, characters WHERE characters.charId = olympiad_nobles.charId";
 	private static final String OLYMPIAD_SAVE_NOBLES = "INSERT INTO olympiad_nobles " + "(`charId`,`class_id`,`olympiad_points`,`competitions_done`,`competitions_won`,`competitions_lost`," + "`competitions_drawn`, `competitions_done_week`, `competitions_done_week_classed`, `competitions_done_week_non_classed`, `competitions_done_week_team`) VALUES (?,?,?,?,?,?,?,?,?,?,?)";
 	private static final String OLYMPIAD_UPDATE_NOBLES = "UPDATE olympiad_nobles SET " + "olympiad_points = ?, competitions_done = ?, competitions_won = ?, competitions_lost = ?, competitions_drawn = ?, competitions_done_week = ?, competitions_done_week_classed = ?, competitions_done_week_non_classed = ?, competitions_done_week_team = ? WHERE charId = ?";
-	private static final String OLYMPIAD_GET_HEROS = "SELECT olympiad_nobles.charId, characters.char_name " + "FROM olympiad_nobles, characters WHERE characters.charId = olympiad_nobles.charId " + "AND olympiad_nobles.class_id = ? AND olympiad_nobles.competitions_done >= " + Config.ALT_OLY_MIN_MATCHES + " AND olympiad_nobles.competitions_won > 0 " + "ORDER BY olympiad_nobles.olympiad_points DESC, olympiad_nobles.competitions_done DESC, olympiad_nobles.competitions_won DESC";
 	private static final String GET_ALL_CLASSIFIED_NOBLESS = "SELECT charId from olympiad_nobles_eom " + "WHERE competitions_done >= " + Config.ALT_OLY_MIN_MATCHES + " ORDER BY olympiad_points DESC, competitions_done DESC, competitions_won DESC";
 	private static final String GET_EACH_CLASS_LEADER = "SELECT characters.char_name from olympiad_nobles_eom, characters " + "WHERE characters.charId = olympiad_nobles_eom.charId AND olympiad_nobles_eom.class_id = ? " + "AND olympiad_nobles_eom.competitions_done >= " + Config.ALT_OLY_MIN_MATCHES + " " + "ORDER BY olympiad_nobles_eom.olympiad_points DESC, olympiad_nobles_eom.competitions_done DESC, olympiad_nobles_eom.competitions_won DESC LIMIT 10";
 	private static final String GET_EACH_CLASS_LEADER_CURRENT = "SELECT characters.char_name from olympiad_nobles, characters " + "WHERE characters.charId = olympiad_nobles.charId AND olympiad_nobles.class_id = ? " + "AND olympiad_nobles.competitions_done >= " + Config.ALT_OLY_MIN_MATCHES + " " + "ORDER BY olympiad_nobles.olympiad_points DESC, olympiad_nobles.competitions_done DESC, olympiad_nobles.competitions_won DESC LIMIT 10";
@@ -92,6 +89,7 @@ public class Olympiad extends ListenersContainer
 	
 	public static final int DEFAULT_POINTS = Config.ALT_OLY_START_POINTS;
 	protected static final int WEEKLY_POINTS = Config.ALT_OLY_WEEKLY_POINTS;
+	private static final int SAVE_BATCH_SIZE = 1000;
 	
 	public static final String CHAR_ID = "charId";
 	public static final String CLASS_ID = "class_id";
@@ -289,16 +287,14 @@ public class Olympiad extends ListenersContainer
 	
 	public void loadNoblesRank()
 	{
-		_noblesRank.clear();
-		Map<Integer, Integer> tmpPlace = new HashMap<>();
+		final List<Integer> classified = new ArrayList<>();
 		try (Connection con = DatabaseFactory.getInstance().getConnection();
 			PreparedStatement statement = con.prepareStatement(GET_ALL_CLASSIFIED_NOBLESS);
 			ResultSet rset = statement.executeQuery())
 		{
-			int place = 1;
 			while (rset.next())
 			{
-				tmpPlace.put(rset.getInt(CHAR_ID), place++);
+				classified.add(rset.getInt(CHAR_ID));
 			}
 		}
 		catch (Exception e)
@@ -306,40 +302,7 @@ public class Olympiad extends ListenersContainer
 			LOGGER.warn("Error loading noblesse data from database for Ranking: ", e);
 		}
 		
-		int rank1 = (int) Math.round(tmpPlace.size() * 0.01);
-		int rank2 = (int) Math.round(tmpPlace.size() * 0.10);
-		int rank3 = (int) Math.round(tmpPlace.size() * 0.25);
-		int rank4 = (int) Math.round(tmpPlace.size() * 0.50);
-		if (rank1 == 0)
-		{
-			rank1 = 1;
-			rank2++;
-			rank3++;
-			rank4++;
-		}
-		for (Entry<Integer, Integer> chr : tmpPlace.entrySet())
-		{
-			if (chr.getValue() <= rank1)
-			{
-				_noblesRank.put(chr.getKey(), 1);
-			}
-			else if (tmpPlace.get(chr.getKey()) <= rank2)
-			{
-				_noblesRank.put(chr.getKey(), 2);
-			}
-			else if (tmpPlace.get(chr.getKey()) <= rank3)
-			{
-				_noblesRank.put(chr.getKey(), 3);
-			}
-			else if (tmpPlace.get(chr.getKey()) <= rank4)
-			{
-				_noblesRank.put(chr.getKey(), 4);
-			}
-			else
-			{
-				_noblesRank.put(chr.getKey(), 5);
-			}
-		}
+		_noblesRank = OlympiadRanking.computeRanks(classified.stream().mapToInt(Integer::intValue).toArray());
 	}
 	
 	protected void init()
@@ -379,20 +342,32 @@ public class Olympiad extends ListenersContainer
 				_scheduledWeeklyTask.cancel(true);
 			}
 			
+			long time = System.nanoTime();
 			saveNobleData();
+			final long saveTime = System.nanoTime() - time;
 			
 			_period = 1;
-			List<StatsSet> heroesToBe = sortHerosToBe();
+			time = System.nanoTime();
+			final OlympiadRanking ranking = OlympiadRanking.compute(_nobles, HERO_IDS, Config.ALT_OLY_MIN_MATCHES);
+			final long rankingTime = System.nanoTime() - time;
+			
+			time = System.nanoTime();
+			List<StatsSet> heroesToBe = sortHerosToBe(ranking);
 			Hero.getInstance().resetData();
 			Hero.getInstance().computeNewHeroes(heroesToBe);
+			final long heroTime = System.nanoTime() - time;
 			
+			time = System.nanoTime();
 			saveOlympiadStatus();
 			updateMonthlyData();
+			final long monthlyTime = System.nanoTime() - time;
 			
 			Calendar validationEnd = Calendar.getInstance();
 			_validationEnd = validationEnd.getTimeInMillis() + VALIDATION_PERIOD;
 			
-			loadNoblesRank();
+			// The monthly table was just filled from the saved nobles, which deleted characters are removed from as well, so the ranks computed in memory are the ones loadNoblesRank() would read back.
+			_noblesRank = ranking.getRanks();
+			LOGGER.info("Period ended for {} nobles ({} classified, {} heroes): save {} ms, ranking {} ms, heroes {} ms, status and monthly data {} ms", _nobles.size(), ranking.getClassifiedCount(), heroesToBe.size(), saveTime / 1_000_000, rankingTime / 1_000_000, heroTime / 1_000_000, monthlyTime / 1_000_000);
 			_scheduledValdationTask = ThreadPoolManager.getInstance().scheduleGeneral(new ValidationEndTask(), getMillisToValidationEnd());
 		}
 	}
@@ -421,6 +396,29 @@ public class Olympiad extends ListenersContainer
 		return _nobles.get(playerId);
 	}
 	
+	/**
+	 * Forgets a deleted character, so it is neither ranked nor crowned hero at the end of the period.
+	 * @param objectId the object id of the deleted character
+	 */
+	public static void removeNoble(int objectId)
+	{
+		_nobles.remove(objectId);
+	}
+	
+	/**
+	 * Keeps the name of a renamed noble up to date, the heroes and the end of period log read it from memory.
+	 * @param objectId the object id of the renamed character
+	 * @param name the new name
+	 */
+	public static void updateNobleName(int objectId, String name)
+	{
+		final StatsSet noble = _nobles.get(objectId);
+		if (noble != null)
+		{
+			noble.set(CHAR_NAME, name);
+		}
+	}
+	
 	private void updateCompStatus()
 	{
 		// _compStarted = false;
@@ -673,7 +671,8 @@ public class Olympiad extends ListenersContainer
 	}
 	
 	/**
-	 * Save noblesse data to database
+	 * Save noblesse data to database.<br>
+	 * New and existing noblesse are written in two batched statements, flushed every {@link #SAVE_BATCH_SIZE} rows.
 	 */
 	protected synchronized void saveNobleData()
 	{
@@ -682,8 +681,13 @@ public class Olympiad extends ListenersContainer
 			return;
 		}
 		
-		try (Connection con = DatabaseFactory.getInstance().getConnection())
+		final List<StatsSet> inserted = new ArrayList<>();
+		try (Connection con = DatabaseFactory.getInstance().getConnection();
+			PreparedStatement insert = con.prepareStatement(OLYMPIAD_SAVE_NOBLES);
+			PreparedStatement update = con.prepareStatement(OLYMPIAD_UPDATE_NOBLES))
 		{
+			int pendingInserts = 0;
+			int pendingUpdates = 0;
 			for (Entry<Integer, StatsSet> entry : _nobles.entrySet())
 			{
 				StatsSet nobleInfo = entry.getValue();
@@ -706,40 +710,62 @@ public class Olympiad extends ListenersContainer
 				int compDoneWeekTeam = nobleInfo.getInt(COMP_DONE_WEEK_TEAM);
 				boolean toSave = nobleInfo.getBoolean("to_save");
 				
-				try (PreparedStatement statement = con.prepareStatement(toSave ? OLYMPIAD_SAVE_NOBLES : OLYMPIAD_UPDATE_NOBLES))
+				if (toSave)
 				{
-					if (toSave)
+					insert.setInt(1, charId);
+					insert.setInt(2, classId);
+					insert.setInt(3, points);
+					insert.setInt(4, compDone);
+					insert.setInt(5, compWon);
+					insert.setInt(6, compLost);
+					insert.setInt(7, compDrawn);
+					insert.setInt(8, compDoneWeek);
+					insert.setInt(9, compDoneWeekClassed);
+					insert.setInt(10, compDoneWeekNonClassed);
+					insert.setInt(11, compDoneWeekTeam);
+					insert.addBatch();
+					inserted.add(nobleInfo);
+					if (++pendingInserts == SAVE_BATCH_SIZE)
 					{
-						statement.setInt(1, charId);
-						statement.setInt(2, classId);
-						statement.setInt(3, points);
-						statement.setInt(4, compDone);
-						statement.setInt(5, compWon);
-						statement.setInt(6, compLost);
-						statement.setInt(7, compDrawn);
-						statement.setInt(8, compDoneWeek);
-						statement.setInt(9, compDoneWeekClassed);
-						statement.setInt(10, compDoneWeekNonClassed);
-						statement.setInt(11, compDoneWeekTeam);
-						
-						nobleInfo.set("to_save", false);
+						insert.executeBatch();
+						pendingInserts = 0;
 					}
-					else
+				}
+				else
+				{
+					update.setInt(1, points);
+					update.setInt(2, compDone);
+					update.setInt(3, compWon);
+					update.setInt(4, compLost);
+					update.setInt(5, compDrawn);
+					update.setInt(6, compDoneWeek);
+					update.setInt(7, compDoneWeekClassed);
+					update.setInt(8, compDoneWeekNonClassed);
+					update.setInt(9, compDoneWeekTeam);
+					update.setInt(10, charId);
+					update.addBatch();
+					if (++pendingUpdates == SAVE_BATCH_SIZE)
 					{
-						statement.setInt(1, points);
-						statement.setInt(2, compDone);
-						statement.setInt(3, compWon);
-						statement.setInt(4, compLost);
-						statement.setInt(5, compDrawn);
-						statement.setInt(6, compDoneWeek);
-						statement.setInt(7, compDoneWeekClassed);
-						statement.setInt(8, compDoneWeekNonClassed);
-						statement.setInt(9, compDoneWeekTeam);
-						statement.setInt(10, charId);
+						update.executeBatch();
+						pendingUpdates = 0;
 					}
-					statement.execute();
 				}
 			}
+			
+			if (pendingInserts > 0)
+			{
+				insert.executeBatch();
+			}
+			if (pendingUpdates > 0)
+			{
+				update.executeBatch();
+			}
+			
+			// Only flag the new noblesse as saved once their rows made it, so a failed save inserts them again next time.
+			for (StatsSet nobleInfo : inserted)
+			{
+				nobleInfo.set("to_save", false);
+			}
 		}
 		catch (SQLException e)
 		{
@@ -808,7 +834,7 @@ public class Olympiad extends ListenersContainer
 		}
 	}
 	
-	protected List<StatsSet> sortHerosToBe()
+	protected List<StatsSet> sortHerosToBe(OlympiadRanking ranking)
 	{
 		if (_period != 1)
 		{
@@ -837,36 +863,11 @@ public class Olympiad extends ListenersContainer
 			}
 		}
 		
-		List<StatsSet> heroesToBe = new LinkedList<>();
-		
-		try (Connection con = DatabaseFactory.getInstance().getConnection();
-			PreparedStatement statement = con.prepareStatement(OLYMPIAD_GET_HEROS))
+		final List<StatsSet> heroesToBe = new ArrayList<>(ranking.getHeroes());
+		for (StatsSet hero : heroesToBe)
 		{
-			StatsSet hero;
-			for (int element : HERO_IDS)
-			{
-				statement.setInt(1, element);
-				
-				try (ResultSet rset = statement.executeQuery())
-				{
-					if (rset.next())
-					{
-						hero = new StatsSet();
-						hero.set(CLASS_ID, element);
-						hero.set(CHAR_ID, rset.getInt(CHAR_ID));
-						hero.set(CHAR_NAME, rset.getString(CHAR_NAME));
-						
-						_logResults.info("Hero {},{},{}", hero.getString(CHAR_NAME), hero.getInt(CHAR_ID), hero.getInt(CLASS_ID));
-						heroesToBe.add(hero);
-					}
-				}
-			}
-		}
-		catch (SQLException e)
-		{
-			LOGGER.warn("Couldnt load heros from DB");
+			_logResults.info("Hero {},{},{}", hero.getString(CHAR_NAME), hero.getInt(CHAR_ID), hero.getInt(CLASS_ID));
 		}
-		
 		return heroesToBe;
 	}
 	
@@ -330,15 +330,7 @@ public abstract class OlympiadGameNormal extends AbstractOlympiadGame
 		
 		final int playerOnePoints = _playerOne.getStats().getInt(POINTS);
 		final int playerTwoPoints = _playerTwo.getStats().getInt(POINTS);
-		int pointDiff = Math.min(playerOnePoints, playerTwoPoints) / getDivider();
-		if (pointDiff <= 0)
-		{
-			pointDiff = 1;
-		}
-		else if (pointDiff > Config.ALT_OLY_MAX_POINTS)
-		{
-			pointDiff = Config.ALT_OLY_MAX_POINTS;
-		}
+		final int pointDiff = getPointDiff(playerOnePoints, playerTwoPoints, getDivider());
 		
 		int points;
 		SystemMessage sm;
@@ -614,12 +606,12 @@ public abstract class OlympiadGameNormal extends AbstractOlympiadGame
 				sm = SystemMessage.getSystemMessage(SystemMessageId.THERE_IS_NO_VICTOR_THE_MATCH_ENDS_IN_A_TIE);
 				stadium.broadcastPacket(sm);
 				
-				int value = Math.min(playerOnePoints / getDivider(), Config.ALT_OLY_MAX_POINTS);
+				int value = getTiePoints(playerOnePoints, getDivider());
 				
 				removePointsFromParticipant(_playerOne, value);
 				list1.add(new OlympiadInfo(_playerOne.getName(), _playerOne.getClanName(), _playerOne.getClanId(), _playerOne.getBaseClass(), _damageP1, playerOnePoints - value, -value));
 				
-				value = Math.min(playerTwoPoints / getDivider(), Config.ALT_OLY_MAX_POINTS);
+				value = getTiePoints(playerTwoPoints, getDivider());
 				removePointsFromParticipant(_playerTwo, value);
 				list2.add(new OlympiadInfo(_playerTwo.getName(), _playerTwo.getClanName(), _playerTwo.getClanId(), _playerTwo.getBaseClass(), _damageP2, playerTwoPoints - value, -value));
 				
@@ -654,6 +646,32 @@ public abstract class OlympiadGameNormal extends AbstractOlympiadGame
 		}
 	}
 	
+	/**
+	 * @param playerOnePoints the points of the first participant before the match
+	 * @param playerTwoPoints the points of the second participant before the match
+	 * @param divider the point divider of the competition type
+	 * @return the points the winner takes from the loser, between 1 and the configured maximum
+	 */
+	public static int getPointDiff(int playerOnePoints, int playerTwoPoints, int divider)
+	{
+		final int pointDiff = Math.min(playerOnePoints, playerTwoPoints) / divider;
+		if (pointDiff <= 0)
+		{
+			return 1;
+		}
+		return Math.min(pointDiff, Config.ALT_OLY_MAX_POINTS);
+	}
+	
+	/**
+	 * @param points the points of a participant before the match
+	 * @param divider the point divider of the competition type
+	 * @return the points the participant loses when the match ends in a tie
+	 */
+	public static int getTiePoints(int points, int divider)
+	{
+		return Math.min(points / divider, Config.ALT_OLY_MAX_POINTS);
+	}
+	
 	@Override
 	protected final void addDamage(PlayerInstance player, int damage)
 	{
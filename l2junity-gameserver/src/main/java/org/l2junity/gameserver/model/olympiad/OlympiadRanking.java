@@ -0,0 +1,173 @@
+/*
+ * Copyright (C) 2004-2016 L2J Unity
+ * 
+ * This file is part of L2J Unity.
+ * 
+ * L2J Unity is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * L2J Unity is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.l2junity.gameserver.model.olympiad;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import org.l2junity.gameserver.model.StatsSet;
+
+/**
+ * The end of period results of the Olympiad, computed in memory from the noblesse stats in one pass instead of a query per class.<br>
+ * Noblesse are ordered like the database queries did: by points, then matches done, then matches won, all descending, with the object id breaking ties so the order is stable.
+ */
+public final class OlympiadRanking
+{
+	private static final Comparator<NobleResult> ORDER = Comparator.comparingInt((NobleResult noble) -> noble._points).reversed().thenComparing(Comparator.comparingInt((NobleResult noble) -> noble._compDone).reversed()).thenComparing(Comparator.comparingInt((NobleResult noble) -> noble._compWon).reversed()).thenComparingInt(noble -> noble._charId);
+	
+	private final List<StatsSet> _heroes;
+	private final Map<Integer, Integer> _ranks;
+	private final int _classified;
+	
+	private OlympiadRanking(List<StatsSet> heroes, Map<Integer, Integer> ranks, int classified)
+	{
+		_heroes = heroes;
+		_ranks = ranks;
+		_classified = classified;
+	}
+	
+	/**
+	 * @param nobles the noblesse stats by object id
+	 * @param heroClassIds the classes that get a hero
+	 * @param minMatches the matches a noblesse must have done to be ranked
+	 * @return the heroes to be and the rank of each classified noblesse
+	 */
+	public static OlympiadRanking compute(Map<Integer, StatsSet> nobles, Set<Integer> heroClassIds, int minMatches)
+	{
+		final List<NobleResult> classified = new ArrayList<>(nobles.size());
+		for (Entry<Integer, StatsSet> entry : nobles.entrySet())
+		{
+			final StatsSet nobleInfo = entry.getValue();
+			if ((nobleInfo != null) && (nobleInfo.getInt(Olympiad.COMP_DONE) >= minMatches))
+			{
+				classified.add(new NobleResult(entry.getKey(), nobleInfo));
+			}
+		}
+		
+		final NobleResult[] ordered = classified.toArray(new NobleResult[classified.size()]);
+		Arrays.sort(ordered, ORDER);
+		
+		// The first noblesse of each hero class in ranking order with at least one won match becomes hero.
+		final List<StatsSet> heroes = new ArrayList<>();
+		final Map<Integer, NobleResult> heroByClass = new HashMap<>();
+		final int[] orderedIds = new int[ordered.length];
+		for (int i = 0; i < ordered.length; i++)
+		{
+			final NobleResult noble = ordered[i];
+			orderedIds[i] = noble._charId;
+			if ((noble._compWon > 0) && heroClassIds.contains(noble._classId))
+			{
+				heroByClass.putIfAbsent(noble._classId, noble);
+			}
+		}
+		for (int classId : heroClassIds)
+		{
+			final NobleResult noble = heroByClass.get(classId);
+			if (noble != null)
+			{
+				final StatsSet hero = new StatsSet();
+				hero.set(Olympiad.CLASS_ID, classId);
+				hero.set(Olympiad.CHAR_ID, noble._charId);
+				hero.set(Olympiad.CHAR_NAME, noble._name);
+				heroes.add(hero);
+			}
+		}
+		
+		return new OlympiadRanking(Collections.unmodifiableList(heroes), computeRanks(orderedIds), ordered.length);
+	}
+	
+	/**
+	 * Splits the classified noblesse into the five ranks: the top 1%, 10%, 25% and 50%, and the rest.
+	 * @param orderedIds the object ids of the classified noblesse, best first
+	 * @return the rank of each noblesse by object id
+	 */
+	public static Map<Integer, Integer> computeRanks(int[] orderedIds)
+	{
+		int rank1 = (int) Math.round(orderedIds.length * 0.01);
+		int rank2 = (int) Math.round(orderedIds.length * 0.10);
+		int rank3 = (int) Math.round(orderedIds.length * 0.25);
+		int rank4 = (int) Math.round(orderedIds.length * 0.50);
+		if (rank1 == 0)
+		{
+			rank1 = 1;
+			rank2++;
+			rank3++;
+			rank4++;
+		}
+		
+		final Map<Integer, Integer> ranks = new HashMap<>(orderedIds.length * 2);
+		for (int i = 0; i < orderedIds.length; i++)
+		{
+			final int place = i + 1;
+			ranks.put(orderedIds[i], place <= rank1 ? 1 : place <= rank2 ? 2 : place <= rank3 ? 3 : place <= rank4 ? 4 : 5);
+		}
+		return Collections.unmodifiableMap(ranks);
+	}
+	
+	/**
+	 * @return the heroes to be, with their class id, object id and name
+	 */
+	public List<StatsSet> getHeroes()
+	{
+		return _heroes;
+	}
+	
+	/**
+	 * @return the rank of each classified noblesse by object id
+	 */
+	public Map<Integer, Integer> getRanks()
+	{
+		return _ranks;
+	}
+	
+	/**
+	 * @return the number of noblesse that did enough matches to be ranked
+	 */
+	public int getClassifiedCount()
+	{
+		return _classified;
+	}
+	
+	private static final class NobleResult
+	{
+		final int _charId;
+		final int _classId;
+		final String _name;
+		final int _points;
+		final int _compDone;
+		final int _compWon;
+		
+		NobleResult(int charId, StatsSet nobleInfo)
+		{
+			_charId = charId;
+			_classId = nobleInfo.getInt(Olympiad.CLASS_ID);
+			_name = nobleInfo.getString(Olympiad.CHAR_NAME, "");
+			_points = nobleInfo.getInt(Olympiad.POINTS);
+			_compDone = nobleInfo.getInt(Olympiad.COMP_DONE);
+			_compWon = nobleInfo.getInt(Olympiad.COMP_WON);
+		}
+	}
+}
@@ -21,6 +21,7 @@ package org.l2junity.gameserver.model.skills;
 import static org.l2junity.gameserver.ai.CtrlIntention.AI_INTENTION_ATTACK;
 
 import java.lang.ref.WeakReference;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -45,7 +46,9 @@ import org.l2junity.gameserver.model.actor.Npc;
 import org.l2junity.gameserver.model.actor.Summon;
 import org.l2junity.gameserver.model.actor.instance.PlayerInstance;
 import org.l2junity.gameserver.model.effects.L2EffectType;
+import org.l2junity.gameserver.model.events.Containers;
 import org.l2junity.gameserver.model.events.EventDispatcher;
+import org.l2junity.gameserver.model.events.EventType;
 import org.l2junity.gameserver.model.events.impl.character.OnCreatureSkillFinishCast;
 import org.l2junity.gameserver.model.events.impl.character.OnCreatureSkillUse;
 import org.l2junity.gameserver.model.events.impl.character.npc.OnNpcSkillSee;
@@ -423,7 +426,10 @@ public class SkillCaster implements Runnable
 		}
 		
 		// Noptify skill is casted.
-		EventDispatcher.getInstance().notifyEvent(new OnCreatureSkillFinishCast(caster, target, _skill, _skill.isWithoutAction()), caster);
+		if (EventDispatcher.getInstance().hasListener(EventType.ON_CREATURE_SKILL_FINISH_CAST, caster))
+		{
+			EventDispatcher.getInstance().notifyEvent(new OnCreatureSkillFinishCast(caster, target, _skill, _skill.isWithoutAction()), caster);
+		}
 		
 		// Call the skill's effects and AI interraction and stuff.
 		SkillCaster.callSkill(caster, target, _targets, _skill, _item);
@@ -508,7 +514,8 @@ public class SkillCaster implements Runnable
 			}
 			
 			// Launch the magic skill and calculate its effects
-			skill.activateSkill(caster, item, targets.toArray(new WorldObject[0]));
+			final WorldObject[] targetArray = targets.toArray(new WorldObject[targets.size()]);
+			skill.activateSkill(caster, item, targetArray);
 			
 			PlayerInstance player = caster.getActingPlayer();
 			if (player != null)
@@ -553,9 +560,14 @@ public class SkillCaster implements Runnable
 				}
 				
 				// Mobs in range 1000 see spell
+				final boolean globalSkillSee = Containers.Global().hasListener(EventType.ON_NPC_SKILL_SEE);
+				final List<Npc> skillSeeNpcs = new ArrayList<>();
 				World.getInstance().forEachVisibleObjectInRange(player, Npc.class, 1000, npcMob ->
 				{
-					EventDispatcher.getInstance().notifyEventAsync(new OnNpcSkillSee(npcMob, player, skill, caster.isSummon(), targets.toArray(new WorldObject[0])), npcMob);
+					if (globalSkillSee || npcMob.hasListener(EventType.ON_NPC_SKILL_SEE))
+					{
+						skillSeeNpcs.add(npcMob);
+					}
 					
 					// On Skill See logic
 					if (npcMob.isAttackable())
@@ -567,7 +579,7 @@ public class SkillCaster implements Runnable
 							if (attackable.hasAI() && (attackable.getAI().getIntention() == AI_INTENTION_ATTACK))
 							{
 								WorldObject npcTarget = attackable.getTarget();
-								for (WorldObject skillTarget : targets)
+								for (WorldObject skillTarget : targetArray)
 								{
 									if ((npcTarget == skillTarget) || (npcMob == skillTarget))
 									{
@@ -579,6 +591,19 @@ public class SkillCaster implements Runnable
 						}
 					}
 				});
+				
+				// Notify all interested npcs in a single task, sharing the same targets snapshot.
+				if (!skillSeeNpcs.isEmpty())
+				{
+					final boolean isSummon = caster.isSummon();
+					ThreadPoolManager.getInstance().executeEvent(() ->
+					{
+						for (Npc npcMob : skillSeeNpcs)
+						{
+							EventDispatcher.getInstance().notifyEvent(new OnNpcSkillSee(npcMob, player, skill, isSummon, targetArray), npcMob);
+						}
+					});
+				}
 			}
 		}
 		catch (Exception e)
@@ -805,11 +830,14 @@ public class SkillCaster implements Runnable
 			return false;
 		}
 		
-		final TerminateReturn term = EventDispatcher.getInstance().notifyEvent(new OnCreatureSkillUse(caster, skill, skill.isWithoutAction()), caster, TerminateReturn.class);
-		if ((term != null) && term.terminate())
+		if (EventDispatcher.getInstance().hasListener(EventType.ON_CREATURE_SKILL_USE, caster))
 		{
-			caster.sendPacket(ActionFailed.STATIC_PACKET);
-			return false;
+			final TerminateReturn term = EventDispatcher.getInstance().notifyEvent(new OnCreatureSkillUse(caster, skill, skill.isWithoutAction()), caster, TerminateReturn.class);
+			if ((term != null) && term.terminate())
+			{
+				caster.sendPacket(ActionFailed.STATIC_PACKET);
+				return false;
+			}
 		}
 		
 		// Check if creature is already casting
@@ -0,0 +1,182 @@
+/*
+ * Copyright (C) 2004-2016 L2J Unity
+ * 
+ * This file is part of L2J Unity.
+ * 
+ * L2J Unity is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * L2J Unity is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.l2junity.gameserver.model.skills.targets;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import org.l2junity.gameserver.GeoData;
+import org.l2junity.gameserver.model.World;
+import org.l2junity.gameserver.model.WorldObject;
+import org.l2junity.gameserver.model.actor.Creature;
+import org.l2junity.gameserver.model.interfaces.ILocational;
+
+/**
+ * Shared area of effect query used by the affect scope handlers.<br>
+ * Candidates are gathered in a reusable per thread buffer with the cheap checks (shape, filter) only. When an affect limit is set they are sorted by the requested order and the geodata line of sight is checked last, stopping as soon as the limit is reached.
+ */
+public final class AffectScopeQuery
+{
+	public enum Order
+	{
+		/** World iteration order, the object of origin first. */
+		NONE,
+		/** Nearest to the shape center first. */
+		NEAREST,
+		/** Lowest HP percent first. */
+		LOWEST_HP
+	}
+	
+	private static final int INDEX_BITS = 20;
+	private static final long INDEX_MASK = (1L << INDEX_BITS) - 1;
+	
+	private static final ThreadLocal<AffectScopeQuery> BUFFERS = ThreadLocal.withInitial(AffectScopeQuery::new);
+	
+	private Creature[] _candidates = new Creature[64];
+	private long[] _keys = new long[64];
+	private int _size;
+	private boolean _inUse;
+	
+	private AffectScopeQuery()
+	{
+	}
+	
+	/**
+	 * Calls the action for each creature affected inside the shape.
+	 * @param shape the area
+	 * @param origin the object of origin, included first if it passes the checks, {@code null} to exclude it
+	 * @param filter the affect checks (dead, affect object...), geodata must not be checked here
+	 * @param losSource the object line of sight is checked from, {@code null} to skip geodata checks
+	 * @param affectLimit the maximum amount of affected creatures, 0 for unlimited
+	 * @param order the order the creatures are picked in when the limit is set
+	 * @param action the action to call for each affected creature
+	 */
+	public static void forEachAffected(AffectShape shape, WorldObject origin, Predicate<Creature> filter, WorldObject losSource, int affectLimit, Order order, Consumer<? super WorldObject> action)
+	{
+		AffectScopeQuery query = BUFFERS.get();
+		if (query._inUse)
+		{
+			// Re-entered from an action, do not overwrite the running query.
+			query = new AffectScopeQuery();
+		}
+		
+		query._inUse = true;
+		try
+		{
+			query.execute(shape, origin, filter, losSource, affectLimit, order, action);
+		}
+		finally
+		{
+			query.clear();
+			query._inUse = false;
+		}
+	}
+	
+	private void execute(AffectShape shape, WorldObject origin, Predicate<Creature> filter, WorldObject losSource, int affectLimit, Order order, Consumer<? super WorldObject> action)
+	{
+		// Object of origin is skipped by the world search.
+		if ((origin != null) && origin.isCreature())
+		{
+			final Creature creature = (Creature) origin;
+			if (shape.contains(creature) && filter.test(creature))
+			{
+				add(creature);
+			}
+		}
+		
+		World.getInstance().forEachVisibleObjectInRange(shape.getSearchCenter(), Creature.class, shape.getSearchRadius(), creature ->
+		{
+			if (shape.contains(creature) && filter.test(creature))
+			{
+				add(creature);
+			}
+		});
+		
+		if (_size == 0)
+		{
+			return;
+		}
+		
+		final boolean sorted = (affectLimit > 0) && (affectLimit < _size) && (order != Order.NONE);
+		if (sorted)
+		{
+			sort(shape.getCenter(), order);
+		}
+		
+		int affected = 0;
+		for (int i = 0; i < _size; i++)
+		{
+			final Creature creature = _candidates[sorted ? (int) (_keys[i] & INDEX_MASK) : i];
+			if ((losSource != null) && !GeoData.getInstance().canSeeTarget(losSource, creature))
+			{
+				continue;
+			}
+			
+			action.accept(creature);
+			if ((affectLimit > 0) && (++affected >= affectLimit))
+			{
+				break;
+			}
+		}
+	}
+	
+	private void add(Creature creature)
+	{
+		if (_size == _candidates.length)
+		{
+			_candidates = Arrays.copyOf(_candidates, _size * 2);
+			_keys = new long[_size * 2];
+		}
+		_candidates[_size++] = creature;
+	}
+	
+	/**
+	 * Sorts the candidates indexes on a primitive key, the index is kept in the low bits so equal keys keep the gathering order.
+	 * @param center the shape center
+	 * @param order the order
+	 */
+	private void sort(ILocational center, Order order)
+	{
+		for (int i = 0; i < _size; i++)
+		{
+			final Creature creature = _candidates[i];
+			final long key;
+			if (order == Order.LOWEST_HP)
+			{
+				key = Math.max(creature.getCurrentHpPercent(), 0);
+			}
+			else
+			{
+				final long dx = creature.getX() - center.getX();
+				final long dy = creature.getY() - center.getY();
+				final long dz = creature.getZ() - center.getZ();
+				key = (dx * dx) + (dy * dy) + (dz * dz);
+			}
+			_keys[i] = (key << INDEX_BITS) | i;
+		}
+		Arrays.sort(_keys, 0, _size);
+	}
+	
+	private void clear()
+	{
+		Arrays.fill(_candidates, 0, _size, null);
+		_size = 0;
+	}
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright (C) 2004-2016 L2J Unity
+ * 
+ * This file is part of L2J Unity.
+ * 
+ * L2J Unity is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * L2J Unity is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.l2junity.gameserver.model.skills.targets;
+
+import org.l2junity.gameserver.model.WorldObject;
+import org.l2junity.gameserver.model.actor.Creature;
+import org.l2junity.gameserver.model.interfaces.ILocational;
+import org.l2junity.gameserver.util.Util;
+
+/**
+ * Area used by {@link AffectScopeQuery} to gather the affected creatures.<br>
+ * The world is searched in a sphere of {@link #getSearchRadius()} around {@link #getSearchCenter()}, then every candidate is tested with {@link #contains(Creature)}.
+ */
+public abstract class AffectShape
+{
+	private final WorldObject _searchCenter;
+	private final int _searchRadius;
+	private final ILocational _center;
+	
+	protected AffectShape(WorldObject searchCenter, int searchRadius, ILocational center)
+	{
+		_searchCenter = searchCenter;
+		_searchRadius = searchRadius;
+		_center = center;
+	}
+	
+	/**
+	 * @return the object around which the world is searched
+	 */
+	public WorldObject getSearchCenter()
+	{
+		return _searchCenter;
+	}
+	
+	/**
+	 * @return the search radius, it must cover the whole shape
+	 */
+	public int getSearchRadius()
+	{
+		return _searchRadius;
+	}
+	
+	/**
+	 * @return the center of the shape, used to sort the creatures by distance
+	 */
+	public ILocational getCenter()
+	{
+		return _center;
+	}
+	
+	/**
+	 * @param creature the creature found in search radius
+	 * @return {@code true} if the creature is inside the shape
+	 */
+	public abstract boolean contains(Creature creature);
+	
+	/**
+	 * @param center the center object
+	 * @param radius the radius
+	 * @return a circle around the center object
+	 */
+	public static AffectShape circle(WorldObject center, int radius)
+	{
+		return new AffectShape(center, radius, center)
+		{
+			@Override
+			public boolean contains(Creature creature)
+			{
+				// The world search already is a sphere of the same radius.
+				return true;
+			}
+		};
+	}
+	
+	/**
+	 * @param caster the caster, the world is searched around him
+	 * @param center the ground location
+	 * @param radius the radius
+	 * @return a circle around a ground location
+	 */
+	public static AffectShape circle(Creature caster, ILocational center, int radius)
+	{
+		return new AffectShape(caster, (int) (radius + caster.calculateDistance(center, false, false)), center)
+		{
+			@Override
+			public boolean contains(Creature creature)
+			{
+				return creature.isInsideRadius(center, radius, true, true);
+			}
+		};
+	}
+	
+	/**
+	 * @param center the center object
+	 * @param startRange the inner radius, creatures inside it are unaffected
+	 * @param radius the outer radius
+	 * @return a ring around the center object
+	 */
+	public static AffectShape ring(WorldObject center, int startRange, int radius)
+	{
+		return new AffectShape(center, radius, center)
+		{
+			@Override
+			public boolean contains(Creature creature)
+			{
+				return !creature.isInsideRadius(center, startRange, false, true);
+			}
+		};
+	}
+	
+	/**
+	 * @param caster the caster
+	 * @param startAngle the angle from the caster heading to the middle of the fan
+	 * @param radius the radius
+	 * @param angle the whole angle of the fan
+	 * @return a fan in front of the caster
+	 */
+	public static AffectShape fan(Creature caster, int startAngle, int radius, int angle)
+	{
+		final double direction = Util.convertHeadingToDegree(caster.getHeading()) + startAngle;
+		final double halfAngle = angle / 2; // Half left and half right.
+		return new AffectShape(caster, radius, caster)
+		{
+			@Override
+			public boolean contains(Creature creature)
+			{
+				return Math.abs(Util.calculateAngleFrom(caster, creature) - direction) <= halfAngle;
+			}
+		};
+	}
+	
+	/**
+	 * @param caster the caster
+	 * @param startAngle the angle from the caster heading to the square direction
+	 * @param length the length
+	 * @param width the width
+	 * @return a rectangle starting at the caster
+	 */
+	public static AffectShape square(Creature caster, int startAngle, int length, int width)
+	{
+		final int casterX = caster.getX();
+		final int casterY = caster.getY();
+		final int rectX = casterX;
+		final int rectY = casterY - (width / 2);
+		final double heading = Math.toRadians(startAngle + Util.convertHeadingToDegree(caster.getHeading()));
+		final double cos = Math.cos(-heading);
+		final double sin = Math.sin(-heading);
+		return new AffectShape(caster, (int) Math.sqrt((length * length) + (width * width)), caster)
+		{
+			@Override
+			public boolean contains(Creature creature)
+			{
+				final int xp = creature.getX() - casterX;
+				final int yp = creature.getY() - casterY;
+				final int xr = (int) ((casterX + (xp * cos)) - (yp * sin));
+				final int yr = (int) (casterY + (xp * sin) + (yp * cos));
+				return (xr > rectX) && (xr < (rectX + length)) && (yr > rectY) && (yr < (rectY + width));
+			}
+		};
+	}
+}
@@ -18,24 +18,31 @@
  */
 package org.l2junity.gameserver.network;
 
-import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.EventLoopGroup;
 
 import org.l2junity.Config;
+import org.l2junity.network.NetworkTransport;
 
 /**
  * @author Nos
  */
 public class EventLoopGroupManager
 {
-	private final NioEventLoopGroup _bossGroup = new NioEventLoopGroup(1);
-	private final NioEventLoopGroup _workerGroup = new NioEventLoopGroup(Config.IO_PACKET_THREAD_CORE_SIZE);
+	private final NetworkTransport _transport = NetworkTransport.select(Config.MMO_USE_EPOLL);
+	private final EventLoopGroup _bossGroup = _transport.newEventLoopGroup(1);
+	private final EventLoopGroup _workerGroup = _transport.newEventLoopGroup(Config.IO_PACKET_THREAD_CORE_SIZE);
 	
-	public NioEventLoopGroup getBossGroup()
+	public NetworkTransport getTransport()
+	{
+		return _transport;
+	}
+	
+	public EventLoopGroup getBossGroup()
 	{
 		return _bossGroup;
 	}
 	
-	public NioEventLoopGroup getWorkerGroup()
+	public EventLoopGroup getWorkerGroup()
 	{
 		return _workerGroup;
 	}
@@ -21,6 +21,7 @@ package org.l2junity.gameserver.network.client;
 import org.l2junity.Config;
 import org.l2junity.gameserver.network.EventLoopGroupManager;
 import org.l2junity.network.NetworkManager;
+import org.l2junity.network.SocketSettings;
 
 /**
  * @author Nos
@@ -29,7 +30,7 @@ public class ClientNetworkManager extends NetworkManager
 {
 	protected ClientNetworkManager()
 	{
-		super(EventLoopGroupManager.getInstance().getBossGroup(), EventLoopGroupManager.getInstance().getWorkerGroup(), new ClientInitializer(), Config.GAMESERVER_HOSTNAME, Config.PORT_GAME);
+		super(EventLoopGroupManager.getInstance().getTransport(), EventLoopGroupManager.getInstance().getBossGroup(), EventLoopGroupManager.getInstance().getWorkerGroup(), new ClientInitializer(), Config.GAMESERVER_HOSTNAME, Config.PORT_GAME, new SocketSettings(Config.MMO_TCP_NODELAY, Config.MMO_SOCKET_SEND_BUFFER_SIZE, Config.MMO_SOCKET_RECEIVE_BUFFER_SIZE, Config.MMO_SOCKET_BACKLOG, Config.MMO_WRITE_BUFFER_LOW_WATER_MARK, Config.MMO_WRITE_BUFFER_HIGH_WATER_MARK));
 	}
 	
 	public static ClientNetworkManager getInstance()
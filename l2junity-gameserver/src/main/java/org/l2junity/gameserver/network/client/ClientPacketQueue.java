@@ -0,0 +1,251 @@
+/*
+ * Copyright (C) 2004-2016 L2J Unity
+ * 
+ * This file is part of L2J Unity.
+ * 
+ * L2J Unity is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * L2J Unity is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.l2junity.gameserver.network.client;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.l2junity.Config;
+import org.l2junity.commons.metrics.MetricsRegistry;
+import org.l2junity.commons.util.LatencyHistogram;
+import org.l2junity.gameserver.ThreadPoolManager;
+import org.l2junity.gameserver.network.client.recv.ExPacket;
+import org.l2junity.network.IIncomingPacket;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs the packets of one client on the general packet thread pool, one at a time and in the order they were received.<br>
+ * Packets listed in {@link Config#CLIENT_PACKET_QUEUE_INLINE} run right on the network thread when nothing is queued or running for the client, which keeps the order.<br>
+ * Connection states are still checked when a packet is decoded. This stays correct because the packets changing the state (CharacterSelect, RequestRestart) set it before sending the reply the client waits for.
+ */
+public final class ClientPacketQueue implements Runnable
+{
+	private static final Logger LOGGER = LoggerFactory.getLogger(ClientPacketQueue.class);
+	/** Packets run per pool task before the queue yields its thread to other clients. */
+	private static final int BATCH_SIZE = 32;
+	
+	private static final ClassValue<PacketStats> STATS = new ClassValue<PacketStats>()
+	{
+		@Override
+		protected PacketStats computeValue(Class<?> type)
+		{
+			final PacketStats stats = new PacketStats(type.getSimpleName());
+			ALL_STATS.add(stats);
+			return stats;
+		}
+	};
+	private static final Set<PacketStats> ALL_STATS = ConcurrentHashMap.newKeySet();
+	private static final LatencyHistogram QUEUE_DELAY = MetricsRegistry.getInstance().timer("l2j_packet_queue_delay_seconds", "Time client packets waited in their client queue.");
+	
+	private final L2GameClient _client;
+	private final Queue<QueuedPacket> _queue = new ConcurrentLinkedQueue<>();
+	private final AtomicInteger _size = new AtomicInteger();
+	private final AtomicBoolean _running = new AtomicBoolean();
+	
+	public ClientPacketQueue(L2GameClient client)
+	{
+		_client = client;
+	}
+	
+	/**
+	 * Runs the packet now or queues it behind the packets of the client still waiting.<br>
+	 * Must only be called from the network thread of the client.
+	 * @param packet the packet
+	 */
+	public void execute(IIncomingPacket<L2GameClient> packet)
+	{
+		final PacketStats stats = getStats(packet);
+		if (!Config.CLIENT_PACKET_QUEUE)
+		{
+			FlushBatch.begin();
+			try
+			{
+				runPacket(packet, stats);
+			}
+			finally
+			{
+				FlushBatch.end();
+			}
+			return;
+		}
+		
+		// Only the network thread adds packets, so an empty queue stays empty until this packet is done.
+		if (stats.isInline() && _queue.isEmpty() && _running.compareAndSet(false, true))
+		{
+			FlushBatch.begin();
+			try
+			{
+				runPacket(packet, stats);
+			}
+			finally
+			{
+				FlushBatch.end();
+				_running.set(false);
+			}
+			return;
+		}
+		
+		if (_size.incrementAndGet() > Config.CLIENT_PACKET_QUEUE_SIZE)
+		{
+			_size.decrementAndGet();
+			LOGGER.warn("{} has more than {} packets waiting, disconnecting. Last packet: {}", _client, Config.CLIENT_PACKET_QUEUE_SIZE, stats.getName());
+			_client.closeNow();
+			packet.recycle();
+			return;
+		}
+		
+		_queue.add(new QueuedPacket(packet, stats));
+		schedule();
+	}
+	
+	private void schedule()
+	{
+		if (_running.compareAndSet(false, true))
+		{
+			ThreadPoolManager.getInstance().executePacket(this);
+		}
+	}
+	
+	@Override
+	public void run()
+	{
+		// Everything the packets of this batch send is flushed once at the end.
+		FlushBatch.begin();
+		try
+		{
+			QueuedPacket queued;
+			for (int i = 0; (i < BATCH_SIZE) && ((queued = _queue.poll()) != null); i++)
+			{
+				_size.decrementAndGet();
+				QUEUE_DELAY.recordSince(queued._queueTime);
+				runPacket(queued._packet, queued._stats);
+			}
+		}
+		finally
+		{
+			FlushBatch.end();
+			_running.set(false);
+		}
+		
+		// Packets queued while the flag was still set, or left over from the batch.
+		if (!_queue.isEmpty())
+		{
+			schedule();
+		}
+	}
+	
+	private void runPacket(IIncomingPacket<L2GameClient> packet, PacketStats stats)
+	{
+		final long start = System.nanoTime();
+		try
+		{
+			packet.run(_client);
+		}
+		catch (Exception e)
+		{
+			LOGGER.warn("Exception for: {} on packet.run: {}", _client, stats.getName(), e);
+		}
+		finally
+		{
+			packet.recycle();
+		}
+		
+		final long time = System.nanoTime() - start;
+		stats.getTime().record(time);
+		if ((Config.SLOW_PACKET_THRESHOLD > 0) && (time >= TimeUnit.MILLISECONDS.toNanos(Config.SLOW_PACKET_THRESHOLD)))
+		{
+			LOGGER.warn("Slow packet: {} took {} ms for {}", stats.getName(), TimeUnit.NANOSECONDS.toMillis(time), _client);
+		}
+	}
+	
+	private static PacketStats getStats(IIncomingPacket<L2GameClient> packet)
+	{
+		final IIncomingPacket<L2GameClient> handled = packet instanceof ExPacket ? ((ExPacket) packet).getExPacket() : packet;
+		return STATS.get(handled.getClass());
+	}
+	
+	/**
+	 * @return the time packets waited in queues and the execution time of the 20 packet types that took the most time overall
+	 */
+	public static String[] getStats()
+	{
+		final List<PacketStats> stats = new ArrayList<>(ALL_STATS);
+		stats.sort(Comparator.comparingLong((PacketStats packetStats) -> packetStats.getTime().getSum()).reversed());
+		
+		final List<String> lines = new ArrayList<>();
+		lines.add("Client Packets:");
+		lines.add(" |- Queue delay (us): " + QUEUE_DELAY.toString(TimeUnit.MICROSECONDS));
+		for (PacketStats packetStats : stats.subList(0, Math.min(20, stats.size())))
+		{
+			lines.add(" |- " + packetStats.getName() + " (us): " + packetStats.getTime().toString(TimeUnit.MICROSECONDS));
+		}
+		return lines.toArray(new String[lines.size()]);
+	}
+	
+	private static final class PacketStats
+	{
+		private final String _name;
+		private final boolean _inline;
+		private final LatencyHistogram _time;
+		
+		PacketStats(String name)
+		{
+			_name = name;
+			_inline = Config.CLIENT_PACKET_QUEUE_INLINE.contains(name);
+			_time = MetricsRegistry.getInstance().timer("l2j_packet_run_seconds", "Time spent running client packets.", "packet", name);
+		}
+		
+		String getName()
+		{
+			return _name;
+		}
+		
+		boolean isInline()
+		{
+			return _inline;
+		}
+		
+		LatencyHistogram getTime()
+		{
+			return _time;
+		}
+	}
+	
+	private static final class QueuedPacket
+	{
+		final IIncomingPacket<L2GameClient> _packet;
+		final PacketStats _stats;
+		final long _queueTime = System.nanoTime();
+		
+		QueuedPacket(IIncomingPacket<L2GameClient> packet, PacketStats stats)
+		{
+			_packet = packet;
+			_stats = stats;
+		}
+	}
+}
@@ -21,9 +21,11 @@ package org.l2junity.gameserver.network.client;
 import io.netty.buffer.ByteBuf;
 
 import org.l2junity.gameserver.model.events.EventDispatcher;
+import org.l2junity.gameserver.model.events.EventType;
 import org.l2junity.gameserver.model.events.impl.server.OnPacketReceived;
 import org.l2junity.gameserver.model.events.impl.server.OnPacketSent;
 import org.l2junity.network.ICrypt;
+import org.l2junity.network.crypt.XorCipher;
 
 /**
  * @author UnAfraid, Nos
@@ -31,8 +33,8 @@ import org.l2junity.network.ICrypt;
 public class Crypt implements ICrypt
 {
 	private final L2GameClient _client;
-	private final byte[] _inKey = new byte[16];
-	private final byte[] _outKey = new byte[16];
+	private final XorCipher _inCipher = new XorCipher();
+	private final XorCipher _outCipher = new XorCipher();
 	private boolean _isEnabled;
 	
 	public Crypt(L2GameClient client)
@@ -42,8 +44,8 @@ public class Crypt implements ICrypt
 	
 	public void setKey(byte[] key)
 	{
-		System.arraycopy(key, 0, _inKey, 0, 16);
-		System.arraycopy(key, 0, _outKey, 0, 16);
+		_inCipher.setKey(key);
+		_outCipher.setKey(key);
 	}
 	
 	@Override
@@ -58,15 +60,7 @@ public class Crypt implements ICrypt
 		
 		onPacketSent(buf);
 		
-		int a = 0;
-		while (buf.isReadable())
-		{
-			final int b = buf.readByte() & 0xFF;
-			a = b ^ _outKey[(buf.readerIndex() - 1) & 15] ^ a;
-			buf.setByte(buf.readerIndex() - 1, a);
-		}
-		
-		shiftKey(_outKey, buf.writerIndex());
+		_outCipher.encrypt(buf);
 	}
 	
 	@Override
@@ -78,45 +72,29 @@ public class Crypt implements ICrypt
 			return;
 		}
 		
-		int a = 0;
-		while (buf.isReadable())
-		{
-			final int b = buf.readByte() & 0xFF;
-			buf.setByte(buf.readerIndex() - 1, b ^ _inKey[(buf.readerIndex() - 1) & 15] ^ a);
-			a = b;
-		}
-		
-		shiftKey(_inKey, buf.writerIndex());
+		_inCipher.decrypt(buf);
 		
 		onPacketReceive(buf);
 	}
 	
 	private void onPacketSent(ByteBuf buf)
 	{
-		byte[] data = new byte[buf.writerIndex()];
-		buf.getBytes(0, data);
-		EventDispatcher.getInstance().notifyEvent(new OnPacketSent(_client, data));
+		// The packet is only copied when a listener wants it.
+		if (EventDispatcher.getInstance().hasListener(EventType.ON_PACKET_SENT, null))
+		{
+			byte[] data = new byte[buf.writerIndex()];
+			buf.getBytes(0, data);
+			EventDispatcher.getInstance().notifyEvent(new OnPacketSent(_client, data));
+		}
 	}
 	
 	private void onPacketReceive(ByteBuf buf)
 	{
-		byte[] data = new byte[buf.writerIndex()];
-		buf.getBytes(0, data);
-		EventDispatcher.getInstance().notifyEvent(new OnPacketReceived(_client, data));
-	}
-	
-	private void shiftKey(byte[] key, int size)
-	{
-		int old = key[8] & 0xff;
-		old |= (key[9] << 8) & 0xff00;
-		old |= (key[10] << 0x10) & 0xff0000;
-		old |= (key[11] << 0x18) & 0xff000000;
-		
-		old += size;
-		
-		key[8] = (byte) (old & 0xff);
-		key[9] = (byte) ((old >> 0x08) & 0xff);
-		key[10] = (byte) ((old >> 0x10) & 0xff);
-		key[11] = (byte) ((old >> 0x18) & 0xff);
+		if (EventDispatcher.getInstance().hasListener(EventType.ON_PACKET_RECEIVED, null))
+		{
+			byte[] data = new byte[buf.writerIndex()];
+			buf.getBytes(0, data);
+			EventDispatcher.getInstance().notifyEvent(new OnPacketReceived(_client, data));
+		}
 	}
 }
@@ -0,0 +1,87 @@
+/*
+ * Copyright (C) 2004-2016 L2J Unity
+ * 
+ * This file is part of L2J Unity.
+ * 
+ * L2J Unity is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * L2J Unity is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.l2junity.gameserver.network.client;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Holds back the flush of the packets sent by the current thread until the end of a unit of work, such as a client packet or a movement tick, so each client gets one flush for everything sent meanwhile.<br>
+ * Packets sent outside of a batch are still coalesced with the ones sent before their client's pending flush runs.
+ * <p>
+ * Every {@link #begin()} must be matched by an {@link #end()} in a finally block, batches can be nested and only the outermost one flushes.
+ * </p>
+ */
+public final class FlushBatch
+{
+	private static final ThreadLocal<FlushBatch> BATCH = ThreadLocal.withInitial(FlushBatch::new);
+	
+	private final Set<L2GameClient> _clients = Collections.newSetFromMap(new IdentityHashMap<>());
+	private int _depth;
+	
+	private FlushBatch()
+	{
+	}
+	
+	/**
+	 * Starts holding back the flushes of the current thread.
+	 */
+	public static void begin()
+	{
+		BATCH.get()._depth++;
+	}
+	
+	/**
+	 * Ends the batch, flushing every client that was sent packets if this was the outermost batch.
+	 */
+	public static void end()
+	{
+		final FlushBatch batch = BATCH.get();
+		if ((batch._depth == 0) || (--batch._depth > 0) || batch._clients.isEmpty())
+		{
+			return;
+		}
+		
+		final List<L2GameClient> clients = new ArrayList<>(batch._clients);
+		batch._clients.clear();
+		for (L2GameClient client : clients)
+		{
+			client.scheduleFlush();
+		}
+	}
+	
+	/**
+	 * @param client the client that was sent a packet
+	 * @return {@code true} if the flush was taken over by the batch of the current thread
+	 */
+	static boolean defer(L2GameClient client)
+	{
+		final FlushBatch batch = BATCH.get();
+		if (batch._depth == 0)
+		{
+			return false;
+		}
+		
+		batch._clients.add(client);
+		return true;
+	}
+}
@@ -38,7 +38,7 @@ import org.l2junity.network.IIncomingPackets;
 public enum IncomingPackets implements IIncomingPackets<L2GameClient>
 {
 	LOGOUT(0x00, Logout::new, ConnectionState.AUTHENTICATED, ConnectionState.IN_GAME),
-	ATTACK(0x01, Attack::new, ConnectionState.IN_GAME),
+	ATTACK(0x01, Attack.POOL::get, ConnectionState.IN_GAME),
 	REQUEST_START_PLEDGE_WAR(0x03, RequestStartPledgeWar::new, ConnectionState.IN_GAME),
 	REQUEST_REPLY_START_PLEDGE(0x04, RequestReplyStartPledgeWar::new, ConnectionState.IN_GAME),
 	REQUEST_STOP_PLEDGE_WAR(0x05, RequestStopPledgeWar::new, ConnectionState.IN_GAME),
@@ -50,7 +50,7 @@ public enum IncomingPackets implements IIncomingPackets<L2GameClient>
 	CHARACTER_CREATE(0x0C, CharacterCreate::new, ConnectionState.AUTHENTICATED),
 	CHARACTER_DELETE(0x0D, CharacterDelete::new, ConnectionState.AUTHENTICATED),
 	PROTOCOL_VERSION(0x0E, ProtocolVersion::new, ConnectionState.CONNECTED),
-	MOVE_BACKWARD_TO_LOCATION(0x0F, MoveBackwardToLocation::new, ConnectionState.IN_GAME),
+	MOVE_BACKWARD_TO_LOCATION(0x0F, MoveBackwardToLocation.POOL::get, ConnectionState.IN_GAME),
 	ENTER_WORLD(0x11, EnterWorld::new, ConnectionState.IN_GAME),
 	CHARACTER_SELECT(0x12, CharacterSelect::new, ConnectionState.AUTHENTICATED),
 	NEW_CHARACTER(0x13, NewCharacter::new, ConnectionState.AUTHENTICATED),
@@ -61,7 +61,7 @@ public enum IncomingPackets implements IIncomingPackets<L2GameClient>
 	TRADE_REQUEST(0x1A, TradeRequest::new, ConnectionState.IN_GAME),
 	ADD_TRADE_ITEM(0x1B, AddTradeItem::new, ConnectionState.IN_GAME),
 	TRADE_DONE(0x1C, TradeDone::new, ConnectionState.IN_GAME),
-	ACTION(0x1F, Action::new, ConnectionState.IN_GAME),
+	ACTION(0x1F, Action.POOL::get, ConnectionState.IN_GAME),
 	REQUEST_LINK_HTML(0x22, RequestLinkHtml::new, ConnectionState.IN_GAME),
 	REQUEST_BYPASS_TO_SERVER(0x23, RequestBypassToServer::new, ConnectionState.IN_GAME),
 	REQUEST_BBS_WRITE(0x24, RequestBBSwrite::new, ConnectionState.IN_GAME),
@@ -75,14 +75,14 @@ public enum IncomingPackets implements IIncomingPackets<L2GameClient>
 	REQUEST_CRYSTALLIZE_ITEM(0x2F, RequestCrystallizeItem::new, ConnectionState.IN_GAME),
 	REQUEST_PRIVATE_STORE_MANAGE_SELL(0x30, RequestPrivateStoreManageSell::new, ConnectionState.IN_GAME),
 	SET_PRIVATE_STORE_LIST_SELL(0x31, SetPrivateStoreListSell::new, ConnectionState.IN_GAME),
-	ATTACK_REQUEST(0x32, AttackRequest::new, ConnectionState.IN_GAME),
+	ATTACK_REQUEST(0x32, AttackRequest.POOL::get, ConnectionState.IN_GAME),
 	REQUEST_TELEPORT(0x33, null, ConnectionState.IN_GAME),
 	SOCIAL_ACTION(0x34, null, ConnectionState.IN_GAME),
 	CHANGE_MOVE_TYPE(0x35, null, ConnectionState.IN_GAME),
 	CHANGE_WAIT_TYPE(0x36, null, ConnectionState.IN_GAME),
 	REQUEST_SELL_ITEM(0x37, RequestSellItem::new, ConnectionState.IN_GAME),
 	REQUEST_MAGIC_SKILL_LIST(0x38, RequestMagicSkillList::new, ConnectionState.IN_GAME),
-	REQUEST_MAGIC_SKILL_USE(0x39, RequestMagicSkillUse::new, ConnectionState.IN_GAME),
+	REQUEST_MAGIC_SKILL_USE(0x39, RequestMagicSkillUse.POOL::get, ConnectionState.IN_GAME),
 	APPEARING(0x3A, Appearing::new, ConnectionState.IN_GAME),
 	SEND_WARE_HOUSE_DEPOSIT_LIST(0x3B, SendWareHouseDepositList::new, ConnectionState.IN_GAME),
 	SEND_WARE_HOUSE_WITH_DRAW_LIST(0x3C, SendWareHouseWithDrawList::new, ConnectionState.IN_GAME),
@@ -105,7 +105,7 @@ public enum IncomingPackets implements IIncomingPackets<L2GameClient>
 	ANSWER_TRADE_REQUEST(0x55, AnswerTradeRequest::new, ConnectionState.IN_GAME),
 	REQUEST_ACTION_USE(0x56, RequestActionUse::new, ConnectionState.IN_GAME),
 	REQUEST_RESTART(0x57, RequestRestart::new, ConnectionState.IN_GAME),
-	VALIDATE_POSITION(0x59, ValidatePosition::new, ConnectionState.IN_GAME),
+	VALIDATE_POSITION(0x59, ValidatePosition.POOL::get, ConnectionState.IN_GAME),
 	START_ROTATING(0x5B, StartRotating::new, ConnectionState.IN_GAME),
 	FINISH_ROTATING(0x5C, FinishRotating::new, ConnectionState.IN_GAME),
 	REQUEST_SHOW_BOARD(0x5E, RequestShowBoard::new, ConnectionState.IN_GAME),
@@ -206,7 +206,7 @@ public enum IncomingPackets implements IIncomingPackets<L2GameClient>
 	REQUEST_MAKE_MACRO(0xCD, RequestMakeMacro::new, ConnectionState.IN_GAME),
 	REQUEST_DELETE_MACRO(0xCE, RequestDeleteMacro::new, ConnectionState.IN_GAME),
 	REQUEST_BUY_PROCURE(0xCF, null, ConnectionState.IN_GAME),
-	EX_PACKET(0xD0, ExPacket::new, ConnectionState.values()); // This packet has its own connection state checking so we allow all of them
+	EX_PACKET(0xD0, ExPacket.POOL::get, ConnectionState.values()); // This packet has its own connection state checking so we allow all of them
 	
 	public static final IncomingPackets[] PACKET_ARRAY;
 	
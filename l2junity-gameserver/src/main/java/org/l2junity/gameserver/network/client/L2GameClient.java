@@ -23,16 +23,33 @@ import java.net.InetSocketAddress;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Future;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.ReentrantLock;
 
 import org.l2junity.Config;
 import org.l2junity.DatabaseFactory;
+import org.l2junity.commons.metrics.Counter;
+import org.l2junity.commons.metrics.MetricsRegistry;
+import org.l2junity.commons.util.LatencyHistogram;
 import org.l2junity.gameserver.LoginServerThread;
 import org.l2junity.gameserver.LoginServerThread.SessionKey;
 import org.l2junity.gameserver.ThreadPoolManager;
+import org.l2junity.gameserver.cache.CharSelectInfoCache;
 import org.l2junity.gameserver.data.sql.impl.CharNameTable;
 import org.l2junity.gameserver.data.sql.impl.ClanTable;
 import org.l2junity.gameserver.data.xml.impl.SecondaryAuthData;
@@ -48,6 +65,7 @@ import org.l2junity.gameserver.model.World;
 import org.l2junity.gameserver.model.actor.Summon;
 import org.l2junity.gameserver.model.actor.instance.PlayerInstance;
 import org.l2junity.gameserver.model.entity.L2Event;
+import org.l2junity.gameserver.model.olympiad.Olympiad;
 import org.l2junity.gameserver.model.olympiad.OlympiadManager;
 import org.l2junity.gameserver.model.zone.ZoneId;
 import org.l2junity.gameserver.network.client.send.ActionFailed;
@@ -67,6 +85,7 @@ import org.slf4j.LoggerFactory;
 
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundBuffer;
 
 /**
  * Represents a client connected on Game Server.
@@ -77,6 +96,21 @@ public final class L2GameClient extends ChannelInboundHandler<L2GameClient>
 	protected static final Logger LOGGER = LoggerFactory.getLogger(L2GameClient.class);
 	protected static final Logger _logAccounting = LoggerFactory.getLogger("accounting");
 	
+	private static final LatencyHistogram FLUSHED_PACKETS = MetricsRegistry.getInstance().histogram("l2j_client_flush_packets", "Packets written to a client with one flush.");
+	private static final LatencyHistogram FLUSHED_BYTES = MetricsRegistry.getInstance().histogram("l2j_client_flush_bytes", "Bytes waiting for a client after a flush.");
+	private static long _flushStatsTime = System.nanoTime();
+	private static long _flushStatsCount;
+	
+	// Clients having more outgoing bytes waiting than the high watermark
+	private static final Set<L2GameClient> SLOW_CLIENTS = ConcurrentHashMap.newKeySet();
+	private static final Counter DROPPED_PACKETS = MetricsRegistry.getInstance().counter("l2j_slow_client_dropped_packets_total", "Packets left out for clients over their outgoing budget.");
+	private static final Counter SLOW_DISCONNECTS = MetricsRegistry.getInstance().counter("l2j_slow_client_disconnects_total", "Clients disconnected for staying over their outgoing budget.");
+	
+	static
+	{
+		MetricsRegistry.getInstance().gauge("l2j_slow_clients", "Clients over their outgoing budget.", SLOW_CLIENTS::size);
+	}
+	
 	private final int _objectId;
 	
 	// Info
@@ -102,6 +136,16 @@ public final class L2GameClient extends ChannelInboundHandler<L2GameClient>
 	// Crypt
 	private final Crypt _crypt;
 	
+	private final ClientPacketQueue _packetQueue = new ClientPacketQueue(this);
+	
+	// Outgoing packets waiting for the network thread to write and flush them
+	private final Queue<IOutgoingPacket> _outgoing = new ConcurrentLinkedQueue<>();
+	private final AtomicBoolean _flushScheduled = new AtomicBoolean();
+	private final Runnable _flushTask = this::flushOutgoing;
+	private final AtomicInteger _outgoingSize = new AtomicInteger();
+	private volatile long _overBudgetSince;
+	private final AtomicInteger _droppedPackets = new AtomicInteger();
+	
 	private boolean _isDetached = false;
 	
 	private boolean _protocol;
@@ -143,6 +187,7 @@ public final class L2GameClient extends ChannelInboundHandler<L2GameClient>
 	public void channelInactive(ChannelHandlerContext ctx)
 	{
 		LOGGER.debug("Client Disconnected: {}", ctx.channel());
+		SLOW_CLIENTS.remove(this);
 		
 		// no long running tasks here, do it async
 		try
@@ -158,14 +203,19 @@ public final class L2GameClient extends ChannelInboundHandler<L2GameClient>
 	@Override
 	protected void messageReceived(ChannelHandlerContext ctx, IIncomingPacket<L2GameClient> packet)
 	{
-		try
-		{
-			packet.run(this);
-		}
-		catch (Exception e)
+		_packetQueue.execute(packet);
+	}
+	
+	@Override
+	public void channelWritabilityChanged(ChannelHandlerContext ctx) throws Exception
+	{
+		if (ctx.channel().isWritable())
 		{
-			LOGGER.warn("Exception for: {} on packet.run: {}", toString(), packet.getClass().getSimpleName(), e);
+			_overBudgetSince = 0;
+			SLOW_CLIENTS.remove(this);
+			flushOutgoing();
 		}
+		super.channelWritabilityChanged(ctx);
 	}
 	
 	@Override
@@ -265,8 +315,31 @@ public final class L2GameClient extends ChannelInboundHandler<L2GameClient>
 			return;
 		}
 		
-		// Write into the channel.
-		_channel.writeAndFlush(packet);
+		final long overBudgetSince = _overBudgetSince;
+		if (overBudgetSince != 0)
+		{
+			// The client does not keep up, leave out the updates it gets again anyway.
+			if (packet.canBeDropped(getActiveChar()))
+			{
+				_droppedPackets.incrementAndGet();
+				DROPPED_PACKETS.increment();
+				return;
+			}
+			
+			if (isTooSlow(overBudgetSince))
+			{
+				disconnectSlowClient(overBudgetSince);
+				return;
+			}
+		}
+		
+		// Queue for the network thread, which writes everything sent meanwhile with a single flush.
+		_outgoing.add(packet);
+		_outgoingSize.incrementAndGet();
+		if (!FlushBatch.defer(this))
+		{
+			scheduleFlush();
+		}
 		
 		// Run packet implementation.
 		packet.runImpl(getActiveChar());
@@ -325,7 +398,7 @@ public final class L2GameClient extends ChannelInboundHandler<L2GameClient>
 		}
 		else
 		{
-			final int clanId = CharNameTable.getInstance().getClassIdById(objectId);
+			final int clanId = getCharSelection(charslot).getClanId();
 			if (clanId > 0)
 			{
 				final L2Clan clan = ClanTable.getInstance().getClan(clanId);
@@ -359,6 +432,7 @@ public final class L2GameClient extends ChannelInboundHandler<L2GameClient>
 			}
 		}
 		
+		CharSelectInfoCache.getInstance().invalidate(getAccountName());
 		_logAccounting.info("Delete, {}, {}", objectId, this);
 		return CharacterDeleteFailType.NONE;
 	}
@@ -372,7 +446,7 @@ public final class L2GameClient extends ChannelInboundHandler<L2GameClient>
 		{
 			if (getActiveChar() != null)
 			{
-				getActiveChar().storeMe();
+				getActiveChar().store(true, true);
 				getActiveChar().storeRecommendations();
 				if (Config.UPDATE_ITEMS_ON_CHAR_STORE)
 				{
@@ -406,6 +480,7 @@ public final class L2GameClient extends ChannelInboundHandler<L2GameClient>
 			LOGGER.error("Error restoring character.", e);
 		}
 		
+		CharSelectInfoCache.getInstance().invalidate(getAccountName());
 		_logAccounting.info("Restore, {}, {}", objid, this);
 	}
 	
@@ -417,6 +492,7 @@ public final class L2GameClient extends ChannelInboundHandler<L2GameClient>
 		}
 		
 		CharNameTable.getInstance().removeName(objid);
+		Olympiad.removeNoble(objid);
 		
 		try (Connection con = DatabaseFactory.getInstance().getConnection())
 		{
@@ -470,7 +546,7 @@ public final class L2GameClient extends ChannelInboundHandler<L2GameClient>
 				ps.execute();
 			}
 			
-			try (PreparedStatement ps = con.prepareStatement("DELETE FROM character_skills_save WHERE charId=?"))
+			try (PreparedStatement ps = con.prepareStatement("DELETE FROM character_effects WHERE charId=?"))
 			{
 				ps.setInt(1, objid);
 				ps.execute();
@@ -620,9 +696,158 @@ public final class L2GameClient extends ChannelInboundHandler<L2GameClient>
 	{
 		if (packet != null)
 		{
-			_channel.writeAndFlush(packet);
+			_outgoing.add(packet);
+			_outgoingSize.incrementAndGet();
+		}
+		
+		// Packets still queued go out before the connection is closed.
+		_channel.eventLoop().execute(() ->
+		{
+			writeOutgoing();
+			_channel.close();
+		});
+	}
+	
+	/**
+	 * Makes the network thread write and flush the queued packets, unless it is already about to.
+	 */
+	void scheduleFlush()
+	{
+		if (_flushScheduled.compareAndSet(false, true))
+		{
+			try
+			{
+				_channel.eventLoop().execute(_flushTask);
+			}
+			catch (RejectedExecutionException e)
+			{
+				// server is closing
+			}
+		}
+	}
+	
+	/**
+	 * Writes the queued packets and flushes them at once, runs on the network thread.<br>
+	 * While the client has more bytes waiting than the high watermark, its packets stay queued and nothing more is scheduled for it, so a slow client does not take network thread time from the others. The flush resumes once Netty reports the channel writable again.
+	 */
+	private void flushOutgoing()
+	{
+		if (!_channel.isWritable() && _channel.isActive())
+		{
+			if (_overBudgetSince == 0)
+			{
+				_overBudgetSince = System.currentTimeMillis();
+				SLOW_CLIENTS.add(this);
+			}
+			return;
+		}
+		
+		// Cleared first, so a packet queued from now on schedules another flush.
+		_flushScheduled.set(false);
+		writeOutgoing();
+	}
+	
+	private void writeOutgoing()
+	{
+		int packets = 0;
+		IOutgoingPacket packet;
+		while ((packet = _outgoing.poll()) != null)
+		{
+			_outgoingSize.decrementAndGet();
+			_channel.write(packet);
+			packets++;
+		}
+		
+		if (packets > 0)
+		{
+			FLUSHED_BYTES.record(getPendingBytes());
+			FLUSHED_PACKETS.record(packets);
+			_channel.flush();
+		}
+	}
+	
+	/**
+	 * @param overBudgetSince
+	 * @return {@code true} if the client has too many packets waiting or stayed over budget too long
+	 */
+	private boolean isTooSlow(long overBudgetSince)
+	{
+		if ((Config.SLOW_CLIENT_QUEUE_SIZE > 0) && (_outgoingSize.get() > Config.SLOW_CLIENT_QUEUE_SIZE))
+		{
+			return true;
 		}
-		_channel.close();
+		return (Config.SLOW_CLIENT_TIMEOUT > 0) && ((System.currentTimeMillis() - overBudgetSince) > TimeUnit.SECONDS.toMillis(Config.SLOW_CLIENT_TIMEOUT));
+	}
+	
+	private void disconnectSlowClient(long overBudgetSince)
+	{
+		LOGGER.info("Disconnecting slow client {}, over budget for {}s with {} packets waiting.", toString(), TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis() - overBudgetSince), _outgoingSize.get());
+		SLOW_DISCONNECTS.increment();
+		
+		// Nothing of it would reach the client before the close anyway.
+		_outgoing.clear();
+		_outgoingSize.set(0);
+		closeNow();
+	}
+	
+	/**
+	 * @return the bytes Netty holds for this client
+	 */
+	private long getPendingBytes()
+	{
+		final ChannelOutboundBuffer buffer = _channel.unsafe().outboundBuffer();
+		return buffer != null ? buffer.totalPendingWriteBytes() : 0;
+	}
+	
+	/**
+	 * @return the clients currently over budget, longest first, with the packets dropped and clients disconnected so far
+	 */
+	public static String[] getSlowClientStats()
+	{
+		final List<String> lines = new ArrayList<>();
+		lines.add("Slow Clients:");
+		lines.add(" |- Over budget:      " + SLOW_CLIENTS.size());
+		lines.add(" |- Dropped packets:  " + DROPPED_PACKETS.get());
+		lines.add(" |- Disconnected:     " + SLOW_DISCONNECTS.get());
+		
+		// Taken once, the clients may leave the budget while they are sorted.
+		final Map<L2GameClient, Long> overBudgetSince = new HashMap<>();
+		for (L2GameClient client : SLOW_CLIENTS)
+		{
+			final long since = client._overBudgetSince;
+			if (since != 0)
+			{
+				overBudgetSince.put(client, since);
+			}
+		}
+		
+		final long now = System.currentTimeMillis();
+		overBudgetSince.entrySet().stream().sorted(Comparator.comparingLong(Entry::getValue)).limit(20).forEach(entry ->
+		{
+			final L2GameClient client = entry.getKey();
+			lines.add(" |- " + client + " for " + TimeUnit.MILLISECONDS.toSeconds(now - entry.getValue()) + "s, queued: " + client._outgoingSize.get() + ", pending: " + client.getPendingBytes() + " bytes, dropped: " + client._droppedPackets.get());
+		});
+		return lines.toArray(new String[lines.size()]);
+	}
+	
+	/**
+	 * @return the flushes per second since the previous call, with the packets and bytes each flush carried
+	 */
+	public static synchronized String[] getFlushStats()
+	{
+		final long now = System.nanoTime();
+		final long count = FLUSHED_PACKETS.getCount();
+		final double seconds = Math.max(1, now - _flushStatsTime) / (double) TimeUnit.SECONDS.toNanos(1);
+		final double flushesPerSecond = (count - _flushStatsCount) / seconds;
+		_flushStatsTime = now;
+		_flushStatsCount = count;
+		return new String[]
+		{
+			"Client Flushes:",
+			" |- Flushes/s:        " + String.format("%.1f", flushesPerSecond),
+			" |- Packets/flush:    " + FLUSHED_PACKETS,
+			" |- Bytes/flush:      " + FLUSHED_BYTES,
+		};
 	}
 	
 	/**
@@ -29,16 +29,28 @@ import org.l2junity.gameserver.model.skills.BuffInfo;
 import org.l2junity.gameserver.network.client.L2GameClient;
 import org.l2junity.gameserver.network.client.send.ActionFailed;
 import org.l2junity.gameserver.network.client.send.string.SystemMessageId;
+import org.l2junity.network.IncomingPacketPool;
 import org.l2junity.network.PacketReader;
 
+import io.netty.util.Recycler.Handle;
+
 public final class Action implements IClientIncomingPacket
 {
+	public static final IncomingPacketPool<Action> POOL = new IncomingPacketPool<>(Action::new);
+	
+	private final Handle<Action> _handle;
+	
 	private int _objectId;
 	private int _originX;
 	private int _originY;
 	private int _originZ;
 	private int _actionId;
 	
+	private Action(Handle<Action> handle)
+	{
+		_handle = handle;
+	}
+	
 	@Override
 	public boolean read(L2GameClient client, PacketReader packet)
 	{
@@ -164,4 +176,10 @@ public final class Action implements IClientIncomingPacket
 			}
 		}
 	}
+	
+	@Override
+	public void recycle()
+	{
+		_handle.recycle(this);
+	}
 }
@@ -29,13 +29,20 @@ import org.l2junity.gameserver.model.skills.BuffInfo;
 import org.l2junity.gameserver.network.client.L2GameClient;
 import org.l2junity.gameserver.network.client.send.ActionFailed;
 import org.l2junity.gameserver.network.client.send.string.SystemMessageId;
+import org.l2junity.network.IncomingPacketPool;
 import org.l2junity.network.PacketReader;
 
+import io.netty.util.Recycler.Handle;
+
 /**
  * TODO: This class is a copy of AttackRequest, we should get proper structure for both.
  */
 public final class Attack implements IClientIncomingPacket
 {
+	public static final IncomingPacketPool<Attack> POOL = new IncomingPacketPool<>(Attack::new);
+	
+	private final Handle<Attack> _handle;
+	
 	// cddddc
 	private int _objectId;
 	@SuppressWarnings("unused")
@@ -47,6 +54,11 @@ public final class Attack implements IClientIncomingPacket
 	@SuppressWarnings("unused")
 	private int _attackId;
 	
+	private Attack(Handle<Attack> handle)
+	{
+		_handle = handle;
+	}
+	
 	@Override
 	public boolean read(L2GameClient client, PacketReader packet)
 	{
@@ -139,4 +151,10 @@ public final class Attack implements IClientIncomingPacket
 			}
 		}
 	}
+	
+	@Override
+	public void recycle()
+	{
+		_handle.recycle(this);
+	}
 }
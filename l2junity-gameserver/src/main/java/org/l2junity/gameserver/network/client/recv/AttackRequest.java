@@ -29,10 +29,17 @@ import org.l2junity.gameserver.model.skills.BuffInfo;
 import org.l2junity.gameserver.network.client.L2GameClient;
 import org.l2junity.gameserver.network.client.send.ActionFailed;
 import org.l2junity.gameserver.network.client.send.string.SystemMessageId;
+import org.l2junity.network.IncomingPacketPool;
 import org.l2junity.network.PacketReader;
 
+import io.netty.util.Recycler.Handle;
+
 public final class AttackRequest implements IClientIncomingPacket
 {
+	public static final IncomingPacketPool<AttackRequest> POOL = new IncomingPacketPool<>(AttackRequest::new);
+	
+	private final Handle<AttackRequest> _handle;
+	
 	// cddddc
 	private int _objectId;
 	@SuppressWarnings("unused")
@@ -44,6 +51,11 @@ public final class AttackRequest implements IClientIncomingPacket
 	@SuppressWarnings("unused")
 	private int _attackId;
 	
+	private AttackRequest(Handle<AttackRequest> handle)
+	{
+		_handle = handle;
+	}
+	
 	@Override
 	public boolean read(L2GameClient client, PacketReader packet)
 	{
@@ -128,4 +140,10 @@ public final class AttackRequest implements IClientIncomingPacket
 			}
 		}
 	}
+	
+	@Override
+	public void recycle()
+	{
+		_handle.recycle(this);
+	}
 }
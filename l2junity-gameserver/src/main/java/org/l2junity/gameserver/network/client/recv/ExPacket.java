@@ -21,10 +21,13 @@ package org.l2junity.gameserver.network.client.recv;
 import org.l2junity.gameserver.network.client.ExIncomingPackets;
 import org.l2junity.gameserver.network.client.L2GameClient;
 import org.l2junity.network.IIncomingPacket;
+import org.l2junity.network.IncomingPacketPool;
 import org.l2junity.network.PacketReader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import io.netty.util.Recycler.Handle;
+
 /**
  * @author Nos
  */
@@ -32,9 +35,17 @@ public class ExPacket implements IClientIncomingPacket
 {
 	private static final Logger LOGGER = LoggerFactory.getLogger(ExPacket.class);
 	
+	public static final IncomingPacketPool<ExPacket> POOL = new IncomingPacketPool<>(ExPacket::new);
+	
+	private final Handle<ExPacket> _handle;
 	private ExIncomingPackets _exIncomingPacket;
 	private IIncomingPacket<L2GameClient> _exPacket;
 	
+	private ExPacket(Handle<ExPacket> handle)
+	{
+		_handle = handle;
+	}
+	
 	@Override
 	public boolean read(L2GameClient client, PacketReader packet)
 	{
@@ -65,4 +76,24 @@ public class ExPacket implements IClientIncomingPacket
 		}
 		_exPacket.run(client);
 	}
+	
+	/**
+	 * @return the extended packet this packet carries
+	 */
+	public IIncomingPacket<L2GameClient> getExPacket()
+	{
+		return _exPacket;
+	}
+	
+	@Override
+	public void recycle()
+	{
+		if (_exPacket != null)
+		{
+			_exPacket.recycle();
+		}
+		_exIncomingPacket = null;
+		_exPacket = null;
+		_handle.recycle(this);
+	}
 }
@@ -41,14 +41,21 @@ import org.l2junity.gameserver.network.client.send.sayune.ExFlyMove;
 import org.l2junity.gameserver.network.client.send.sayune.ExFlyMoveBroadcast;
 import org.l2junity.gameserver.network.client.send.string.SystemMessageId;
 import org.l2junity.gameserver.util.Broadcast;
+import org.l2junity.network.IncomingPacketPool;
 import org.l2junity.network.PacketReader;
 
+import io.netty.util.Recycler.Handle;
+
 /**
  * This class ...
  * @version $Revision: 1.11.2.4.2.4 $ $Date: 2005/03/27 15:29:30 $
  */
 public class MoveBackwardToLocation implements IClientIncomingPacket
 {
+	public static final IncomingPacketPool<MoveBackwardToLocation> POOL = new IncomingPacketPool<>(MoveBackwardToLocation::new);
+	
+	private final Handle<MoveBackwardToLocation> _handle;
+	
 	// cdddddd
 	private int _targetX;
 	private int _targetY;
@@ -64,6 +71,11 @@ public class MoveBackwardToLocation implements IClientIncomingPacket
 	@SuppressWarnings("unused")
 	private int _curZ;
 	
+	private MoveBackwardToLocation(Handle<MoveBackwardToLocation> handle)
+	{
+		_handle = handle;
+	}
+	
 	@Override
 	public boolean read(L2GameClient client, PacketReader packet)
 	{
@@ -162,4 +174,10 @@ public class MoveBackwardToLocation implements IClientIncomingPacket
 			}
 		}
 	}
+	
+	@Override
+	public void recycle()
+	{
+		_handle.recycle(this);
+	}
 }
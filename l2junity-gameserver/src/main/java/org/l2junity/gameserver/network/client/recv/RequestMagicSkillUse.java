@@ -26,14 +26,26 @@ import org.l2junity.gameserver.model.skills.Skill;
 import org.l2junity.gameserver.network.client.L2GameClient;
 import org.l2junity.gameserver.network.client.send.ActionFailed;
 import org.l2junity.gameserver.network.client.send.string.SystemMessageId;
+import org.l2junity.network.IncomingPacketPool;
 import org.l2junity.network.PacketReader;
 
+import io.netty.util.Recycler.Handle;
+
 public final class RequestMagicSkillUse implements IClientIncomingPacket
 {
+	public static final IncomingPacketPool<RequestMagicSkillUse> POOL = new IncomingPacketPool<>(RequestMagicSkillUse::new);
+	
+	private final Handle<RequestMagicSkillUse> _handle;
+	
 	private int _magicId;
 	private boolean _ctrlPressed;
 	private boolean _shiftPressed;
 	
+	private RequestMagicSkillUse(Handle<RequestMagicSkillUse> handle)
+	{
+		_handle = handle;
+	}
+	
 	@Override
 	public boolean read(L2GameClient client, PacketReader packet)
 	{
@@ -91,4 +103,10 @@ public final class RequestMagicSkillUse implements IClientIncomingPacket
 		
 		activeChar.useMagic(skill, null, _ctrlPressed, _shiftPressed);
 	}
+	
+	@Override
+	public void recycle()
+	{
+		_handle.recycle(this);
+	}
 }
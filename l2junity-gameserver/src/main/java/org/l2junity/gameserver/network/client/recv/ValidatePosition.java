@@ -25,20 +25,32 @@ import org.l2junity.gameserver.model.zone.ZoneId;
 import org.l2junity.gameserver.network.client.L2GameClient;
 import org.l2junity.gameserver.network.client.send.GetOnVehicle;
 import org.l2junity.gameserver.network.client.send.ValidateLocation;
+import org.l2junity.network.IncomingPacketPool;
 import org.l2junity.network.PacketReader;
 
+import io.netty.util.Recycler.Handle;
+
 /**
  * This class ...
  * @version $Revision: 1.13.4.7 $ $Date: 2005/03/27 15:29:30 $
  */
 public class ValidatePosition implements IClientIncomingPacket
 {
+	public static final IncomingPacketPool<ValidatePosition> POOL = new IncomingPacketPool<>(ValidatePosition::new);
+	
+	private final Handle<ValidatePosition> _handle;
+	
 	private int _x;
 	private int _y;
 	private int _z;
 	private int _heading;
 	private int _data; // vehicle id
 	
+	private ValidatePosition(Handle<ValidatePosition> handle)
+	{
+		_handle = handle;
+	}
+	
 	@Override
 	public boolean read(L2GameClient client, PacketReader packet)
 	{
@@ -206,4 +218,10 @@ public class ValidatePosition implements IClientIncomingPacket
 		activeChar.setClientHeading(_heading); // No real need to validate heading.
 		activeChar.setLastServerPosition(realX, realY, realZ);
 	}
+	
+	@Override
+	public void recycle()
+	{
+		_handle.recycle(this);
+	}
 }
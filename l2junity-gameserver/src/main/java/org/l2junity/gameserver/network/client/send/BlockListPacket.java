@@ -18,8 +18,6 @@
  */
 package org.l2junity.gameserver.network.client.send;
 
-import java.util.List;
-
 import org.l2junity.gameserver.data.sql.impl.CharNameTable;
 import org.l2junity.gameserver.network.client.OutgoingPackets;
 import org.l2junity.network.PacketWriter;
@@ -29,9 +27,9 @@ import org.l2junity.network.PacketWriter;
  */
 public class BlockListPacket implements IClientOutgoingPacket
 {
-	private final List<Integer> _playersId;
+	private final int[] _playersId;
 	
-	public BlockListPacket(List<Integer> playersId)
+	public BlockListPacket(int[] playersId)
 	{
 		_playersId = playersId;
 	}
@@ -41,7 +39,7 @@ public class BlockListPacket implements IClientOutgoingPacket
 	{
 		OutgoingPackets.BLOCK_LIST.writeId(packet);
 		
-		packet.writeD(_playersId.size());
+		packet.writeD(_playersId.length);
 		for (int playerId : _playersId)
 		{
 			packet.writeS(CharNameTable.getInstance().getNameById(playerId));
@@ -18,29 +18,18 @@
  */
 package org.l2junity.gameserver.network.client.send;
 
-import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
-import java.util.LinkedList;
-import java.util.List;
-
 import org.l2junity.Config;
-import org.l2junity.DatabaseFactory;
-import org.l2junity.gameserver.data.sql.impl.ClanTable;
+import org.l2junity.gameserver.cache.CharSelectInfoCache;
 import org.l2junity.gameserver.data.xml.impl.ExperienceData;
 import org.l2junity.gameserver.model.CharSelectInfoPackage;
-import org.l2junity.gameserver.model.L2Clan;
 import org.l2junity.gameserver.model.entity.Hero;
 import org.l2junity.gameserver.model.itemcontainer.Inventory;
 import org.l2junity.gameserver.network.client.L2GameClient;
 import org.l2junity.gameserver.network.client.OutgoingPackets;
 import org.l2junity.network.PacketWriter;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 public class CharSelectionInfo implements IClientOutgoingPacket
 {
-	private static Logger _log = LoggerFactory.getLogger(CharSelectionInfo.class);
 	private final String _loginName;
 	private final int _sessionId;
 	private int _activeId;
@@ -67,7 +56,7 @@ public class CharSelectionInfo implements IClientOutgoingPacket
 	{
 		_sessionId = sessionId;
 		_loginName = loginName;
-		_characterPackages = loadCharacterSelectInfo(_loginName);
+		_characterPackages = CharSelectInfoCache.getInstance().getCharSelectInfo(_loginName);
 		_activeId = -1;
 	}
 	
@@ -75,7 +64,7 @@ public class CharSelectionInfo implements IClientOutgoingPacket
 	{
 		_sessionId = sessionId;
 		_loginName = loginName;
-		_characterPackages = loadCharacterSelectInfo(_loginName);
+		_characterPackages = CharSelectInfoCache.getInstance().getCharSelectInfo(_loginName);
 		_activeId = activeId;
 	}
 	
@@ -216,172 +205,6 @@ public class CharSelectionInfo implements IClientOutgoingPacket
 		return true;
 	}
 	
-	private static CharSelectInfoPackage[] loadCharacterSelectInfo(String loginName)
-	{
-		CharSelectInfoPackage charInfopackage;
-		List<CharSelectInfoPackage> characterList = new LinkedList<>();
-		
-		try (Connection con = DatabaseFactory.getInstance().getConnection();
-			PreparedStatement statement = con.prepareStatement("SELECT * FROM characters WHERE account_name=? ORDER BY createDate"))
-		{
-			statement.setString(1, loginName);
-			try (ResultSet charList = statement.executeQuery())
-			{
-				while (charList.next())// fills the package
-				{
-					charInfopackage = restoreChar(charList);
-					if (charInfopackage != null)
-					{
-						characterList.add(charInfopackage);
-					}
-				}
-			}
-			return characterList.toArray(new CharSelectInfoPackage[characterList.size()]);
-		}
-		catch (Exception e)
-		{
-			_log.warn("Could not restore char info: " + e.getMessage(), e);
-		}
-		return new CharSelectInfoPackage[0];
-	}
-	
-	private static void loadCharacterSubclassInfo(CharSelectInfoPackage charInfopackage, int ObjectId, int activeClassId)
-	{
-		try (Connection con = DatabaseFactory.getInstance().getConnection();
-			PreparedStatement statement = con.prepareStatement("SELECT exp, sp, level, vitality_points FROM character_subclasses WHERE charId=? && class_id=? ORDER BY charId"))
-		{
-			statement.setInt(1, ObjectId);
-			statement.setInt(2, activeClassId);
-			try (ResultSet charList = statement.executeQuery())
-			{
-				if (charList.next())
-				{
-					charInfopackage.setExp(charList.getLong("exp"));
-					charInfopackage.setSp(charList.getInt("sp"));
-					charInfopackage.setLevel(charList.getInt("level"));
-					charInfopackage.setVitalityPoints(charList.getInt("vitality_points"));
-				}
-			}
-		}
-		catch (Exception e)
-		{
-			_log.warn("Could not restore char subclass info: " + e.getMessage(), e);
-		}
-	}
-	
-	private static CharSelectInfoPackage restoreChar(ResultSet chardata) throws Exception
-	{
-		int objectId = chardata.getInt("charId");
-		String name = chardata.getString("char_name");
-		
-		// See if the char must be deleted
-		long deletetime = chardata.getLong("deletetime");
-		if (deletetime > 0)
-		{
-			if (System.currentTimeMillis() > deletetime)
-			{
-				L2Clan clan = ClanTable.getInstance().getClan(chardata.getInt("clanid"));
-				if (clan != null)
-				{
-					clan.removeClanMember(objectId, 0);
-				}
-				
-				L2GameClient.deleteCharByObjId(objectId);
-				return null;
-			}
-		}
-		
-		final CharSelectInfoPackage charInfopackage = new CharSelectInfoPackage(objectId, name);
-		charInfopackage.setAccessLevel(chardata.getInt("accesslevel"));
-		charInfopackage.setLevel(chardata.getInt("level"));
-		charInfopackage.setMaxHp(chardata.getInt("maxhp"));
-		charInfopackage.setCurrentHp(chardata.getDouble("curhp"));
-		charInfopackage.setMaxMp(chardata.getInt("maxmp"));
-		charInfopackage.setCurrentMp(chardata.getDouble("curmp"));
-		charInfopackage.setReputation(chardata.getInt("reputation"));
-		charInfopackage.setPkKills(chardata.getInt("pkkills"));
-		charInfopackage.setPvPKills(chardata.getInt("pvpkills"));
-		charInfopackage.setFace(chardata.getInt("face"));
-		charInfopackage.setHairStyle(chardata.getInt("hairstyle"));
-		charInfopackage.setHairColor(chardata.getInt("haircolor"));
-		charInfopackage.setSex(chardata.getInt("sex"));
-		
-		charInfopackage.setExp(chardata.getLong("exp"));
-		charInfopackage.setSp(chardata.getLong("sp"));
-		charInfopackage.setVitalityPoints(chardata.getInt("vitality_points"));
-		charInfopackage.setClanId(chardata.getInt("clanid"));
-		
-		charInfopackage.setRace(chardata.getInt("race"));
-		
-		final int baseClassId = chardata.getInt("base_class");
-		final int activeClassId = chardata.getInt("classid");
-		
-		charInfopackage.setX(chardata.getInt("x"));
-		charInfopackage.setY(chardata.getInt("y"));
-		charInfopackage.setZ(chardata.getInt("z"));
-		
-		if (Config.L2JMOD_MULTILANG_ENABLE)
-		{
-			String lang = chardata.getString("language");
-			if (!Config.L2JMOD_MULTILANG_ALLOWED.contains(lang))
-			{
-				lang = Config.L2JMOD_MULTILANG_DEFAULT;
-			}
-			charInfopackage.setHtmlPrefix("data/lang/" + lang + "/");
-		}
-		
-		// if is in subclass, load subclass exp, sp, lvl info
-		if (baseClassId != activeClassId)
-		{
-			loadCharacterSubclassInfo(charInfopackage, objectId, activeClassId);
-		}
-		
-		charInfopackage.setClassId(activeClassId);
-		
-		// Get the augmentation id for equipped weapon
-		int weaponObjId = charInfopackage.getPaperdollObjectId(Inventory.PAPERDOLL_RHAND);
-		if (weaponObjId < 1)
-		{
-			weaponObjId = charInfopackage.getPaperdollObjectId(Inventory.PAPERDOLL_RHAND);
-		}
-		
-		if (weaponObjId > 0)
-		{
-			try (Connection con = DatabaseFactory.getInstance().getConnection();
-				PreparedStatement statement = con.prepareStatement("SELECT augAttributes FROM item_attributes WHERE itemId=?"))
-			{
-				statement.setInt(1, weaponObjId);
-				try (ResultSet result = statement.executeQuery())
-				{
-					if (result.next())
-					{
-						int augment = result.getInt("augAttributes");
-						charInfopackage.setAugmentationId(augment == -1 ? 0 : augment);
-					}
-				}
-			}
-			catch (Exception e)
-			{
-				_log.warn("Could not restore augmentation info: " + e.getMessage(), e);
-			}
-		}
-		
-		// Check if the base class is set to zero and also doesn't match with the current active class, otherwise send the base class ID. This prevents chars created before base class was introduced from being displayed incorrectly.
-		if ((baseClassId == 0) && (activeClassId > 0))
-		{
-			charInfopackage.setBaseClassId(activeClassId);
-		}
-		else
-		{
-			charInfopackage.setBaseClassId(baseClassId);
-		}
-		
-		charInfopackage.setDeleteTimer(deletetime);
-		charInfopackage.setLastAccess(chardata.getLong("lastAccess"));
-		charInfopackage.setNoble(chardata.getInt("nobless") == 1);
-		return charInfopackage;
-	}
-	
 	@Override
 	public int[] getPaperdollOrderVisualId()
 	{
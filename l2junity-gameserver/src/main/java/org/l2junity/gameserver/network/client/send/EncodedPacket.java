@@ -0,0 +1,97 @@
+/*
+ * Copyright (C) 2004-2016 L2J Unity
+ * 
+ * This file is part of L2J Unity.
+ * 
+ * L2J Unity is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * L2J Unity is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.l2junity.gameserver.network.client.send;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
+import java.nio.ByteOrder;
+
+import org.l2junity.gameserver.model.actor.instance.PlayerInstance;
+import org.l2junity.network.PacketWriter;
+
+/**
+ * Holds the already written bytes of a packet that doesn't depend on the receiving client.<br>
+ * Broadcasting it to many players writes the packet only once, every client just copies the bytes.
+ */
+public final class EncodedPacket implements IClientOutgoingPacket
+{
+	private final IClientOutgoingPacket _packet;
+	private final byte[] _data;
+	
+	public EncodedPacket(IClientOutgoingPacket packet)
+	{
+		_packet = packet;
+		
+		final ByteBuf buffer = Unpooled.buffer();
+		try
+		{
+			_data = packet.write(new PacketWriter(buffer.order(ByteOrder.LITTLE_ENDIAN))) ? getBytes(buffer) : null;
+		}
+		finally
+		{
+			buffer.release();
+		}
+	}
+	
+	private static byte[] getBytes(ByteBuf buffer)
+	{
+		final byte[] data = new byte[buffer.readableBytes()];
+		buffer.getBytes(buffer.readerIndex(), data);
+		return data;
+	}
+	
+	/**
+	 * @return the encoded size in bytes
+	 */
+	public int getSize()
+	{
+		return _data != null ? _data.length : 0;
+	}
+	
+	@Override
+	public boolean write(PacketWriter packet)
+	{
+		if (_data == null)
+		{
+			return false;
+		}
+		
+		packet.writeB(_data);
+		return true;
+	}
+	
+	@Override
+	public void runImpl(PlayerInstance player)
+	{
+		_packet.runImpl(player);
+	}
+	
+	@Override
+	public boolean canBeDropped(PlayerInstance receiver)
+	{
+		return _packet.canBeDropped(receiver);
+	}
+	
+	@Override
+	public String toString()
+	{
+		return getClass().getSimpleName() + "[" + _packet + "]";
+	}
+}
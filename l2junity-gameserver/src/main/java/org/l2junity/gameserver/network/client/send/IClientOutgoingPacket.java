@@ -18,6 +18,7 @@
  */
 package org.l2junity.gameserver.network.client.send;
 
+import org.l2junity.gameserver.model.actor.Summon;
 import org.l2junity.gameserver.model.actor.instance.PlayerInstance;
 import org.l2junity.gameserver.model.interfaces.IUpdateTypeComponent;
 import org.l2junity.gameserver.model.itemcontainer.Inventory;
@@ -131,6 +132,33 @@ public interface IClientOutgoingPacket extends IOutgoingPacket
 	
 	}
 	
+	/**
+	 * Tells whether this packet can be left out when the receiving client is not reading fast enough.<br>
+	 * Only updates the client gets again soon anyway should say so, the rest is always sent.
+	 * @param receiver the player of the receiving client, may be {@code null}
+	 * @return {@code true} if the packet can be dropped for a slow client
+	 */
+	default boolean canBeDropped(PlayerInstance receiver)
+	{
+		return false;
+	}
+	
+	/**
+	 * @param receiver
+	 * @param objectId
+	 * @return {@code true} if the object is the receiver itself, its target or one of its summons
+	 */
+	static boolean isWatchedBy(PlayerInstance receiver, int objectId)
+	{
+		if ((objectId == receiver.getObjectId()) || (objectId == receiver.getTargetId()))
+		{
+			return true;
+		}
+		
+		final Summon pet = receiver.getPet();
+		return ((pet != null) && (pet.getObjectId() == objectId)) || receiver.getServitors().containsKey(objectId);
+	}
+	
 	default void writeOptionalD(PacketWriter packet, int value)
 	{
 		if (value >= Short.MAX_VALUE)
@@ -18,7 +18,9 @@
  */
 package org.l2junity.gameserver.network.client.send;
 
+import org.l2junity.Config;
 import org.l2junity.gameserver.model.actor.Creature;
+import org.l2junity.gameserver.model.actor.instance.PlayerInstance;
 import org.l2junity.gameserver.network.client.OutgoingPackets;
 import org.l2junity.network.PacketWriter;
 
@@ -53,4 +55,11 @@ public final class MoveToLocation implements IClientOutgoingPacket
 		packet.writeD(_z);
 		return true;
 	}
+	
+	@Override
+	public boolean canBeDropped(PlayerInstance receiver)
+	{
+		// The next move of a distant object corrects its position anyway.
+		return (receiver != null) && !IClientOutgoingPacket.isWatchedBy(receiver, _charObjId) && !receiver.isInsideRadius(_x, _y, _z, Config.SLOW_CLIENT_DROP_RADIUS, false, false);
+	}
 }
@@ -24,6 +24,7 @@ import java.util.Map.Entry;
 
 import org.l2junity.gameserver.enums.StatusUpdateType;
 import org.l2junity.gameserver.model.WorldObject;
+import org.l2junity.gameserver.model.actor.instance.PlayerInstance;
 import org.l2junity.gameserver.network.client.OutgoingPackets;
 import org.l2junity.network.PacketWriter;
 
@@ -89,4 +90,11 @@ public final class StatusUpdate implements IClientOutgoingPacket
 		}
 		return true;
 	}
+	
+	@Override
+	public boolean canBeDropped(PlayerInstance receiver)
+	{
+		// Bars of objects the player does not look at are refreshed by their next update.
+		return (receiver != null) && (_casterObjectId != receiver.getObjectId()) && !IClientOutgoingPacket.isWatchedBy(receiver, _objectId);
+	}
 }
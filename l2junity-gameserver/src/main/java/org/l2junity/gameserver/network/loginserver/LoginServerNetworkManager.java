@@ -21,7 +21,6 @@ package org.l2junity.gameserver.network.loginserver;
 import io.netty.bootstrap.Bootstrap;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelOption;
-import io.netty.channel.socket.nio.NioSocketChannel;
 
 import org.l2junity.Config;
 import org.l2junity.gameserver.network.EventLoopGroupManager;
@@ -44,7 +43,7 @@ public class LoginServerNetworkManager
 		//@formatter:off
 		_bootstrap = new Bootstrap()
 			.group(EventLoopGroupManager.getInstance().getWorkerGroup())
-			.channel(NioSocketChannel.class)
+			.channel(EventLoopGroupManager.getInstance().getTransport().getChannelClass())
 			.option(ChannelOption.SO_KEEPALIVE, true)
 			.handler(new LoginServerInitializer());
 		//@formatter:on
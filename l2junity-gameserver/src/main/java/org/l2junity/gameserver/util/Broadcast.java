@@ -18,13 +18,19 @@
  */
 package org.l2junity.gameserver.util;
 
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import org.l2junity.commons.util.LatencyHistogram;
 import org.l2junity.gameserver.enums.ChatType;
+import org.l2junity.gameserver.instancemanager.MapRegionManager;
 import org.l2junity.gameserver.model.World;
 import org.l2junity.gameserver.model.actor.Creature;
 import org.l2junity.gameserver.model.actor.Summon;
 import org.l2junity.gameserver.model.actor.instance.PlayerInstance;
 import org.l2junity.gameserver.network.client.send.CharInfo;
 import org.l2junity.gameserver.network.client.send.CreatureSay;
+import org.l2junity.gameserver.network.client.send.EncodedPacket;
 import org.l2junity.gameserver.network.client.send.ExShowScreenMessage;
 import org.l2junity.gameserver.network.client.send.IClientOutgoingPacket;
 import org.l2junity.gameserver.network.client.send.RelationChanged;
@@ -39,6 +45,9 @@ public final class Broadcast
 {
 	private static Logger _log = LoggerFactory.getLogger(Broadcast.class);
 	
+	private static final LatencyHistogram REGION_BROADCAST_TIME = new LatencyHistogram();
+	private static final LatencyHistogram REGION_BROADCAST_RECIPIENTS = new LatencyHistogram();
+	
 	/**
 	 * Send a packet to all L2PcInstance in the _KnownPlayers of the L2Character that have the Character targeted.<BR>
 	 * <B><U> Concept</U> :</B><BR>
@@ -162,6 +171,61 @@ public final class Broadcast
 		World.getInstance().forEachVisibleObjectInRange(character, PlayerInstance.class, radius, mov::sendTo);
 	}
 	
+	/**
+	 * Send a packet to the online players of a map region, the packet is written only once for all of them.<br>
+	 * The time spent and the amount of players reached are kept, see {@link #getRegionBroadcastStats()}.
+	 * @param locId the map region location id
+	 * @param instanceId the instance id, 0 for the normal world
+	 * @param packet the packet, it must not depend on the receiving player
+	 * @param filter the players that should receive the packet
+	 */
+	public static void toPlayersInRegion(int locId, int instanceId, IClientOutgoingPacket packet, Predicate<PlayerInstance> filter)
+	{
+		final long start = System.nanoTime();
+		final EncodedPacket encodedPacket = new EncodedPacket(packet);
+		int recipients = 0;
+		for (PlayerInstance player : MapRegionManager.getInstance().getPlayersInRegion(locId, instanceId))
+		{
+			if (filter.test(player))
+			{
+				player.sendPacket(encodedPacket);
+				recipients++;
+			}
+		}
+		REGION_BROADCAST_TIME.recordSince(start);
+		REGION_BROADCAST_RECIPIENTS.record(recipients);
+	}
+	
+	/**
+	 * Send a packet to all online players passing the filter, the packet is written only once for all of them.
+	 * @param packet the packet, it must not depend on the receiving player
+	 * @param filter the players that should receive the packet
+	 */
+	public static void toAllOnlinePlayers(IClientOutgoingPacket packet, Predicate<PlayerInstance> filter)
+	{
+		final EncodedPacket encodedPacket = new EncodedPacket(packet);
+		for (PlayerInstance player : World.getInstance().getPlayers())
+		{
+			if (player.isOnline() && filter.test(player))
+			{
+				player.sendPacket(encodedPacket);
+			}
+		}
+	}
+	
+	/**
+	 * @return the region broadcast time (microseconds) and recipients per message
+	 */
+	public static String[] getRegionBroadcastStats()
+	{
+		return new String[]
+		{
+			"Region Broadcast:",
+			" |- Time (us):  " + REGION_BROADCAST_TIME.toString(TimeUnit.MICROSECONDS),
+			" |- Recipients: " + REGION_BROADCAST_RECIPIENTS,
+		};
+	}
+	
 	/**
 	 * Send a packet to all L2PcInstance present in the world.<BR>
 	 * <B><U> Concept</U> :</B><BR>
@@ -0,0 +1,382 @@
+/*
+ * Copyright (C) 2004-2016 L2J Unity
+ * 
+ * This file is part of L2J Unity.
+ * 
+ * L2J Unity is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * L2J Unity is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.l2junity.tools.dropsimulator;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.l2junity.Config;
+import org.l2junity.Server;
+import org.l2junity.commons.util.Rnd;
+import org.l2junity.gameserver.GameTimeController;
+import org.l2junity.gameserver.data.xml.impl.NpcData;
+import org.l2junity.gameserver.data.xml.impl.SkillData;
+import org.l2junity.gameserver.datatables.ItemTable;
+import org.l2junity.gameserver.model.actor.Attackable;
+import org.l2junity.gameserver.model.actor.Creature;
+import org.l2junity.gameserver.model.actor.instance.L2MonsterInstance;
+import org.l2junity.gameserver.model.actor.instance.L2RaidBossInstance;
+import org.l2junity.gameserver.model.actor.instance.PlayerInstance;
+import org.l2junity.gameserver.model.actor.templates.L2NpcTemplate;
+import org.l2junity.gameserver.model.drops.DropListScope;
+import org.l2junity.gameserver.model.holders.ItemHolder;
+import org.l2junity.gameserver.model.items.L2Item;
+import org.l2junity.gameserver.model.items.Weapon;
+import org.l2junity.gameserver.model.items.instance.ItemInstance;
+
+/**
+ * Runs the drop calculation of NPCs for a large number of simulated kills, without a database or running server.<br>
+ * It loads the configuration, items, skills and NPCs from the game directory, then reports how often each item dropped and how many kills per second the drop calculation handles.<br>
+ * Kills are split into fixed chunks each seeded from the given seed, so a run gives the same drops for the same seed whatever the number of threads.
+ * <p>
+ * Usage: {@code DropSimulator -npc <id>[,<id>...] [-kills <count>] [-level <killer level>] [-seed <seed>] [-threads <count>] [-champion]}
+ * </p>
+ */
+public class DropSimulator
+{
+	private static final int KILLS_PER_CHUNK = 1 << 16;
+	/** Object ids are never taken from the id factory, the simulated creatures are not part of the world. */
+	private static final int VICTIM_OBJECT_ID = 1;
+	private static final int KILLER_OBJECT_ID = 2;
+	
+	private final L2NpcTemplate _template;
+	private final Attackable _victim;
+	private final Creature _killer;
+	
+	public DropSimulator(L2NpcTemplate template, int killerLevel, boolean champion)
+	{
+		_template = template;
+		_victim = template.isType("L2RaidBoss") ? new L2RaidBossInstance(VICTIM_OBJECT_ID, template) : new L2MonsterInstance(VICTIM_OBJECT_ID, template);
+		_victim.setChampion(champion);
+		_killer = new SimulatedKiller(template, killerLevel);
+	}
+	
+	/**
+	 * @param kills the number of kills to simulate
+	 * @param seed the seed of the first chunk of kills
+	 * @param executor the executor running the chunks
+	 * @return the merged outcome of all kills
+	 * @throws Exception if a chunk failed
+	 */
+	public DropTally simulate(long kills, long seed, ExecutorService executor) throws Exception
+	{
+		final List<Future<DropTally>> chunks = new ArrayList<>();
+		for (long start = 0, chunk = 0; start < kills; start += KILLS_PER_CHUNK, chunk++)
+		{
+			final long chunkSeed = seed + chunk;
+			final long chunkKills = Math.min(KILLS_PER_CHUNK, kills - start);
+			chunks.add(executor.submit(() -> simulateChunk(chunkKills, chunkSeed)));
+		}
+		
+		final DropTally total = new DropTally();
+		for (Future<DropTally> chunk : chunks)
+		{
+			total.merge(chunk.get());
+		}
+		return total;
+	}
+	
+	private DropTally simulateChunk(long kills, long seed)
+	{
+		Rnd.setSeed(seed);
+		final DropTally tally = new DropTally();
+		final long start = System.nanoTime();
+		for (long i = 0; i < kills; i++)
+		{
+			tally.add(DropListScope.DEATH, _template.calculateDrops(DropListScope.DEATH, _victim, _killer));
+			tally.add(DropListScope.CORPSE, _template.calculateDrops(DropListScope.CORPSE, _victim, _killer));
+		}
+		tally._kills = kills;
+		tally._nanos = System.nanoTime() - start;
+		return tally;
+	}
+	
+	/**
+	 * The outcome of a number of simulated kills.
+	 */
+	public static class DropTally
+	{
+		private final Map<DropListScope, Map<Integer, ItemTally>> _items = new TreeMap<>();
+		long _kills;
+		/** Time spent calculating drops, summed over all threads. */
+		long _nanos;
+		
+		void add(DropListScope scope, Collection<ItemHolder> drops)
+		{
+			if (drops == null)
+			{
+				return;
+			}
+			
+			final Map<Integer, ItemTally> items = _items.computeIfAbsent(scope, k -> new TreeMap<>());
+			for (ItemHolder drop : drops)
+			{
+				items.computeIfAbsent(drop.getId(), k -> new ItemTally()).add(drop.getCount());
+			}
+		}
+		
+		void merge(DropTally other)
+		{
+			other._items.forEach((scope, items) ->
+			{
+				final Map<Integer, ItemTally> merged = _items.computeIfAbsent(scope, k -> new TreeMap<>());
+				items.forEach((itemId, item) -> merged.computeIfAbsent(itemId, k -> new ItemTally()).merge(item));
+			});
+			_kills += other._kills;
+			_nanos += other._nanos;
+		}
+		
+		public long getKills()
+		{
+			return _kills;
+		}
+		
+		public long getNanos()
+		{
+			return _nanos;
+		}
+		
+		public Map<DropListScope, Map<Integer, ItemTally>> getItems()
+		{
+			return _items;
+		}
+	}
+	
+	/**
+	 * How often one item dropped and in which amounts.
+	 */
+	public static class ItemTally
+	{
+		private long _drops;
+		private long _total;
+		private long _min = Long.MAX_VALUE;
+		private long _max;
+		
+		void add(long count)
+		{
+			_drops++;
+			_total += count;
+			_min = Math.min(_min, count);
+			_max = Math.max(_max, count);
+		}
+		
+		void merge(ItemTally other)
+		{
+			_drops += other._drops;
+			_total += other._total;
+			_min = Math.min(_min, other._min);
+			_max = Math.max(_max, other._max);
+		}
+		
+		public long getDrops()
+		{
+			return _drops;
+		}
+		
+		public long getTotal()
+		{
+			return _total;
+		}
+		
+		public long getMin()
+		{
+			return _min;
+		}
+		
+		public long getMax()
+		{
+			return _max;
+		}
+	}
+	
+	/**
+	 * The killer only needs a level for the drop calculation.
+	 */
+	private static final class SimulatedKiller extends Creature
+	{
+		private final int _level;
+		
+		SimulatedKiller(L2NpcTemplate template, int level)
+		{
+			super(KILLER_OBJECT_ID, template);
+			_level = level;
+		}
+		
+		@Override
+		public int getId()
+		{
+			return 0;
+		}
+		
+		@Override
+		public int getLevel()
+		{
+			return _level;
+		}
+		
+		@Override
+		public boolean isAutoAttackable(Creature attacker)
+		{
+			return false;
+		}
+		
+		@Override
+		public void sendInfo(PlayerInstance activeChar)
+		{
+		}
+		
+		@Override
+		public void updateAbnormalVisualEffects()
+		{
+		}
+		
+		@Override
+		public ItemInstance getActiveWeaponInstance()
+		{
+			return null;
+		}
+		
+		@Override
+		public Weapon getActiveWeaponItem()
+		{
+			return null;
+		}
+		
+		@Override
+		public ItemInstance getSecondaryWeaponInstance()
+		{
+			return null;
+		}
+		
+		@Override
+		public L2Item getSecondaryWeaponItem()
+		{
+			return null;
+		}
+	}
+	
+	private static void report(L2NpcTemplate template, int killerLevel, long seed, int threads, long wallNanos, DropTally tally)
+	{
+		final double kills = tally.getKills();
+		System.out.println(String.format("%s (%d) level %d, %d kills by a level %d killer, seed %d", template.getName(), template.getId(), template.getLevel(), tally.getKills(), killerLevel, seed));
+		for (DropListScope scope : DropListScope.values())
+		{
+			final Map<Integer, ItemTally> items = tally.getItems().get(scope);
+			if (items == null)
+			{
+				continue;
+			}
+			
+			System.out.println(" " + scope + ":");
+			items.forEach((itemId, item) ->
+			{
+				final L2Item itemTemplate = ItemTable.getInstance().getTemplate(itemId);
+				final String name = itemTemplate != null ? itemTemplate.getName() : "?";
+				System.out.println(String.format("  %-8d %-40s chance %9.4f%%  per kill %12.4f  per drop %12.2f  min %d max %d", itemId, name, (item.getDrops() * 100) / kills, item.getTotal() / kills, item.getTotal() / (double) item.getDrops(), item.getMin(), item.getMax()));
+			});
+		}
+		System.out.println(String.format(" %d kills in %d ms on %d threads: %.0f kills/s, %.0f ns per kill", tally.getKills(), TimeUnit.NANOSECONDS.toMillis(wallNanos), threads, (kills * TimeUnit.SECONDS.toNanos(1)) / wallNanos, tally.getNanos() / kills));
+		System.out.println();
+	}
+	
+	public static void main(String[] args) throws Exception
+	{
+		final List<Integer> npcIds = new ArrayList<>();
+		long kills = 1_000_000;
+		int killerLevel = -1;
+		long seed = 1;
+		int threads = Runtime.getRuntime().availableProcessors();
+		boolean champion = false;
+		
+		for (int i = 0; i < args.length; i++)
+		{
+			switch (args[i])
+			{
+				case "-npc":
+					for (String id : args[++i].split(","))
+					{
+						npcIds.add(Integer.parseInt(id));
+					}
+					break;
+				case "-kills":
+					kills = Long.parseLong(args[++i]);
+					break;
+				case "-level":
+					killerLevel = Integer.parseInt(args[++i]);
+					break;
+				case "-seed":
+					seed = Long.parseLong(args[++i]);
+					break;
+				case "-threads":
+					threads = Integer.parseInt(args[++i]);
+					break;
+				case "-champion":
+					champion = true;
+					break;
+				default:
+					System.out.println("Unknown argument: " + args[i]);
+					return;
+			}
+		}
+		
+		if (npcIds.isEmpty())
+		{
+			System.out.println("Usage: DropSimulator -npc <id>[,<id>...] [-kills <count>] [-level <killer level>] [-seed <seed>] [-threads <count>] [-champion]");
+			return;
+		}
+		
+		Server.serverMode = Server.MODE_GAMESERVER;
+		Config.load();
+		GameTimeController.init();
+		SkillData.getInstance();
+		ItemTable.getInstance();
+		NpcData.getInstance();
+		
+		final ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try
+		{
+			for (int npcId : npcIds)
+			{
+				final L2NpcTemplate template = NpcData.getInstance().getTemplate(npcId);
+				if (template == null)
+				{
+					System.out.println("Npc " + npcId + " does not exist.");
+					continue;
+				}
+				
+				final int level = killerLevel > 0 ? killerLevel : template.getLevel();
+				final DropSimulator simulator = new DropSimulator(template, level, champion);
+				final long start = System.nanoTime();
+				final DropTally tally = simulator.simulate(kills, seed, executor);
+				report(template, level, seed, threads, System.nanoTime() - start, tally);
+			}
+		}
+		finally
+		{
+			executor.shutdown();
+		}
+	}
+}
@@ -0,0 +1,294 @@
+/*
+ * Copyright (C) 2004-2016 L2J Unity
+ * 
+ * This file is part of L2J Unity.
+ * 
+ * L2J Unity is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * L2J Unity is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.l2junity.tools.olympiadsimulator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.l2junity.Config;
+import org.l2junity.Server;
+import org.l2junity.commons.util.Rnd;
+import org.l2junity.gameserver.data.xml.impl.CategoryData;
+import org.l2junity.gameserver.enums.CategoryType;
+import org.l2junity.gameserver.model.StatsSet;
+import org.l2junity.gameserver.model.olympiad.CompetitionType;
+import org.l2junity.gameserver.model.olympiad.Olympiad;
+import org.l2junity.gameserver.model.olympiad.OlympiadGameNormal;
+import org.l2junity.gameserver.model.olympiad.OlympiadRanking;
+
+/**
+ * Plays a whole Olympiad period between generated noblesse, without a database or running server, then computes the period end ranking and heroes.<br>
+ * Matches are not fought in stadiums, the winner is drawn from a hidden rating of each noblesse, but points and match counts follow the same rules as {@link OlympiadGameNormal}.<br>
+ * Every round pairs all noblesse and splits the pairs between a number of concurrent games, each seeded from the given seed, so a run gives the same results for the same seed whatever the number of threads.
+ * <p>
+ * Usage: {@code OlympiadSimulator [-nobles <count>] [-matches <count>] [-games <count>] [-seed <seed>] [-threads <count>] [-rankings <count>]}
+ * </p>
+ */
+public class OlympiadSimulator
+{
+	/** Chance of a match ending in a tie, in percent. */
+	private static final int TIE_CHANCE = 2;
+	
+	private final Map<Integer, StatsSet> _nobles = new HashMap<>();
+	private final StatsSet[] _stats;
+	private final int[] _ratings;
+	private final Integer[] _heroClassIds;
+	
+	public OlympiadSimulator(int nobles, Integer[] heroClassIds, long seed)
+	{
+		_heroClassIds = heroClassIds;
+		_stats = new StatsSet[nobles];
+		_ratings = new int[nobles];
+		
+		Rnd.setSeed(seed);
+		for (int i = 0; i < nobles; i++)
+		{
+			final int charId = i + 1;
+			final StatsSet nobleInfo = new StatsSet();
+			nobleInfo.set(Olympiad.CLASS_ID, heroClassIds[Rnd.get(heroClassIds.length)]);
+			nobleInfo.set(Olympiad.CHAR_NAME, "Noble" + charId);
+			nobleInfo.set(Olympiad.POINTS, Olympiad.DEFAULT_POINTS);
+			nobleInfo.set(Olympiad.COMP_DONE, 0);
+			nobleInfo.set(Olympiad.COMP_WON, 0);
+			nobleInfo.set(Olympiad.COMP_LOST, 0);
+			nobleInfo.set(Olympiad.COMP_DRAWN, 0);
+			nobleInfo.set(Olympiad.COMP_DONE_WEEK, 0);
+			nobleInfo.set(Olympiad.COMP_DONE_WEEK_CLASSED, 0);
+			nobleInfo.set(Olympiad.COMP_DONE_WEEK_NON_CLASSED, 0);
+			nobleInfo.set(Olympiad.COMP_DONE_WEEK_TEAM, 0);
+			_nobles.put(charId, nobleInfo);
+			_stats[i] = nobleInfo;
+			_ratings[i] = 1 + Rnd.get(100);
+		}
+	}
+	
+	/**
+	 * @param rounds the number of rounds, each one a match for every noblesse
+	 * @param games the number of games played at the same time
+	 * @param seed the seed of the first round
+	 * @param executor the executor running the games
+	 * @return the number of matches played
+	 * @throws Exception if a game failed
+	 */
+	public long simulate(int rounds, int games, long seed, ExecutorService executor) throws Exception
+	{
+		final int[] order = new int[_stats.length];
+		for (int i = 0; i < order.length; i++)
+		{
+			order[i] = i;
+		}
+		
+		long matches = 0;
+		for (int round = 0; round < rounds; round++)
+		{
+			// Shuffle on the calling thread so the pairs only depend on the seed.
+			Rnd.setSeed(seed + round);
+			for (int i = order.length - 1; i > 0; i--)
+			{
+				final int j = Rnd.get(i + 1);
+				final int tmp = order[i];
+				order[i] = order[j];
+				order[j] = tmp;
+			}
+			
+			// Every noblesse is in one pair at most, so the games of a round never touch the same stats.
+			final int pairs = order.length / 2;
+			final int pairsPerGame = (pairs + games - 1) / games;
+			final CompetitionType type = (round & 1) == 0 ? CompetitionType.CLASSED : CompetitionType.NON_CLASSED;
+			final List<Callable<Void>> tasks = new ArrayList<>(games);
+			for (int game = 0; (game * pairsPerGame) < pairs; game++)
+			{
+				final int from = game * pairsPerGame;
+				final int to = Math.min(pairs, from + pairsPerGame);
+				final long gameSeed = ((seed + round) * 31) + game;
+				tasks.add(() ->
+				{
+					playGame(order, from, to, type, gameSeed);
+					return null;
+				});
+			}
+			for (Future<Void> task : executor.invokeAll(tasks))
+			{
+				task.get();
+			}
+			matches += pairs;
+		}
+		return matches;
+	}
+	
+	private void playGame(int[] order, int fromPair, int toPair, CompetitionType type, long seed)
+	{
+		Rnd.setSeed(seed);
+		final int divider = type == CompetitionType.CLASSED ? Config.ALT_OLY_DIVIDER_CLASSED : Config.ALT_OLY_DIVIDER_NON_CLASSED;
+		final String weekCounter = type == CompetitionType.CLASSED ? Olympiad.COMP_DONE_WEEK_CLASSED : Olympiad.COMP_DONE_WEEK_NON_CLASSED;
+		for (int pair = fromPair; pair < toPair; pair++)
+		{
+			final int one = order[pair * 2];
+			final int two = order[(pair * 2) + 1];
+			final StatsSet playerOne = _stats[one];
+			final StatsSet playerTwo = _stats[two];
+			final int playerOnePoints = playerOne.getInt(Olympiad.POINTS);
+			final int playerTwoPoints = playerTwo.getInt(Olympiad.POINTS);
+			
+			if (Rnd.get(100) < TIE_CHANCE)
+			{
+				addStat(playerOne, Olympiad.POINTS, -OlympiadGameNormal.getTiePoints(playerOnePoints, divider));
+				addStat(playerTwo, Olympiad.POINTS, -OlympiadGameNormal.getTiePoints(playerTwoPoints, divider));
+				addStat(playerOne, Olympiad.COMP_DRAWN, 1);
+				addStat(playerTwo, Olympiad.COMP_DRAWN, 1);
+			}
+			else
+			{
+				final boolean playerOneWins = Rnd.get(_ratings[one] + _ratings[two]) < _ratings[one];
+				final StatsSet winner = playerOneWins ? playerOne : playerTwo;
+				final StatsSet loser = playerOneWins ? playerTwo : playerOne;
+				final int pointDiff = OlympiadGameNormal.getPointDiff(playerOnePoints, playerTwoPoints, divider);
+				addStat(winner, Olympiad.POINTS, pointDiff);
+				addStat(loser, Olympiad.POINTS, -pointDiff);
+				addStat(winner, Olympiad.COMP_WON, 1);
+				addStat(loser, Olympiad.COMP_LOST, 1);
+			}
+			
+			for (StatsSet nobleInfo : new StatsSet[]
+			{
+				playerOne,
+				playerTwo
+			})
+			{
+				addStat(nobleInfo, Olympiad.COMP_DONE, 1);
+				addStat(nobleInfo, Olympiad.COMP_DONE_WEEK, 1);
+				addStat(nobleInfo, weekCounter, 1);
+			}
+		}
+	}
+	
+	private static void addStat(StatsSet nobleInfo, String stat, int value)
+	{
+		nobleInfo.set(stat, nobleInfo.getInt(stat) + value);
+	}
+	
+	public Map<Integer, StatsSet> getNobles()
+	{
+		return _nobles;
+	}
+	
+	public static void main(String[] args) throws Exception
+	{
+		int nobles = 10_000;
+		long matches = 1_000_000;
+		int games = 160;
+		long seed = 1;
+		int threads = Runtime.getRuntime().availableProcessors();
+		int rankings = 10;
+		
+		for (int i = 0; i < args.length; i++)
+		{
+			switch (args[i])
+			{
+				case "-nobles":
+					nobles = Integer.parseInt(args[++i]);
+					break;
+				case "-matches":
+					matches = Long.parseLong(args[++i]);
+					break;
+				case "-games":
+					games = Integer.parseInt(args[++i]);
+					break;
+				case "-seed":
+					seed = Long.parseLong(args[++i]);
+					break;
+				case "-threads":
+					threads = Integer.parseInt(args[++i]);
+					break;
+				case "-rankings":
+					rankings = Integer.parseInt(args[++i]);
+					break;
+				default:
+					System.out.println("Unknown argument: " + args[i]);
+					System.out.println("Usage: OlympiadSimulator [-nobles <count>] [-matches <count>] [-games <count>] [-seed <seed>] [-threads <count>] [-rankings <count>]");
+					return;
+			}
+		}
+		
+		if ((nobles < 2) || (games < 1) || (rankings < 1))
+		{
+			System.out.println("At least 2 nobles, 1 game and 1 ranking are needed.");
+			return;
+		}
+		
+		Server.serverMode = Server.MODE_GAMESERVER;
+		Config.load();
+		final List<Integer> heroClassIds = new ArrayList<>(CategoryData.getInstance().getCategoryByType(CategoryType.AWAKEN_GROUP));
+		Collections.sort(heroClassIds);
+		
+		long start = System.nanoTime();
+		final OlympiadSimulator simulator = new OlympiadSimulator(nobles, heroClassIds.toArray(new Integer[heroClassIds.size()]), seed);
+		final long setupNanos = System.nanoTime() - start;
+		
+		final int rounds = (int) Math.max(1, matches / (nobles / 2));
+		final ExecutorService executor = Executors.newFixedThreadPool(threads);
+		final long played;
+		final long matchNanos;
+		try
+		{
+			start = System.nanoTime();
+			played = simulator.simulate(rounds, games, seed, executor);
+			matchNanos = System.nanoTime() - start;
+		}
+		finally
+		{
+			executor.shutdown();
+		}
+		
+		OlympiadRanking ranking = null;
+		long rankingNanos = 0;
+		long bestRankingNanos = Long.MAX_VALUE;
+		for (int i = 0; i < rankings; i++)
+		{
+			start = System.nanoTime();
+			ranking = OlympiadRanking.compute(simulator.getNobles(), CategoryData.getInstance().getCategoryByType(CategoryType.AWAKEN_GROUP), Config.ALT_OLY_MIN_MATCHES);
+			final long nanos = System.nanoTime() - start;
+			rankingNanos += nanos;
+			bestRankingNanos = Math.min(bestRankingNanos, nanos);
+		}
+		
+		final int[] rankCounts = new int[6];
+		ranking.getRanks().values().forEach(rank -> rankCounts[rank]++);
+		
+		System.out.println(String.format("%d nobles, %d hero classes, seed %d, %d threads, %d concurrent games", nobles, heroClassIds.size(), seed, threads, games));
+		System.out.println(String.format(" setup:    %d ms", TimeUnit.NANOSECONDS.toMillis(setupNanos)));
+		System.out.println(String.format(" matches:  %d in %d rounds, %d ms, %.0f matches/s", played, rounds, TimeUnit.NANOSECONDS.toMillis(matchNanos), (played * (double) TimeUnit.SECONDS.toNanos(1)) / matchNanos));
+		System.out.println(String.format(" ranking:  %d classified, average %.2f ms, best %.2f ms over %d runs", ranking.getClassifiedCount(), rankingNanos / (rankings * 1_000_000.0), bestRankingNanos / 1_000_000.0, rankings));
+		System.out.println(String.format(" ranks:    1: %d, 2: %d, 3: %d, 4: %d, 5: %d", rankCounts[1], rankCounts[2], rankCounts[3], rankCounts[4], rankCounts[5]));
+		System.out.println(String.format(" heroes:   %d", ranking.getHeroes().size()));
+		for (StatsSet hero : ranking.getHeroes())
+		{
+			final StatsSet nobleInfo = simulator.getNobles().get(hero.getInt(Olympiad.CHAR_ID));
+			System.out.println(String.format("  class %-4d %-12s points %-6d done %-5d won %d", hero.getInt(Olympiad.CLASS_ID), hero.getString(Olympiad.CHAR_NAME), nobleInfo.getInt(Olympiad.POINTS), nobleInfo.getInt(Olympiad.COMP_DONE), nobleInfo.getInt(Olympiad.COMP_WON)));
+		}
+	}
+}
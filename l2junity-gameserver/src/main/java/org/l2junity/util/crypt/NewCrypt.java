@@ -18,6 +18,8 @@
  */
 package org.l2junity.util.crypt;
 
+import org.l2junity.network.crypt.BlowfishEngine;
+
 /**
  * Class to use a blowfish cipher with ECB processing.<br>
  * Static methods are present to append/check the checksum of<br>
@@ -196,10 +198,7 @@ public final class NewCrypt
 	 */
 	public void decrypt(byte[] raw, final int offset, final int size)
 	{
-		for (int i = offset; i < (offset + size); i += 8)
-		{
-			_cipher.decryptBlock(raw, i);
-		}
+		_cipher.decrypt(raw, offset, size);
 	}
 	
 	/**
@@ -212,9 +211,6 @@ public final class NewCrypt
 	 */
 	public void crypt(byte[] raw, final int offset, final int size)
 	{
-		for (int i = offset; i < (offset + size); i += 8)
-		{
-			_cipher.encryptBlock(raw, i);
-		}
+		_cipher.encrypt(raw, offset, size);
 	}
 }
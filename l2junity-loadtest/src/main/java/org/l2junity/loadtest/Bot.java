@@ -0,0 +1,561 @@
+/*
+ * Copyright (C) 2004-2016 L2J Unity
+ * 
+ * This file is part of L2J Unity.
+ * 
+ * L2J Unity is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * L2J Unity is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.l2junity.loadtest;
+
+import java.security.GeneralSecurityException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.l2junity.commons.util.Rnd;
+import org.l2junity.gameserver.network.client.OutgoingPackets;
+import org.l2junity.loadtest.network.BotHandler;
+import org.l2junity.loadtest.network.BotInitializer;
+import org.l2junity.loadtest.network.GameCrypt;
+import org.l2junity.loadtest.network.GamePackets;
+import org.l2junity.loadtest.network.IBotPacketListener;
+import org.l2junity.loadtest.network.LoginCrypt;
+import org.l2junity.loadtest.network.LoginPackets;
+import org.l2junity.network.IOutgoingPacket;
+import org.l2junity.network.PacketReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFutureListener;
+
+/**
+ * A scripted client.<br>
+ * It logs in through the login server, creates its character on the first run, enters the world and then moves, chats, attacks the npcs and trades with the players it sees.
+ * Everything but {@link #connect()} and {@link #stop()} runs on the event loop of its current connection.
+ */
+public final class Bot
+{
+	private static final Logger LOGGER = LoggerFactory.getLogger(Bot.class);
+	
+	// Login server packets
+	private static final int INIT = 0x00;
+	private static final int LOGIN_FAIL = 0x01;
+	private static final int ACCOUNT_KICKED = 0x02;
+	private static final int LOGIN_OK = 0x03;
+	private static final int SERVER_LIST = 0x04;
+	private static final int PLAY_FAIL = 0x06;
+	private static final int PLAY_OK = 0x07;
+	private static final int GG_AUTH = 0x0B;
+	
+	/** Game server packets by id, the ex packets are not read. */
+	private static final OutgoingPackets[] GAME_PACKETS = new OutgoingPackets[0x100];
+	
+	static
+	{
+		for (OutgoingPackets packet : OutgoingPackets.values())
+		{
+			if ((packet.getId2() < 0) && (GAME_PACKETS[packet.getId1()] == null))
+			{
+				GAME_PACKETS[packet.getId1()] = packet;
+			}
+		}
+	}
+	
+	private final String _account;
+	private final Bootstrap _bootstrap;
+	private final LoadTestStats _stats;
+	
+	private volatile Channel _channel;
+	private volatile boolean _stopped;
+	private long _connectTime;
+	
+	// Login
+	private final LoginCrypt _loginCrypt = new LoginCrypt();
+	private byte[] _scrambledModulus;
+	private int _loginOk1;
+	private int _loginOk2;
+	private int _playOk1;
+	private int _playOk2;
+	private boolean _loginDone;
+	
+	// Game
+	private final GameCrypt _gameCrypt = new GameCrypt();
+	private boolean _characterCreated;
+	private boolean _inWorld;
+	private int _objectId;
+	private int _x;
+	private int _y;
+	private int _z;
+	private int _spawnX;
+	private int _spawnY;
+	private final List<Integer> _knownPlayers = new ArrayList<>();
+	private final List<Integer> _knownNpcs = new ArrayList<>();
+	private long _moveTime;
+	private long _chatTime;
+	private int _chatCount;
+	private ScheduledFuture<?> _actionTask;
+	
+	/**
+	 * @param account the account name, also used as character name
+	 * @param bootstrap the bootstrap of the connections, cloned for each of them
+	 * @param stats the shared measures
+	 */
+	public Bot(String account, Bootstrap bootstrap, LoadTestStats stats)
+	{
+		_account = account;
+		_bootstrap = bootstrap;
+		_stats = stats;
+	}
+	
+	/**
+	 * Connects to the login server, the rest of the login follows the server packets.
+	 */
+	public void connect()
+	{
+		_connectTime = System.nanoTime();
+		connect(LoadTestConfig.LOGIN_SERVER_HOST, LoadTestConfig.LOGIN_SERVER_PORT, new BotInitializer(_loginCrypt, new BotHandler(new LoginListener())));
+	}
+	
+	/**
+	 * Logs out of the game server, or drops the login server connection.
+	 */
+	public void stop()
+	{
+		_stopped = true;
+		final Channel channel = _channel;
+		if (channel == null)
+		{
+			return;
+		}
+		
+		channel.eventLoop().execute(() ->
+		{
+			if (_inWorld)
+			{
+				send(GamePackets.logout());
+			}
+			channel.close();
+		});
+	}
+	
+	private void connect(String host, int port, BotInitializer initializer)
+	{
+		_bootstrap.clone().handler(initializer).connect(host, port).addListener((ChannelFutureListener) future ->
+		{
+			if (!future.isSuccess())
+			{
+				_stats.getLoginFailures().increment();
+				LOGGER.debug("{}: could not connect to {}:{}: {}", _account, host, port, String.valueOf(future.cause()));
+			}
+		});
+	}
+	
+	private void send(IOutgoingPacket packet)
+	{
+		_stats.getPacketsSent().increment();
+		_channel.writeAndFlush(packet);
+	}
+	
+	private void fail(String reason)
+	{
+		_stats.getLoginFailures().increment();
+		LOGGER.debug("{}: {}", _account, reason);
+		_channel.close();
+	}
+	
+	private void onEnterWorld()
+	{
+		_inWorld = true;
+		_stats.getEnterWorldTime().recordSince(_connectTime);
+		_stats.getBotsInWorld().incrementAndGet();
+		scheduleNextAction();
+	}
+	
+	private void scheduleNextAction()
+	{
+		final int interval = LoadTestConfig.ACTION_INTERVAL;
+		_actionTask = _channel.eventLoop().schedule(this::runAction, Rnd.get(interval / 2, (interval * 3) / 2), TimeUnit.MILLISECONDS);
+	}
+	
+	private void runAction()
+	{
+		if (!_inWorld || !_channel.isActive())
+		{
+			return;
+		}
+		
+		int roll = Rnd.get(LoadTestConfig.MOVE_WEIGHT + LoadTestConfig.CHAT_WEIGHT + LoadTestConfig.ATTACK_WEIGHT + LoadTestConfig.TRADE_WEIGHT);
+		if ((roll -= LoadTestConfig.MOVE_WEIGHT) < 0)
+		{
+			move();
+		}
+		else if ((roll -= LoadTestConfig.CHAT_WEIGHT) < 0)
+		{
+			chat();
+		}
+		else if ((roll -= LoadTestConfig.ATTACK_WEIGHT) < 0)
+		{
+			attack();
+		}
+		else
+		{
+			trade();
+		}
+		scheduleNextAction();
+	}
+	
+	private void move()
+	{
+		final double angle = Rnd.nextDouble() * 2 * Math.PI;
+		final int distance = Rnd.get(LoadTestConfig.MOVE_RADIUS);
+		final int x = _spawnX + (int) (Math.cos(angle) * distance);
+		final int y = _spawnY + (int) (Math.sin(angle) * distance);
+		_moveTime = System.nanoTime();
+		send(GamePackets.moveBackwardToLocation(x, y, _z, _x, _y, _z));
+	}
+	
+	private void chat()
+	{
+		_chatTime = System.nanoTime();
+		send(GamePackets.say2(_account + " says hello " + ++_chatCount));
+	}
+	
+	private void attack()
+	{
+		if (_knownNpcs.isEmpty())
+		{
+			move();
+			return;
+		}
+		
+		// The first click targets, the second one attacks, or talks to the npcs that cannot be attacked.
+		final int objectId = _knownNpcs.get(Rnd.get(_knownNpcs.size()));
+		send(GamePackets.action(objectId, _x, _y, _z));
+		send(GamePackets.action(objectId, _x, _y, _z));
+	}
+	
+	private void trade()
+	{
+		if (_knownPlayers.isEmpty())
+		{
+			chat();
+			return;
+		}
+		
+		send(GamePackets.tradeRequest(_knownPlayers.get(Rnd.get(_knownPlayers.size()))));
+	}
+	
+	private void onGamePacket(PacketReader packet)
+	{
+		final OutgoingPackets id = GAME_PACKETS[packet.readC()];
+		if (id == null)
+		{
+			return;
+		}
+		
+		switch (id)
+		{
+			case VERSION_CHECK:
+			{
+				if (packet.readC() != 0x01)
+				{
+					fail("protocol version " + LoadTestConfig.PROTOCOL_VERSION + " refused");
+					return;
+				}
+				_gameCrypt.setKey(packet.readB(8));
+				send(GamePackets.authLogin(_account, _playOk1, _playOk2, _loginOk1, _loginOk2));
+				break;
+			}
+			case CHARACTER_SELECTION_INFO:
+			{
+				if (packet.readD() > 0)
+				{
+					send(GamePackets.characterSelect(0));
+				}
+				else if (!_characterCreated)
+				{
+					_characterCreated = true;
+					send(GamePackets.characterCreate(_account, LoadTestConfig.CHARACTER_RACE, LoadTestConfig.CHARACTER_CLASS_ID));
+				}
+				else
+				{
+					fail("no character after its creation");
+				}
+				break;
+			}
+			case CHARACTER_CREATE_FAIL:
+			{
+				fail("character creation failed, reason " + packet.readD());
+				break;
+			}
+			case CHARACTER_SELECTED:
+			{
+				packet.readS(); // name
+				_objectId = packet.readD();
+				packet.readS(); // title
+				packet.readD(); // session id
+				packet.readD(); // clan id
+				packet.readD();
+				packet.readD(); // sex
+				packet.readD(); // race
+				packet.readD(); // class id
+				packet.readD(); // active
+				setLocation(packet.readD(), packet.readD(), packet.readD());
+				send(GamePackets.enterWorld());
+				break;
+			}
+			case USER_INFO:
+			{
+				if (!_inWorld && (packet.readD() == _objectId))
+				{
+					onEnterWorld();
+				}
+				break;
+			}
+			case MOVE_TO_LOCATION:
+			{
+				if (packet.readD() == _objectId)
+				{
+					_x = packet.readD();
+					_y = packet.readD();
+					_z = packet.readD();
+					if (_moveTime != 0)
+					{
+						_stats.getMoveLatency().recordSince(_moveTime);
+						_moveTime = 0;
+					}
+				}
+				break;
+			}
+			case TELEPORT_TO_LOCATION:
+			{
+				if (packet.readD() == _objectId)
+				{
+					setLocation(packet.readD(), packet.readD(), packet.readD());
+				}
+				break;
+			}
+			case SAY2:
+			{
+				if ((packet.readD() == _objectId) && (_chatTime != 0))
+				{
+					_stats.getChatLatency().recordSince(_chatTime);
+					_chatTime = 0;
+				}
+				break;
+			}
+			case CHAR_INFO:
+			{
+				packet.readD(); // x
+				packet.readD(); // y
+				packet.readD(); // z
+				packet.readD(); // vehicle id
+				final Integer objectId = packet.readD();
+				if (!_knownPlayers.contains(objectId))
+				{
+					_knownPlayers.add(objectId);
+				}
+				break;
+			}
+			case NPC_INFO:
+			{
+				final Integer objectId = packet.readD();
+				if (!_knownNpcs.contains(objectId))
+				{
+					_knownNpcs.add(objectId);
+				}
+				break;
+			}
+			case DELETE_OBJECT:
+			{
+				final Integer objectId = packet.readD();
+				_knownPlayers.remove(objectId);
+				_knownNpcs.remove(objectId);
+				break;
+			}
+			case DIE:
+			{
+				if (packet.readD() == _objectId)
+				{
+					_stats.getDeaths().increment();
+					send(GamePackets.requestRestartPoint());
+				}
+				break;
+			}
+			case TRADE_REQUEST:
+			{
+				send(GamePackets.answerTradeRequest(true));
+				break;
+			}
+			case TRADE_START:
+			{
+				// Give the other side some time to look at the trade window.
+				_channel.eventLoop().schedule(() -> send(GamePackets.tradeDone(true)), 1, TimeUnit.SECONDS);
+				break;
+			}
+			case TRADE_DONE:
+			{
+				if (packet.readD() == 0x01)
+				{
+					_stats.getTradesDone().increment();
+				}
+				break;
+			}
+		}
+	}
+	
+	private void setLocation(int x, int y, int z)
+	{
+		_x = x;
+		_y = y;
+		_z = z;
+		_spawnX = x;
+		_spawnY = y;
+	}
+	
+	private final class LoginListener implements IBotPacketListener
+	{
+		@Override
+		public void onConnect(Channel channel)
+		{
+			_channel = channel;
+		}
+		
+		@Override
+		public void onPacket(Channel channel, int size, PacketReader packet)
+		{
+			switch (packet.readC())
+			{
+				case INIT:
+				{
+					final int sessionId = packet.readD();
+					packet.readD(); // protocol revision
+					_scrambledModulus = packet.readB(128);
+					packet.readB(16); // game guard
+					_loginCrypt.setKey(packet.readB(16));
+					send(LoginPackets.authGameGuard(sessionId));
+					break;
+				}
+				case GG_AUTH:
+				{
+					try
+					{
+						send(LoginPackets.requestAuthLogin(LoginPackets.unscrambleKey(_scrambledModulus), _account, LoadTestConfig.ACCOUNT_PASSWORD));
+					}
+					catch (GeneralSecurityException e)
+					{
+						fail("could not encrypt the credentials: " + e.getMessage());
+					}
+					break;
+				}
+				case LOGIN_OK:
+				{
+					_loginOk1 = packet.readD();
+					_loginOk2 = packet.readD();
+					send(LoginPackets.requestServerList(_loginOk1, _loginOk2));
+					break;
+				}
+				case SERVER_LIST:
+				{
+					send(LoginPackets.requestServerLogin(_loginOk1, _loginOk2, LoadTestConfig.SERVER_ID));
+					break;
+				}
+				case PLAY_OK:
+				{
+					_playOk1 = packet.readD();
+					_playOk2 = packet.readD();
+					_loginDone = true;
+					_stats.getLoginTime().recordSince(_connectTime);
+					channel.close();
+					if (!_stopped)
+					{
+						connect(LoadTestConfig.GAME_SERVER_HOST, LoadTestConfig.GAME_SERVER_PORT, new BotInitializer(_gameCrypt, new BotHandler(new GameListener())));
+					}
+					break;
+				}
+				case LOGIN_FAIL:
+				case ACCOUNT_KICKED:
+				case PLAY_FAIL:
+				{
+					fail("login refused, reason " + packet.readC());
+					break;
+				}
+			}
+		}
+		
+		@Override
+		public void onDisconnect(Channel channel)
+		{
+			if (!_loginDone && !_stopped)
+			{
+				_stats.getLoginFailures().increment();
+				LOGGER.debug("{}: login server closed the connection", _account);
+			}
+		}
+		
+		@Override
+		public void onError(Channel channel, Throwable cause)
+		{
+			LOGGER.debug("{}: login connection error", _account, cause);
+		}
+	}
+	
+	private final class GameListener implements IBotPacketListener
+	{
+		@Override
+		public void onConnect(Channel channel)
+		{
+			_channel = channel;
+			send(GamePackets.protocolVersion(LoadTestConfig.PROTOCOL_VERSION));
+		}
+		
+		@Override
+		public void onPacket(Channel channel, int size, PacketReader packet)
+		{
+			_stats.getPacketsReceived().increment();
+			_stats.getBytesReceived().add(size);
+			onGamePacket(packet);
+		}
+		
+		@Override
+		public void onDisconnect(Channel channel)
+		{
+			if (_actionTask != null)
+			{
+				_actionTask.cancel(false);
+			}
+			
+			if (_inWorld)
+			{
+				_inWorld = false;
+				_stats.getBotsInWorld().decrementAndGet();
+			}
+			
+			if (!_stopped)
+			{
+				_stats.getDisconnects().increment();
+				LOGGER.debug("{}: game server closed the connection", _account);
+			}
+		}
+		
+		@Override
+		public void onError(Channel channel, Throwable cause)
+		{
+			LOGGER.debug("{}: game connection error", _account, cause);
+		}
+	}
+}
@@ -0,0 +1,235 @@
+/*
+ * Copyright (C) 2004-2016 L2J Unity
+ * 
+ * This file is part of L2J Unity.
+ * 
+ * L2J Unity is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * L2J Unity is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.l2junity.loadtest;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.l2junity.commons.util.LatencyHistogram;
+import org.l2junity.network.NetworkTransport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+
+/**
+ * Ramps up scripted bots against a local login server and game server and reports every step.<br>
+ * A step connects bots up to its count at {@code ConnectRate}, then measures for {@code RampStepTime}.
+ * The bot side reports packet throughput, login time and the latency of moves and chat, the game server side (read from its metrics endpoint) reports tick time, packet run time and queue delay.
+ * Usage: {@code LoadTest [properties file]}
+ */
+public final class LoadTest
+{
+	private static final Logger LOGGER = LoggerFactory.getLogger(LoadTest.class);
+	
+	private static final String REPORT_HEADER = "bots,in_world,login_failures,disconnects,packets_out_per_second,packets_in_per_second,kbytes_in_per_second,login_p50_ms,enter_world_p50_ms,enter_world_p99_ms,move_p50_ms,move_p99_ms,move_max_ms,chat_p50_ms,chat_p99_ms,trades,deaths,server_players_online,server_tick_mean_ms,server_packet_run_mean_ms,server_packet_queue_delay_mean_ms,server_thread_pool_queue";
+	
+	private final List<Bot> _bots = new ArrayList<>();
+	private final LoadTestStats _stats = new LoadTestStats();
+	private final EventLoopGroup _group;
+	private final Bootstrap _bootstrap;
+	private final ServerMetrics _serverMetrics;
+	
+	private LoadTest() throws IOException
+	{
+		final NetworkTransport transport = NetworkTransport.select(LoadTestConfig.USE_EPOLL);
+		_group = transport.newEventLoopGroup(LoadTestConfig.NETWORK_THREADS);
+		// @formatter:off
+		_bootstrap = new Bootstrap()
+			.group(_group)
+			.channel(transport.getChannelClass())
+			.option(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT)
+			.option(ChannelOption.TCP_NODELAY, true)
+			.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, 10000);
+		// @formatter:on
+		_serverMetrics = LoadTestConfig.METRICS_URL.isEmpty() ? null : new ServerMetrics(new URL(LoadTestConfig.METRICS_URL));
+	}
+	
+	private void run() throws InterruptedException
+	{
+		try
+		{
+			int target = LoadTestConfig.RAMP_START;
+			while (true)
+			{
+				runStep(target);
+				if (target >= LoadTestConfig.RAMP_MAX)
+				{
+					break;
+				}
+				target = Math.min(target + LoadTestConfig.RAMP_STEP, LoadTestConfig.RAMP_MAX);
+			}
+		}
+		finally
+		{
+			stop();
+		}
+	}
+	
+	private void runStep(int target) throws InterruptedException
+	{
+		_stats.reset();
+		final Map<String, Double> serverStart = readServerMetrics();
+		final long start = System.nanoTime();
+		
+		LOGGER.info("Connecting bots {} to {}.", _bots.size() + 1, target);
+		final long interval = TimeUnit.SECONDS.toNanos(1) / LoadTestConfig.CONNECT_RATE;
+		long next = start;
+		while (_bots.size() < target)
+		{
+			final Bot bot = new Bot(LoadTestConfig.ACCOUNT_PREFIX + _bots.size(), _bootstrap, _stats);
+			_bots.add(bot);
+			bot.connect();
+			
+			next += interval;
+			TimeUnit.NANOSECONDS.sleep(next - System.nanoTime());
+		}
+		
+		TimeUnit.SECONDS.sleep(LoadTestConfig.RAMP_STEP_TIME);
+		
+		final double seconds = (System.nanoTime() - start) / 1e9;
+		final Map<String, Double> serverEnd = readServerMetrics();
+		report(target, seconds, serverStart, serverEnd);
+	}
+	
+	private Map<String, Double> readServerMetrics()
+	{
+		return _serverMetrics != null ? _serverMetrics.read() : Collections.emptyMap();
+	}
+	
+	private void report(int bots, double seconds, Map<String, Double> serverStart, Map<String, Double> serverEnd)
+	{
+		final int inWorld = _stats.getBotsInWorld().get();
+		final double packetsOut = _stats.getPacketsSent().sum() / seconds;
+		final double packetsIn = _stats.getPacketsReceived().sum() / seconds;
+		final double kbytesIn = _stats.getBytesReceived().sum() / seconds / 1024;
+		final LatencyHistogram move = _stats.getMoveLatency();
+		final LatencyHistogram chat = _stats.getChatLatency();
+		final LatencyHistogram enterWorld = _stats.getEnterWorldTime();
+		
+		final double playersOnline = serverEnd.getOrDefault("l2j_players_online", Double.NaN);
+		final double tick = ServerMetrics.getMean(serverStart, serverEnd, "l2j_game_tick_seconds") * 1000;
+		final double packetRun = ServerMetrics.getMean(serverStart, serverEnd, "l2j_packet_run_seconds") * 1000;
+		final double packetQueueDelay = ServerMetrics.getMean(serverStart, serverEnd, "l2j_packet_queue_delay_seconds") * 1000;
+		final double threadPoolQueue = serverEnd.isEmpty() ? Double.NaN : ServerMetrics.getTotal(serverEnd, "l2j_thread_pool_queue_size");
+		
+		LOGGER.info("{} bots, {} in world, {} login failures, {} disconnects.", bots, inWorld, _stats.getLoginFailures().sum(), _stats.getDisconnects().sum());
+		LOGGER.info("Packets out {}/s, in {}/s ({} KB/s). Move {} ms, chat {} ms, enter world {} ms.", format(packetsOut), format(packetsIn), format(kbytesIn), formatLatency(move), formatLatency(chat), formatLatency(enterWorld));
+		if (!serverEnd.isEmpty())
+		{
+			LOGGER.info("Server: {} players, tick {} ms, packet run {} ms, packet queue delay {} ms, {} tasks queued.", format(playersOnline), format(tick), format(packetRun), format(packetQueueDelay), format(threadPoolQueue));
+		}
+		
+		// @formatter:off
+		final double[] values =
+		{
+			bots, inWorld, _stats.getLoginFailures().sum(), _stats.getDisconnects().sum(),
+			packetsOut, packetsIn, kbytesIn,
+			toMillis(_stats.getLoginTime().getPercentile(50)), toMillis(enterWorld.getPercentile(50)), toMillis(enterWorld.getPercentile(99)),
+			toMillis(move.getPercentile(50)), toMillis(move.getPercentile(99)), toMillis(move.getMax()),
+			toMillis(chat.getPercentile(50)), toMillis(chat.getPercentile(99)),
+			_stats.getTradesDone().sum(), _stats.getDeaths().sum(),
+			playersOnline, tick, packetRun, packetQueueDelay, threadPoolQueue
+		};
+		// @formatter:on
+		writeReport(values);
+	}
+	
+	private void writeReport(double[] values)
+	{
+		final StringBuilder sb = new StringBuilder();
+		for (double value : values)
+		{
+			if (sb.length() > 0)
+			{
+				sb.append(',');
+			}
+			if (!Double.isNaN(value))
+			{
+				sb.append(format(value));
+			}
+		}
+		
+		try
+		{
+			final Path file = Paths.get(LoadTestConfig.REPORT_FILE);
+			final List<String> lines = new ArrayList<>(2);
+			if (Files.notExists(file))
+			{
+				if (file.getParent() != null)
+				{
+					Files.createDirectories(file.getParent());
+				}
+				lines.add(REPORT_HEADER);
+			}
+			lines.add(sb.toString());
+			Files.write(file, lines, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+		}
+		catch (IOException e)
+		{
+			LOGGER.warn("Could not write the report to {}", LoadTestConfig.REPORT_FILE, e);
+		}
+	}
+	
+	private void stop() throws InterruptedException
+	{
+		LOGGER.info("Logging out {} bots.", _bots.size());
+		for (Bot bot : _bots)
+		{
+			bot.stop();
+		}
+		TimeUnit.SECONDS.sleep(2);
+		_group.shutdownGracefully().awaitUninterruptibly();
+	}
+	
+	private static double toMillis(long nanos)
+	{
+		return nanos / 1e6;
+	}
+	
+	private static String format(double value)
+	{
+		return String.format(Locale.US, "%.2f", value);
+	}
+	
+	private static String formatLatency(LatencyHistogram histogram)
+	{
+		return "p50 " + format(toMillis(histogram.getPercentile(50))) + " p99 " + format(toMillis(histogram.getPercentile(99)));
+	}
+	
+	public static void main(String[] args) throws Exception
+	{
+		LoadTestConfig.load(args.length > 0 ? args[0] : LoadTestConfig.CONFIGURATION_FILE);
+		new LoadTest().run();
+	}
+}
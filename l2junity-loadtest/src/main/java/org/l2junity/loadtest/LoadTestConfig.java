@@ -0,0 +1,101 @@
+/*
+ * Copyright (C) 2004-2016 L2J Unity
+ * 
+ * This file is part of L2J Unity.
+ * 
+ * L2J Unity is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * L2J Unity is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.l2junity.loadtest;
+
+import org.l2junity.commons.util.PropertiesParser;
+
+/**
+ * Settings of the load test, read from {@code config/LoadTest.properties}.
+ */
+public final class LoadTestConfig
+{
+	public static final String CONFIGURATION_FILE = "./config/LoadTest.properties";
+	
+	public static String LOGIN_SERVER_HOST;
+	public static int LOGIN_SERVER_PORT;
+	public static int SERVER_ID;
+	public static String GAME_SERVER_HOST;
+	public static int GAME_SERVER_PORT;
+	public static int PROTOCOL_VERSION;
+	public static String METRICS_URL;
+	
+	public static String ACCOUNT_PREFIX;
+	public static String ACCOUNT_PASSWORD;
+	public static int CHARACTER_CLASS_ID;
+	public static int CHARACTER_RACE;
+	public static int ACTION_INTERVAL;
+	public static int MOVE_RADIUS;
+	public static int MOVE_WEIGHT;
+	public static int CHAT_WEIGHT;
+	public static int ATTACK_WEIGHT;
+	public static int TRADE_WEIGHT;
+	
+	public static int RAMP_START;
+	public static int RAMP_STEP;
+	public static int RAMP_MAX;
+	public static int RAMP_STEP_TIME;
+	public static int CONNECT_RATE;
+	
+	public static boolean USE_EPOLL;
+	public static int NETWORK_THREADS;
+	
+	public static String REPORT_FILE;
+	
+	private LoadTestConfig()
+	{
+	}
+	
+	/**
+	 * @param file the properties file to read
+	 */
+	public static void load(String file)
+	{
+		final PropertiesParser settings = new PropertiesParser(file);
+		
+		LOGIN_SERVER_HOST = settings.getString("LoginServerHost", "127.0.0.1");
+		LOGIN_SERVER_PORT = settings.getInt("LoginServerPort", 2106);
+		SERVER_ID = settings.getInt("ServerId", 1);
+		GAME_SERVER_HOST = settings.getString("GameServerHost", "127.0.0.1");
+		GAME_SERVER_PORT = settings.getInt("GameServerPort", 7777);
+		PROTOCOL_VERSION = settings.getInt("ProtocolVersion", 28);
+		METRICS_URL = settings.getString("MetricsUrl", "http://127.0.0.1:9200/metrics");
+		
+		ACCOUNT_PREFIX = settings.getString("AccountPrefix", "bot");
+		ACCOUNT_PASSWORD = settings.getString("AccountPassword", "bot");
+		CHARACTER_CLASS_ID = settings.getInt("CharacterClassId", 0);
+		CHARACTER_RACE = settings.getInt("CharacterRace", 0);
+		ACTION_INTERVAL = Math.max(2, settings.getInt("ActionInterval", 3000));
+		MOVE_RADIUS = settings.getInt("MoveRadius", 600);
+		MOVE_WEIGHT = Math.max(0, settings.getInt("MoveWeight", 50));
+		CHAT_WEIGHT = Math.max(0, settings.getInt("ChatWeight", 15));
+		ATTACK_WEIGHT = Math.max(0, settings.getInt("AttackWeight", 25));
+		TRADE_WEIGHT = Math.max(0, settings.getInt("TradeWeight", 10));
+		
+		RAMP_START = Math.max(1, settings.getInt("RampStart", 100));
+		RAMP_STEP = Math.max(1, settings.getInt("RampStep", 100));
+		RAMP_MAX = Math.max(RAMP_START, settings.getInt("RampMax", 2000));
+		RAMP_STEP_TIME = Math.max(1, settings.getInt("RampStepTime", 60));
+		CONNECT_RATE = Math.max(1, settings.getInt("ConnectRate", 20));
+		
+		USE_EPOLL = settings.getBoolean("UseEpoll", false);
+		NETWORK_THREADS = settings.getInt("NetworkThreads", 0);
+		
+		REPORT_FILE = settings.getString("ReportFile", "log/loadtest.csv");
+	}
+}
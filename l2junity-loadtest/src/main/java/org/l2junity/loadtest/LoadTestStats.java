@@ -0,0 +1,134 @@
+/*
+ * Copyright (C) 2004-2016 L2J Unity
+ * 
+ * This file is part of L2J Unity.
+ * 
+ * L2J Unity is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * L2J Unity is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.l2junity.loadtest;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.l2junity.commons.util.LatencyHistogram;
+
+/**
+ * Bot side measures shared by every bot.<br>
+ * Counters and histograms cover the current ramp step, {@link #reset()} starts a new one.
+ */
+public final class LoadTestStats
+{
+	private final LongAdder _packetsSent = new LongAdder();
+	private final LongAdder _packetsReceived = new LongAdder();
+	private final LongAdder _bytesReceived = new LongAdder();
+	private final LongAdder _loginFailures = new LongAdder();
+	private final LongAdder _disconnects = new LongAdder();
+	private final LongAdder _tradesDone = new LongAdder();
+	private final LongAdder _deaths = new LongAdder();
+	private final LatencyHistogram _loginTime = new LatencyHistogram();
+	private final LatencyHistogram _enterWorldTime = new LatencyHistogram();
+	private final LatencyHistogram _moveLatency = new LatencyHistogram();
+	private final LatencyHistogram _chatLatency = new LatencyHistogram();
+	private final AtomicInteger _botsInWorld = new AtomicInteger();
+	
+	public LongAdder getPacketsSent()
+	{
+		return _packetsSent;
+	}
+	
+	public LongAdder getPacketsReceived()
+	{
+		return _packetsReceived;
+	}
+	
+	public LongAdder getBytesReceived()
+	{
+		return _bytesReceived;
+	}
+	
+	public LongAdder getLoginFailures()
+	{
+		return _loginFailures;
+	}
+	
+	public LongAdder getDisconnects()
+	{
+		return _disconnects;
+	}
+	
+	public LongAdder getTradesDone()
+	{
+		return _tradesDone;
+	}
+	
+	public LongAdder getDeaths()
+	{
+		return _deaths;
+	}
+	
+	/**
+	 * @return the time from the login server connection to the game server PlayOk
+	 */
+	public LatencyHistogram getLoginTime()
+	{
+		return _loginTime;
+	}
+	
+	/**
+	 * @return the time from the login server connection to the first UserInfo
+	 */
+	public LatencyHistogram getEnterWorldTime()
+	{
+		return _enterWorldTime;
+	}
+	
+	/**
+	 * @return the time from MoveBackwardToLocation to the MoveToLocation of the bot
+	 */
+	public LatencyHistogram getMoveLatency()
+	{
+		return _moveLatency;
+	}
+	
+	/**
+	 * @return the time from Say2 to the CreatureSay of the bot
+	 */
+	public LatencyHistogram getChatLatency()
+	{
+		return _chatLatency;
+	}
+	
+	/**
+	 * @return the bots in the world right now, it is not reset with the step
+	 */
+	public AtomicInteger getBotsInWorld()
+	{
+		return _botsInWorld;
+	}
+	
+	public void reset()
+	{
+		_packetsSent.reset();
+		_packetsReceived.reset();
+		_bytesReceived.reset();
+		_loginFailures.reset();
+		_disconnects.reset();
+		_tradesDone.reset();
+		_deaths.reset();
+		_loginTime.reset();
+		_enterWorldTime.reset();
+		_moveLatency.reset();
+		_chatLatency.reset();
+	}
+}
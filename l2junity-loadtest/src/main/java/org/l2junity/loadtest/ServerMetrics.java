@@ -0,0 +1,122 @@
+/*
+ * Copyright (C) 2004-2016 L2J Unity
+ * 
+ * This file is part of L2J Unity.
+ * 
+ * L2J Unity is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * L2J Unity is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.l2junity.loadtest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reads the Prometheus text endpoint of the game server ({@code MetricsHttpPort}).<br>
+ * The server histograms cover its whole uptime, so a step compares their {@code _sum} and {@code _count} at its start and end.
+ */
+public final class ServerMetrics
+{
+	private static final Logger LOGGER = LoggerFactory.getLogger(ServerMetrics.class);
+	
+	private final URL _url;
+	
+	public ServerMetrics(URL url)
+	{
+		_url = url;
+	}
+	
+	/**
+	 * @return the samples keyed by their name and labels, empty if the server could not be read
+	 */
+	public Map<String, Double> read()
+	{
+		final Map<String, Double> samples = new HashMap<>();
+		try
+		{
+			final HttpURLConnection connection = (HttpURLConnection) _url.openConnection();
+			connection.setConnectTimeout(5000);
+			connection.setReadTimeout(5000);
+			try (BufferedReader reader = new BufferedReader(new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8)))
+			{
+				String line;
+				while ((line = reader.readLine()) != null)
+				{
+					if (line.isEmpty() || (line.charAt(0) == '#'))
+					{
+						continue;
+					}
+					
+					final int separator = line.lastIndexOf(' ');
+					if (separator > 0)
+					{
+						try
+						{
+							samples.put(line.substring(0, separator), Double.parseDouble(line.substring(separator + 1)));
+						}
+						catch (NumberFormatException e)
+						{
+							// Skip samples like NaN written by other exporters.
+						}
+					}
+				}
+			}
+		}
+		catch (IOException e)
+		{
+			LOGGER.warn("Could not read the server metrics from {}: {}", _url, e.getMessage());
+		}
+		return samples;
+	}
+	
+	/**
+	 * @param start the samples at the start of the step
+	 * @param end the samples at the end of the step
+	 * @param histogram the histogram name
+	 * @return the mean of the values recorded by the histogram between the two reads over all its labels, in its unit, {@code NaN} if nothing was recorded
+	 */
+	public static double getMean(Map<String, Double> start, Map<String, Double> end, String histogram)
+	{
+		final double count = getTotal(end, histogram + "_count") - getTotal(start, histogram + "_count");
+		final double sum = getTotal(end, histogram + "_sum") - getTotal(start, histogram + "_sum");
+		return count > 0 ? sum / count : Double.NaN;
+	}
+	
+	/**
+	 * @param samples the samples
+	 * @param name the metric name
+	 * @return the sum of the samples of the metric over all its labels
+	 */
+	public static double getTotal(Map<String, Double> samples, String name)
+	{
+		double total = 0;
+		for (Map.Entry<String, Double> sample : samples.entrySet())
+		{
+			final String key = sample.getKey();
+			if (key.equals(name) || (key.startsWith(name) && (key.charAt(name.length()) == '{')))
+			{
+				total += sample.getValue();
+			}
+		}
+		return total;
+	}
+}
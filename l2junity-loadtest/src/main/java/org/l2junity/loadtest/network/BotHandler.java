@@ -0,0 +1,74 @@
+/*
+ * Copyright (C) 2004-2016 L2J Unity
+ * 
+ * This file is part of L2J Unity.
+ * 
+ * L2J Unity is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * L2J Unity is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.l2junity.loadtest.network;
+
+import java.nio.ByteOrder;
+
+import org.l2junity.network.PacketReader;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.SimpleChannelInboundHandler;
+
+/**
+ * Hands the decrypted server packets of one bot connection to a {@link IBotPacketListener}.
+ */
+public class BotHandler extends SimpleChannelInboundHandler<ByteBuf>
+{
+	private final IBotPacketListener _listener;
+	private final PacketReader _reader = new PacketReader();
+	
+	public BotHandler(IBotPacketListener listener)
+	{
+		_listener = listener;
+	}
+	
+	@Override
+	protected void messageReceived(ChannelHandlerContext ctx, ByteBuf msg)
+	{
+		_reader.setBuffer(msg.order(ByteOrder.LITTLE_ENDIAN));
+		try
+		{
+			_listener.onPacket(ctx.channel(), msg.readableBytes(), _reader);
+		}
+		finally
+		{
+			_reader.setBuffer(null);
+		}
+	}
+	
+	@Override
+	public void channelActive(ChannelHandlerContext ctx)
+	{
+		_listener.onConnect(ctx.channel());
+	}
+	
+	@Override
+	public void channelInactive(ChannelHandlerContext ctx)
+	{
+		_listener.onDisconnect(ctx.channel());
+	}
+	
+	@Override
+	public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause)
+	{
+		_listener.onError(ctx.channel(), cause);
+		ctx.close();
+	}
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (C) 2004-2016 L2J Unity
+ * 
+ * This file is part of L2J Unity.
+ * 
+ * L2J Unity is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * L2J Unity is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.l2junity.loadtest.network;
+
+import org.l2junity.network.ICrypt;
+import org.l2junity.network.crypt.XorCipher;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * Client side of the game server XOR cipher.<br>
+ * It mirrors {@link org.l2junity.gameserver.network.client.Crypt} without its packet events, ProtocolVersion and KeyPacket travel in clear and the key of KeyPacket enables it.
+ */
+public class GameCrypt implements ICrypt
+{
+	private static final byte[] STATIC_KEY_PART =
+	{
+		(byte) 0xc8,
+		(byte) 0x27,
+		(byte) 0x93,
+		(byte) 0x01,
+		(byte) 0xa1,
+		(byte) 0x6c,
+		(byte) 0x31,
+		(byte) 0x97
+	};
+	
+	private final XorCipher _inCipher = new XorCipher();
+	private final XorCipher _outCipher = new XorCipher();
+	private boolean _isEnabled;
+	
+	/**
+	 * @param key the 8 bytes sent by KeyPacket, the last 8 bytes of the key are static
+	 */
+	public void setKey(byte[] key)
+	{
+		final byte[] fullKey = new byte[16];
+		System.arraycopy(key, 0, fullKey, 0, 8);
+		System.arraycopy(STATIC_KEY_PART, 0, fullKey, 8, 8);
+		_inCipher.setKey(fullKey);
+		_outCipher.setKey(fullKey);
+		_isEnabled = true;
+	}
+	
+	@Override
+	public void encrypt(ByteBuf buf)
+	{
+		if (_isEnabled)
+		{
+			_outCipher.encrypt(buf);
+		}
+	}
+	
+	@Override
+	public void decrypt(ByteBuf buf)
+	{
+		if (_isEnabled)
+		{
+			_inCipher.decrypt(buf);
+		}
+	}
+}
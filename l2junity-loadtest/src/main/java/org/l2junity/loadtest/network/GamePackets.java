@@ -0,0 +1,197 @@
+/*
+ * Copyright (C) 2004-2016 L2J Unity
+ * 
+ * This file is part of L2J Unity.
+ * 
+ * L2J Unity is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * L2J Unity is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.l2junity.loadtest.network;
+
+import org.l2junity.gameserver.network.client.IncomingPackets;
+import org.l2junity.network.IOutgoingPacket;
+
+/**
+ * The game client packets sent by the bots, written the way {@code network/client/recv} reads them.
+ */
+public final class GamePackets
+{
+	private GamePackets()
+	{
+	}
+	
+	public static IOutgoingPacket protocolVersion(int version)
+	{
+		return packet ->
+		{
+			packet.writeC(IncomingPackets.PROTOCOL_VERSION.getPacketId());
+			packet.writeD(version);
+			return true;
+		};
+	}
+	
+	public static IOutgoingPacket authLogin(String account, int playKey1, int playKey2, int loginKey1, int loginKey2)
+	{
+		return packet ->
+		{
+			packet.writeC(IncomingPackets.AUTH_LOGIN.getPacketId());
+			packet.writeS(account);
+			packet.writeD(playKey2);
+			packet.writeD(playKey1);
+			packet.writeD(loginKey1);
+			packet.writeD(loginKey2);
+			return true;
+		};
+	}
+	
+	public static IOutgoingPacket characterCreate(String name, int race, int classId)
+	{
+		return packet ->
+		{
+			packet.writeC(IncomingPackets.CHARACTER_CREATE.getPacketId());
+			packet.writeS(name);
+			packet.writeD(race);
+			packet.writeD(0x00); // sex
+			packet.writeD(classId);
+			for (int i = 0; i < 6; i++)
+			{
+				packet.writeD(0x00); // INT, STR, CON, MEN, DEX, WIT, the server uses the template ones
+			}
+			packet.writeD(0x00); // hair style
+			packet.writeD(0x00); // hair color
+			packet.writeD(0x00); // face
+			return true;
+		};
+	}
+	
+	public static IOutgoingPacket characterSelect(int slot)
+	{
+		return packet ->
+		{
+			packet.writeC(IncomingPackets.CHARACTER_SELECT.getPacketId());
+			packet.writeD(slot);
+			packet.writeH(0x00);
+			packet.writeD(0x00);
+			packet.writeD(0x00);
+			packet.writeD(0x00);
+			return true;
+		};
+	}
+	
+	public static IOutgoingPacket enterWorld()
+	{
+		return packet ->
+		{
+			packet.writeC(IncomingPackets.ENTER_WORLD.getPacketId());
+			packet.writeB(new byte[32]);
+			packet.writeD(0x00);
+			packet.writeD(0x00);
+			packet.writeD(0x00);
+			packet.writeD(0x00);
+			packet.writeB(new byte[32]);
+			packet.writeD(0x00);
+			packet.writeB(new byte[20]); // tracert
+			return true;
+		};
+	}
+	
+	public static IOutgoingPacket moveBackwardToLocation(int targetX, int targetY, int targetZ, int originX, int originY, int originZ)
+	{
+		return packet ->
+		{
+			packet.writeC(IncomingPackets.MOVE_BACKWARD_TO_LOCATION.getPacketId());
+			packet.writeD(targetX);
+			packet.writeD(targetY);
+			packet.writeD(targetZ);
+			packet.writeD(originX);
+			packet.writeD(originY);
+			packet.writeD(originZ);
+			packet.writeD(0x01); // mouse
+			return true;
+		};
+	}
+	
+	public static IOutgoingPacket say2(String text)
+	{
+		return packet ->
+		{
+			packet.writeC(IncomingPackets.SAY2.getPacketId());
+			packet.writeS(text);
+			packet.writeD(0x00); // general chat
+			return true;
+		};
+	}
+	
+	public static IOutgoingPacket action(int objectId, int originX, int originY, int originZ)
+	{
+		return packet ->
+		{
+			packet.writeC(IncomingPackets.ACTION.getPacketId());
+			packet.writeD(objectId);
+			packet.writeD(originX);
+			packet.writeD(originY);
+			packet.writeD(originZ);
+			packet.writeC(0x00); // simple click
+			return true;
+		};
+	}
+	
+	public static IOutgoingPacket tradeRequest(int objectId)
+	{
+		return packet ->
+		{
+			packet.writeC(IncomingPackets.TRADE_REQUEST.getPacketId());
+			packet.writeD(objectId);
+			return true;
+		};
+	}
+	
+	public static IOutgoingPacket answerTradeRequest(boolean accept)
+	{
+		return packet ->
+		{
+			packet.writeC(IncomingPackets.ANSWER_TRADE_REQUEST.getPacketId());
+			packet.writeD(accept ? 0x01 : 0x00);
+			return true;
+		};
+	}
+	
+	public static IOutgoingPacket tradeDone(boolean confirm)
+	{
+		return packet ->
+		{
+			packet.writeC(IncomingPackets.TRADE_DONE.getPacketId());
+			packet.writeD(confirm ? 0x01 : 0x00);
+			return true;
+		};
+	}
+	
+	public static IOutgoingPacket requestRestartPoint()
+	{
+		return packet ->
+		{
+			packet.writeC(IncomingPackets.REQUEST_RESTART_POINT.getPacketId());
+			packet.writeD(0x00); // to village
+			return true;
+		};
+	}
+	
+	public static IOutgoingPacket logout()
+	{
+		return packet ->
+		{
+			packet.writeC(IncomingPackets.LOGOUT.getPacketId());
+			return true;
+		};
+	}
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright (C) 2004-2016 L2J Unity
+ * 
+ * This file is part of L2J Unity.
+ * 
+ * L2J Unity is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * L2J Unity is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.l2junity.loadtest.network;
+
+import org.l2junity.network.PacketReader;
+
+import io.netty.channel.Channel;
+
+/**
+ * Receives the server packets of a bot connection, always on the event loop of the connection.
+ */
+public interface IBotPacketListener
+{
+	void onConnect(Channel channel);
+	
+	/**
+	 * @param channel the connection
+	 * @param size the packet size, without the length header
+	 * @param packet the reader positioned on the packet id
+	 */
+	void onPacket(Channel channel, int size, PacketReader packet);
+	
+	void onDisconnect(Channel channel);
+	
+	void onError(Channel channel, Throwable cause);
+}
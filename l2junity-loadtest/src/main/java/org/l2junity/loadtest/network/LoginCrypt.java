@@ -0,0 +1,117 @@
+/*
+ * Copyright (C) 2004-2016 L2J Unity
+ * 
+ * This file is part of L2J Unity.
+ * 
+ * L2J Unity is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * L2J Unity is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.l2junity.loadtest.network;
+
+import org.l2junity.network.ICrypt;
+import org.l2junity.util.crypt.NewCrypt;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * Client side of the login server cipher.<br>
+ * The first server packet, Init, is encrypted with the static key and an extra XOR pass, it carries the dynamic key used for everything else.
+ * Client packets get a checksum and are padded to the Blowfish block size.
+ * @see org.l2junity.util.crypt.LoginCrypt
+ */
+public class LoginCrypt implements ICrypt
+{
+	private static final byte[] STATIC_BLOWFISH_KEY =
+	{
+		(byte) 0x6b,
+		(byte) 0x60,
+		(byte) 0xcb,
+		(byte) 0x5b,
+		(byte) 0x82,
+		(byte) 0xce,
+		(byte) 0x90,
+		(byte) 0xb1,
+		(byte) 0xcc,
+		(byte) 0x2b,
+		(byte) 0x6c,
+		(byte) 0x55,
+		(byte) 0x6c,
+		(byte) 0x6c,
+		(byte) 0x6c,
+		(byte) 0x6c
+	};
+	
+	private static final NewCrypt STATIC_CRYPT = new NewCrypt(STATIC_BLOWFISH_KEY);
+	
+	private NewCrypt _crypt;
+	
+	public void setKey(byte[] key)
+	{
+		_crypt = new NewCrypt(key);
+	}
+	
+	@Override
+	public void encrypt(ByteBuf buf)
+	{
+		// checksum and padding
+		final int size = ((buf.writerIndex() + 4 + 7) / 8) * 8;
+		buf.writeZero(size - buf.writerIndex());
+		
+		final byte[] raw = new byte[size];
+		buf.getBytes(0, raw);
+		NewCrypt.appendChecksum(raw, 0, size);
+		_crypt.crypt(raw, 0, size);
+		buf.setBytes(0, raw);
+	}
+	
+	@Override
+	public void decrypt(ByteBuf buf)
+	{
+		final int size = buf.writerIndex();
+		final byte[] raw = new byte[size];
+		buf.getBytes(0, raw);
+		if (_crypt == null)
+		{
+			STATIC_CRYPT.decrypt(raw, 0, size);
+			decXORPass(raw, size);
+		}
+		else
+		{
+			_crypt.decrypt(raw, 0, size);
+		}
+		buf.setBytes(0, raw);
+	}
+	
+	/**
+	 * Reverts {@code NewCrypt.encXORPass}, the final XOR key is stored in the 4 bytes before the checksum.
+	 * @param raw the packet
+	 * @param size the packet size
+	 */
+	private static void decXORPass(byte[] raw, int size)
+	{
+		int pos = size - 8;
+		int ecx = (raw[pos] & 0xFF) | ((raw[pos + 1] & 0xFF) << 8) | ((raw[pos + 2] & 0xFF) << 16) | ((raw[pos + 3] & 0xFF) << 24);
+		pos -= 4;
+		while (pos >= 4)
+		{
+			int edx = (raw[pos] & 0xFF) | ((raw[pos + 1] & 0xFF) << 8) | ((raw[pos + 2] & 0xFF) << 16) | ((raw[pos + 3] & 0xFF) << 24);
+			edx ^= ecx;
+			ecx -= edx;
+			raw[pos] = (byte) (edx & 0xFF);
+			raw[pos + 1] = (byte) ((edx >> 8) & 0xFF);
+			raw[pos + 2] = (byte) ((edx >> 16) & 0xFF);
+			raw[pos + 3] = (byte) ((edx >> 24) & 0xFF);
+			pos -= 4;
+		}
+	}
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright (C) 2004-2016 L2J Unity
+ * 
+ * This file is part of L2J Unity.
+ * 
+ * L2J Unity is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * L2J Unity is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.l2junity.loadtest.network;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.RSAKeyGenParameterSpec;
+import java.security.spec.RSAPublicKeySpec;
+
+import javax.crypto.Cipher;
+
+import org.l2junity.network.IOutgoingPacket;
+
+/**
+ * The login client packets sent by the bots, written the way {@code org.l2junity.loginserver.network.clientpackets} reads them.
+ */
+public final class LoginPackets
+{
+	private LoginPackets()
+	{
+	}
+	
+	public static IOutgoingPacket authGameGuard(int sessionId)
+	{
+		return packet ->
+		{
+			packet.writeC(0x07);
+			packet.writeD(sessionId);
+			packet.writeD(0x00);
+			packet.writeD(0x00);
+			packet.writeD(0x00);
+			packet.writeD(0x00);
+			return true;
+		};
+	}
+	
+	/**
+	 * @param publicKey the key of the Init packet
+	 * @param account the account name
+	 * @param password the account password
+	 * @return the packet with the credentials encrypted in the 128 bytes block of the old authentication method
+	 * @throws GeneralSecurityException if the block cannot be encrypted
+	 */
+	public static IOutgoingPacket requestAuthLogin(RSAPublicKey publicKey, String account, String password) throws GeneralSecurityException
+	{
+		final byte[] block = new byte[128];
+		final byte[] user = account.getBytes(StandardCharsets.US_ASCII);
+		final byte[] pass = password.getBytes(StandardCharsets.US_ASCII);
+		System.arraycopy(user, 0, block, 0x5E, Math.min(user.length, 14));
+		System.arraycopy(pass, 0, block, 0x6C, Math.min(pass.length, 16));
+		
+		final Cipher rsaCipher = Cipher.getInstance("RSA/ECB/nopadding");
+		rsaCipher.init(Cipher.ENCRYPT_MODE, publicKey);
+		final byte[] encrypted = rsaCipher.doFinal(block);
+		return packet ->
+		{
+			packet.writeC(0x00);
+			packet.writeB(encrypted);
+			return true;
+		};
+	}
+	
+	public static IOutgoingPacket requestServerList(int loginOk1, int loginOk2)
+	{
+		return packet ->
+		{
+			packet.writeC(0x05);
+			packet.writeD(loginOk1);
+			packet.writeD(loginOk2);
+			return true;
+		};
+	}
+	
+	public static IOutgoingPacket requestServerLogin(int loginOk1, int loginOk2, int serverId)
+	{
+		return packet ->
+		{
+			packet.writeC(0x02);
+			packet.writeD(loginOk1);
+			packet.writeD(loginOk2);
+			packet.writeC(serverId);
+			return true;
+		};
+	}
+	
+	/**
+	 * Reverts the scrambling done by {@code ScrambledKeyPair}.
+	 * @param scrambledModulus the 128 bytes modulus of the Init packet
+	 * @return the RSA public key of the login server
+	 * @throws GeneralSecurityException if the key cannot be created
+	 */
+	public static RSAPublicKey unscrambleKey(byte[] scrambledModulus) throws GeneralSecurityException
+	{
+		final byte[] modulus = scrambledModulus.clone();
+		for (int i = 0; i < 0x40; i++)
+		{
+			modulus[0x40 + i] = (byte) (modulus[0x40 + i] ^ modulus[i]);
+		}
+		for (int i = 0; i < 4; i++)
+		{
+			modulus[0x0d + i] = (byte) (modulus[0x0d + i] ^ modulus[0x34 + i]);
+		}
+		for (int i = 0; i < 0x40; i++)
+		{
+			modulus[i] = (byte) (modulus[i] ^ modulus[0x40 + i]);
+		}
+		for (int i = 0; i < 4; i++)
+		{
+			final byte temp = modulus[0x00 + i];
+			modulus[0x00 + i] = modulus[0x4d + i];
+			modulus[0x4d + i] = temp;
+		}
+		
+		final RSAPublicKeySpec spec = new RSAPublicKeySpec(new BigInteger(1, modulus), RSAKeyGenParameterSpec.F4);
+		return (RSAPublicKey) KeyFactory.getInstance("RSA").generatePublic(spec);
+	}
+}
@@ -52,6 +52,25 @@ public final class Config
 	public static String GAME_CLIENT_LOGIN_HOST;
 	public static boolean AUTO_CREATE_ACCOUNTS;
 	public static boolean SHOW_LICENCE;
+	public static int AUTH_THREAD_POOL_SIZE;
+	public static int AUTH_QUEUE_SIZE;
+	public static int ACCOUNT_CACHE_TIME;
+	public static int LOGIN_AUDIT_FLUSH_INTERVAL;
+	public static int RSA_KEY_PAIR_COUNT;
+	public static int RSA_KEY_ROTATION_INTERVAL;
+	public static int RSA_DECRYPT_THREADS;
+	public static int RSA_DECRYPT_QUEUE_SIZE;
+	
+	// --------------------------------------------------
+	// Network Settings
+	// --------------------------------------------------
+	public static boolean USE_EPOLL;
+	public static boolean TCP_NODELAY;
+	public static int SOCKET_SEND_BUFFER_SIZE;
+	public static int SOCKET_RECEIVE_BUFFER_SIZE;
+	public static int SOCKET_BACKLOG;
+	public static int WRITE_BUFFER_LOW_WATER_MARK;
+	public static int WRITE_BUFFER_HIGH_WATER_MARK;
 	
 	// --------------------------------------------------
 	// Database Settings
@@ -77,6 +96,24 @@ public final class Config
 			AUTO_CREATE_ACCOUNTS = ServerSettings.getBoolean("AutoCreateAccounts", true);
 			
 			SHOW_LICENCE = ServerSettings.getBoolean("ShowLicense", true);
+			
+			AUTH_THREAD_POOL_SIZE = ServerSettings.getInt("AuthThreadPoolSize", 0);
+			AUTH_QUEUE_SIZE = ServerSettings.getInt("AuthQueueSize", 5000);
+			ACCOUNT_CACHE_TIME = ServerSettings.getInt("AccountCacheTime", 30);
+			LOGIN_AUDIT_FLUSH_INTERVAL = Math.max(100, ServerSettings.getInt("LoginAuditFlushInterval", 1000));
+			
+			RSA_KEY_PAIR_COUNT = ServerSettings.getInt("RSAKeyPairCount", 50);
+			RSA_KEY_ROTATION_INTERVAL = ServerSettings.getInt("RSAKeyRotationInterval", 60);
+			RSA_DECRYPT_THREADS = ServerSettings.getInt("RSADecryptThreads", 0);
+			RSA_DECRYPT_QUEUE_SIZE = ServerSettings.getInt("RSADecryptQueueSize", 1000);
+			
+			USE_EPOLL = ServerSettings.getBoolean("UseEpoll", true);
+			TCP_NODELAY = ServerSettings.getBoolean("TcpNoDelay", true);
+			SOCKET_SEND_BUFFER_SIZE = ServerSettings.getInt("SocketSendBufferSize", 0);
+			SOCKET_RECEIVE_BUFFER_SIZE = ServerSettings.getInt("SocketReceiveBufferSize", 0);
+			SOCKET_BACKLOG = ServerSettings.getInt("SocketBacklog", 0);
+			WRITE_BUFFER_LOW_WATER_MARK = ServerSettings.getInt("WriteBufferLowWaterMark", 32768);
+			WRITE_BUFFER_HIGH_WATER_MARK = ServerSettings.getInt("WriteBufferHighWaterMark", 65536);
 		}
 		catch (Exception e)
 		{
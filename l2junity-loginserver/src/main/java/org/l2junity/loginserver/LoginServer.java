@@ -21,6 +21,7 @@ package org.l2junity.loginserver;
 
 
 import org.l2junity.loginserver.manager.GameServerManager;
+import org.l2junity.loginserver.manager.LoginManager;
 import org.l2junity.loginserver.network.client.ClientNetworkManager;
 import org.l2junity.loginserver.network.client.crypt.KeyManager;
 import org.l2junity.loginserver.network.gameserver.GameServerNetworkManager;
@@ -46,6 +47,7 @@ public class LoginServer
 
 			printSection("Data");
 			GameServerManager.getInstance();
+			LoginManager.getInstance();
 			
 			printSection("Network");
 			KeyManager.getInstance();
@@ -19,6 +19,7 @@
 package org.l2junity.loginserver.db;
 
 import java.io.Closeable;
+import java.sql.Timestamp;
 import java.util.List;
 
 import org.l2junity.loginserver.db.dto.Account;
@@ -27,6 +28,7 @@ import org.l2junity.loginserver.db.mapper.AccountLoginMapper;
 import org.skife.jdbi.v2.sqlobject.Bind;
 import org.skife.jdbi.v2.sqlobject.BindBean;
 import org.skife.jdbi.v2.sqlobject.GetGeneratedKeys;
+import org.skife.jdbi.v2.sqlobject.SqlBatch;
 import org.skife.jdbi.v2.sqlobject.SqlQuery;
 import org.skife.jdbi.v2.sqlobject.SqlUpdate;
 import org.skife.jdbi.v2.sqlobject.customizers.RegisterMapper;
@@ -45,6 +47,9 @@ public interface AccountLoginsDAO extends Closeable
 	@GetGeneratedKeys
 	long insert(@BindBean Account account, @Bind("ip") String ip);
 	
+	@SqlBatch("INSERT INTO `account_logins`(`account_id`, `server_id`, `ip`, `logged_in_at`) VALUES(:accountId, :serverId, :ip, :loggedInAt)")
+	void insert(@Bind("accountId") List<Long> accountIds, @Bind("serverId") List<Short> serverIds, @Bind("ip") List<String> ips, @Bind("loggedInAt") List<Timestamp> loggedInAts);
+	
 	@SqlUpdate("UPDATE `account_logins` SET `server_id` = :serverId WHERE `id` = :id")
 	int updateServerId(@Bind("id") long id, @Bind("serverId") short serverid);
 	
@@ -20,15 +20,31 @@ package org.l2junity.loginserver.manager;
 
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Base64;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import org.l2junity.commons.util.ExpiringCache;
+import org.l2junity.commons.util.LatencyHistogram;
 import org.l2junity.loginserver.Config;
 import org.l2junity.loginserver.DatabaseFactory;
 import org.l2junity.loginserver.db.AccountBansDAO;
 import org.l2junity.loginserver.db.AccountLoginsDAO;
 import org.l2junity.loginserver.db.AccountsDAO;
 import org.l2junity.loginserver.db.dto.Account;
+import org.l2junity.loginserver.db.dto.AccountLogin;
 import org.l2junity.loginserver.network.client.ClientHandler;
 import org.l2junity.loginserver.network.client.ConnectionState;
 import org.l2junity.loginserver.network.client.send.BlockedAccount;
@@ -41,38 +57,113 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
+ * Authenticates clients on a dedicated bounded pool, so the network threads never wait on the database.<br>
+ * Account and ban lookups are cached for a short time and login audit rows are inserted in batches.
  * @author NosBit
  */
 public class LoginManager
 {
 	private final Logger LOGGER = LoggerFactory.getLogger(LoginManager.class);
 	
-	private MessageDigest _passwordHashCrypt;
+	private static final ThreadLocal<MessageDigest> PASSWORD_HASH_CRYPT = ThreadLocal.withInitial(() ->
+	{
+		try
+		{
+			return MessageDigest.getInstance("SHA");
+		}
+		catch (NoSuchAlgorithmException e)
+		{
+			throw new IllegalStateException(e);
+		}
+	});
+	
 	private final AtomicInteger _connectionId = new AtomicInteger();
+	private final ThreadPoolExecutor _authExecutor;
+	private final ScheduledExecutorService _maintenanceExecutor;
+	private final ExpiringCache<String, Account> _accounts;
+	private final ExpiringCache<Long, Boolean> _bans;
+	private final Queue<AccountLogin> _pendingLogins = new ConcurrentLinkedQueue<>();
+	private final LatencyHistogram _authLatency = new LatencyHistogram();
 	
 	protected LoginManager()
 	{
+		final AtomicInteger threadId = new AtomicInteger(1);
+		final int poolSize = Config.AUTH_THREAD_POOL_SIZE > 0 ? Config.AUTH_THREAD_POOL_SIZE : Runtime.getRuntime().availableProcessors();
+		_authExecutor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(Math.max(1, Config.AUTH_QUEUE_SIZE)), r ->
+		{
+			final Thread thread = new Thread(r, "LoginAuth-" + threadId.getAndIncrement());
+			thread.setDaemon(true);
+			return thread;
+		});
+		_maintenanceExecutor = Executors.newSingleThreadScheduledExecutor(r ->
+		{
+			final Thread thread = new Thread(r, "LoginMaintenance");
+			thread.setDaemon(true);
+			return thread;
+		});
+		_accounts = new ExpiringCache<>(Config.ACCOUNT_CACHE_TIME, TimeUnit.SECONDS);
+		_bans = new ExpiringCache<>(Config.ACCOUNT_CACHE_TIME, TimeUnit.SECONDS);
+		
+		_maintenanceExecutor.scheduleWithFixedDelay(this::flushLogins, Config.LOGIN_AUDIT_FLUSH_INTERVAL, Config.LOGIN_AUDIT_FLUSH_INTERVAL, TimeUnit.MILLISECONDS);
+		_maintenanceExecutor.scheduleWithFixedDelay(() ->
+		{
+			_accounts.purge();
+			_bans.purge();
+		}, 1, 1, TimeUnit.MINUTES);
+		_maintenanceExecutor.scheduleWithFixedDelay(this::reportStatistics, 1, 1, TimeUnit.MINUTES);
+		Runtime.getRuntime().addShutdownHook(new Thread(this::flushLogins, "LoginAuditFlush"));
+		
+		LOGGER.info("Authenticating on {} threads.", poolSize);
+	}
+	
+	/**
+	 * Queues the authentication of the client on the authentication pool.
+	 * @param client the client
+	 * @param name the account name
+	 * @param password the password
+	 * @param otp the one time password
+	 */
+	public void tryAuthLogin(ClientHandler client, String name, String password, int otp)
+	{
+		final long start = System.nanoTime();
 		try
 		{
-			_passwordHashCrypt = MessageDigest.getInstance("SHA");
+			_authExecutor.execute(() ->
+			{
+				try
+				{
+					authLogin(client, name, password, otp);
+				}
+				finally
+				{
+					_authLatency.recordSince(start);
+				}
+			});
 		}
-		catch (Exception e)
+		catch (RejectedExecutionException e)
 		{
-			LOGGER.error("Failed initializing:", e);
+			client.close(LoginFail2.DUE_TO_HIGH_SERVER_TRAFFIC_YOUR_LOGIN_ATTEMPT_HAS_FAILED_PLEASE_TRY_AGAIN_SOON);
 		}
 	}
 	
 	@SuppressWarnings("unused")
-	public void tryAuthLogin(ClientHandler client, String name, String password, int otp)
+	private void authLogin(ClientHandler client, String name, String password, int otp)
 	{
-		try (AccountsDAO accountsDAO = DatabaseFactory.getInstance().getAccountsDAO())
+		try
 		{
-			final String passwordHashBase64 = Base64.getEncoder().encodeToString(_passwordHashCrypt.digest(password.getBytes(StandardCharsets.UTF_8)));
-			Account account = accountsDAO.findByName(name);
+			final String passwordHashBase64 = Base64.getEncoder().encodeToString(PASSWORD_HASH_CRYPT.get().digest(password.getBytes(StandardCharsets.UTF_8)));
+			Account account = _accounts.get(name, this::findAccount);
 			if ((account == null) && Config.AUTO_CREATE_ACCOUNTS)
 			{
-				long accountId = accountsDAO.insert(name, passwordHashBase64);
-				account = accountsDAO.findById(accountId);
+				try (AccountsDAO accountsDAO = DatabaseFactory.getInstance().getAccountsDAO())
+				{
+					long accountId = accountsDAO.insert(name, passwordHashBase64);
+					account = accountsDAO.findById(accountId);
+				}
+				if (account != null)
+				{
+					_accounts.put(name, account);
+				}
 				LOGGER.info("Auto created account [{}]", name);
 			}
 			
@@ -89,13 +180,10 @@ public class LoginManager
 				return;
 			}
 			
-			try (AccountBansDAO accountBansDAO = DatabaseFactory.getInstance().getAccountBansDAO())
+			if (_bans.get(account.getId(), this::isBanned))
 			{
-				if (!accountBansDAO.findActiveByAccountId(account).isEmpty())
-				{
-					client.close(BlockedAccount.YOUR_ACCOUNT_HAS_BEEN_RESTRICTED_IN_ACCORDANCE_WITH_OUR_TERMS_OF_SERVICE_DUE_TO_YOUR_CONFIRMED_ABUSE_OF_IN_GAME_SYSTEMS_RESULTING_IN_ABNORMAL_GAMEPLAY_FOR_MORE_DETAILS_PLEASE_VISIT_THE_LINEAGE_II_SUPPORT_WEBSITE_HTTPS_SUPPORT_LINEAGE2_COM);
-					return;
-				}
+				client.close(BlockedAccount.YOUR_ACCOUNT_HAS_BEEN_RESTRICTED_IN_ACCORDANCE_WITH_OUR_TERMS_OF_SERVICE_DUE_TO_YOUR_CONFIRMED_ABUSE_OF_IN_GAME_SYSTEMS_RESULTING_IN_ABNORMAL_GAMEPLAY_FOR_MORE_DETAILS_PLEASE_VISIT_THE_LINEAGE_II_SUPPORT_WEBSITE_HTTPS_SUPPORT_LINEAGE2_COM);
+				return;
 			}
 			
 			// TODO: check if account is already logged in
@@ -106,10 +194,8 @@ public class LoginManager
 				return;
 			}
 			
-			try (AccountLoginsDAO accountLoginsDAO = DatabaseFactory.getInstance().getAccountLoginsDAO())
-			{
-				client.setAccountLoginsId(accountLoginsDAO.insert(account, client.getInetAddress().getHostAddress()));
-			}
+			// Stored once the server is selected or the client disconnects.
+			client.setAccountLogin(new AccountLogin(0, account.getId(), (short) 0, client.getInetAddress().getHostAddress(), Instant.now()));
 			
 			client.setAccount(account);
 			if (Config.SHOW_LICENCE)
@@ -130,6 +216,22 @@ public class LoginManager
 		}
 	}
 	
+	private Account findAccount(String name)
+	{
+		try (AccountsDAO accountsDAO = DatabaseFactory.getInstance().getAccountsDAO())
+		{
+			return accountsDAO.findByName(name);
+		}
+	}
+	
+	private Boolean isBanned(long accountId)
+	{
+		try (AccountBansDAO accountBansDAO = DatabaseFactory.getInstance().getAccountBansDAO())
+		{
+			return !accountBansDAO.findActiveByAccountId(accountId).isEmpty();
+		}
+	}
+	
 	/**
 	 * @param serverId
 	 * @param client
@@ -137,16 +239,91 @@ public class LoginManager
 	public void tryServerLogin(ClientHandler client, short serverId)
 	{
 		final Account account = client.getAccount();
-		client.getAccount().setLastServerId(serverId);
-		try (AccountsDAO accountsDAO = DatabaseFactory.getInstance().getAccountsDAO())
+		account.setLastServerId(serverId);
+		
+		final AccountLogin accountLogin = client.takeAccountLogin();
+		if (accountLogin != null)
 		{
-			accountsDAO.updateLastServerId(account);
+			accountLogin.setServerId((short) (serverId & 0xFF));
+			storeLogin(accountLogin);
+		}
+		
+		try
+		{
+			_authExecutor.execute(() ->
+			{
+				try (AccountsDAO accountsDAO = DatabaseFactory.getInstance().getAccountsDAO())
+				{
+					accountsDAO.updateLastServerId(account);
+				}
+				catch (DBIException e)
+				{
+					LOGGER.warn("Could not update last server of account {}", account.getName(), e);
+				}
+			});
+		}
+		catch (RejectedExecutionException e)
+		{
+			LOGGER.warn("Could not update last server of account {}, authentication queue is full.", account.getName());
+		}
+	}
+	
+	/**
+	 * Queues the login audit row, it is inserted with the next batch.
+	 * @param accountLogin the login
+	 */
+	public void storeLogin(AccountLogin accountLogin)
+	{
+		_pendingLogins.add(accountLogin);
+	}
+	
+	private synchronized void flushLogins()
+	{
+		if (_pendingLogins.isEmpty())
+		{
+			return;
+		}
+		
+		final List<Long> accountIds = new ArrayList<>();
+		final List<Short> serverIds = new ArrayList<>();
+		final List<String> ips = new ArrayList<>();
+		final List<Timestamp> loggedInAts = new ArrayList<>();
+		AccountLogin accountLogin;
+		while ((accountLogin = _pendingLogins.poll()) != null)
+		{
+			accountIds.add(accountLogin.getAccountId());
+			serverIds.add(accountLogin.getServerId());
+			ips.add(accountLogin.getIp());
+			loggedInAts.add(Timestamp.from(accountLogin.getLoggedInAt()));
 		}
 		
 		try (AccountLoginsDAO accountLoginsDAO = DatabaseFactory.getInstance().getAccountLoginsDAO())
 		{
-			accountLoginsDAO.updateServerId(client.getAccountLoginsId(), (short) (serverId & 0xFF));
+			accountLoginsDAO.insert(accountIds, serverIds, ips, loggedInAts);
 		}
+		catch (DBIException e)
+		{
+			LOGGER.warn("Could not store {} account logins.", accountIds.size(), e);
+		}
+	}
+	
+	private void reportStatistics()
+	{
+		if (_authLatency.getCount() == 0)
+		{
+			return;
+		}
+		
+		LOGGER.info("Authenticated {} logins in the last minute, latency {}ms, queued {}, account cache hits {} misses {}.", _authLatency.getCount(), _authLatency.toString(TimeUnit.MILLISECONDS), _authExecutor.getQueue().size(), _accounts.getHits(), _accounts.getMisses());
+		_authLatency.reset();
+	}
+	
+	/**
+	 * @return the latency histogram of the authentications since the last report, from packet receipt to completion
+	 */
+	public LatencyHistogram getAuthLatency()
+	{
+		return _authLatency;
 	}
 	
 	/**
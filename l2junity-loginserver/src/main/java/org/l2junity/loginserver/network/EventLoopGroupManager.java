@@ -18,26 +18,45 @@
  */
 package org.l2junity.loginserver.network;
 
-import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.EventLoopGroup;
+
+import org.l2junity.loginserver.Config;
+import org.l2junity.network.NetworkTransport;
+import org.l2junity.network.SocketSettings;
 
 /**
  * @author NosBit
  */
 public class EventLoopGroupManager
 {
-	private final NioEventLoopGroup _bossGroup = new NioEventLoopGroup();
-	private final NioEventLoopGroup _workerGroup = new NioEventLoopGroup();
+	private final NetworkTransport _transport = NetworkTransport.select(Config.USE_EPOLL);
+	private final EventLoopGroup _bossGroup = _transport.newEventLoopGroup(0);
+	private final EventLoopGroup _workerGroup = _transport.newEventLoopGroup(0);
+	private final SocketSettings _socketSettings = new SocketSettings(Config.TCP_NODELAY, Config.SOCKET_SEND_BUFFER_SIZE, Config.SOCKET_RECEIVE_BUFFER_SIZE, Config.SOCKET_BACKLOG, Config.WRITE_BUFFER_LOW_WATER_MARK, Config.WRITE_BUFFER_HIGH_WATER_MARK);
+	
+	public NetworkTransport getTransport()
+	{
+		return _transport;
+	}
 	
-	public NioEventLoopGroup getBossGroup()
+	public EventLoopGroup getBossGroup()
 	{
 		return _bossGroup;
 	}
 	
-	public NioEventLoopGroup getWorkerGroup()
+	public EventLoopGroup getWorkerGroup()
 	{
 		return _workerGroup;
 	}
 	
+	/**
+	 * @return the socket options of both the client and the game server connections
+	 */
+	public SocketSettings getSocketSettings()
+	{
+		return _socketSettings;
+	}
+	
 	public static EventLoopGroupManager getInstance()
 	{
 		return SingletonHolder._instance;
@@ -24,10 +24,12 @@ import io.netty.channel.ChannelHandlerContext;
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
 
 import javax.crypto.SecretKey;
 
 import org.l2junity.loginserver.db.dto.Account;
+import org.l2junity.loginserver.db.dto.AccountLogin;
 import org.l2junity.loginserver.manager.LoginManager;
 import org.l2junity.loginserver.network.client.crypt.KeyManager;
 import org.l2junity.loginserver.network.client.crypt.ScrambledRSAKeyPair;
@@ -53,7 +55,7 @@ public class ClientHandler extends ChannelInboundHandler<ClientHandler>
 	private Channel _channel;
 	private byte[] _gameGuard;
 	private Account _account;
-	private long _accountLoginsId;
+	private final AtomicReference<AccountLogin> _accountLogin = new AtomicReference<>();
 	
 	public ClientHandler(SecretKey blowfishKey)
 	{
@@ -80,6 +82,12 @@ public class ClientHandler extends ChannelInboundHandler<ClientHandler>
 	@Override
 	public void channelInactive(ChannelHandlerContext ctx)
 	{
+		final AccountLogin accountLogin = takeAccountLogin();
+		if (accountLogin != null)
+		{
+			LoginManager.getInstance().storeLogin(accountLogin);
+		}
+		
 		LOGGER.info("Client Disconnected: " + ctx.channel());
 	}
 	
@@ -202,14 +210,20 @@ public class ClientHandler extends ChannelInboundHandler<ClientHandler>
 		_account = account;
 	}
 	
-	public long getAccountLoginsId()
+	/**
+	 * @param accountLogin the login waiting to be stored
+	 */
+	public void setAccountLogin(AccountLogin accountLogin)
 	{
-		return _accountLoginsId;
+		_accountLogin.set(accountLogin);
 	}
 	
-	public void setAccountLoginsId(long accountLoginsId)
+	/**
+	 * @return the login waiting to be stored, or {@code null} if it was already taken
+	 */
+	public AccountLogin takeAccountLogin()
 	{
-		_accountLoginsId = accountLoginsId;
+		return _accountLogin.getAndSet(null);
 	}
 	
 }
@@ -29,7 +29,7 @@ public class ClientNetworkManager extends NetworkManager
 {
 	protected ClientNetworkManager()
 	{
-		super(EventLoopGroupManager.getInstance().getBossGroup(), EventLoopGroupManager.getInstance().getWorkerGroup(), new ClientInitializer(), Config.GAME_CLIENT_LOGIN_HOST, Config.GAME_CLIENT_LOGIN_PORT);
+		super(EventLoopGroupManager.getInstance().getTransport(), EventLoopGroupManager.getInstance().getBossGroup(), EventLoopGroupManager.getInstance().getWorkerGroup(), new ClientInitializer(), Config.GAME_CLIENT_LOGIN_HOST, Config.GAME_CLIENT_LOGIN_PORT, EventLoopGroupManager.getInstance().getSocketSettings());
 	}
 	
 	public static ClientNetworkManager getInstance()
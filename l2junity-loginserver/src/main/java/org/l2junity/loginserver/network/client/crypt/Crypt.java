@@ -26,6 +26,7 @@ import javax.crypto.SecretKey;
 
 import org.l2junity.commons.util.Rnd;
 import org.l2junity.network.ICrypt;
+import org.l2junity.network.crypt.BlowfishEngine;
 
 /**
  * @author NosBit
@@ -103,13 +104,7 @@ public class Crypt implements ICrypt
 			
 			buf.resetReaderIndex();
 			
-			final byte[] block = new byte[8];
-			while (buf.isReadable(8))
-			{
-				buf.readBytes(block);
-				STATIC_BLOWFISH_ENGINE.encryptBlock(block, 0);
-				buf.setBytes(buf.readerIndex() - block.length, block);
-			}
+			STATIC_BLOWFISH_ENGINE.encrypt(buf, buf.readerIndex(), buf.readableBytes());
 		}
 		else
 		{
@@ -122,13 +117,7 @@ public class Crypt implements ICrypt
 			
 			buf.resetReaderIndex();
 			
-			final byte[] block = new byte[8];
-			while (buf.isReadable(8))
-			{
-				buf.readBytes(block);
-				_blowfishEngine.encryptBlock(block, 0);
-				buf.setBytes(buf.readerIndex() - block.length, block);
-			}
+			_blowfishEngine.encrypt(buf, buf.readerIndex(), buf.readableBytes());
 		}
 	}
 	
@@ -146,13 +135,7 @@ public class Crypt implements ICrypt
 			return;
 		}
 		
-		final byte[] block = new byte[8];
-		while (buf.isReadable(8))
-		{
-			buf.readBytes(block);
-			_blowfishEngine.decryptBlock(block, 0);
-			buf.setBytes(buf.readerIndex() - block.length, block);
-		}
+		_blowfishEngine.decrypt(buf, buf.readerIndex(), buf.readableBytes());
 		
 		// verify checksum also dont forget!
 	}
@@ -21,39 +21,121 @@ package org.l2junity.loginserver.network.client.crypt;
 import java.security.GeneralSecurityException;
 import java.security.KeyPairGenerator;
 import java.security.spec.RSAKeyGenParameterSpec;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
+import javax.crypto.Cipher;
 import javax.crypto.KeyGenerator;
 import javax.crypto.SecretKey;
 
+import org.l2junity.commons.util.LatencyHistogram;
 import org.l2junity.commons.util.Rnd;
+import org.l2junity.loginserver.Config;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Manages the keys and key pairs required for network communication.
+ * Manages the keys and key pairs required for network communication.<br>
+ * RSA key pairs are generated and rotated on a background thread, RSA decryption runs on a pool sized to the processors instead of the network threads.<br>
+ * The decryption queue is bounded, logins beyond it are refused rather than waiting behind a flood.
  * @author NosBit
  */
 public class KeyManager
 {
 	private static final Logger LOGGER = LoggerFactory.getLogger(KeyManager.class);
 	
+	private static final ThreadLocal<Cipher> RSA_CIPHER = ThreadLocal.withInitial(() ->
+	{
+		try
+		{
+			return Cipher.getInstance("RSA/ECB/NoPadding");
+		}
+		catch (GeneralSecurityException e)
+		{
+			throw new IllegalStateException(e);
+		}
+	});
+	
 	private final KeyGenerator _blowfishKeyGenerator;
-	private final ScrambledRSAKeyPair[] _scrambledRSAKeyPairs = new ScrambledRSAKeyPair[50];
+	private final KeyPairGenerator _rsaKeyPairGenerator;
+	private final AtomicReferenceArray<ScrambledRSAKeyPair> _scrambledRSAKeyPairs;
+	private final AtomicInteger _rotationIndex = new AtomicInteger();
+	private final ThreadPoolExecutor _decryptExecutor;
+	private final ScheduledExecutorService _keyPairExecutor;
+	private final LatencyHistogram _decryptTime = new LatencyHistogram();
+	private final AtomicLong _rejectedDecrypts = new AtomicLong();
 	
 	protected KeyManager() throws GeneralSecurityException
 	{
 		_blowfishKeyGenerator = KeyGenerator.getInstance("Blowfish");
 		
-		final KeyPairGenerator rsaKeyPairGenerator = KeyPairGenerator.getInstance("RSA");
+		_rsaKeyPairGenerator = KeyPairGenerator.getInstance("RSA");
 		final RSAKeyGenParameterSpec spec = new RSAKeyGenParameterSpec(1024, RSAKeyGenParameterSpec.F4);
-		rsaKeyPairGenerator.initialize(spec);
+		_rsaKeyPairGenerator.initialize(spec);
+		
+		_scrambledRSAKeyPairs = new AtomicReferenceArray<>(Math.max(1, Config.RSA_KEY_PAIR_COUNT));
+		for (int i = 0; i < _scrambledRSAKeyPairs.length(); i++)
+		{
+			_scrambledRSAKeyPairs.set(i, generateScrambledRSAKeyPair());
+		}
 		
-		for (int i = 0; i < _scrambledRSAKeyPairs.length; i++)
+		final AtomicInteger threadId = new AtomicInteger(1);
+		final int decryptThreads = Config.RSA_DECRYPT_THREADS > 0 ? Config.RSA_DECRYPT_THREADS : Runtime.getRuntime().availableProcessors();
+		_decryptExecutor = new ThreadPoolExecutor(decryptThreads, decryptThreads, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(Math.max(1, Config.RSA_DECRYPT_QUEUE_SIZE)), r ->
 		{
-			_scrambledRSAKeyPairs[i] = new ScrambledRSAKeyPair(rsaKeyPairGenerator.generateKeyPair());
+			final Thread thread = new Thread(r, "RSADecrypt-" + threadId.getAndIncrement());
+			thread.setDaemon(true);
+			return thread;
+		});
+		_keyPairExecutor = Executors.newSingleThreadScheduledExecutor(r ->
+		{
+			final Thread thread = new Thread(r, "RSAKeyPairRotation");
+			thread.setDaemon(true);
+			thread.setPriority(Thread.MIN_PRIORITY);
+			return thread;
+		});
+		
+		if (Config.RSA_KEY_ROTATION_INTERVAL > 0)
+		{
+			_keyPairExecutor.scheduleWithFixedDelay(this::rotateScrambledRSAKeyPair, Config.RSA_KEY_ROTATION_INTERVAL, Config.RSA_KEY_ROTATION_INTERVAL, TimeUnit.SECONDS);
 		}
+		_keyPairExecutor.scheduleWithFixedDelay(this::reportStatistics, 1, 1, TimeUnit.MINUTES);
 		
-		LOGGER.info("Cached {} RSA key pairs.", _scrambledRSAKeyPairs.length);
+		LOGGER.info("Cached {} RSA key pairs, decrypting on {} threads.", _scrambledRSAKeyPairs.length(), decryptThreads);
+	}
+	
+	private ScrambledRSAKeyPair generateScrambledRSAKeyPair()
+	{
+		// KeyPairGenerator is not thread safe, it's only used by the constructor and the rotation thread.
+		synchronized (_rsaKeyPairGenerator)
+		{
+			return new ScrambledRSAKeyPair(_rsaKeyPairGenerator.generateKeyPair());
+		}
+	}
+	
+	/**
+	 * Replaces the oldest cached key pair, clients which already got it keep using their own reference.
+	 */
+	private void rotateScrambledRSAKeyPair()
+	{
+		try
+		{
+			final int index = Math.floorMod(_rotationIndex.getAndIncrement(), _scrambledRSAKeyPairs.length());
+			_scrambledRSAKeyPairs.set(index, generateScrambledRSAKeyPair());
+		}
+		catch (Exception e)
+		{
+			LOGGER.warn("Failed to rotate RSA key pair.", e);
+		}
 	}
 	
 	/**
@@ -71,7 +153,68 @@ public class KeyManager
 	 */
 	public ScrambledRSAKeyPair getRandomScrambledRSAKeyPair()
 	{
-		return _scrambledRSAKeyPairs[Rnd.nextInt(_scrambledRSAKeyPairs.length)];
+		return _scrambledRSAKeyPairs.get(Rnd.nextInt(_scrambledRSAKeyPairs.length()));
+	}
+	
+	/**
+	 * Decrypts the given 128 bytes blocks on the decryption pool.
+	 * @param keyPair the key pair the client received
+	 * @param blocks the encrypted blocks
+	 * @return a future completed with the decrypted blocks, one after another, or completed exceptionally if decryption failed or the decryption queue is full
+	 */
+	public CompletableFuture<byte[]> decrypt(ScrambledRSAKeyPair keyPair, byte[]... blocks)
+	{
+		try
+		{
+			return decryptAsync(keyPair, blocks);
+		}
+		catch (RejectedExecutionException e)
+		{
+			_rejectedDecrypts.incrementAndGet();
+			final CompletableFuture<byte[]> rejected = new CompletableFuture<>();
+			rejected.completeExceptionally(e);
+			return rejected;
+		}
+	}
+	
+	private CompletableFuture<byte[]> decryptAsync(ScrambledRSAKeyPair keyPair, byte[]... blocks)
+	{
+		return CompletableFuture.supplyAsync(() ->
+		{
+			final long start = System.nanoTime();
+			try
+			{
+				final Cipher rsaCipher = RSA_CIPHER.get();
+				rsaCipher.init(Cipher.DECRYPT_MODE, keyPair.getPrivateKey());
+				final byte[] decrypted = new byte[blocks.length * 128];
+				for (int i = 0; i < blocks.length; i++)
+				{
+					rsaCipher.doFinal(blocks[i], 0, 128, decrypted, i * 128);
+				}
+				return decrypted;
+			}
+			catch (GeneralSecurityException e)
+			{
+				throw new CompletionException(e);
+			}
+			finally
+			{
+				_decryptTime.recordSince(start);
+			}
+		}, _decryptExecutor);
+	}
+	
+	private void reportStatistics()
+	{
+		final long decrypts = _decryptTime.getCount();
+		final long rejected = _rejectedDecrypts.getAndSet(0);
+		if ((decrypts == 0) && (rejected == 0))
+		{
+			return;
+		}
+		
+		LOGGER.info("Performed {} RSA decryptions in the last minute ({}/s), decrypt time {}us, queued {}, refused {}.", decrypts, decrypts / 60, _decryptTime.toString(TimeUnit.MICROSECONDS), _decryptExecutor.getQueue().size(), rejected);
+		_decryptTime.reset();
 	}
 	
 	/**
@@ -18,13 +18,10 @@
  */
 package org.l2junity.loginserver.network.client.recv;
 
-import java.security.GeneralSecurityException;
-
-import javax.crypto.Cipher;
-
 import org.l2junity.loginserver.manager.LoginManager;
 import org.l2junity.loginserver.network.client.ClientHandler;
 import org.l2junity.loginserver.network.client.ConnectionState;
+import org.l2junity.loginserver.network.client.crypt.KeyManager;
 import org.l2junity.loginserver.network.client.send.LoginFail2;
 import org.l2junity.network.IIncomingPacket;
 import org.l2junity.network.PacketReader;
@@ -81,39 +78,41 @@ public class RequestAuthLogin implements IIncomingPacket<ClientHandler>
 			return;
 		}
 		
-		byte[] decrypted = new byte[_newAuth ? 256 : 128];
-		try
+		final byte[][] blocks = _newAuth ? new byte[][]
 		{
-			final Cipher rsaCipher = Cipher.getInstance("RSA/ECB/NoPadding");
-			rsaCipher.init(Cipher.DECRYPT_MODE, client.getScrambledRSAKeyPair().getPrivateKey());
-			rsaCipher.doFinal(_raw, 0, 128, decrypted, 0);
-			if (_newAuth)
-			{
-				rsaCipher.doFinal(_raw2, 0, 128, decrypted, 128);
-			}
-		}
-		catch (GeneralSecurityException e)
+			_raw,
+			_raw2
+		} : new byte[][]
 		{
-			client.close(LoginFail2.ACCESS_FAILED_PLEASE_TRY_AGAIN_LATER);
-			return;
-		}
+			_raw
+		};
 		
-		final String name;
-		final String password;
-		final int ncotp;
-		if (_newAuth)
-		{
-			name = new String(decrypted, 0x4E, 50).trim() + new String(decrypted, 0xCE, 14).trim();
-			password = new String(decrypted, 0xDC, 16).trim();
-			ncotp = (decrypted[0xFC] & 0xFF) | ((decrypted[0xFD] & 0xFF) << 8) | ((decrypted[0xFE] & 0xFF) << 16) | ((decrypted[0xFF] & 0xFF) << 24);
-		}
-		else
+		// RSA decryption is expensive, it's done on the decryption pool rather than the network thread.
+		KeyManager.getInstance().decrypt(client.getScrambledRSAKeyPair(), blocks).whenComplete((decrypted, e) ->
 		{
-			name = new String(decrypted, 0x5E, 14).trim();
-			password = new String(decrypted, 0x6C, 16).trim();
-			ncotp = (decrypted[0x7C] & 0xFF) | ((decrypted[0x7D] & 0xFF) << 8) | ((decrypted[0x7E] & 0xFF) << 16) | ((decrypted[0x7F] & 0xFF) << 24);
-		}
-		
-		LoginManager.getInstance().tryAuthLogin(client, name, password, ncotp);
+			if (e != null)
+			{
+				client.close(LoginFail2.ACCESS_FAILED_PLEASE_TRY_AGAIN_LATER);
+				return;
+			}
+			
+			final String name;
+			final String password;
+			final int ncotp;
+			if (_newAuth)
+			{
+				name = new String(decrypted, 0x4E, 50).trim() + new String(decrypted, 0xCE, 14).trim();
+				password = new String(decrypted, 0xDC, 16).trim();
+				ncotp = (decrypted[0xFC] & 0xFF) | ((decrypted[0xFD] & 0xFF) << 8) | ((decrypted[0xFE] & 0xFF) << 16) | ((decrypted[0xFF] & 0xFF) << 24);
+			}
+			else
+			{
+				name = new String(decrypted, 0x5E, 14).trim();
+				password = new String(decrypted, 0x6C, 16).trim();
+				ncotp = (decrypted[0x7C] & 0xFF) | ((decrypted[0x7D] & 0xFF) << 8) | ((decrypted[0x7E] & 0xFF) << 16) | ((decrypted[0x7F] & 0xFF) << 24);
+			}
+			
+			LoginManager.getInstance().tryAuthLogin(client, name, password, ncotp);
+		});
 	}
 }
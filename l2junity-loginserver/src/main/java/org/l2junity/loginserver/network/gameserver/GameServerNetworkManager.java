@@ -29,7 +29,7 @@ public class GameServerNetworkManager extends NetworkManager
 {
 	protected GameServerNetworkManager()
 	{
-		super(EventLoopGroupManager.getInstance().getBossGroup(), EventLoopGroupManager.getInstance().getWorkerGroup(), new GameServerInitializer(), Config.GAME_SERVER_LOGIN_HOST, Config.GAME_SERVER_LOGIN_PORT);
+		super(EventLoopGroupManager.getInstance().getTransport(), EventLoopGroupManager.getInstance().getBossGroup(), EventLoopGroupManager.getInstance().getWorkerGroup(), new GameServerInitializer(), Config.GAME_SERVER_LOGIN_HOST, Config.GAME_SERVER_LOGIN_PORT, EventLoopGroupManager.getInstance().getSocketSettings());
 	}
 	
 	public static GameServerNetworkManager getInstance()
@@ -33,4 +33,12 @@ public interface IIncomingPacket<T>
 	boolean read(T client, PacketReader packet);
 	
 	void run(T client) throws Exception;
+	
+	/**
+	 * Called once the packet is no longer used, after it has run or when it could not be read.<br>
+	 * Pooled packets give themselves back to their {@link IncomingPacketPool} here, so they must not be kept anywhere else. Every field is assigned again by the next {@link #read(Object, PacketReader)}.
+	 */
+	default void recycle()
+	{
+	}
 }
@@ -0,0 +1,48 @@
+/*
+ * Copyright (C) 2004-2015 L2J Unity
+ * 
+ * This file is part of L2J Unity.
+ * 
+ * L2J Unity is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * L2J Unity is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.l2junity.network;
+
+import io.netty.util.Recycler;
+
+import java.util.function.Function;
+
+/**
+ * Pool of incoming packets of one type, for packets clients send often enough that a new instance for each of them makes steady garbage.<br>
+ * Every thread takes packets from a pool of its own, and a packet recycled by another thread goes back to the pool of the thread that took it. Packets are decoded on the network threads, so in practice there is one pool per event loop.<br>
+ * A pooled packet keeps the handle it is created with and passes itself to {@link Handle#recycle(Object)} in {@link IIncomingPacket#recycle()}.
+ * @param <P> the packet type
+ */
+public final class IncomingPacketPool<P extends IIncomingPacket<?>> extends Recycler<P>
+{
+	private final Function<Handle<P>, P> _factory;
+	
+	/**
+	 * @param factory creates a new packet bound to the given handle, when the pool of the current thread is empty
+	 */
+	public IncomingPacketPool(Function<Handle<P>, P> factory)
+	{
+		_factory = factory;
+	}
+	
+	@Override
+	protected P newObject(Handle<P> handle)
+	{
+		return _factory.apply(handle);
+	}
+}
@@ -25,7 +25,6 @@ import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.socket.SocketChannel;
-import io.netty.channel.socket.nio.NioServerSocketChannel;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -44,14 +43,32 @@ public class NetworkManager
 	private ChannelFuture _channelFuture;
 	
 	public NetworkManager(EventLoopGroup bossGroup, EventLoopGroup workerGroup, ChannelInitializer<SocketChannel> clientInitializer, String host, int port)
+	{
+		this(NetworkTransport.NIO, bossGroup, workerGroup, clientInitializer, host, port, null);
+	}
+	
+	/**
+	 * @param transport the transport the event loop groups were created for
+	 * @param bossGroup the group accepting connections
+	 * @param workerGroup the group handling the connections
+	 * @param clientInitializer the initializer of the accepted connections
+	 * @param host the host to listen on
+	 * @param port the port to listen on
+	 * @param socketSettings the socket options, {@code null} to keep the defaults
+	 */
+	public NetworkManager(NetworkTransport transport, EventLoopGroup bossGroup, EventLoopGroup workerGroup, ChannelInitializer<SocketChannel> clientInitializer, String host, int port, SocketSettings socketSettings)
 	{
 		// @formatter:off
 		_serverBootstrap = new ServerBootstrap()
 			.group(bossGroup, workerGroup)
-			.channel(NioServerSocketChannel.class)
+			.channel(transport.getServerChannelClass())
 			.childHandler(clientInitializer)
 			.childOption(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT);
 		// @formatter:on
+		if (socketSettings != null)
+		{
+			socketSettings.apply(_serverBootstrap);
+		}
 		_host = host;
 		_port = port;
 	}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (C) 2004-2015 L2J Unity
+ * 
+ * This file is part of L2J Unity.
+ * 
+ * L2J Unity is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * L2J Unity is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.l2junity.network;
+
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollServerSocketChannel;
+import io.netty.channel.epoll.EpollSocketChannel;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.ServerSocketChannel;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The Netty transport used by the servers.<br>
+ * The native epoll transport avoids the selector wake-ups and garbage of NIO, it is only available on Linux with the native library shipped in the Netty jar.
+ */
+public enum NetworkTransport
+{
+	EPOLL
+	{
+		@Override
+		public EventLoopGroup newEventLoopGroup(int threads)
+		{
+			return new EpollEventLoopGroup(threads);
+		}
+		
+		@Override
+		public Class<? extends ServerSocketChannel> getServerChannelClass()
+		{
+			return EpollServerSocketChannel.class;
+		}
+		
+		@Override
+		public Class<? extends SocketChannel> getChannelClass()
+		{
+			return EpollSocketChannel.class;
+		}
+	},
+	NIO
+	{
+		@Override
+		public EventLoopGroup newEventLoopGroup(int threads)
+		{
+			return new NioEventLoopGroup(threads);
+		}
+		
+		@Override
+		public Class<? extends ServerSocketChannel> getServerChannelClass()
+		{
+			return NioServerSocketChannel.class;
+		}
+		
+		@Override
+		public Class<? extends SocketChannel> getChannelClass()
+		{
+			return NioSocketChannel.class;
+		}
+	};
+	
+	private static final Logger LOGGER = LoggerFactory.getLogger(NetworkTransport.class);
+	
+	/**
+	 * @param threads the number of threads, 0 for the Netty default
+	 * @return a new event loop group for this transport
+	 */
+	public abstract EventLoopGroup newEventLoopGroup(int threads);
+	
+	public abstract Class<? extends ServerSocketChannel> getServerChannelClass();
+	
+	public abstract Class<? extends SocketChannel> getChannelClass();
+	
+	/**
+	 * @param useEpoll {@code true} to use epoll when it is available
+	 * @return epoll if it is wanted and available, NIO otherwise
+	 */
+	public static NetworkTransport select(boolean useEpoll)
+	{
+		if (useEpoll)
+		{
+			if (Epoll.isAvailable())
+			{
+				LOGGER.info("Using the native epoll transport.");
+				return EPOLL;
+			}
+			LOGGER.info("Native epoll transport unavailable, using NIO: {}", String.valueOf(Epoll.unavailabilityCause()));
+		}
+		return NIO;
+	}
+}
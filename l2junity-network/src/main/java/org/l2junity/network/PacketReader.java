@@ -20,18 +20,37 @@ package org.l2junity.network;
 
 import io.netty.buffer.ByteBuf;
 
+import java.util.Arrays;
+
 /**
  * @author Nos
  */
 public final class PacketReader
 {
-	private final ByteBuf _buf;
+	private static final char[] EMPTY_CHARS = new char[0];
+	
+	private ByteBuf _buf;
+	// Reused for the strings read, only the resulting String is allocated.
+	private char[] _chars = EMPTY_CHARS;
+	
+	public PacketReader()
+	{
+	}
 	
 	public PacketReader(ByteBuf buf)
 	{
 		_buf = buf;
 	}
 	
+	/**
+	 * Binds this reader to another buffer, so one reader serves every packet of a connection.
+	 * @param buf the buffer to read from, {@code null} to release the previous one
+	 */
+	public void setBuffer(ByteBuf buf)
+	{
+		_buf = buf;
+	}
+	
 	/**
 	 * Gets the readable bytes.
 	 * @return the readable bytes
@@ -108,13 +127,17 @@ public final class PacketReader
 	 */
 	public String readS()
 	{
-		final StringBuilder sb = new StringBuilder();
+		int length = 0;
 		char chr;
 		while ((chr = _buf.readChar()) != 0)
 		{
-			sb.append(chr);
+			if (length == _chars.length)
+			{
+				_chars = Arrays.copyOf(_chars, Math.max(32, length * 2));
+			}
+			_chars[length++] = chr;
 		}
-		return sb.toString();
+		return toString(length);
 	}
 	
 	/**
@@ -124,18 +147,26 @@ public final class PacketReader
 	 */
 	public String readString()
 	{
-		final StringBuilder sb = new StringBuilder();
 		final int stringLength = _buf.readShort();
 		if ((stringLength * 2) > getReadableBytes())
 		{
 			throw new IndexOutOfBoundsException("readerIndex(" + _buf.readerIndex() + ") + length(" + (stringLength * 2) + ") exceeds writerIndex(" + _buf.writerIndex() + "): " + _buf);
 		}
 		
+		if (stringLength > _chars.length)
+		{
+			_chars = new char[stringLength];
+		}
 		for (int i = 0; i < stringLength; i++)
 		{
-			sb.append(_buf.readChar());
+			_chars[i] = _buf.readChar();
 		}
-		return sb.toString();
+		return toString(stringLength);
+	}
+	
+	private String toString(int length)
+	{
+		return length > 0 ? new String(_chars, 0, length) : "";
 	}
 	
 	/**
@@ -0,0 +1,150 @@
+/*
+ * Copyright (C) 2004-2015 L2J Unity
+ * 
+ * This file is part of L2J Unity.
+ * 
+ * L2J Unity is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * L2J Unity is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.l2junity.network;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.ChannelOption;
+
+/**
+ * The socket options of a server and of its connections.<br>
+ * Sizes left at 0 keep the defaults of the system or of Netty.
+ */
+public final class SocketSettings
+{
+	/** The watermarks Netty starts with, they must be changed in an order that never puts the low one above the high one. */
+	private static final int NETTY_DEFAULT_LOW_WATER_MARK = 32 * 1024;
+	private static final int NETTY_DEFAULT_HIGH_WATER_MARK = 64 * 1024;
+	
+	private final boolean _tcpNoDelay;
+	private final int _sendBufferSize;
+	private final int _receiveBufferSize;
+	private final int _backlog;
+	private final int _writeBufferLowWaterMark;
+	private final int _writeBufferHighWaterMark;
+	
+	/**
+	 * @param tcpNoDelay {@code true} to send small packets right away instead of waiting to fill a segment
+	 * @param sendBufferSize the socket send buffer size in bytes
+	 * @param receiveBufferSize the socket receive buffer size in bytes
+	 * @param backlog the connections waiting to be accepted
+	 * @param writeBufferLowWaterMark the pending outbound bytes under which a connection is writable again
+	 * @param writeBufferHighWaterMark the pending outbound bytes over which a connection stops being writable
+	 */
+	public SocketSettings(boolean tcpNoDelay, int sendBufferSize, int receiveBufferSize, int backlog, int writeBufferLowWaterMark, int writeBufferHighWaterMark)
+	{
+		if ((writeBufferLowWaterMark > 0) && (writeBufferHighWaterMark > 0) && (writeBufferLowWaterMark > writeBufferHighWaterMark))
+		{
+			throw new IllegalArgumentException("Write buffer low watermark " + writeBufferLowWaterMark + " is above the high watermark " + writeBufferHighWaterMark);
+		}
+		
+		_tcpNoDelay = tcpNoDelay;
+		_sendBufferSize = sendBufferSize;
+		_receiveBufferSize = receiveBufferSize;
+		_backlog = backlog;
+		// A single watermark is completed so it cannot cross the default of the other one.
+		_writeBufferLowWaterMark = (writeBufferLowWaterMark <= 0) && (writeBufferHighWaterMark > 0) && (writeBufferHighWaterMark < NETTY_DEFAULT_LOW_WATER_MARK) ? writeBufferHighWaterMark / 2 : writeBufferLowWaterMark;
+		_writeBufferHighWaterMark = (writeBufferHighWaterMark <= 0) && (writeBufferLowWaterMark > NETTY_DEFAULT_HIGH_WATER_MARK) ? writeBufferLowWaterMark * 2 : writeBufferHighWaterMark;
+	}
+	
+	/**
+	 * Sets the options of the listening socket and of the accepted connections.
+	 * @param bootstrap the server bootstrap
+	 */
+	public void apply(ServerBootstrap bootstrap)
+	{
+		if (_backlog > 0)
+		{
+			bootstrap.option(ChannelOption.SO_BACKLOG, _backlog);
+		}
+		if (_receiveBufferSize > 0)
+		{
+			// Set on the listening socket so accepted connections get it before the handshake, which matters for buffers above 64KB.
+			bootstrap.option(ChannelOption.SO_RCVBUF, _receiveBufferSize);
+		}
+		
+		bootstrap.childOption(ChannelOption.TCP_NODELAY, _tcpNoDelay);
+		if (_sendBufferSize > 0)
+		{
+			bootstrap.childOption(ChannelOption.SO_SNDBUF, _sendBufferSize);
+		}
+		if (_receiveBufferSize > 0)
+		{
+			bootstrap.childOption(ChannelOption.SO_RCVBUF, _receiveBufferSize);
+		}
+		if (isHighWaterMarkFirst())
+		{
+			setHighWaterMark(bootstrap);
+			setLowWaterMark(bootstrap);
+		}
+		else
+		{
+			setLowWaterMark(bootstrap);
+			setHighWaterMark(bootstrap);
+		}
+	}
+	
+	/**
+	 * Sets the options of an outgoing connection.
+	 * @param bootstrap the client bootstrap
+	 */
+	public void apply(Bootstrap bootstrap)
+	{
+		bootstrap.option(ChannelOption.TCP_NODELAY, _tcpNoDelay);
+		if (_sendBufferSize > 0)
+		{
+			bootstrap.option(ChannelOption.SO_SNDBUF, _sendBufferSize);
+		}
+		if (_receiveBufferSize > 0)
+		{
+			bootstrap.option(ChannelOption.SO_RCVBUF, _receiveBufferSize);
+		}
+	}
+	
+	private boolean isHighWaterMarkFirst()
+	{
+		return _writeBufferHighWaterMark >= NETTY_DEFAULT_LOW_WATER_MARK;
+	}
+	
+	private void setLowWaterMark(ServerBootstrap bootstrap)
+	{
+		if (_writeBufferLowWaterMark > 0)
+		{
+			bootstrap.childOption(ChannelOption.WRITE_BUFFER_LOW_WATER_MARK, _writeBufferLowWaterMark);
+		}
+	}
+	
+	private void setHighWaterMark(ServerBootstrap bootstrap)
+	{
+		if (_writeBufferHighWaterMark > 0)
+		{
+			bootstrap.childOption(ChannelOption.WRITE_BUFFER_HIGH_WATER_MARK, _writeBufferHighWaterMark);
+		}
+	}
+	
+	public int getWriteBufferLowWaterMark()
+	{
+		return _writeBufferLowWaterMark;
+	}
+	
+	public int getWriteBufferHighWaterMark()
+	{
+		return _writeBufferHighWaterMark;
+	}
+}
@@ -43,6 +43,7 @@ public class PacketDecoder<T> extends ByteToMessageDecoder
 	private final ByteOrder _byteOrder;
 	private final IIncomingPackets<T>[] _incomingPackets;
 	private final T _client;
+	private final PacketReader _reader = new PacketReader();
 	
 	public PacketDecoder(ByteOrder byteOrder, IIncomingPackets<T>[] incomingPackets, T client)
 	{
@@ -88,13 +89,25 @@ public class PacketDecoder<T> extends ByteToMessageDecoder
 			}
 			
 			final IIncomingPacket<T> packet = incomingPacket.newIncomingPacket();
-			if ((packet != null) && packet.read(_client, new PacketReader(in)))
+			if (packet == null)
+			{
+				return;
+			}
+			
+			_reader.setBuffer(in);
+			if (packet.read(_client, _reader))
 			{
 				out.add(packet);
 			}
+			else
+			{
+				packet.recycle();
+			}
 		}
 		finally
 		{
+			_reader.setBuffer(null);
+			
 			// We always consider that we read whole packet.
 			in.readerIndex(in.writerIndex());
 		}
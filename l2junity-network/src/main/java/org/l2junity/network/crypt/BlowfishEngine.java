@@ -15,10 +15,18 @@
  * FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
  * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
  */
-package org.l2junity.util.crypt;
+package org.l2junity.network.crypt;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.util.internal.PlatformDependent;
 
 import java.io.IOException;
+import java.nio.ByteOrder;
 
+/**
+ * Blowfish block cipher in ECB mode, shared by the login server client packets and the login server link of the game server.<br>
+ * Blocks are processed as little endian longs, the four s-boxes live in one array and whole ranges of a {@link ByteBuf} are processed through its memory address or its array.
+ */
 public final class BlowfishEngine
 {
 	private static final int[] KP =
@@ -1083,16 +1091,14 @@ public final class BlowfishEngine
 	private static final int BLOCK_SIZE = 8; // bytes = 64 bits
 	private static final int SBOX_SK = 256;
 	private static final int P_SZ = ROUNDS + 2;
-	private final int[] S0, S1, S2, S3; // the s-boxes
+	private static final boolean NATIVE_LITTLE_ENDIAN = ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN;
+	private final int[] S; // the four s-boxes, one after the other
 	private final int[] P; // the p-array
 	private byte[] workingKey = null;
 	
 	public BlowfishEngine()
 	{
-		S0 = new int[SBOX_SK];
-		S1 = new int[SBOX_SK];
-		S2 = new int[SBOX_SK];
-		S3 = new int[SBOX_SK];
+		S = new int[SBOX_SK * 4];
 		P = new int[P_SZ];
 	}
 	
@@ -1116,9 +1122,9 @@ public final class BlowfishEngine
 		return BLOCK_SIZE;
 	}
 	
-	private int func(int x)
+	private static int func(int[] s, int x)
 	{
-		return (((S0[(x >>> 24)] + S1[(x >>> 16) & 0xff]) ^ S2[(x >>> 8) & 0xff]) + S3[x & 0xff]);
+		return (((s[(x >>> 24)] + s[0x100 | ((x >>> 16) & 0xff)]) ^ s[0x200 | ((x >>> 8) & 0xff)]) + s[0x300 | (x & 0xff)]);
 	}
 	
 	/**
@@ -1126,35 +1132,18 @@ public final class BlowfishEngine
 	 * @param xl
 	 * @param xr
 	 * @param table
+	 * @param offset the first value of the table
+	 * @param size the number of values
 	 */
-	private void processTable(int xl, int xr, int[] table)
+	private void processTable(int xl, int xr, int[] table, int offset, int size)
 	{
-		int size = table.length;
-		for (int s = 0; s < size; s += 2)
+		for (int s = offset; s < (offset + size); s += 2)
 		{
-			xl ^= P[0];
-			xr ^= func(xl) ^ P[1];
-			xl ^= func(xr) ^ P[2];
-			xr ^= func(xl) ^ P[3];
-			xl ^= func(xr) ^ P[4];
-			xr ^= func(xl) ^ P[5];
-			xl ^= func(xr) ^ P[6];
-			xr ^= func(xl) ^ P[7];
-			xl ^= func(xr) ^ P[8];
-			xr ^= func(xl) ^ P[9];
-			xl ^= func(xr) ^ P[10];
-			xr ^= func(xl) ^ P[11];
-			xl ^= func(xr) ^ P[12];
-			xr ^= func(xl) ^ P[13];
-			xl ^= func(xr) ^ P[14];
-			xr ^= func(xl) ^ P[15];
-			xl ^= func(xr) ^ P[16];
-			xr ^= P[17];
-			
-			table[s] = xr;
-			table[s + 1] = xl;
-			xr = xl; // end of cycle swap
+			final long block = encrypt((xl & 0xFFFFFFFFL) | ((long) xr << 32));
+			table[s] = (int) block;
+			table[s + 1] = (int) (block >>> 32);
 			xl = table[s];
+			xr = table[s + 1];
 		}
 	}
 	
@@ -1165,10 +1154,10 @@ public final class BlowfishEngine
 		 * Please be careful comparing the two, AC numbers the arrays from 1, the enclosed code from 0.<br>
 		 * (1) Initialize the S-boxes and the P-array, with a fixed string This string contains the hexadecimal digits of pi (3.141...)
 		 */
-		System.arraycopy(KS0, 0, S0, 0, SBOX_SK);
-		System.arraycopy(KS1, 0, S1, 0, SBOX_SK);
-		System.arraycopy(KS2, 0, S2, 0, SBOX_SK);
-		System.arraycopy(KS3, 0, S3, 0, SBOX_SK);
+		System.arraycopy(KS0, 0, S, 0, SBOX_SK);
+		System.arraycopy(KS1, 0, S, SBOX_SK, SBOX_SK);
+		System.arraycopy(KS2, 0, S, SBOX_SK * 2, SBOX_SK);
+		System.arraycopy(KS3, 0, S, SBOX_SK * 3, SBOX_SK);
 		System.arraycopy(KP, 0, P, 0, P_SZ);
 		/**
 		 * (2) Now, XOR P[0] with the first 32 bits of the key, XOR P[1] with the second 32-bits of the key, and so on for all bits of the key (up to P[17]).<br>
@@ -1200,11 +1189,104 @@ public final class BlowfishEngine
 		 * (6) Replace P3 and P4 with the output of step (5)<br>
 		 * (7) Continue the process, replacing all elements of the P-array and then all four S-boxes in order, with the output of the continuously changing Blowfish algorithm
 		 */
-		processTable(0, 0, P);
-		processTable(P[P_SZ - 2], P[P_SZ - 1], S0);
-		processTable(S0[SBOX_SK - 2], S0[SBOX_SK - 1], S1);
-		processTable(S1[SBOX_SK - 2], S1[SBOX_SK - 1], S2);
-		processTable(S2[SBOX_SK - 2], S2[SBOX_SK - 1], S3);
+		processTable(0, 0, P, 0, P_SZ);
+		processTable(P[P_SZ - 2], P[P_SZ - 1], S, 0, SBOX_SK);
+		for (int box = 1; box < 4; box++)
+		{
+			processTable(S[(box * SBOX_SK) - 2], S[(box * SBOX_SK) - 1], S, box * SBOX_SK, SBOX_SK);
+		}
+	}
+	
+	/**
+	 * Encrypts the given range of the buffer in place, its indexes are left unchanged.<br>
+	 * This method does not perform any error checking.
+	 * @param buf the buffer
+	 * @param index index of the first block
+	 * @param length length of the range, a multiple of the block size
+	 */
+	public void encrypt(ByteBuf buf, int index, int length)
+	{
+		if (buf.hasMemoryAddress())
+		{
+			final long address = buf.memoryAddress() + index;
+			for (int i = 0; i < length; i += BLOCK_SIZE)
+			{
+				putLong(address + i, encrypt(getLong(address + i)));
+			}
+		}
+		else if (buf.hasArray())
+		{
+			encrypt(buf.array(), buf.arrayOffset() + index, length);
+		}
+		else
+		{
+			final ByteBuf swapped = buf.order(ByteOrder.LITTLE_ENDIAN);
+			for (int i = index; i < (index + length); i += BLOCK_SIZE)
+			{
+				swapped.setLong(i, encrypt(swapped.getLong(i)));
+			}
+		}
+	}
+	
+	/**
+	 * Decrypts the given range of the buffer in place, its indexes are left unchanged.<br>
+	 * This method does not perform any error checking.
+	 * @param buf the buffer
+	 * @param index index of the first block
+	 * @param length length of the range, a multiple of the block size
+	 */
+	public void decrypt(ByteBuf buf, int index, int length)
+	{
+		if (buf.hasMemoryAddress())
+		{
+			final long address = buf.memoryAddress() + index;
+			for (int i = 0; i < length; i += BLOCK_SIZE)
+			{
+				putLong(address + i, decrypt(getLong(address + i)));
+			}
+		}
+		else if (buf.hasArray())
+		{
+			decrypt(buf.array(), buf.arrayOffset() + index, length);
+		}
+		else
+		{
+			final ByteBuf swapped = buf.order(ByteOrder.LITTLE_ENDIAN);
+			for (int i = index; i < (index + length); i += BLOCK_SIZE)
+			{
+				swapped.setLong(i, decrypt(swapped.getLong(i)));
+			}
+		}
+	}
+	
+	/**
+	 * Encrypts the given range of the array in place.<br>
+	 * This method does not perform any error checking.
+	 * @param raw the array
+	 * @param offset index of the first block
+	 * @param length length of the range, a multiple of the block size
+	 */
+	public void encrypt(byte[] raw, int offset, int length)
+	{
+		for (int i = offset; i < (offset + length); i += BLOCK_SIZE)
+		{
+			encryptBlock(raw, i, raw, i);
+		}
+	}
+	
+	/**
+	 * Decrypts the given range of the array in place.<br>
+	 * This method does not perform any error checking.
+	 * @param raw the array
+	 * @param offset index of the first block
+	 * @param length length of the range, a multiple of the block size
+	 */
+	public void decrypt(byte[] raw, int offset, int length)
+	{
+		for (int i = offset; i < (offset + length); i += BLOCK_SIZE)
+		{
+			decryptBlock(raw, i, raw, i);
+		}
 	}
 	
 	/**
@@ -1290,30 +1372,9 @@ public final class BlowfishEngine
 	 */
 	public void encryptBlock(final byte[] src, final int srcIndex, byte[] dst, final int dstIndex)
 	{
-		int xl = bytesTo32bits(src, srcIndex);
-		int xr = bytesTo32bits(src, srcIndex + 4);
-		
-		xl ^= P[0];
-		xr ^= func(xl) ^ P[1];
-		xl ^= func(xr) ^ P[2];
-		xr ^= func(xl) ^ P[3];
-		xl ^= func(xr) ^ P[4];
-		xr ^= func(xl) ^ P[5];
-		xl ^= func(xr) ^ P[6];
-		xr ^= func(xl) ^ P[7];
-		xl ^= func(xr) ^ P[8];
-		xr ^= func(xl) ^ P[9];
-		xl ^= func(xr) ^ P[10];
-		xr ^= func(xl) ^ P[11];
-		xl ^= func(xr) ^ P[12];
-		xr ^= func(xl) ^ P[13];
-		xl ^= func(xr) ^ P[14];
-		xr ^= func(xl) ^ P[15];
-		xl ^= func(xr) ^ P[16];
-		xr ^= P[17];
-		
-		bits32ToBytes(xr, dst, dstIndex);
-		bits32ToBytes(xl, dst, dstIndex + 4);
+		final long block = encrypt((bytesTo32bits(src, srcIndex) & 0xFFFFFFFFL) | ((long) bytesTo32bits(src, srcIndex + 4) << 32));
+		bits32ToBytes((int) block, dst, dstIndex);
+		bits32ToBytes((int) (block >>> 32), dst, dstIndex + 4);
 	}
 	
 	/**
@@ -1358,7 +1419,7 @@ public final class BlowfishEngine
 		{
 			throw new IOException("input buffer too short");
 		}
-		if ((dstIndex + BLOCK_SIZE) > src.length)
+		if ((dstIndex + BLOCK_SIZE) > dst.length)
 		{
 			throw new IOException("output buffer too short");
 		}
@@ -1400,30 +1461,88 @@ public final class BlowfishEngine
 	 */
 	public void decryptBlock(final byte[] src, final int srcIndex, byte[] dst, final int dstIndex)
 	{
-		int xl = bytesTo32bits(src, srcIndex);
-		int xr = bytesTo32bits(src, srcIndex + 4);
+		final long block = decrypt((bytesTo32bits(src, srcIndex) & 0xFFFFFFFFL) | ((long) bytesTo32bits(src, srcIndex + 4) << 32));
+		bits32ToBytes((int) block, dst, dstIndex);
+		bits32ToBytes((int) (block >>> 32), dst, dstIndex + 4);
+	}
+	
+	/**
+	 * Method to encrypt one block.
+	 * @param block the plain block, its first 4 bytes are the low 32 bits
+	 * @return the encrypted block
+	 */
+	private long encrypt(long block)
+	{
+		final int[] s = S;
+		final int[] p = P;
+		int xl = (int) block;
+		int xr = (int) (block >>> 32);
 		
-		xl ^= P[17];
-		xr ^= func(xl) ^ P[16];
-		xl ^= func(xr) ^ P[15];
-		xr ^= func(xl) ^ P[14];
-		xl ^= func(xr) ^ P[13];
-		xr ^= func(xl) ^ P[12];
-		xl ^= func(xr) ^ P[11];
-		xr ^= func(xl) ^ P[10];
-		xl ^= func(xr) ^ P[9];
-		xr ^= func(xl) ^ P[8];
-		xl ^= func(xr) ^ P[7];
-		xr ^= func(xl) ^ P[6];
-		xl ^= func(xr) ^ P[5];
-		xr ^= func(xl) ^ P[4];
-		xl ^= func(xr) ^ P[3];
-		xr ^= func(xl) ^ P[2];
-		xl ^= func(xr) ^ P[1];
-		xr ^= P[0];
+		xl ^= p[0];
+		xr ^= func(s, xl) ^ p[1];
+		xl ^= func(s, xr) ^ p[2];
+		xr ^= func(s, xl) ^ p[3];
+		xl ^= func(s, xr) ^ p[4];
+		xr ^= func(s, xl) ^ p[5];
+		xl ^= func(s, xr) ^ p[6];
+		xr ^= func(s, xl) ^ p[7];
+		xl ^= func(s, xr) ^ p[8];
+		xr ^= func(s, xl) ^ p[9];
+		xl ^= func(s, xr) ^ p[10];
+		xr ^= func(s, xl) ^ p[11];
+		xl ^= func(s, xr) ^ p[12];
+		xr ^= func(s, xl) ^ p[13];
+		xl ^= func(s, xr) ^ p[14];
+		xr ^= func(s, xl) ^ p[15];
+		xl ^= func(s, xr) ^ p[16];
+		xr ^= p[17];
 		
-		bits32ToBytes(xr, dst, dstIndex);
-		bits32ToBytes(xl, dst, dstIndex + 4);
+		return (xr & 0xFFFFFFFFL) | ((long) xl << 32);
+	}
+	
+	/**
+	 * Method to decrypt one block.
+	 * @param block the encrypted block, its first 4 bytes are the low 32 bits
+	 * @return the plain block
+	 */
+	private long decrypt(long block)
+	{
+		final int[] s = S;
+		final int[] p = P;
+		int xl = (int) block;
+		int xr = (int) (block >>> 32);
+		
+		xl ^= p[17];
+		xr ^= func(s, xl) ^ p[16];
+		xl ^= func(s, xr) ^ p[15];
+		xr ^= func(s, xl) ^ p[14];
+		xl ^= func(s, xr) ^ p[13];
+		xr ^= func(s, xl) ^ p[12];
+		xl ^= func(s, xr) ^ p[11];
+		xr ^= func(s, xl) ^ p[10];
+		xl ^= func(s, xr) ^ p[9];
+		xr ^= func(s, xl) ^ p[8];
+		xl ^= func(s, xr) ^ p[7];
+		xr ^= func(s, xl) ^ p[6];
+		xl ^= func(s, xr) ^ p[5];
+		xr ^= func(s, xl) ^ p[4];
+		xl ^= func(s, xr) ^ p[3];
+		xr ^= func(s, xl) ^ p[2];
+		xl ^= func(s, xr) ^ p[1];
+		xr ^= p[0];
+		
+		return (xr & 0xFFFFFFFFL) | ((long) xl << 32);
+	}
+	
+	private static long getLong(long address)
+	{
+		final long value = PlatformDependent.getLong(address);
+		return NATIVE_LITTLE_ENDIAN ? value : Long.reverseBytes(value);
+	}
+	
+	private static void putLong(long address, long value)
+	{
+		PlatformDependent.putLong(address, NATIVE_LITTLE_ENDIAN ? value : Long.reverseBytes(value));
 	}
 	
 	/**
@@ -1435,7 +1554,7 @@ public final class BlowfishEngine
 	 * @param srcIndex the index to extract the int from
 	 * @return the extracted integer
 	 */
-	private int bytesTo32bits(byte[] src, int srcIndex)
+	private static int bytesTo32bits(byte[] src, int srcIndex)
 	{
 		return ((src[srcIndex + 3] & 0xff) << 24) | ((src[srcIndex + 2] & 0xff) << 16) | ((src[srcIndex + 1] & 0xff) << 8) | ((src[srcIndex] & 0xff));
 	}
@@ -1448,7 +1567,7 @@ public final class BlowfishEngine
 	 * @param dst the destination array the decomposed int goes to
 	 * @param dstIndex the index in the destination array the decomposed int will be stored at
 	 */
-	private void bits32ToBytes(int in, byte[] dst, int dstIndex)
+	private static void bits32ToBytes(int in, byte[] dst, int dstIndex)
 	{
 		dst[dstIndex] = (byte) in;
 		dst[dstIndex + 1] = (byte) (in >> 8);
@@ -0,0 +1,253 @@
+/*
+ * Copyright (C) 2004-2015 L2J Unity
+ * 
+ * This file is part of L2J Unity.
+ * 
+ * L2J Unity is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * L2J Unity is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.l2junity.network.crypt;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.util.internal.PlatformDependent;
+
+import java.nio.ByteOrder;
+
+/**
+ * Rolling XOR cipher of the game client packets, one instance for each direction of a connection.<br>
+ * Every byte is XORed with the key byte at its position modulo 16 and with the previous encrypted byte, then the packet size is added to bytes 8 to 11 of the key.<br>
+ * The packet is processed in place, 8 bytes at a time. Decryption only needs the encrypted bytes, encryption turns the chain of previous bytes into a prefix XOR within every long.<br>
+ * Direct buffers are read and written through their memory address, heap buffers through their array and any other buffer through its little endian view.
+ */
+public final class XorCipher
+{
+	private static final boolean NATIVE_LITTLE_ENDIAN = ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN;
+	private static final long BYTE_SPREAD = 0x0101010101010101L;
+	
+	/** Key bytes 0 to 7, little endian. */
+	private long _keyLow;
+	/** Key bytes 8 to 15, little endian. */
+	private long _keyHigh;
+	
+	/**
+	 * @param key the 16 bytes key
+	 */
+	public void setKey(byte[] key)
+	{
+		_keyLow = toLong(key, 0);
+		_keyHigh = toLong(key, 8);
+	}
+	
+	/**
+	 * Encrypts the readable bytes of the buffer in place, the reader index is left unchanged.
+	 * @param buf the packet
+	 */
+	public void encrypt(ByteBuf buf)
+	{
+		final int index = buf.readerIndex();
+		final int length = buf.readableBytes();
+		if (buf.hasMemoryAddress())
+		{
+			encrypt(buf.memoryAddress() + index, length);
+		}
+		else if (buf.hasArray())
+		{
+			encrypt(buf.array(), buf.arrayOffset() + index, length);
+		}
+		else
+		{
+			encryptSwapped(buf.order(ByteOrder.LITTLE_ENDIAN), index, length);
+		}
+		shiftKey(length);
+	}
+	
+	/**
+	 * Decrypts the readable bytes of the buffer in place, the reader index is left unchanged.
+	 * @param buf the packet
+	 */
+	public void decrypt(ByteBuf buf)
+	{
+		final int index = buf.readerIndex();
+		final int length = buf.readableBytes();
+		if (buf.hasMemoryAddress())
+		{
+			decrypt(buf.memoryAddress() + index, length);
+		}
+		else if (buf.hasArray())
+		{
+			decrypt(buf.array(), buf.arrayOffset() + index, length);
+		}
+		else
+		{
+			decryptSwapped(buf.order(ByteOrder.LITTLE_ENDIAN), index, length);
+		}
+		shiftKey(length);
+	}
+	
+	private void encrypt(long address, int length)
+	{
+		final int words = length & ~7;
+		long previous = 0;
+		int i = 0;
+		for (; i < words; i += 8)
+		{
+			final long data = encryptWord(getLong(address + i), key(i), previous);
+			putLong(address + i, data);
+			previous = data >>> 56;
+		}
+		for (; i < length; i++)
+		{
+			previous = (PlatformDependent.getByte(address + i) ^ keyByte(i) ^ previous) & 0xFF;
+			PlatformDependent.putByte(address + i, (byte) previous);
+		}
+	}
+	
+	private void decrypt(long address, int length)
+	{
+		final int words = length & ~7;
+		long previous = 0;
+		int i = 0;
+		for (; i < words; i += 8)
+		{
+			final long data = getLong(address + i);
+			putLong(address + i, decryptWord(data, key(i), previous));
+			previous = data >>> 56;
+		}
+		for (; i < length; i++)
+		{
+			final int data = PlatformDependent.getByte(address + i) & 0xFF;
+			PlatformDependent.putByte(address + i, (byte) (data ^ keyByte(i) ^ previous));
+			previous = data;
+		}
+	}
+	
+	private void encrypt(byte[] array, int offset, int length)
+	{
+		int previous = 0;
+		for (int i = 0; i < length; i++)
+		{
+			previous = (array[offset + i] ^ keyByte(i) ^ previous) & 0xFF;
+			array[offset + i] = (byte) previous;
+		}
+	}
+	
+	private void decrypt(byte[] array, int offset, int length)
+	{
+		int previous = 0;
+		for (int i = 0; i < length; i++)
+		{
+			final int data = array[offset + i] & 0xFF;
+			array[offset + i] = (byte) (data ^ keyByte(i) ^ previous);
+			previous = data;
+		}
+	}
+	
+	private void encryptSwapped(ByteBuf buf, int index, int length)
+	{
+		final int words = length & ~7;
+		long previous = 0;
+		int i = 0;
+		for (; i < words; i += 8)
+		{
+			final long data = encryptWord(buf.getLong(index + i), key(i), previous);
+			buf.setLong(index + i, data);
+			previous = data >>> 56;
+		}
+		for (; i < length; i++)
+		{
+			previous = (buf.getByte(index + i) ^ keyByte(i) ^ previous) & 0xFF;
+			buf.setByte(index + i, (int) previous);
+		}
+	}
+	
+	private void decryptSwapped(ByteBuf buf, int index, int length)
+	{
+		final int words = length & ~7;
+		long previous = 0;
+		int i = 0;
+		for (; i < words; i += 8)
+		{
+			final long data = buf.getLong(index + i);
+			buf.setLong(index + i, decryptWord(data, key(i), previous));
+			previous = data >>> 56;
+		}
+		for (; i < length; i++)
+		{
+			final int data = buf.getUnsignedByte(index + i);
+			buf.setByte(index + i, (int) (data ^ keyByte(i) ^ previous));
+			previous = data;
+		}
+	}
+	
+	/**
+	 * @param data 8 plain bytes, little endian
+	 * @param key the key bytes at their positions
+	 * @param previous the last encrypted byte before them
+	 * @return the 8 encrypted bytes, every byte is the XOR of all the keyed bytes up to it and of the previous encrypted byte
+	 */
+	private static long encryptWord(long data, long key, long previous)
+	{
+		long result = data ^ key;
+		result ^= result << 8;
+		result ^= result << 16;
+		result ^= result << 32;
+		return result ^ (previous * BYTE_SPREAD);
+	}
+	
+	/**
+	 * @param data 8 encrypted bytes, little endian
+	 * @param key the key bytes at their positions
+	 * @param previous the last encrypted byte before them
+	 * @return the 8 plain bytes
+	 */
+	private static long decryptWord(long data, long key, long previous)
+	{
+		return data ^ key ^ ((data << 8) | previous);
+	}
+	
+	private long key(int index)
+	{
+		return (index & 8) == 0 ? _keyLow : _keyHigh;
+	}
+	
+	private int keyByte(int index)
+	{
+		return (int) (key(index) >>> ((index & 7) << 3)) & 0xFF;
+	}
+	
+	private void shiftKey(int size)
+	{
+		_keyHigh = (_keyHigh & 0xFFFFFFFF00000000L) | (((int) _keyHigh + size) & 0xFFFFFFFFL);
+	}
+	
+	private static long getLong(long address)
+	{
+		final long value = PlatformDependent.getLong(address);
+		return NATIVE_LITTLE_ENDIAN ? value : Long.reverseBytes(value);
+	}
+	
+	private static void putLong(long address, long value)
+	{
+		PlatformDependent.putLong(address, NATIVE_LITTLE_ENDIAN ? value : Long.reverseBytes(value));
+	}
+	
+	private static long toLong(byte[] bytes, int offset)
+	{
+		long value = 0;
+		for (int i = 7; i >= 0; i--)
+		{
+			value = (value << 8) | (bytes[offset + i] & 0xFF);
+		}
+		return value;
+	}
+}